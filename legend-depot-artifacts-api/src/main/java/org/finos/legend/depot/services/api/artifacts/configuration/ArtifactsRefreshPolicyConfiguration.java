@@ -30,6 +30,9 @@ public class ArtifactsRefreshPolicyConfiguration
     @JsonProperty
     IncludeProjectPropertiesConfiguration includeProjectPropertiesConfiguration;
 
+    @JsonProperty
+    int artifactsRefreshParallelism = 4;
+
     @JsonCreator
     public ArtifactsRefreshPolicyConfiguration(@JsonProperty(value = "versionsUpdateIntervalInMillis") Long versionsUpdateIntervalInMillis,
                                                @JsonProperty(value = "includeProjectPropertiesConfiguration") IncludeProjectPropertiesConfiguration includeProjectPropertiesConfiguration)
@@ -52,4 +55,14 @@ public class ArtifactsRefreshPolicyConfiguration
     {
         return includeProjectPropertiesConfiguration;
     }
+
+    public int getArtifactsRefreshParallelism()
+    {
+        return artifactsRefreshParallelism;
+    }
+
+    public void setArtifactsRefreshParallelism(int artifactsRefreshParallelism)
+    {
+        this.artifactsRefreshParallelism = artifactsRefreshParallelism;
+    }
 }
@@ -34,4 +34,14 @@ public interface ArtifactsExtractor<T>
 
     List<T> extractArtifactsForType(Stream<File> files);
 
+    default Stream<T> streamArtifacts(List<File> files)
+    {
+        return streamArtifactsForType(files.stream().filter(file -> matchesArtifactType(file)));
+    }
+
+    default Stream<T> streamArtifactsForType(Stream<File> files)
+    {
+        return extractArtifactsForType(files).stream();
+    }
+
 }
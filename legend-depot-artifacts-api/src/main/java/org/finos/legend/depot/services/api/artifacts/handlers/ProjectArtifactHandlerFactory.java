@@ -36,6 +36,11 @@ public class ProjectArtifactHandlerFactory
         instance.artifactHandlers.put(artifactType, provider);
     }
 
+    public static void unregisterArtifactHandler(ArtifactType artifactType)
+    {
+        instance.artifactHandlers.remove(artifactType);
+    }
+
     public static ProjectArtifactsHandler getArtifactHandler(ArtifactType artifactType)
     {
         return instance.artifactHandlers.get(artifactType);
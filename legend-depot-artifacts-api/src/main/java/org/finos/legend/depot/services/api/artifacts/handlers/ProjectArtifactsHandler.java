@@ -26,4 +26,10 @@ public interface ProjectArtifactsHandler
     MetadataNotificationResponse refreshProjectVersionArtifacts(String groupId, String artifactId, String versionId, List<File> files);
 
     void delete(String groupId, String artifactId, String versionId);
+
+    //called every time versionId is refreshed while being the latest version of the project
+    default void setLatestVersion(String groupId, String artifactId, String versionId)
+    {
+        //nothing to do for artifacts that do not track the latest version
+    }
 }
@@ -17,6 +17,7 @@ package org.finos.legend.depot.store.api.admin.artifacts;
 
 import org.finos.legend.depot.store.model.admin.artifacts.ArtifactFile;
 
+import java.util.List;
 import java.util.Optional;
 
 public interface ArtifactsFilesStore
@@ -25,4 +26,6 @@ public interface ArtifactsFilesStore
 
     Optional<ArtifactFile> find(String path);
 
+    List<ArtifactFile> find(List<String> paths);
+
 }
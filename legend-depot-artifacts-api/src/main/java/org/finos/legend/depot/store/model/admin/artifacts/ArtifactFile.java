@@ -31,6 +31,10 @@ public class ArtifactFile implements HasIdentifier
     @JsonProperty
     @NotNull
     private String path;
+    @JsonProperty
+    private Long size;
+    @JsonProperty
+    private Long lastModified;
 
     public ArtifactFile()
     {
@@ -42,6 +46,13 @@ public class ArtifactFile implements HasIdentifier
         this.checkSum = checkSum;
     }
 
+    public ArtifactFile(String path, String checkSum, long size, long lastModified)
+    {
+        this(path, checkSum);
+        this.size = size;
+        this.lastModified = lastModified;
+    }
+
     public String getCheckSum()
     {
         return checkSum;
@@ -64,6 +75,34 @@ public class ArtifactFile implements HasIdentifier
         return this;
     }
 
+    public Long getSize()
+    {
+        return size;
+    }
+
+    public ArtifactFile setSize(Long size)
+    {
+        this.size = size;
+        return this;
+    }
+
+    public Long getLastModified()
+    {
+        return lastModified;
+    }
+
+    public ArtifactFile setLastModified(Long lastModified)
+    {
+        this.lastModified = lastModified;
+        return this;
+    }
+
+    @JsonIgnore
+    public boolean hasSameAttributes(long size, long lastModified)
+    {
+        return this.size != null && this.lastModified != null && this.size == size && this.lastModified == lastModified;
+    }
+
     @Override
     @JsonIgnore
     public String getId()
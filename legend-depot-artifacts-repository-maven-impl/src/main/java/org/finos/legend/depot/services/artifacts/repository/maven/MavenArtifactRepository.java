@@ -15,6 +15,8 @@
 
 package org.finos.legend.depot.services.artifacts.repository.maven;
 
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
 import org.apache.maven.model.Build;
 import org.apache.maven.model.Dependency;
 import org.apache.maven.model.Model;
@@ -52,6 +54,10 @@ import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
 import java.util.function.Supplier;
 import java.util.stream.Collectors;
 
@@ -67,21 +73,40 @@ public class MavenArtifactRepository implements ArtifactRepository
     private static final String ALL_VERSIONS_SCOPE = ":[0.0,)";
     public static final String SEPARATOR = "-";
 
-    private final MavenXpp3Reader mavenReader = new MavenXpp3Reader();
     private final String settingsLocation;
     private String localRepository;
+    //resolvers are not thread safe: each call borrows an idle one (or creates it) and hands it back to a bounded pool,
+    //so settings are not re-read on every call whether refreshes run on pooled or per task threads
+    private final BlockingQueue<MavenResolverSystem> resolvers;
+    private final Cache<String, Model> releasePoms;
+    //snapshot poms are keyed on the resolved file and its size and modification time, so a republished snapshot is parsed again
+    private final Cache<String, Model> snapshotPoms;
+    private final Cache<String, ResolvedVersions> versions;
+    private final long versionsRecheckMillis;
 
 
     public MavenArtifactRepository(ArtifactRepositoryProviderConfiguration configuration)
     {
         if (configuration == null)
         {
+            MavenArtifactRepositoryConfiguration defaults = new MavenArtifactRepositoryConfiguration(null);
             this.settingsLocation = null;
+            this.releasePoms = buildPomCache(defaults.getPomCacheSize());
+            this.snapshotPoms = buildPomCache(defaults.getPomCacheSize());
+            this.versions = buildVersionsCache(defaults.getVersionsCacheTtlSeconds());
+            this.versionsRecheckMillis = TimeUnit.SECONDS.toMillis(defaults.getVersionsRecheckSeconds());
+            this.resolvers = new ArrayBlockingQueue<>(Math.max(defaults.getResolverPoolSize(), 1));
             return;
         }
         if (configuration instanceof MavenArtifactRepositoryConfiguration)
         {
-            this.settingsLocation = ((MavenArtifactRepositoryConfiguration)configuration).getSettingsLocation();
+            MavenArtifactRepositoryConfiguration mavenConfiguration = (MavenArtifactRepositoryConfiguration)configuration;
+            this.settingsLocation = mavenConfiguration.getSettingsLocation();
+            this.releasePoms = buildPomCache(mavenConfiguration.getPomCacheSize());
+            this.snapshotPoms = buildPomCache(mavenConfiguration.getPomCacheSize());
+            this.versions = buildVersionsCache(mavenConfiguration.getVersionsCacheTtlSeconds());
+            this.versionsRecheckMillis = TimeUnit.SECONDS.toMillis(mavenConfiguration.getVersionsRecheckSeconds());
+            this.resolvers = new ArrayBlockingQueue<>(Math.max(mavenConfiguration.getResolverPoolSize(), 1));
             loadSettings(this.settingsLocation);
         }
         else
@@ -90,8 +115,17 @@ public class MavenArtifactRepository implements ArtifactRepository
         }
     }
 
+    private static <T> Cache<String, T> buildPomCache(long maximumSize)
+    {
+        return CacheBuilder.newBuilder().maximumSize(maximumSize).build();
+    }
 
-    private MavenResolverSystem getResolver()
+    private static <T> Cache<String, T> buildVersionsCache(long ttlSeconds)
+    {
+        return CacheBuilder.newBuilder().maximumSize(ttlSeconds > 0 ? 1000 : 0).expireAfterWrite(Math.max(ttlSeconds, 0), TimeUnit.SECONDS).build();
+    }
+
+    private MavenResolverSystem createResolver()
     {
         return Maven.configureResolver()
                 .withMavenCentralRepo(false)
@@ -99,6 +133,23 @@ public class MavenArtifactRepository implements ArtifactRepository
                 .fromFile(settingsLocation);
     }
 
+    private <R> R withResolver(Function<MavenResolverSystem, R> function)
+    {
+        MavenResolverSystem resolver = resolvers.poll();
+        if (resolver == null)
+        {
+            resolver = createResolver();
+        }
+        try
+        {
+            return function.apply(resolver);
+        }
+        finally
+        {
+            resolvers.offer(resolver);
+        }
+    }
+
     private void loadSettings(String settingsFile)
     {
         SettingsReader reader = new DefaultSettingsReader();
@@ -240,6 +291,36 @@ public class MavenArtifactRepository implements ArtifactRepository
 
 
     public Model getPOM(String group, String artifact, String version)
+    {
+        //released poms never change, snapshot ones are reused until the resolved file changes
+        if (version == null || VersionValidator.isSnapshotVersion(version))
+        {
+            File pomFile = new File(resolvePOMFile(group, artifact, version));
+            String fileKey = pomFile.getPath() + GAV_SEP + pomFile.length() + GAV_SEP + pomFile.lastModified();
+            return getPOM(snapshotPoms, fileKey, pomFile.getPath());
+        }
+        String coordinates = gavCoordinates(group, artifact, version);
+        Model cached = releasePoms.getIfPresent(coordinates);
+        if (cached != null)
+        {
+            return cached;
+        }
+        return getPOM(releasePoms, coordinates, resolvePOMFile(group, artifact, version));
+    }
+
+    private Model getPOM(Cache<String, Model> poms, String key, String pomFileLocation)
+    {
+        Model cached = poms.getIfPresent(key);
+        if (cached != null)
+        {
+            return cached;
+        }
+        Optional<Model> model = readPOM(pomFileLocation);
+        model.ifPresent(pom -> poms.put(key, pom));
+        return model.orElseGet(Model::new);
+    }
+
+    private String resolvePOMFile(String group, String artifact, String version)
     {
         URL[] pom = null;
         try
@@ -261,15 +342,20 @@ public class MavenArtifactRepository implements ArtifactRepository
             pomFileLocation = pom[0].getFile();
         }
         LOGGER.info("pom file name has been successfully resolved {}", pomFileLocation);
+        return pomFileLocation;
+    }
+
+    private Optional<Model> readPOM(String pomFileLocation)
+    {
         try (InputStream reader = new FileInputStream(pomFileLocation))
         {
-            return mavenReader.read(reader);
+            return Optional.of(new MavenXpp3Reader().read(reader));
         }
         catch (Exception e)
         {
             LOGGER.error("could not read {}", pomFileLocation);
             LOGGER.error(e.getMessage());
-            return new Model();
+            return Optional.empty();
         }
     }
 
@@ -299,17 +385,17 @@ public class MavenArtifactRepository implements ArtifactRepository
 
     protected File[] resolveArtifactFilesFromRepository(String group, String artifact, String version)
     {
-        return (File[]) executeWithTrace("resolveArtifactFilesFromRepository",group,artifact,version,() -> getResolver().resolve(gavCoordinates(group, artifact, version)).withoutTransitivity().asFile());
+        return (File[]) executeWithTrace("resolveArtifactFilesFromRepository",group,artifact,version,() -> withResolver(resolver -> resolver.resolve(gavCoordinates(group, artifact, version)).withoutTransitivity().asFile()));
     }
 
     protected URL[] resolvePOMFromRepository(String group, String artifact, String version)
     {
-        return (URL[]) executeWithTrace("resolvePOMFromRepository",group,artifact,version, () -> getResolver().resolve(gavCoordinates(group, artifact, PackagingType.POM, version)).withoutTransitivity().as(URL.class));
+        return (URL[]) executeWithTrace("resolvePOMFromRepository",group,artifact,version, () -> withResolver(resolver -> resolver.resolve(gavCoordinates(group, artifact, PackagingType.POM, version)).withoutTransitivity().as(URL.class)));
     }
 
     protected URL[] resolveJarFromRepository(String group, String artifact, String version)
     {
-        return (URL[]) executeWithTrace("resolveJarFromRepository",group,artifact,version, () -> getResolver().resolve(gavCoordinates(group, artifact, PackagingType.JAR, version)).withoutTransitivity().as(URL.class));
+        return (URL[]) executeWithTrace("resolveJarFromRepository",group,artifact,version, () -> withResolver(resolver -> resolver.resolve(gavCoordinates(group, artifact, PackagingType.JAR, version)).withoutTransitivity().as(URL.class)));
     }
 
     @Override
@@ -321,13 +407,31 @@ public class MavenArtifactRepository implements ArtifactRepository
 
 
     private List<String> findAllVersions(String group, String artifact) throws ArtifactRepositoryException
+    {
+        return findResolvedVersions(group, artifact).versions;
+    }
+
+    private ResolvedVersions findResolvedVersions(String group, String artifact) throws ArtifactRepositoryException
+    {
+        String coordinates = group + GAV_SEP + artifact;
+        ResolvedVersions cached = versions.getIfPresent(coordinates);
+        if (cached != null)
+        {
+            return cached;
+        }
+        ResolvedVersions resolved = new ResolvedVersions(resolveAllVersions(group, artifact));
+        versions.put(coordinates, resolved);
+        return resolved;
+    }
+
+    private List<String> resolveAllVersions(String group, String artifact) throws ArtifactRepositoryException
     {
         List<String> result = new ArrayList<>();
         long start = System.currentTimeMillis();
         try
         {
             String groupArtifactVersionRange = gavCoordinates(group, artifact, ALL_VERSIONS_SCOPE);
-            final MavenVersionRangeResult versionRangeResult = (MavenVersionRangeResult) executeWithTrace("resolveVersionsFromRepository",group,artifact,"ALL",() -> getResolver().resolveVersionRange(groupArtifactVersionRange));
+            final MavenVersionRangeResult versionRangeResult = (MavenVersionRangeResult) executeWithTrace("resolveVersionsFromRepository",group,artifact,"ALL",() -> withResolver(resolver -> resolver.resolveVersionRange(groupArtifactVersionRange)));
             LOGGER.debug("resolveVersionsFromRepository {}{}{} , Version data: [{}]", group, artifact, ALL_VERSIONS_SCOPE, versionRangeResult);
             result.addAll(versionRangeResult.getVersions().stream().map(c -> c.getVersion()).collect(Collectors.toList()));
         }
@@ -351,7 +455,30 @@ public class MavenArtifactRepository implements ArtifactRepository
     @Override
     public Optional<String> findVersion(String group, String artifact, String versionId) throws ArtifactRepositoryException
     {
-        return this.findAllVersions(group,artifact).stream().filter(v -> v.equals(versionId)).findFirst();
+        if (isInLocalRepository(group, artifact, versionId))
+        {
+            return Optional.of(versionId);
+        }
+        ResolvedVersions resolved = findResolvedVersions(group, artifact);
+        Optional<String> found = resolved.versions.stream().filter(v -> v.equals(versionId)).findFirst();
+        if (!found.isPresent() && System.currentTimeMillis() - resolved.resolvedAt >= versionsRecheckMillis)
+        {
+            //it may have been published after the versions were cached
+            versions.invalidate(group + GAV_SEP + artifact);
+            found = this.findAllVersions(group,artifact).stream().filter(v -> v.equals(versionId)).findFirst();
+        }
+        return found;
+    }
+
+    private boolean isInLocalRepository(String group, String artifact, String versionId)
+    {
+        if (localRepository == null || versionId == null || !areValidCoordinates(group, artifact))
+        {
+            return false;
+        }
+        File pomFile = new File(localRepository + File.separator + group.replace(".", File.separator) +
+                File.separator + artifact + File.separator + versionId + File.separator + artifact + "-" + versionId + "." + PackagingType.POM.getId());
+        return pomFile.isFile();
     }
 
     private Object executeWithTrace(String label, String groupId, String artifactId, String version, Supplier<Object> functionToExecute)
@@ -362,4 +489,15 @@ public class MavenArtifactRepository implements ArtifactRepository
         tags.put(VERSION_ID, version);
         return TracerFactory.get().executeWithTrace(label, () -> functionToExecute.get(),tags);
     }
+
+    private static class ResolvedVersions
+    {
+        private final List<String> versions;
+        private final long resolvedAt = System.currentTimeMillis();
+
+        private ResolvedVersions(List<String> versions)
+        {
+            this.versions = versions;
+        }
+    }
 }
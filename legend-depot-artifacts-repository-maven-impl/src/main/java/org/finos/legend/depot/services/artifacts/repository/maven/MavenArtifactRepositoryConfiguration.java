@@ -25,10 +25,28 @@ import javax.validation.constraints.NotNull;
 public class MavenArtifactRepositoryConfiguration extends ArtifactRepositoryProviderConfiguration
 {
 
+    private static final long DEFAULT_POM_CACHE_SIZE = 10000;
+    private static final long DEFAULT_VERSIONS_CACHE_TTL_SECONDS = 30;
+    private static final long DEFAULT_VERSIONS_RECHECK_SECONDS = 5;
+    private static final int DEFAULT_RESOLVER_POOL_SIZE = 8;
+
     @NotNull
     @JsonProperty
     private String settingsLocation;
 
+    @JsonProperty
+    private long pomCacheSize = DEFAULT_POM_CACHE_SIZE;
+
+    @JsonProperty
+    private long versionsCacheTtlSeconds = DEFAULT_VERSIONS_CACHE_TTL_SECONDS;
+
+    //cached versions older than this are re-resolved when a requested version is not among them
+    @JsonProperty
+    private long versionsRecheckSeconds = DEFAULT_VERSIONS_RECHECK_SECONDS;
+
+    @JsonProperty
+    private int resolverPoolSize = DEFAULT_RESOLVER_POOL_SIZE;
+
     @JsonCreator
     public MavenArtifactRepositoryConfiguration(@JsonProperty("settingsLocation") String settingsLocation)
     {
@@ -41,6 +59,46 @@ public class MavenArtifactRepositoryConfiguration extends ArtifactRepositoryProv
         return settingsLocation;
     }
 
+    public long getPomCacheSize()
+    {
+        return pomCacheSize;
+    }
+
+    public void setPomCacheSize(long pomCacheSize)
+    {
+        this.pomCacheSize = pomCacheSize;
+    }
+
+    public long getVersionsCacheTtlSeconds()
+    {
+        return versionsCacheTtlSeconds;
+    }
+
+    public void setVersionsCacheTtlSeconds(long versionsCacheTtlSeconds)
+    {
+        this.versionsCacheTtlSeconds = versionsCacheTtlSeconds;
+    }
+
+    public long getVersionsRecheckSeconds()
+    {
+        return versionsRecheckSeconds;
+    }
+
+    public void setVersionsRecheckSeconds(long versionsRecheckSeconds)
+    {
+        this.versionsRecheckSeconds = versionsRecheckSeconds;
+    }
+
+    public int getResolverPoolSize()
+    {
+        return resolverPoolSize;
+    }
+
+    public void setResolverPoolSize(int resolverPoolSize)
+    {
+        this.resolverPoolSize = resolverPoolSize;
+    }
+
     @Override
     public ArtifactRepository initialiseArtifactRepositoryProvider()
     {
@@ -20,18 +20,32 @@ import org.finos.legend.depot.services.api.artifacts.repository.ArtifactReposito
 import org.finos.legend.depot.domain.artifacts.repository.ArtifactDependency;
 import org.finos.legend.depot.domain.artifacts.repository.ArtifactType;
 import org.finos.legend.depot.services.artifacts.repository.maven.TestMavenArtifactsRepository;
+import org.apache.maven.model.Model;
 import org.finos.legend.sdlc.domain.model.version.VersionId;
 import org.junit.Assert;
+import org.junit.Rule;
 import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
 
 import java.io.File;
+import java.io.IOException;
+import java.net.MalformedURLException;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.Collections;
 import java.util.List;
 import java.util.Set;
+import java.util.stream.Collectors;
+
+import static org.finos.legend.depot.domain.version.VersionValidator.BRANCH_SNAPSHOT;
 
 public class TestRepository
 {
     public static final String GROUP_ID = "examples.metadata";
     private ArtifactRepository repository = new TestMavenArtifactsRepository();
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
 
     @Test
     public void canResolveVersionsRanges()
@@ -120,4 +134,53 @@ public class TestRepository
         Assert.assertEquals(1,filesForVersionedEntities.size());
         Assert.assertEquals("test-versioned-entities-1.0.0.jar",filesForVersionedEntities.get(0).getName());
     }
+
+    @Test
+    public void canReuseParsedPOMs()
+    {
+        Model pom = repository.getPOM(GROUP_ID, "test", "1.0.0");
+        Assert.assertEquals("test", pom.getArtifactId());
+        Assert.assertSame(pom, repository.getPOM(GROUP_ID, "test", "1.0.0"));
+        Assert.assertNotSame(pom, repository.getPOM(GROUP_ID, "test", "2.0.0"));
+    }
+
+    @Test
+    public void republishedSnapshotPOMsAreReadAgain() throws IOException
+    {
+        File pomFile = temporaryFolder.newFile("test-master-SNAPSHOT.pom");
+        ArtifactRepository snapshotRepository = new TestMavenArtifactsRepository()
+        {
+            @Override
+            protected URL[] resolvePOMFromRepository(String group, String artifact, String version)
+            {
+                try
+                {
+                    return new URL[]{pomFile.toURI().toURL()};
+                }
+                catch (MalformedURLException e)
+                {
+                    throw new IllegalStateException(e);
+                }
+            }
+        };
+
+        writeSnapshotPOM(pomFile, "test-dependencies", "1.0.0");
+        Assert.assertEquals(Collections.singletonList("test-dependencies:1.0.0"), getDependencies(snapshotRepository.getPOM(GROUP_ID, "test", BRANCH_SNAPSHOT("master"))));
+
+        writeSnapshotPOM(pomFile, "test-dependencies", "2.0.0");
+        Assert.assertTrue(pomFile.setLastModified(pomFile.lastModified() + 10000));
+        Assert.assertEquals(Collections.singletonList("test-dependencies:2.0.0"), getDependencies(snapshotRepository.getPOM(GROUP_ID, "test", BRANCH_SNAPSHOT("master"))));
+    }
+
+    private void writeSnapshotPOM(File pomFile, String dependency, String version) throws IOException
+    {
+        String pom = "<project><modelVersion>4.0.0</modelVersion><groupId>" + GROUP_ID + "</groupId><artifactId>test</artifactId><version>" + BRANCH_SNAPSHOT("master") + "</version>"
+                + "<dependencies><dependency><groupId>" + GROUP_ID + "</groupId><artifactId>" + dependency + "</artifactId><version>" + version + "</version></dependency></dependencies></project>";
+        Files.write(pomFile.toPath(), pom.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static List<String> getDependencies(Model pom)
+    {
+        return pom.getDependencies().stream().map(dependency -> dependency.getArtifactId() + ":" + dependency.getVersion()).collect(Collectors.toList());
+    }
 }
@@ -16,14 +16,15 @@
 package org.finos.legend.depot.services.artifacts.handlers.entities;
 
 import org.finos.legend.depot.domain.notifications.MetadataNotificationResponse;
-import org.finos.legend.depot.domain.version.VersionValidator;
 import org.finos.legend.depot.services.api.entities.ManageEntitiesService;
 import org.finos.legend.depot.services.api.artifacts.handlers.entties.EntityArtifactsProvider;
+import org.finos.legend.depot.store.model.IncrementalUpdateResult;
 import org.finos.legend.sdlc.domain.model.entity.Entity;
 import org.slf4j.Logger;
 
 import java.io.File;
 import java.util.List;
+import java.util.stream.Stream;
 
 
 public abstract class AbstractEntityRefreshHandlerImpl
@@ -58,6 +59,13 @@ public abstract class AbstractEntityRefreshHandlerImpl
     }
 
 
+    public void setLatestVersion(String groupId, String artifactId, String versionId)
+    {
+        long updated = getEntitiesApi().setLatestVersion(groupId, artifactId, versionId);
+        LOGGER.info("latest version of {}-{} set to {}, {} {} updated", groupId, artifactId, versionId, updated, this.entitiesProvider.getType());
+    }
+
+
     private String getGAVCoordinates(String groupId,String artifactId, String versionId)
     {
         return String.format("%s-%s-%s", groupId, artifactId, versionId);
@@ -71,40 +79,42 @@ public abstract class AbstractEntityRefreshHandlerImpl
         try
         {
             String gavCoordinates = getGAVCoordinates(groupId, artifactId, versionId);
-            List<Entity> entityList = getEntities(files);
-            if (entityList != null && !entityList.isEmpty())
+            if (files.isEmpty())
             {
-                String message = String.format("found [%s] %s for [%s] ", entityList.size(), this.entitiesProvider.getType(), gavCoordinates);
+                String message = String.format("found 0 %s for [%s] ",this.entitiesProvider.getType(), gavCoordinates);
                 getLOGGER().info(message);
                 response.addMessage(message);
-                if (VersionValidator.isSnapshotVersion(versionId))
-                {
-                    message = String.format("removing prior %s artifacts for [%s-%s]",this.entitiesProvider.getType(),gavCoordinates,versionId);
-                    response.addMessage(message);
-                    response.addMessage("deleted " + getEntitiesApi().delete(groupId, artifactId,versionId));
-                    LOGGER.info(message);
-                }
-                getEntitiesApi().createOrUpdate(groupId, artifactId, versionId, entityList);
+                return response;
             }
-            else
+            //entities are handed to the store as a stream, it writes them in batches as each artifact file is read
+            try (Stream<Entity> entities = getEntities(files))
             {
-                String message = String.format("found 0 %s for [%s] ",this.entitiesProvider.getType(), gavCoordinates);
+                IncrementalUpdateResult result = getEntitiesApi().incrementalUpdate(groupId, artifactId, versionId, entities);
+                long found = result.getInserted() + result.getUpdated() + result.getUnchanged();
+                String message = String.format("found [%s] %s for [%s] ", found, this.entitiesProvider.getType(), gavCoordinates);
                 getLOGGER().info(message);
                 response.addMessage(message);
+                if (found > 0 || result.getDeleted() > 0)
+                {
+                    message = String.format("incremental update of %s for [%s]: %s", this.entitiesProvider.getType(), gavCoordinates, result);
+                    response.addMessage(message);
+                    LOGGER.info(message);
+                }
             }
 
         }
         catch (Exception e)
         {
-            String errorMessage = String.format("Unexpected exception refreshing %s %s-%s-%s , %s",entitiesProvider.getType(),groupId,artifactId,versionId,e.getMessage());
+            //batches already written are kept, the version is left partially updated until the notification is retried
+            String errorMessage = String.format("Unexpected exception refreshing %s %s-%s-%s , version may be partially updated until retried, %s",entitiesProvider.getType(),groupId,artifactId,versionId,e.getMessage());
             response.addError(errorMessage);
             LOGGER.error(errorMessage);
         }
         return response;
     }
 
-    private List<Entity> getEntities(List<File> files)
+    private Stream<Entity> getEntities(List<File> files)
     {
-        return entitiesProvider.extractArtifacts(files);
+        return entitiesProvider.streamArtifacts(files);
     }
 }
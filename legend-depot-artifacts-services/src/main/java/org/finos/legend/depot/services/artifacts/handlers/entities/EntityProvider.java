@@ -24,7 +24,6 @@ import org.finos.legend.sdlc.serialization.EntityLoader;
 import javax.inject.Inject;
 import javax.inject.Singleton;
 import java.io.File;
-import java.util.ArrayList;
 import java.util.List;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
@@ -48,20 +47,55 @@ public class EntityProvider implements EntityArtifactsProvider
     @Override
     public List<Entity> extractArtifactsForType(Stream<File> files)
     {
-        List<Entity> entities = new ArrayList<>();
-        files.forEach(f ->
+        try (Stream<Entity> entities = streamArtifactsForType(files))
         {
-            try (EntityLoader loader = EntityLoader.newEntityLoader(f))
-            {
-                List<Entity> loadedEntities = loader.getAllEntities().collect(Collectors.toList());
-                entities.addAll(loadedEntities);
-            }
-            catch (Exception e)
+            return entities.collect(Collectors.toList());
+        }
+        catch (ArtifactLoadingException e)
+        {
+            throw e;
+        }
+        catch (Exception e)
+        {
+            throw new ArtifactLoadingException(e.getMessage());
+        }
+    }
+
+    @Override
+    public Stream<Entity> streamArtifactsForType(Stream<File> files)
+    {
+        return files.flatMap(this::streamEntities);
+    }
+
+    private Stream<Entity> streamEntities(File file)
+    {
+        EntityLoader loader = null;
+        try
+        {
+            loader = EntityLoader.newEntityLoader(file);
+            EntityLoader openLoader = loader;
+            return loader.getAllEntities().onClose(() -> close(openLoader));
+        }
+        catch (Exception e)
+        {
+            if (loader != null)
             {
-                throw new ArtifactLoadingException(e.getMessage());
+                close(loader);
             }
-        });
-        return entities;
+            throw new ArtifactLoadingException(e.getMessage());
+        }
+    }
+
+    private void close(EntityLoader loader)
+    {
+        try
+        {
+            loader.close();
+        }
+        catch (Exception e)
+        {
+            throw new ArtifactLoadingException(e.getMessage());
+        }
     }
 
     @Override
@@ -20,8 +20,8 @@ import org.finos.legend.depot.services.api.artifacts.repository.ArtifactReposito
 import org.finos.legend.depot.domain.artifacts.repository.ArtifactType;
 import org.finos.legend.depot.domain.notifications.MetadataNotificationResponse;
 import org.finos.legend.depot.domain.generation.DepotGeneration;
+import org.finos.legend.depot.store.model.IncrementalUpdateResult;
 import org.finos.legend.depot.store.model.generations.StoredFileGeneration;
-import org.finos.legend.depot.domain.version.VersionValidator;
 import org.finos.legend.depot.services.api.generations.ManageFileGenerationsService;
 import org.finos.legend.depot.services.api.artifacts.handlers.generations.FileGenerationsArtifactsHandler;
 import org.finos.legend.depot.services.api.artifacts.handlers.generations.FileGenerationsArtifactsProvider;
@@ -37,10 +37,9 @@ import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 import java.util.HashMap;
-import java.util.HashSet;
 import java.util.Map;
-import java.util.Set;
 
 import static org.finos.legend.depot.domain.generation.DepotGeneration.GENERATION_CONFIGURATION;
 
@@ -76,75 +75,70 @@ public class FileGenerationHandlerImpl implements FileGenerationsArtifactsHandle
         MetadataNotificationResponse response = new MetadataNotificationResponse();
         try
         {
-            List<StoredFileGeneration> newGenerations = new ArrayList<>();
             List<Entity> projectEntities = getAllNonVersionedEntities(groupId, artifactId, versionId);
             List<Entity> fileGenerationEntities = filterEntitiesByFileGenerationEntities(projectEntities);
-            List<DepotGeneration> generatedFiles = provider.extractArtifacts(files);
+            Map<String, Entity> entityMap = buildEntitiesByElementPathMap(projectEntities);
 
-            //handle files generated when a new master snapshot comes into picture
-            if (VersionValidator.isSnapshotVersion(versionId))
+            // generated files are streamed out of the jar and written in batches, so the whole set is never held in memory
+            try (Stream<DepotGeneration> generatedFiles = provider.streamArtifacts(files))
             {
-                String message = String.format("removing prior %s artifacts for [%s-%s-%s]",provider.getType(), groupId, artifactId, versionId);
+                Stream<StoredFileGeneration> newGenerations = generatedFiles.flatMap(generatedFile -> toStoredGenerations(groupId, artifactId, versionId, generatedFile, fileGenerationEntities, entityMap, response).stream());
+                IncrementalUpdateResult result = generations.incrementalUpdate(groupId, artifactId, versionId, newGenerations);
+                String message = String.format("incremental update of %s for [%s-%s-%s]: %s", provider.getType(), groupId, artifactId, versionId, result);
                 response.addMessage(message);
-                generations.delete(groupId, artifactId, versionId);
                 LOGGER.info(message);
+                message = String.format("new [%s] generations for [%s-%s-%s] ", result.getInserted() + result.getUpdated() + result.getUnchanged(), groupId, artifactId, versionId);
+                LOGGER.info(message);
+                response.addMessage(message);
             }
-            // handle files generated by FileGeneration Element
-            HashSet<DepotGeneration> processedGeneratedFiles = new HashSet<>();
-            fileGenerationEntities.forEach(entity ->
-            {
-                String generationPath = (String) entity.getContent().get(GENERATION_OUTPUT_PATH);
-                String elementPath = PATH_SEPARATOR + (generationPath != null ? generationPath : entity.getPath().replace(PURE_PACKAGE_SEPARATOR, UNDERSCORE));
-                String codeSchemaGenerationType = (String) entity.getContent().get(TYPE);
-
-                generatedFiles.stream().filter(gen -> gen.getPath().startsWith(elementPath + PATH_SEPARATOR)).forEach(gen ->
-                {
-                    DepotGeneration generation = new DepotGeneration(gen.getPath().replace(elementPath, BLANK), gen.getContent());
-                    newGenerations.add(new StoredFileGeneration(groupId, artifactId, versionId, entity.getPath(), codeSchemaGenerationType, generation));
-                    processedGeneratedFiles.add(gen);
-                });
-            });
-
-            // handle remaining files
-            Map<String, Entity> entityMap = buildEntitiesByElementPathMap(projectEntities);
-            Set<String> entityPaths = entityMap.keySet();
-            generatedFiles.forEach(generatedFile ->
-            {
-                if (!processedGeneratedFiles.contains(generatedFile))
-                {
-                    Optional<String> entityPath = entityPaths.stream().filter(s -> generatedFile.getPath().startsWith(PATH_SEPARATOR + s + PATH_SEPARATOR)).findFirst();
-                    if (!entityPath.isPresent())
-                    {
-                        String unableToHandle = String.format("Can't find element path for generated file with path %s",generatedFile.getPath());
-                        LOGGER.warn(unableToHandle);
-                    }
-                    else
-                    {
-                        String elementPath = entityMap.get(entityPath.get()).getPath();
-                        DepotGeneration generation = new DepotGeneration(generatedFile.getPath(), generatedFile.getContent());
-                        String type = this.getExtensionKeyFromGeneration(generation.getPath(), entityPath.get());
-                        if (type.equals(UNKNOWN_TYPE))
-                        {
-                            response.addError(String.format("Generation type for file %s is not present", generation.getPath()));
-                        }
-                        newGenerations.add(new StoredFileGeneration(groupId, artifactId, versionId, elementPath, type, generation));
-                    }
-                }
-            });
-            generations.createOrUpdate(newGenerations);
-            String message = String.format("new [%s] generations for [%s-%s-%s] ", newGenerations.size(), groupId,artifactId, versionId);
-            LOGGER.info(message);
-            response.addMessage(message);
         }
         catch (Exception e)
         {
-           String message = String.format("Error processing generations update for %s-%s-%s , ERROR: [%s]", groupId,artifactId,versionId,e.getMessage());
+           String message = String.format("Error processing generations update for %s-%s-%s , version may be partially updated until retried, ERROR: [%s]", groupId,artifactId,versionId,e.getMessage());
            LOGGER.error(message);
            response.addError(message);
         }
         return response;
     }
 
+    private List<StoredFileGeneration> toStoredGenerations(String groupId, String artifactId, String versionId, DepotGeneration generatedFile, List<Entity> fileGenerationEntities, Map<String, Entity> entityMap, MetadataNotificationResponse response)
+    {
+        // handle files generated by FileGeneration Element
+        List<StoredFileGeneration> storedGenerations = new ArrayList<>();
+        fileGenerationEntities.forEach(entity ->
+        {
+            String generationPath = (String) entity.getContent().get(GENERATION_OUTPUT_PATH);
+            String elementPath = PATH_SEPARATOR + (generationPath != null ? generationPath : entity.getPath().replace(PURE_PACKAGE_SEPARATOR, UNDERSCORE));
+            if (generatedFile.getPath().startsWith(elementPath + PATH_SEPARATOR))
+            {
+                String codeSchemaGenerationType = (String) entity.getContent().get(TYPE);
+                DepotGeneration generation = new DepotGeneration(generatedFile.getPath().replace(elementPath, BLANK), generatedFile.getContent());
+                storedGenerations.add(new StoredFileGeneration(groupId, artifactId, versionId, entity.getPath(), codeSchemaGenerationType, generation));
+            }
+        });
+        if (!storedGenerations.isEmpty())
+        {
+            return storedGenerations;
+        }
+
+        // handle remaining files
+        Optional<String> entityPath = entityMap.keySet().stream().filter(s -> generatedFile.getPath().startsWith(PATH_SEPARATOR + s + PATH_SEPARATOR)).findFirst();
+        if (!entityPath.isPresent())
+        {
+            String unableToHandle = String.format("Can't find element path for generated file with path %s",generatedFile.getPath());
+            LOGGER.warn(unableToHandle);
+            return Collections.emptyList();
+        }
+        String elementPath = entityMap.get(entityPath.get()).getPath();
+        DepotGeneration generation = new DepotGeneration(generatedFile.getPath(), generatedFile.getContent());
+        String type = this.getExtensionKeyFromGeneration(generation.getPath(), entityPath.get());
+        if (type.equals(UNKNOWN_TYPE))
+        {
+            response.addError(String.format("Generation type for file %s is not present", generation.getPath()));
+        }
+        return Collections.singletonList(new StoredFileGeneration(groupId, artifactId, versionId, elementPath, type, generation));
+    }
+
     private String getExtensionKeyFromGeneration(String path, String entityPath)
     {
         Optional<String> optionalType = Arrays.stream(path.replace(PATH_SEPARATOR + entityPath + PATH_SEPARATOR, "").split(PATH_SEPARATOR)).findFirst();
@@ -24,7 +24,6 @@ import org.finos.legend.depot.services.api.artifacts.handlers.generations.FileGe
 import javax.inject.Inject;
 import javax.inject.Singleton;
 import java.io.File;
-import java.util.ArrayList;
 import java.util.List;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
@@ -41,20 +40,55 @@ public class FileGenerationsProvider implements FileGenerationsArtifactsProvider
     @Override
     public List<DepotGeneration> extractArtifactsForType(Stream<File> files)
     {
-        List<DepotGeneration> generations = new ArrayList<>();
-        files.forEach(f ->
+        try (Stream<DepotGeneration> generations = streamArtifactsForType(files))
         {
-            try (FileGenerationLoader loader = FileGenerationLoader.newFileGenerationsLoader(f))
-            {
-                List<DepotGeneration> fileGenerations = loader.getAllFileGenerations().collect(Collectors.toList());
-                generations.addAll(fileGenerations);
-            }
-            catch (Exception e)
+            return generations.collect(Collectors.toList());
+        }
+        catch (ArtifactLoadingException e)
+        {
+            throw e;
+        }
+        catch (Exception e)
+        {
+            throw new ArtifactLoadingException(e.getMessage());
+        }
+    }
+
+    @Override
+    public Stream<DepotGeneration> streamArtifactsForType(Stream<File> files)
+    {
+        return files.flatMap(this::streamGenerations);
+    }
+
+    private Stream<DepotGeneration> streamGenerations(File file)
+    {
+        FileGenerationLoader loader = null;
+        try
+        {
+            loader = FileGenerationLoader.newFileGenerationsLoader(file);
+            FileGenerationLoader openLoader = loader;
+            return loader.getAllFileGenerations().onClose(() -> close(openLoader));
+        }
+        catch (Exception e)
+        {
+            if (loader != null)
             {
-                throw new ArtifactLoadingException(e.getMessage());
+                close(loader);
             }
-        });
-        return generations;
+            throw new ArtifactLoadingException(e.getMessage());
+        }
+    }
+
+    private void close(FileGenerationLoader loader)
+    {
+        try
+        {
+            loader.close();
+        }
+        catch (Exception e)
+        {
+            throw new ArtifactLoadingException(e.getMessage());
+        }
     }
 
     @Override
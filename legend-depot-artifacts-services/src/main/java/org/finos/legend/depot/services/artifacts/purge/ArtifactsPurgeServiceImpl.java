@@ -15,7 +15,6 @@
 
 package org.finos.legend.depot.services.artifacts.purge;
 
-import org.eclipse.collections.impl.parallel.ParallelIterate;
 import org.finos.legend.depot.domain.VersionedData;
 import org.finos.legend.depot.domain.notifications.MetadataNotificationResponse;
 import org.finos.legend.depot.domain.artifacts.repository.ArtifactType;
@@ -26,14 +25,15 @@ import org.finos.legend.depot.services.api.artifacts.purge.ArtifactsPurgeService
 import org.finos.legend.depot.services.api.metrics.query.QueryMetricsService;
 import org.finos.legend.depot.services.api.projects.ManageProjectsService;
 import org.finos.legend.depot.services.api.artifacts.reconciliation.VersionsReconciliationService;
-import org.finos.legend.depot.store.model.projects.StoreProjectData;
 import org.finos.legend.depot.store.model.projects.StoreProjectVersionData;
 import org.finos.legend.depot.core.services.tracing.TracerFactory;
 import org.finos.legend.depot.core.services.metrics.PrometheusMetricsFactory;
+import org.finos.legend.depot.core.services.executors.DepotExecutors;
 import org.slf4j.Logger;
 
 import javax.inject.Inject;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
@@ -156,18 +156,17 @@ public class ArtifactsPurgeServiceImpl implements ArtifactsPurgeService
     public MetadataNotificationResponse deprecateVersionsNotInRepository()
     {
         MetadataNotificationResponse response = new MetadataNotificationResponse();
-        ParallelIterate.forEach(versionsMismatchService.findVersionsMismatches(),versionMismatch ->
+        DepotExecutors.io().map(versionsMismatchService.findVersionsMismatches(), versionMismatch ->
         {
-            if (!versionMismatch.versionsNotInRepository.isEmpty())
+            List<String> messages = new ArrayList<>();
+            versionMismatch.versionsNotInRepository.forEach(versionId ->
             {
-                versionMismatch.versionsNotInRepository.forEach(versionId ->
-                {
-                    LOGGER.info(String.format("Deprecating project version: %s-%s-%s", versionMismatch.groupId, versionMismatch.artifactId, versionId));
-                    deprecate(versionMismatch.groupId, versionMismatch.artifactId, versionId);
-                    response.addMessage(String.format("Deprecated project version: %s-%s-%s", versionMismatch.groupId, versionMismatch.artifactId, versionId));
-                });
-            }
-        },10);
+                LOGGER.info(String.format("Deprecating project version: %s-%s-%s", versionMismatch.groupId, versionMismatch.artifactId, versionId));
+                deprecate(versionMismatch.groupId, versionMismatch.artifactId, versionId);
+                messages.add(String.format("Deprecated project version: %s-%s-%s", versionMismatch.groupId, versionMismatch.artifactId, versionId));
+            });
+            return messages;
+        }).forEach(messages -> messages.forEach(response::addMessage));
         return response;
     }
 
@@ -212,21 +211,17 @@ public class ArtifactsPurgeServiceImpl implements ArtifactsPurgeService
         {
             LOGGER.info("Started finding eviction candidates for snapshot versions");
             metrics.findSnapshotVersionMetricsBefore(toDate(currentDateTime.minusDays(ttlForSnapshotsInDays)))
-                    .parallelStream().forEach(pv -> evictProjectVersions.add(new ProjectVersion(pv.getGroupId(), pv.getArtifactId(), pv.getVersionId())));
+                    .forEach(pv -> evictProjectVersions.add(new ProjectVersion(pv.getGroupId(), pv.getArtifactId(), pv.getVersionId())));
             LOGGER.info("Started finding eviction candidates for non-snapshot versions");
             metrics.findReleasedVersionMetricsBefore(toDate(currentDateTime.minusDays(ttlForVersionsInDays)))
-                    .parallelStream().forEach(pv -> evictProjectVersions.add(new ProjectVersion(pv.getGroupId(), pv.getArtifactId(), pv.getVersionId())));
+                    .forEach(pv -> evictProjectVersions.add(new ProjectVersion(pv.getGroupId(), pv.getArtifactId(), pv.getVersionId())));
             LOGGER.info("Completed finding eviction candidates");
         }
         catch (Exception e)
         {
             LOGGER.error(String.format("Error while applying retention policy: %s", e.getMessage()));
         }
-        evictProjectVersions.parallelStream().forEach(pv ->
-        {
-            evict(pv.getGroupId(), pv.getArtifactId(), pv.getVersionId());
-            response.addMessage(String.format("Evicted project version: %s", pv.getGav()));
-        });
+        evictAll(evictProjectVersions, response);
         return response;
     }
 
@@ -238,28 +233,31 @@ public class ArtifactsPurgeServiceImpl implements ArtifactsPurgeService
         try
         {
             LOGGER.info("Started finding versions not being used for eviction");
-            List<StoreProjectData> allProjects = projects.getAllProjectCoordinates();
-            allProjects.parallelStream().forEach(project ->
+            projects.forEachProjectCoordinatesPage(page -> DepotExecutors.io().map(page, project ->
             {
                 Set<String> allVersions = projects.find(project.getGroupId(), project.getArtifactId()).stream()
                         .filter(versionData -> !versionData.isEvicted() && !versionData.getVersionData().isExcluded())
                         .map(VersionedData::getVersionId).collect(Collectors.toSet());
                 Set<String> versionsUsed = metrics.findMetricsForProjectCoordinates(project.getGroupId(), project.getArtifactId()).stream().map(metric -> metric.getVersionId()).collect(Collectors.toSet());
                 allVersions.removeAll(versionsUsed);
-                allVersions.parallelStream().forEach(version -> evictProjectVersions.add(new ProjectVersion(project.getGroupId(), project.getArtifactId(), version)));
-            });
+                return allVersions.stream().map(version -> new ProjectVersion(project.getGroupId(), project.getArtifactId(), version)).collect(Collectors.toList());
+            }).forEach(evictProjectVersions::addAll));
             LOGGER.info("Completed finding versions not being used");
         }
         catch (Exception e)
         {
             LOGGER.error(String.format("Error while evicting versions not being used: %s", e.getMessage()));
         }
-        evictProjectVersions.parallelStream().forEach(pv ->
-        {
-            evict(pv.getGroupId(), pv.getArtifactId(), pv.getVersionId());
-            response.addMessage(String.format("Evicted project version: %s", pv.getGav()));
-        });
+        evictAll(evictProjectVersions, response);
         return response;
     }
 
+    private void evictAll(Set<ProjectVersion> evictProjectVersions, MetadataNotificationResponse response)
+    {
+        DepotExecutors.io().map(evictProjectVersions, pv ->
+        {
+            evict(pv.getGroupId(), pv.getArtifactId(), pv.getVersionId());
+            return String.format("Evicted project version: %s", pv.getGav());
+        }).forEach(response::addMessage);
+    }
 }
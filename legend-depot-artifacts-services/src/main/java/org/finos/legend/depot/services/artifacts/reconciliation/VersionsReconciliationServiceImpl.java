@@ -15,7 +15,6 @@
 
 package org.finos.legend.depot.services.artifacts.reconciliation;
 
-import org.eclipse.collections.impl.parallel.ParallelIterate;
 import org.finos.legend.depot.services.api.artifacts.reconciliation.VersionsReconciliationService;
 import org.finos.legend.depot.services.api.artifacts.repository.ArtifactRepository;
 import org.finos.legend.depot.services.api.projects.ManageProjectsService;
@@ -24,6 +23,8 @@ import org.finos.legend.depot.store.model.projects.StoreProjectVersionData;
 import org.finos.legend.depot.domain.version.VersionMismatch;
 import org.finos.legend.depot.domain.version.VersionValidator;
 import org.finos.legend.depot.core.services.metrics.PrometheusMetricsFactory;
+import org.finos.legend.depot.core.services.executors.DepotExecutors;
+import org.finos.legend.depot.services.api.artifacts.handlers.ProjectArtifactHandlerFactory;
 import org.slf4j.Logger;
 
 import javax.inject.Inject;
@@ -64,7 +65,7 @@ public class VersionsReconciliationServiceImpl implements VersionsReconciliation
     @Override
     public List<VersionMismatch> findVersionsMismatches()
     {
-        List<VersionMismatch> versionMismatches = new ArrayList<>();
+        List<VersionMismatch> versionMismatches = synchronizedList(new ArrayList<>());
         AtomicLong repoVersions = new AtomicLong(0);
         AtomicLong storeVersionsCount = new AtomicLong(0);
         AtomicLong missingRepoVersions = new AtomicLong(0);
@@ -73,54 +74,58 @@ public class VersionsReconciliationServiceImpl implements VersionsReconciliation
         AtomicLong evictedVersionsCount = new AtomicLong(0);
         AtomicLong excludedVersionsCount = new AtomicLong(0);
         long startTime = System.currentTimeMillis();
-        List<StoreProjectData> allProjects = projects.getAllProjectCoordinates();
-        LOGGER.info("Starting findVersionsMismatches {}",allProjects.size());
-        ParallelIterate.forEach(allProjects,(p ->
+        AtomicLong projectsCount = new AtomicLong(0);
+        LOGGER.info("Starting findVersionsMismatches");
+        projects.forEachProjectCoordinatesPage(page ->
         {
-            try
+            projectsCount.addAndGet(page.size());
+            DepotExecutors.io().forEach(page, p ->
             {
-                final List<StoreProjectVersionData> projectVersions = projects.find(p.getGroupId(), p.getArtifactId());
-                List<String> storeVersions = projectVersions.stream().filter(pv -> !VersionValidator.isSnapshotVersion(pv.getVersionId())).map(pv -> pv.getVersionId()).collect(Collectors.toList());
-                storeVersionsCount.addAndGet(storeVersions.size());
-                final List<String> repositoryVersions = repository.findVersions(p.getGroupId(), p.getArtifactId()).stream().map(v -> v.toVersionIdString()).collect(Collectors.toList());
-                repoVersions.addAndGet(repositoryVersions.size());
-
-                //check evicted versions
-                long noOfEvictedVersions = projectVersions.stream().filter(pv -> pv.isEvicted()).count();
-                long noOfExcludedVersions = projectVersions.stream().filter(pv -> pv.getVersionData().isExcluded()).count();
-                evictedVersionsCount.addAndGet(noOfEvictedVersions);
-                excludedVersionsCount.addAndGet(noOfExcludedVersions);
-
-                //check versions not in store
-                List<String> versionsNotInStore = repositoryVersions.stream().filter(repoVersion -> !storeVersions.contains(repoVersion)).collect(Collectors.toList());
-                missingRepoVersions.addAndGet(versionsNotInStore.size());
-                if (!versionsNotInStore.isEmpty())
+                try
                 {
-                    LOGGER.info("version-mismatch found for {} {}-{} : notInStore[{}]", p.getProjectId(), p.getGroupId(), p.getArtifactId(), versionsNotInStore);
+                    final List<StoreProjectVersionData> projectVersions = projects.find(p.getGroupId(), p.getArtifactId());
+                    List<String> storeVersions = projectVersions.stream().filter(pv -> !VersionValidator.isSnapshotVersion(pv.getVersionId())).map(pv -> pv.getVersionId()).collect(Collectors.toList());
+                    storeVersionsCount.addAndGet(storeVersions.size());
+                    final List<String> repositoryVersions = repository.findVersions(p.getGroupId(), p.getArtifactId()).stream().map(v -> v.toVersionIdString()).collect(Collectors.toList());
+                    repoVersions.addAndGet(repositoryVersions.size());
+
+                    //check evicted versions
+                    long noOfEvictedVersions = projectVersions.stream().filter(pv -> pv.isEvicted()).count();
+                    long noOfExcludedVersions = projectVersions.stream().filter(pv -> pv.getVersionData().isExcluded()).count();
+                    evictedVersionsCount.addAndGet(noOfEvictedVersions);
+                    excludedVersionsCount.addAndGet(noOfExcludedVersions);
+
+                    //check versions not in store
+                    List<String> versionsNotInStore = repositoryVersions.stream().filter(repoVersion -> !storeVersions.contains(repoVersion)).collect(Collectors.toList());
+                    missingRepoVersions.addAndGet(versionsNotInStore.size());
+                    if (!versionsNotInStore.isEmpty())
+                    {
+                        LOGGER.info("version-mismatch found for {} {}-{} : notInStore[{}]", p.getProjectId(), p.getGroupId(), p.getArtifactId(), versionsNotInStore);
+                    }
+                    //check versions not in repo
+                    List<String> versionsNotInRepo = storeVersions.stream().filter(storeVersion -> !repositoryVersions.contains(storeVersion)).collect(Collectors.toList());
+                    missingStoreVersions.addAndGet(versionsNotInRepo.size());
+                    if (!versionsNotInRepo.isEmpty())
+                    {
+                        LOGGER.info("version-mismatch found for {} {}-{} : notInRepository [{}]", p.getProjectId(), p.getGroupId(), p.getArtifactId(), versionsNotInRepo);
+                    }
+
+                    if (!versionsNotInStore.isEmpty() || !versionsNotInRepo.isEmpty())
+                    {
+                        versionMismatches.add(new VersionMismatch(p.getProjectId(), p.getGroupId(), p.getArtifactId(), versionsNotInStore, versionsNotInRepo));
+                    }
                 }
-                //check versions not in repo
-                List<String> versionsNotInRepo = storeVersions.stream().filter(storeVersion -> !repositoryVersions.contains(storeVersion)).collect(Collectors.toList());
-                missingStoreVersions.addAndGet(versionsNotInRepo.size());
-                if (!versionsNotInRepo.isEmpty())
+                catch (Exception e)
                 {
-                    LOGGER.info("version-mismatch found for {} {}-{} : notInRepository [{}]", p.getProjectId(), p.getGroupId(), p.getArtifactId(), versionsNotInRepo);
+                    String message = String.format("Could not get versions for %s:%s exception: %s ", p.getGroupId(), p.getArtifactId(), e.getMessage());
+                    LOGGER.error(message);
+                    versionMismatches.add(new VersionMismatch(p.getProjectId(), p.getGroupId(), p.getArtifactId(), Collections.emptyList(), Collections.emptyList(), Arrays.asList(message)));
+                    repoExceptions.addAndGet(1);
                 }
+            });
+        });
 
-                if (!versionsNotInStore.isEmpty() || !versionsNotInRepo.isEmpty())
-                {
-                    versionMismatches.add(new VersionMismatch(p.getProjectId(), p.getGroupId(), p.getArtifactId(), versionsNotInStore, versionsNotInRepo));
-                }
-            }
-            catch (Exception e)
-            {
-                String message = String.format("Could not get versions for %s:%s exception: %s ", p.getGroupId(), p.getArtifactId(), e.getMessage());
-                LOGGER.error(message);
-                versionMismatches.add(new VersionMismatch(p.getProjectId(), p.getGroupId(), p.getArtifactId(), Collections.emptyList(), Collections.emptyList(), Arrays.asList(message)));
-                repoExceptions.addAndGet(1);
-            }
-        }),10);
-
-        PrometheusMetricsFactory.getInstance().setGauge(PROJECTS,allProjects.size());
+        PrometheusMetricsFactory.getInstance().setGauge(PROJECTS,projectsCount.get());
         PrometheusMetricsFactory.getInstance().setGauge(REPO_VERSIONS,repoVersions.get());
         PrometheusMetricsFactory.getInstance().setGauge(STORE_VERSIONS,storeVersionsCount.get());
         PrometheusMetricsFactory.getInstance().setGauge(MISSING_REPO_VERSIONS,missingRepoVersions.get());
@@ -138,32 +143,37 @@ public class VersionsReconciliationServiceImpl implements VersionsReconciliation
         AtomicLong projectUpdateExceptions = new AtomicLong(0);
         List<StoreProjectData> projectsWithUpdatedLatestVersion = synchronizedList(new ArrayList<>());
         long startTime = System.currentTimeMillis();
-        List<StoreProjectData> allProjects = projects.getAllProjectCoordinates();
-        LOGGER.info("Syncing projects' latest versions to latest non-evicted and non-excluded store version if mismatch exists {}", allProjects.size());
-        ParallelIterate.forEach(allProjects, (p ->
+        AtomicLong projectsCount = new AtomicLong(0);
+        LOGGER.info("Syncing projects' latest versions to latest non-evicted and non-excluded store version if mismatch exists");
+        projects.forEachProjectCoordinatesPage(page ->
         {
-            try
+            projectsCount.addAndGet(page.size());
+            DepotExecutors.io().forEach(page, p ->
             {
-                final List<StoreProjectVersionData> activeProjectVersions = projects.find(p.getGroupId(), p.getArtifactId()).stream()
-                        .filter(pv -> !pv.getVersionData().isExcluded() && !pv.isEvicted() && !pv.getVersionData().isDeprecated()).collect(Collectors.toList());
-
-                List<String> activeStoreVersions = activeProjectVersions.stream().filter(pv -> !VersionValidator.isSnapshotVersion(pv.getVersionId())).map(pv -> pv.getVersionId()).collect(Collectors.toList());
-                if (!activeStoreVersions.isEmpty() && p.evaluateLatestVersionAndUpdate(max(activeStoreVersions)))
+                try
                 {
-                    LOGGER.info("Updating latest version for {} {}-{} to {}", p.getProjectId(), p.getGroupId(), p.getArtifactId(), max(activeStoreVersions));
-                    projects.createOrUpdate(p);
-                    projectsWithUpdatedLatestVersion.add(p);
+                    final List<StoreProjectVersionData> activeProjectVersions = projects.find(p.getGroupId(), p.getArtifactId()).stream()
+                            .filter(pv -> !pv.getVersionData().isExcluded() && !pv.isEvicted() && !pv.getVersionData().isDeprecated()).collect(Collectors.toList());
+
+                    List<String> activeStoreVersions = activeProjectVersions.stream().filter(pv -> !VersionValidator.isSnapshotVersion(pv.getVersionId())).map(pv -> pv.getVersionId()).collect(Collectors.toList());
+                    if (!activeStoreVersions.isEmpty() && p.evaluateLatestVersionAndUpdate(max(activeStoreVersions)))
+                    {
+                        LOGGER.info("Updating latest version for {} {}-{} to {}", p.getProjectId(), p.getGroupId(), p.getArtifactId(), max(activeStoreVersions));
+                        projects.createOrUpdate(p);
+                        projectsWithUpdatedLatestVersion.add(p);
+                        ProjectArtifactHandlerFactory.getSupportedTypes().forEach(artifactType -> ProjectArtifactHandlerFactory.getArtifactHandler(artifactType).setLatestVersion(p.getGroupId(), p.getArtifactId(), p.getLatestVersion()));
+                    }
                 }
-            }
-            catch (Exception e)
-            {
-                String message = String.format("Could not update project %s:%s exception: %s ", p.getGroupId(), p.getArtifactId(), e.getMessage());
-                LOGGER.error(message);
-                projectUpdateExceptions.addAndGet(1);
-            }
-        }), 10);
+                catch (Exception e)
+                {
+                    String message = String.format("Could not update project %s:%s exception: %s ", p.getGroupId(), p.getArtifactId(), e.getMessage());
+                    LOGGER.error(message);
+                    projectUpdateExceptions.addAndGet(1);
+                }
+            });
+        });
 
-        PrometheusMetricsFactory.getInstance().setGauge(PROJECTS, allProjects.size());
+        PrometheusMetricsFactory.getInstance().setGauge(PROJECTS, projectsCount.get());
         PrometheusMetricsFactory.getInstance().setGauge(PROJECT_UPDATE_EXCEPTIONS, projectUpdateExceptions.get());
         LOGGER.info("Finished syncLatestProjectVersions {} ({}) ms", projectsWithUpdatedLatestVersion.size(), System.currentTimeMillis() - startTime);
         return projectsWithUpdatedLatestVersion;
@@ -15,7 +15,6 @@
 
 package org.finos.legend.depot.services.artifacts.refresh;
 
-import org.eclipse.collections.impl.parallel.ParallelIterate;
 import org.finos.legend.depot.services.api.artifacts.repository.ArtifactRepository;
 import org.finos.legend.depot.services.api.artifacts.repository.ArtifactRepositoryException;
 import org.finos.legend.depot.domain.notifications.MetadataNotificationResponse;
@@ -29,6 +28,7 @@ import org.finos.legend.depot.services.api.artifacts.refresh.ArtifactsRefreshSer
 import org.finos.legend.depot.services.api.artifacts.refresh.ParentEvent;
 import org.finos.legend.depot.services.api.notifications.queue.Queue;
 import org.finos.legend.depot.core.services.tracing.TracerFactory;
+import org.finos.legend.depot.core.services.executors.DepotExecutors;
 import org.finos.legend.sdlc.domain.model.version.VersionId;
 import org.slf4j.Logger;
 
@@ -55,7 +55,6 @@ public class ArtifactsRefreshServiceImpl implements ArtifactsRefreshService
     private static final String GROUP_ID = "groupId";
     private static final String ARTIFACT_ID = "artifactId";
     private static final String VERSION_ID = "versionId";
-    private static final int PARALLEL_ITERATE_BATCH_SIZE = 100;
 
 
     private final ProjectsService projects;
@@ -82,7 +81,7 @@ public class ArtifactsRefreshServiceImpl implements ArtifactsRefreshService
                     String message = String.format("Executing: [%s-%s-%s], parentEventId :[%s], full/allVersions/transitive :[%s/%s/%s]",ALL,ALL,ALL,parentEvent,fullUpdate,allVersions,transitive);
                     result.addMessage(message);
                     LOGGER.info(message);
-                    ParallelIterate.forEach(projects.getAllProjectCoordinates(),project -> result.combine(refreshAllVersionsForProject(project.getGroupId(),project.getArtifactId(),fullUpdate,allVersions,transitive,parentEvent)), PARALLEL_ITERATE_BATCH_SIZE);
+                    projects.forEachProjectCoordinatesPage(page -> DepotExecutors.io().map(page, project -> refreshAllVersionsForProject(project.getGroupId(),project.getArtifactId(),fullUpdate,allVersions,transitive,parentEvent)).forEach(result::combine));
                     return result;
                 }
         );
@@ -109,7 +108,7 @@ public class ArtifactsRefreshServiceImpl implements ArtifactsRefreshService
                     String message = String.format("Executing: [%s-%s-%s], parentEventId :[%s], full/transitive :[%s/%s]",ALL,ALL,ALL_SNAPSHOT,parentEvent,fullUpdate,transitive);
                     result.addMessage(message);
                     LOGGER.info(message);
-                    ParallelIterate.forEach(projects.getAllProjectCoordinates(),project -> result.combine(refreshAllDefaultSNAPSHOTVersionsForProject(project,fullUpdate,transitive,parentEvent)), PARALLEL_ITERATE_BATCH_SIZE);
+                    projects.forEachProjectCoordinatesPage(page -> DepotExecutors.io().map(page, project -> refreshAllDefaultSNAPSHOTVersionsForProject(project,fullUpdate,transitive,parentEvent)).forEach(result::combine));
                     return result;
                 }
         );
@@ -15,6 +15,8 @@
 
 package org.finos.legend.depot.services.artifacts.refresh;
 
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
 import com.google.inject.name.Named;
 import org.apache.commons.codec.digest.DigestUtils;
 import org.apache.maven.model.Model;
@@ -42,26 +44,38 @@ import org.finos.legend.depot.services.api.artifacts.handlers.ProjectArtifactHan
 import org.finos.legend.depot.services.api.artifacts.handlers.ProjectArtifactsHandler;
 import org.finos.legend.depot.core.services.tracing.TracerFactory;
 import org.finos.legend.depot.core.services.metrics.PrometheusMetricsFactory;
+import org.finos.legend.depot.core.services.api.executors.configuration.ExecutorConfiguration;
+import org.finos.legend.depot.core.services.executors.DepotExecutors;
+import org.finos.legend.depot.core.services.executors.ManagedExecutor;
 import org.slf4j.Logger;
 
 import javax.inject.Inject;
+import javax.inject.Singleton;
+import java.io.BufferedInputStream;
 import java.io.File;
 import java.io.FileInputStream;
 import java.io.IOException;
+import java.io.InputStream;
 import java.security.MessageDigest;
 import java.security.NoSuchAlgorithmException;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.Enumeration;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.function.Function;
 import java.util.function.Supplier;
 import java.util.jar.Manifest;
 import java.util.stream.Collectors;
 
 
+@Singleton
 public final class ProjectVersionRefreshHandler implements NotificationHandler
 {
     private static final Logger LOGGER = org.slf4j.LoggerFactory.getLogger(ProjectVersionRefreshHandler.class);
@@ -69,6 +83,13 @@ public final class ProjectVersionRefreshHandler implements NotificationHandler
     public static final String VERSION_REFRESH_DURATION = "versionRefresh_duration";
     public static final String VERSION_REFRESH_DURATION_HELP = "version refresh duration";
     public static final String TOTAL_NUMBER_OF_VERSIONS_REFRESH = "total number of versions refresh";
+    public static final String VERSION_REFRESH_RESOLVE_FILES_DURATION = "versionRefresh_resolveFiles_duration";
+    public static final String VERSION_REFRESH_RESOLVE_FILES_DURATION_HELP = "version refresh artifact files resolution and checksum duration";
+    public static final String VERSION_REFRESH_STORE_ARTIFACTS_DURATION = "versionRefresh_storeArtifacts_duration";
+    public static final String VERSION_REFRESH_STORE_ARTIFACTS_DURATION_HELP = "version refresh artifacts extraction and storage duration";
+    private static final String ARTIFACTS_REFRESH_EXECUTOR = "artifactsRefresh";
+    private static final int CHECKSUM_BUFFER_SIZE = 64 * 1024;
+    private static final int CHECKED_FILES_CACHE_SIZE = 10000;
 
 
     private static final String PROCESS_EVENT = "processNotification";
@@ -85,10 +106,12 @@ public final class ProjectVersionRefreshHandler implements NotificationHandler
     private final Queue workQueue;
     private final RefreshDependenciesService refreshDependenciesService;
     private final int maximumSnapshotsAllowed;
+    private final ExecutorConfiguration artifactsExecutorConfiguration;
+    private final Cache<String, ArtifactFile> checkedFiles = CacheBuilder.newBuilder().maximumSize(CHECKED_FILES_CACHE_SIZE).build();
 
 
     @Inject
-    public ProjectVersionRefreshHandler(ManageProjectsService projects, ArtifactRepository repositoryServices, Queue workQueue, ArtifactsFilesStore artifacts, IncludeProjectPropertiesConfiguration includePropertyConfig, RefreshDependenciesService refreshDependenciesService, @Named("maximumSnapshotsAllowed") int maximumSnapshotsAllowed)
+    public ProjectVersionRefreshHandler(ManageProjectsService projects, ArtifactRepository repositoryServices, Queue workQueue, ArtifactsFilesStore artifacts, IncludeProjectPropertiesConfiguration includePropertyConfig, RefreshDependenciesService refreshDependenciesService, @Named("maximumSnapshotsAllowed") int maximumSnapshotsAllowed, @Named("artifactsRefreshParallelism") int artifactsRefreshParallelism)
     {
         this.projects = projects;
         this.workQueue = workQueue;
@@ -98,6 +121,7 @@ public final class ProjectVersionRefreshHandler implements NotificationHandler
         this.manifestPropertiesInScope = includePropertyConfig != null ? includePropertyConfig.getManifestProperties() : Collections.EMPTY_LIST;
         this.refreshDependenciesService = refreshDependenciesService;
         this.maximumSnapshotsAllowed = maximumSnapshotsAllowed;
+        this.artifactsExecutorConfiguration = new ExecutorConfiguration(artifactsRefreshParallelism);
 
         try
         {
@@ -235,19 +259,23 @@ public final class ProjectVersionRefreshHandler implements NotificationHandler
                 {
                     LOGGER.info("Processing artifacts for [{}-{}-{}]", event.getGroupId(), event.getArtifactId(), event.getVersionId());
 
-                    ProjectArtifactHandlerFactory.getSupportedTypes().forEach(artifactType -> response.combine(handleArtifacts(artifactType, project, event.getVersionId(), event.isFullUpdate())));
+                    response.combine(handleArtifacts(project, event.getVersionId(), event.isFullUpdate()));
                     LOGGER.info("Finished processing artifacts for [{}-{}-{}]", event.getGroupId(), event.getArtifactId(), event.getVersionId());
-                    if (!response.hasErrors())
+                    if (response.hasErrors())
+                    {
+                        touchProjectVersionData(project, event.getVersionId());
+                    }
+                    else
                     {
-
                         updateProjectVersionData(project, event.getVersionId(), newDependencies);
                         updateProjectData(project, event.getVersionId());
                         //we let the version load but will check dependencies exists and report missing dependencies as errors
                         if (!event.isTransitive())
                         {
+                            Set<ProjectVersion> storedDependencies = projects.findAll(newDependencies).stream().map(ProjectVersionRefreshHandler::toProjectVersion).collect(Collectors.toSet());
                             newDependencies.stream().forEach(dep ->
                             {
-                                if (!projects.find(dep.getGroupId(), dep.getArtifactId(), dep.getVersionId()).isPresent())
+                                if (!storedDependencies.contains(dep))
                                 {
                                     String missingDepError = String.format("Dependency %s-%s-%s not found in store", dep.getGroupId(), dep.getArtifactId(), dep.getVersionId());
                                     response.addError(missingDepError);
@@ -304,12 +332,23 @@ public final class ProjectVersionRefreshHandler implements NotificationHandler
         LOGGER.info("Finished updating project data [{}-{}-{}]", project.getGroupId(), project.getArtifactId(), versionId);
     }
 
+    //artifacts may have been partially written, a new updated time moves the version stamp on so cached responses are not reused
+    private void touchProjectVersionData(StoreProjectData project, String versionId)
+    {
+        projects.find(project.getGroupId(), project.getArtifactId(), versionId).ifPresent(projects::createOrUpdate);
+    }
+
     private void updateProjectData(StoreProjectData projectData, String versionId)
     {
         if (projectData.evaluateLatestVersionAndUpdate(versionId))
         {
             projects.createOrUpdate(projectData);
         }
+        if (versionId.equals(projectData.getLatestVersion()))
+        {
+            //flagged again on every refresh of the latest version as its artifacts may have been replaced
+            ProjectArtifactHandlerFactory.getSupportedTypes().forEach(artifactType -> ProjectArtifactHandlerFactory.getArtifactHandler(artifactType).setLatestVersion(projectData.getGroupId(), projectData.getArtifactId(), versionId));
+        }
     }
 
     private String queueWorkToRefreshProjectVersion(StoreProjectData projectData, String versionId, boolean fullUpdate, boolean transitive, String parentEvent)
@@ -363,15 +402,17 @@ public final class ProjectVersionRefreshHandler implements NotificationHandler
     private MetadataNotificationResponse handleDependencies(StoreProjectData projectData, String versionId, List<ProjectVersion> dependencies, boolean fullUpdate, boolean transitive, String parentEventId)
     {
         MetadataNotificationResponse response = new MetadataNotificationResponse();
+        Map<String, StoreProjectData> dependentProjects = projects.findCoordinates(dependencies).stream().collect(Collectors.toMap(project -> coordinatesKey(project.getGroupId(), project.getArtifactId()), Function.identity(), (first, second) -> first));
+        Map<ProjectVersion, StoreProjectVersionData> dependentVersions = projects.findAll(dependencies).stream().collect(Collectors.toMap(ProjectVersionRefreshHandler::toProjectVersion, Function.identity(), (first, second) -> first));
         dependencies.stream().forEach(dependency ->
         {
-            Optional<StoreProjectData> dependent = projects.findCoordinates(dependency.getGroupId(), dependency.getArtifactId());
+            Optional<StoreProjectData> dependent = Optional.ofNullable(dependentProjects.get(coordinatesKey(dependency.getGroupId(), dependency.getArtifactId())));
             if (dependent.isPresent())
             {
                 StoreProjectData dependentProject = dependent.get();
                 String projectCoordinates = String.format("[%s-%s-%s]", projectData.getGroupId(), projectData.getArtifactId(), versionId);
                 String dependencyCoordinates = String.format("[%s-%s-%s]", dependency.getGroupId(), dependency.getArtifactId(), dependency.getVersionId());
-                Optional<StoreProjectVersionData> projectVersion = projects.find(dependency.getGroupId(), dependency.getArtifactId(), dependency.getVersionId());
+                Optional<StoreProjectVersionData> projectVersion = Optional.ofNullable(dependentVersions.get(dependency));
                 if (!VersionValidator.isSnapshotVersion(dependency.getVersionId()) && projectVersion.isPresent() && !projectVersion.get().getVersionData().isExcluded())
                 {
                     response.addMessage(String.format("Skipping update dependency %s -> %s, already in store", projectCoordinates, dependencyCoordinates));
@@ -391,6 +432,40 @@ public final class ProjectVersionRefreshHandler implements NotificationHandler
         return response;
     }
 
+    private static String coordinatesKey(String groupId, String artifactId)
+    {
+        return groupId + ":" + artifactId;
+    }
+
+    private static ProjectVersion toProjectVersion(StoreProjectVersionData versionData)
+    {
+        return new ProjectVersion(versionData.getGroupId(), versionData.getArtifactId(), versionData.getVersionId());
+    }
+
+    private MetadataNotificationResponse handleArtifacts(StoreProjectData project, String versionId, boolean fullUpdate)
+    {
+        MetadataNotificationResponse response = new MetadataNotificationResponse();
+        ManagedExecutor artifactsExecutor = DepotExecutors.getInstance().get(ARTIFACTS_REFRESH_EXECUTOR, artifactsExecutorConfiguration);
+        Map<ArtifactType, CompletableFuture<MetadataNotificationResponse>> refreshes = new LinkedHashMap<>();
+        ProjectArtifactHandlerFactory.getSupportedTypes().forEach(artifactType ->
+                refreshes.put(artifactType, artifactsExecutor.supplyAsync(() -> handleArtifacts(artifactType, project, versionId, fullUpdate))));
+        refreshes.forEach((artifactType, refresh) ->
+        {
+            try
+            {
+                response.combine(refresh.join());
+            }
+            catch (CompletionException e)
+            {
+                Throwable cause = e.getCause() != null ? e.getCause() : e;
+                String errorMessage = String.format("Error processing %s artifacts for [%s-%s-%s]: %s", artifactType, project.getGroupId(), project.getArtifactId(), versionId, cause.getMessage());
+                response.addError(errorMessage);
+                LOGGER.error(errorMessage, cause);
+            }
+        });
+        return response;
+    }
+
     private MetadataNotificationResponse handleArtifacts(ArtifactType artifactType, StoreProjectData project, String versionId, boolean fullUpdate)
     {
         MetadataNotificationResponse response = new MetadataNotificationResponse();
@@ -398,11 +473,15 @@ public final class ProjectVersionRefreshHandler implements NotificationHandler
         if (refreshHandler != null)
         {
             boolean processUnchangedFiles = !VersionValidator.isSnapshotVersion(versionId) ? true : fullUpdate;
+            long resolveStartTime = System.currentTimeMillis();
             List<File> files = findArtifactFiles(artifactType, project, versionId, processUnchangedFiles);
+            PrometheusMetricsFactory.getInstance().observeHistogram(VERSION_REFRESH_RESOLVE_FILES_DURATION, resolveStartTime, System.currentTimeMillis());
             if (files != null && !files.isEmpty())
             {
                 response.addMessage(String.format("[%s] files found [%s] artifacts to process [%s-%s-%s], processUnChangedFiles: %s",files.size(),artifactType,project.getGroupId(),project.getArtifactId(),versionId,processUnchangedFiles));
+                long storeStartTime = System.currentTimeMillis();
                 response.combine(refreshHandler.refreshProjectVersionArtifacts(project.getGroupId(),project.getArtifactId(), versionId, files));
+                PrometheusMetricsFactory.getInstance().observeHistogram(VERSION_REFRESH_STORE_ARTIFACTS_DURATION, storeStartTime, System.currentTimeMillis());
             }
             else
             {
@@ -419,23 +498,37 @@ public final class ProjectVersionRefreshHandler implements NotificationHandler
     private List<File> findArtifactFiles(ArtifactType type, StoreProjectData projectData, String versionId, boolean includeUnchangedFiles)
     {
         List<File> filesFromRepo = this.repositoryServices.findFiles(type, projectData.getGroupId(), projectData.getArtifactId(), versionId);
-        return filesFromRepo.stream().filter(file -> includeUnchangedFiles || artifactFileChangedOrNotProcessed(file)).collect(Collectors.toList());
+        if (includeUnchangedFiles)
+        {
+            return filesFromRepo;
+        }
+        List<String> paths = filesFromRepo.stream().map(File::getPath).collect(Collectors.toList());
+        Map<String, ArtifactFile> storedFiles = this.artifacts.find(paths).stream().collect(Collectors.toMap(ArtifactFile::getPath, Function.identity(), (first, second) -> first));
+        return filesFromRepo.stream().filter(file -> artifactFileChangedOrNotProcessed(file, storedFiles.get(file.getPath()))).collect(Collectors.toList());
     }
 
-    private boolean artifactFileChangedOrNotProcessed(File file)
+    private boolean artifactFileChangedOrNotProcessed(File file, ArtifactFile artifactDetails)
     {
         String filePath = file.getPath();
-        Optional<ArtifactFile> artifactDetails = this.artifacts.find(filePath);
+        long size = file.length();
+        long lastModified = file.lastModified();
+        //same size and modification time as when last processed: skip without re-hashing the file
+        if (artifactDetails != null && artifactDetails.hasSameAttributes(size, lastModified))
+        {
+            return false;
+        }
         try
         {
-            String fileCheckSum = DigestUtils.sha256Hex(new FileInputStream(filePath));
-            if (!artifactDetails.isPresent() || !MessageDigest.isEqual(fileCheckSum.getBytes(), artifactDetails.get().getCheckSum().getBytes()))
+            String fileCheckSum = getCheckSum(file, size, lastModified);
+            if (artifactDetails == null || artifactDetails.getCheckSum() == null || !MessageDigest.isEqual(fileCheckSum.getBytes(), artifactDetails.getCheckSum().getBytes()))
             {
                 LOGGER.info("loading artifacts from updated file: {}", filePath);
                 LOGGER.info("file check sum: {}", fileCheckSum);
-                this.artifacts.createOrUpdate(new ArtifactFile(filePath, fileCheckSum));
+                this.artifacts.createOrUpdate(new ArtifactFile(filePath, fileCheckSum, size, lastModified));
                 return true;
             }
+            //content unchanged but file was touched, record new attributes so next refresh skips hashing
+            this.artifacts.createOrUpdate(new ArtifactFile(filePath, fileCheckSum, size, lastModified));
         }
         catch (IOException e)
         {
@@ -444,4 +537,24 @@ public final class ProjectVersionRefreshHandler implements NotificationHandler
         }
         return false;
     }
+
+    private String getCheckSum(File file, long size, long lastModified) throws IOException
+    {
+        ArtifactFile checked = this.checkedFiles.getIfPresent(file.getPath());
+        if (checked != null && checked.hasSameAttributes(size, lastModified))
+        {
+            return checked.getCheckSum();
+        }
+        String checkSum = sha256Hex(file);
+        this.checkedFiles.put(file.getPath(), new ArtifactFile(file.getPath(), checkSum, size, lastModified));
+        return checkSum;
+    }
+
+    private static String sha256Hex(File file) throws IOException
+    {
+        try (InputStream input = new BufferedInputStream(new FileInputStream(file), CHECKSUM_BUFFER_SIZE))
+        {
+            return DigestUtils.sha256Hex(input);
+        }
+    }
 }
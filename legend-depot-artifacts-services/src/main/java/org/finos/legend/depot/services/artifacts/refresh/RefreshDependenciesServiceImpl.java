@@ -16,7 +16,6 @@
 package org.finos.legend.depot.services.artifacts.refresh;
 
 import org.finos.legend.depot.domain.project.ProjectVersion;
-import org.finos.legend.depot.domain.project.dependencies.ProjectDependencyWithPlatformVersions;
 import org.finos.legend.depot.domain.project.dependencies.VersionDependencyReport;
 import org.finos.legend.depot.domain.version.VersionValidator;
 import org.finos.legend.depot.services.api.artifacts.refresh.RefreshDependenciesService;
@@ -29,11 +28,17 @@ import org.slf4j.Logger;
 
 import javax.inject.Inject;
 import javax.inject.Named;
+import java.util.ArrayDeque;
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 public class RefreshDependenciesServiceImpl implements RefreshDependenciesService
@@ -69,10 +74,12 @@ public class RefreshDependenciesServiceImpl implements RefreshDependenciesServic
         Set<ProjectVersion> projectDependencies = new HashSet<>();
         try
         {
+            Map<ProjectVersion, StoreProjectVersionData> storedVersions = this.projects.findAll(projectVersions).stream()
+                    .collect(Collectors.toMap(versionData -> new ProjectVersion(versionData.getGroupId(), versionData.getArtifactId(), versionData.getVersionId()), Function.identity(), (first, second) -> first));
             projectVersions.forEach(deps ->
             {
                 LOGGER.info(String.format("Finding dependencies for %s-%s-%s", deps.getGroupId(), deps.getArtifactId(), deps.getVersionId()));
-                Optional<StoreProjectVersionData> projectData = this.projects.find(deps.getGroupId(), deps.getArtifactId(), deps.getVersionId());
+                Optional<StoreProjectVersionData> projectData = Optional.ofNullable(storedVersions.get(deps));
                 if (projectData.isPresent())
                 {
                     if (projectData.get().getVersionData().isExcluded())
@@ -137,24 +144,88 @@ public class RefreshDependenciesServiceImpl implements RefreshDependenciesServic
 
     public StoreProjectVersionData updateTransitiveDependencies(String groupId, String artifactId, String versionId)
     {
-        Optional<StoreProjectVersionData> projectVersionData = this.projects.find(groupId, artifactId, versionId);
-        if (!projectVersionData.isPresent() || projectVersionData.get().getVersionData().isExcluded())
-        {
-            throw new IllegalArgumentException(String.format("project version not found for %s-%s-%s", groupId, artifactId, versionId));
-        }
-        StoreProjectVersionData projectData = projectVersionData.get();
+        StoreProjectVersionData projectData = findProjectVersion(groupId, artifactId, versionId);
         LOGGER.info(String.format("Finding dependencies for %s-%s-%s", groupId, artifactId, versionId));
         this.setProjectDataTransitiveDependencies(projectData);
         LOGGER.info(String.format("Completed finding dependencies for %s-%s-%s", groupId, artifactId, versionId));
         projectData = this.projects.createOrUpdate(projectData);
         if (VersionValidator.isSnapshotVersion(projectData.getVersionId()))
         {
-            List<ProjectDependencyWithPlatformVersions> dependantProjects = this.projects.getDependantProjects(projectData.getGroupId(), projectData.getArtifactId(), projectData.getVersionId());
-            dependantProjects.forEach(d -> updateTransitiveDependencies(d.getGroupId(), d.getArtifactId(), d.getVersionId()));
+            updateDependantsTransitiveDependencies(new ProjectVersion(groupId, artifactId, projectData.getVersionId()));
         }
         return projectData;
     }
 
+    private StoreProjectVersionData findProjectVersion(String groupId, String artifactId, String versionId)
+    {
+        Optional<StoreProjectVersionData> projectVersionData = this.projects.find(groupId, artifactId, versionId);
+        if (!projectVersionData.isPresent() || projectVersionData.get().getVersionData().isExcluded())
+        {
+            throw new IllegalArgumentException(String.format("project version not found for %s-%s-%s", groupId, artifactId, versionId));
+        }
+        return projectVersionData.get();
+    }
+
+    private void updateDependantsTransitiveDependencies(ProjectVersion changed)
+    {
+        //collect the affected sub graph once: dependants of snapshot versions are affected in turn
+        Map<ProjectVersion, Set<ProjectVersion>> affectedDependants = new HashMap<>();
+        Map<ProjectVersion, Integer> pendingDependencies = new HashMap<>();
+        Deque<ProjectVersion> pending = new ArrayDeque<>(Collections.singletonList(changed));
+        while (!pending.isEmpty())
+        {
+            ProjectVersion current = pending.poll();
+            this.projects.getDependantProjects(current.getGroupId(), current.getArtifactId(), current.getVersionId()).forEach(dependant ->
+            {
+                ProjectVersion dependantVersion = new ProjectVersion(dependant.getGroupId(), dependant.getArtifactId(), dependant.getVersionId());
+                if (!pendingDependencies.containsKey(dependantVersion) && VersionValidator.isSnapshotVersion(dependantVersion.getVersionId()))
+                {
+                    pending.add(dependantVersion);
+                }
+                if (affectedDependants.computeIfAbsent(current, k -> new HashSet<>()).add(dependantVersion))
+                {
+                    pendingDependencies.merge(dependantVersion, 1, Integer::sum);
+                }
+            });
+        }
+
+        //recalculate each affected version once, after everything it depends on, and only store the ones that changed
+        Deque<ProjectVersion> ready = new ArrayDeque<>();
+        releaseDependants(changed, affectedDependants, pendingDependencies, ready);
+        int updated = 0;
+        int stored = 0;
+        while (!ready.isEmpty())
+        {
+            ProjectVersion dependant = ready.poll();
+            StoreProjectVersionData dependantData = findProjectVersion(dependant.getGroupId(), dependant.getArtifactId(), dependant.getVersionId());
+            VersionDependencyReport previous = dependantData.getTransitiveDependenciesReport();
+            this.setProjectDataTransitiveDependencies(dependantData);
+            if (!dependantData.getTransitiveDependenciesReport().equals(previous))
+            {
+                this.projects.createOrUpdate(dependantData);
+                stored++;
+            }
+            updated++;
+            releaseDependants(dependant, affectedDependants, pendingDependencies, ready);
+        }
+        if (updated < pendingDependencies.size())
+        {
+            throw new IllegalStateException(String.format("Cyclic dependencies found updating dependants of %s", changed.getGav()));
+        }
+        LOGGER.info(String.format("Updated transitive dependencies of [%s] out of [%s] dependants of %s", stored, updated, changed.getGav()));
+    }
+
+    private void releaseDependants(ProjectVersion updated, Map<ProjectVersion, Set<ProjectVersion>> affectedDependants, Map<ProjectVersion, Integer> pendingDependencies, Deque<ProjectVersion> ready)
+    {
+        affectedDependants.getOrDefault(updated, Collections.emptySet()).forEach(dependant ->
+        {
+            if (pendingDependencies.merge(dependant, -1, Integer::sum) == 0)
+            {
+                ready.add(dependant);
+            }
+        });
+    }
+
     public void setProjectDataTransitiveDependencies(StoreProjectVersionData projectData)
     {
         projectData.setTransitiveDependenciesReport(calculateTransitiveDependencies(projectData.getVersionData().getDependencies()));
@@ -37,6 +37,7 @@ import org.finos.legend.depot.services.artifacts.refresh.ProjectVersionRefreshHa
 import org.finos.legend.depot.services.artifacts.reconciliation.VersionsReconciliationServiceImpl;
 import org.finos.legend.depot.services.artifacts.refresh.RefreshDependenciesServiceImpl;
 import org.finos.legend.depot.services.api.artifacts.handlers.ProjectArtifactHandlerFactory;
+import org.finos.legend.depot.services.api.artifacts.configuration.ArtifactsRefreshPolicyConfiguration;
 import org.finos.legend.depot.services.api.artifacts.configuration.ArtifactsRetentionPolicyConfiguration;
 import org.finos.legend.depot.services.api.artifacts.handlers.entties.EntitiesArtifactsHandler;
 import org.finos.legend.depot.services.api.artifacts.handlers.entties.EntityArtifactsProvider;
@@ -50,6 +51,10 @@ import static org.finos.legend.depot.services.artifacts.refresh.ProjectVersionRe
 import static org.finos.legend.depot.services.artifacts.refresh.ProjectVersionRefreshHandler.VERSION_REFRESH_COUNTER;
 import static org.finos.legend.depot.services.artifacts.refresh.ProjectVersionRefreshHandler.VERSION_REFRESH_DURATION;
 import static org.finos.legend.depot.services.artifacts.refresh.ProjectVersionRefreshHandler.VERSION_REFRESH_DURATION_HELP;
+import static org.finos.legend.depot.services.artifacts.refresh.ProjectVersionRefreshHandler.VERSION_REFRESH_RESOLVE_FILES_DURATION;
+import static org.finos.legend.depot.services.artifacts.refresh.ProjectVersionRefreshHandler.VERSION_REFRESH_RESOLVE_FILES_DURATION_HELP;
+import static org.finos.legend.depot.services.artifacts.refresh.ProjectVersionRefreshHandler.VERSION_REFRESH_STORE_ARTIFACTS_DURATION;
+import static org.finos.legend.depot.services.artifacts.refresh.ProjectVersionRefreshHandler.VERSION_REFRESH_STORE_ARTIFACTS_DURATION_HELP;
 
 public class ArtifactsServicesModule extends PrivateModule
 {
@@ -129,6 +134,8 @@ public class ArtifactsServicesModule extends PrivateModule
     {
         metricsHandler.registerCounter(VERSION_REFRESH_COUNTER, TOTAL_NUMBER_OF_VERSIONS_REFRESH);
         metricsHandler.registerHistogram(VERSION_REFRESH_DURATION, VERSION_REFRESH_DURATION_HELP);
+        metricsHandler.registerHistogram(VERSION_REFRESH_RESOLVE_FILES_DURATION, VERSION_REFRESH_RESOLVE_FILES_DURATION_HELP);
+        metricsHandler.registerHistogram(VERSION_REFRESH_STORE_ARTIFACTS_DURATION, VERSION_REFRESH_STORE_ARTIFACTS_DURATION_HELP);
         return true;
     }
 
@@ -140,4 +147,12 @@ public class ArtifactsServicesModule extends PrivateModule
         return artifactsRetentionPolicyConfiguration.getMaximumSnapshotsAllowed();
     }
 
+    @Provides
+    @Singleton
+    @Named("artifactsRefreshParallelism")
+    int getArtifactsRefreshParallelism(ArtifactsRefreshPolicyConfiguration artifactsRefreshPolicyConfiguration)
+    {
+        return artifactsRefreshPolicyConfiguration.getArtifactsRefreshParallelism();
+    }
+
 }
@@ -29,6 +29,8 @@ import org.junit.Test;
 import java.io.File;
 import java.util.List;
 import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 public class TestEntityProvider
 {
@@ -62,6 +64,16 @@ public class TestEntityProvider
 
     }
 
+    @Test
+    public void canStreamEntitiesInJar()
+    {
+        List<File> files = getFiles(TEST_GROUP_ID, "test", "2.0.0");
+        try (Stream<Entity> entities = artifactProvider.streamArtifacts(files))
+        {
+            Assert.assertEquals(artifactProvider.extractArtifacts(files).stream().map(Entity::getPath).collect(Collectors.toList()), entities.map(Entity::getPath).collect(Collectors.toList()));
+        }
+    }
+
 
     @Test
     public void canResolveDependencies()
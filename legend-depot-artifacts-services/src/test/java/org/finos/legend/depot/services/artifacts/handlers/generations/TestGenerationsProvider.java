@@ -146,7 +146,7 @@ public class TestGenerationsProvider extends TestStoreMongo
         List<DepotGeneration> generatedFiles = new ArrayList<>(Arrays.asList(new DepotGeneration("/examples/metadata/snowFlakeApp/searchDocuments/SearchDocumentResult.json", ""), new DepotGeneration("/examples/metadata/snowFlakeApp2/searchDocuments/SearchDocumentResult.json", "")));
         StoreProjectData projectData = projects.find(TEST_GROUP_ID, TEST_ARTIFACT_ID).get();
         List<File> files = getFiles("2.0.0");
-        when(this.provider.extractArtifacts(files)).thenReturn(generatedFiles);
+        when(this.provider.streamArtifacts(files)).thenReturn(generatedFiles.stream());
         doReturn(projectEntities).when(this.handler).getAllNonVersionedEntities(projectData.getGroupId(), projectData.getArtifactId(), "2.0.0");
         MetadataNotificationResponse response = this.handler.refreshProjectVersionArtifacts(projectData.getGroupId(),projectData.getArtifactId(), "2.0.0", files);
 
@@ -18,6 +18,7 @@ package org.finos.legend.depot.services.artifacts.reconciliation;
 import org.finos.legend.depot.services.api.artifacts.reconciliation.VersionsReconciliationService;
 import org.finos.legend.depot.services.api.artifacts.repository.ArtifactRepository;
 import org.finos.legend.depot.services.api.artifacts.repository.ArtifactRepositoryException;
+import org.finos.legend.depot.domain.project.ProjectsPage;
 import org.finos.legend.depot.services.api.projects.ManageProjectsService;
 import org.finos.legend.depot.store.model.projects.StoreProjectData;
 import org.finos.legend.depot.store.model.projects.StoreProjectVersionData;
@@ -32,6 +33,10 @@ import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
 
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.doCallRealMethod;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.when;
 
@@ -44,12 +49,13 @@ public class TestVersionsMismatchService
     @Before
     public void setup() throws ArtifactRepositoryException
     {
+        doCallRealMethod().when(projects).forEachProjectCoordinatesPage(any());
         List<StoreProjectData> coordinates = new ArrayList<>();
         coordinates.add(new StoreProjectData("PROD-A","examples.metadata", "test1", null, "2.1.0"));
         coordinates.add(new StoreProjectData("PROD-B","examples.metadata", "test2", null, "1.0.0"));
         coordinates.add(new StoreProjectData("PROD-C","examples.metadata", "test3", null, "2.0.2"));
         coordinates.add(new StoreProjectData("PROD-D","examples.metadata", "test4"));
-        when(projects.getAllProjectCoordinates()).thenReturn(coordinates);
+        when(projects.getProjectCoordinatesPage(isNull(), anyInt())).thenReturn(new ProjectsPage(coordinates, null));
         StoreProjectVersionData p1v1 = new StoreProjectVersionData("examples.metadata", "test1", "2.2.0");
         StoreProjectVersionData p1v2 = new StoreProjectVersionData("examples.metadata", "test1", "2.3.0");
         StoreProjectVersionData p2v1 = new StoreProjectVersionData("examples.metadata", "test2", "1.0.0");
@@ -143,7 +149,7 @@ public class TestVersionsMismatchService
         coordinates.add(new StoreProjectData("PROD-A","examples.metadata", "test1", null, "2.1.0"));
         coordinates.add(new StoreProjectData("PROD-B","examples.metadata", "test2", null, "1.0.0"));
         coordinates.add(new StoreProjectData("PROD-C","examples.metadata", "test3", null, "2.0.2"));
-        when(projects.getAllProjectCoordinates()).thenReturn(coordinates);
+        when(projects.getProjectCoordinatesPage(isNull(), anyInt())).thenReturn(new ProjectsPage(coordinates, null));
         StoreProjectVersionData p1v1 = new StoreProjectVersionData("examples.metadata", "test1", "2.2.0");
         StoreProjectVersionData p1v2 = new StoreProjectVersionData("examples.metadata", "test1", "2.3.0");
         p1v2.getVersionData().setExcluded(true);
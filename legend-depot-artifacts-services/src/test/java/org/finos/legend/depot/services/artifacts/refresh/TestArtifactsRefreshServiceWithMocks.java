@@ -15,6 +15,8 @@
 
 package org.finos.legend.depot.services.artifacts.refresh;
 
+import org.finos.legend.depot.domain.CoordinateData;
+import org.finos.legend.depot.domain.VersionedData;
 import org.finos.legend.depot.services.api.entities.ManageEntitiesService;
 import org.finos.legend.depot.services.api.projects.ManageProjectsService;
 import org.finos.legend.depot.services.entities.ManageEntitiesServiceImpl;
@@ -50,10 +52,13 @@ import org.junit.Before;
 import org.junit.Test;
 
 import java.util.Arrays;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Collectors;
 
 import static org.finos.legend.depot.domain.version.VersionValidator.BRANCH_SNAPSHOT;
+import static org.mockito.ArgumentMatchers.anyCollection;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.when;
 
@@ -98,11 +103,25 @@ public class TestArtifactsRefreshServiceWithMocks extends TestStoreMongo
         when(mongoProjects.find(TEST_GROUP_ID,TEST_DEPENDENCIES_ARTIFACT_ID)).thenReturn(Optional.of(new StoreProjectData(PROJECT_B,TEST_GROUP_ID, TEST_DEPENDENCIES_ARTIFACT_ID)));
         when(mongoProjectsVersions.find(TEST_GROUP_ID, TEST_ARTIFACT_ID,BRANCH_SNAPSHOT("master"))).thenReturn(Optional.of(new StoreProjectVersionData(TEST_GROUP_ID, TEST_ARTIFACT_ID, BRANCH_SNAPSHOT("master"))));
         when(mongoProjectsVersions.find(TEST_GROUP_ID, TEST_DEPENDENCIES_ARTIFACT_ID,BRANCH_SNAPSHOT("master"))).thenReturn(Optional.of(new StoreProjectVersionData(TEST_GROUP_ID, TEST_DEPENDENCIES_ARTIFACT_ID, BRANCH_SNAPSHOT("master"))));
+        delegateBatchLookups(mongoProjects);
+        delegateBatchLookups(mongoProjectsVersions);
         when(repository.findVersions(TEST_GROUP_ID,TEST_ARTIFACT_ID)).thenReturn(Arrays.asList(VersionId.parseVersionId("1.0.0"), VersionId.parseVersionId("2.0.0")));
         when(repository.findVersions(TEST_GROUP_ID,TEST_DEPENDENCIES_ARTIFACT_ID)).thenReturn(Arrays.asList(VersionId.parseVersionId("1.0.0")));
         when(repository.findVersions(TEST_GROUP_ID,"c")).thenReturn(Arrays.asList(VersionId.parseVersionId("1.0.0")));
     }
 
+    static void delegateBatchLookups(UpdateProjects projects)
+    {
+        when(projects.findAll(anyCollection())).thenAnswer(invocation -> ((Collection<CoordinateData>) invocation.getArgument(0)).stream()
+                .map(coordinate -> projects.find(coordinate.getGroupId(), coordinate.getArtifactId())).filter(Optional::isPresent).map(Optional::get).collect(Collectors.toList()));
+    }
+
+    static void delegateBatchLookups(UpdateProjectsVersions versions)
+    {
+        when(versions.findAll(anyCollection())).thenAnswer(invocation -> ((Collection<VersionedData>) invocation.getArgument(0)).stream()
+                .map(version -> versions.find(version.getGroupId(), version.getArtifactId(), version.getVersionId())).filter(Optional::isPresent).map(Optional::get).collect(Collectors.toList()));
+    }
+
     @After
     public void afterTest()
     {
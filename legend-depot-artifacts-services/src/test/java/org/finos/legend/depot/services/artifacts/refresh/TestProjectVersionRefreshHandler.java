@@ -26,6 +26,7 @@ import org.finos.legend.depot.services.entities.ManageEntitiesServiceImpl;
 import org.finos.legend.depot.services.projects.ManageProjectsServiceImpl;
 import org.finos.legend.depot.services.api.projects.configuration.ProjectsConfiguration;
 import org.finos.legend.depot.store.api.admin.artifacts.ArtifactsFilesStore;
+import org.finos.legend.depot.store.model.admin.artifacts.ArtifactFile;
 import org.finos.legend.depot.store.api.entities.UpdateEntities;
 import org.finos.legend.depot.store.api.projects.UpdateProjects;
 import org.finos.legend.depot.store.api.projects.UpdateProjectsVersions;
@@ -46,12 +47,18 @@ import org.finos.legend.depot.store.mongo.notifications.queue.NotificationsQueue
 import org.finos.legend.depot.store.mongo.projects.ProjectsVersionsMongo;
 import org.finos.legend.depot.services.api.notifications.queue.Queue;
 import org.finos.legend.depot.services.api.artifacts.handlers.ProjectArtifactHandlerFactory;
+import org.finos.legend.depot.services.api.artifacts.handlers.ProjectArtifactsHandler;
 import org.finos.legend.depot.services.api.artifacts.handlers.entties.EntityArtifactsProvider;
 import org.finos.legend.sdlc.domain.model.version.VersionId;
 import org.junit.Assert;
 import org.junit.Before;
+import org.junit.Rule;
 import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
 
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashSet;
@@ -66,11 +73,16 @@ import static org.finos.legend.depot.services.artifacts.refresh.TestArtifactsRef
 import static org.finos.legend.depot.services.artifacts.refresh.TestArtifactsRefreshServiceWithMocks.TEST_ARTIFACT_ID;
 import static org.finos.legend.depot.services.artifacts.refresh.TestArtifactsRefreshServiceWithMocks.TEST_DEPENDENCIES_ARTIFACT_ID;
 import static org.finos.legend.depot.services.artifacts.refresh.TestArtifactsRefreshServiceWithMocks.TEST_GROUP_ID;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.when;
 
 public class TestProjectVersionRefreshHandler extends TestStoreMongo
 {
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
     protected List<String> properties = Arrays.asList("[a-zA-Z0-9]+.version");
     protected List<String> manifestProperties = Arrays.asList("commit-[a-zA-Z0-9]+", "release-[a-zA-Z0-9]+");
     protected UpdateProjects projectsStore = mock(UpdateProjects.class);
@@ -87,7 +99,7 @@ public class TestProjectVersionRefreshHandler extends TestStoreMongo
 
     protected RefreshDependenciesService refreshDependenciesService = new RefreshDependenciesServiceImpl(projectsService, repositoryServices,new DependencyUtil());
 
-    protected ProjectVersionRefreshHandler versionHandler = new ProjectVersionRefreshHandler(projectsService, repositoryServices, queue, artifactsStore, new IncludeProjectPropertiesConfiguration(properties, manifestProperties), refreshDependenciesService, 3);
+    protected ProjectVersionRefreshHandler versionHandler = new ProjectVersionRefreshHandler(projectsService, repositoryServices, queue, artifactsStore, new IncludeProjectPropertiesConfiguration(properties, manifestProperties), refreshDependenciesService, 3, 4);
 
 
     @Before
@@ -101,6 +113,7 @@ public class TestProjectVersionRefreshHandler extends TestStoreMongo
         when(projectsStore.getAll()).thenReturn(projects);
         when(projectsStore.find(TEST_GROUP_ID, TEST_ARTIFACT_ID)).thenReturn(Optional.of(new StoreProjectData(PROJECT_A, TEST_GROUP_ID, TEST_ARTIFACT_ID)));
         when(projectsStore.find(TEST_GROUP_ID, TEST_DEPENDENCIES_ARTIFACT_ID)).thenReturn(Optional.of(new StoreProjectData(PROJECT_B, TEST_GROUP_ID, TEST_DEPENDENCIES_ARTIFACT_ID)));
+        TestArtifactsRefreshServiceWithMocks.delegateBatchLookups(projectsStore);
 
     }
 
@@ -247,4 +260,106 @@ public class TestProjectVersionRefreshHandler extends TestStoreMongo
 
         Assert.assertEquals(0, errors.size());
     }
+
+    @Test
+    public void artifactTypeFailuresAreMergedIntoResponse() throws ArtifactRepositoryException
+    {
+        ProjectArtifactsHandler failingHandler = mock(ProjectArtifactsHandler.class);
+        when(failingHandler.refreshProjectVersionArtifacts(anyString(), anyString(), anyString(), anyList())).thenThrow(new IllegalStateException("generations store unavailable"));
+        ProjectArtifactsHandler generationsHandler = ProjectArtifactHandlerFactory.getArtifactHandler(ArtifactType.FILE_GENERATIONS);
+        ProjectArtifactHandlerFactory.registerArtifactHandler(ArtifactType.FILE_GENERATIONS, failingHandler);
+        try
+        {
+            when(repositoryServices.findVersion(TEST_GROUP_ID, TEST_ARTIFACT_ID, BRANCH_SNAPSHOT("master"))).thenReturn(Optional.of(BRANCH_SNAPSHOT("master")));
+            when(repositoryServices.findFiles(any(ArtifactType.class), anyString(), anyString(), anyString())).thenReturn(Collections.emptyList());
+            when(repositoryServices.findFiles(ArtifactType.FILE_GENERATIONS, TEST_GROUP_ID, TEST_ARTIFACT_ID, BRANCH_SNAPSHOT("master"))).thenReturn(Collections.singletonList(new File("test-file-generation.jar")));
+
+            MetadataNotificationResponse response = versionHandler.handleNotification(new MetadataNotification("", TEST_GROUP_ID, TEST_ARTIFACT_ID, BRANCH_SNAPSHOT("master"), true, false, PARENT_EVENT_ID));
+            Assert.assertNotNull(response);
+            Assert.assertEquals(MetadataNotificationStatus.FAILED, response.getStatus());
+            Assert.assertTrue(response.getErrors().stream().anyMatch(error -> error.contains("FILE_GENERATIONS") && error.contains("generations store unavailable")));
+            Assert.assertTrue(response.getMessages().stream().anyMatch(message -> message.startsWith("No ENTITIES artifacts to process")));
+            Assert.assertFalse(projectsService.find(TEST_GROUP_ID, TEST_ARTIFACT_ID, BRANCH_SNAPSHOT("master")).isPresent());
+        }
+        finally
+        {
+            if (generationsHandler != null)
+            {
+                ProjectArtifactHandlerFactory.registerArtifactHandler(ArtifactType.FILE_GENERATIONS, generationsHandler);
+            }
+            else
+            {
+                ProjectArtifactHandlerFactory.unregisterArtifactHandler(ArtifactType.FILE_GENERATIONS);
+            }
+        }
+    }
+
+    @Test
+    public void failedArtifactRefreshMovesVersionStampOn() throws Exception
+    {
+        when(repositoryServices.findVersion(TEST_GROUP_ID, TEST_ARTIFACT_ID, BRANCH_SNAPSHOT("master"))).thenReturn(Optional.of(BRANCH_SNAPSHOT("master")));
+        when(repositoryServices.findFiles(any(ArtifactType.class), anyString(), anyString(), anyString())).thenReturn(Collections.emptyList());
+        MetadataNotification event = new MetadataNotification("", TEST_GROUP_ID, TEST_ARTIFACT_ID, BRANCH_SNAPSHOT("master"), true, false, PARENT_EVENT_ID);
+        Assert.assertFalse(versionHandler.handleNotification(event).hasErrors());
+        String versionStamp = projectsService.getVersionStamp(TEST_GROUP_ID, TEST_ARTIFACT_ID, BRANCH_SNAPSHOT("master")).get();
+
+        ProjectArtifactsHandler failingHandler = mock(ProjectArtifactsHandler.class);
+        when(failingHandler.refreshProjectVersionArtifacts(anyString(), anyString(), anyString(), anyList())).thenThrow(new IllegalStateException("generations store unavailable"));
+        ProjectArtifactsHandler generationsHandler = ProjectArtifactHandlerFactory.getArtifactHandler(ArtifactType.FILE_GENERATIONS);
+        ProjectArtifactHandlerFactory.registerArtifactHandler(ArtifactType.FILE_GENERATIONS, failingHandler);
+        try
+        {
+            when(repositoryServices.findFiles(ArtifactType.FILE_GENERATIONS, TEST_GROUP_ID, TEST_ARTIFACT_ID, BRANCH_SNAPSHOT("master"))).thenReturn(Collections.singletonList(new File("test-file-generation.jar")));
+            Thread.sleep(10);
+            Assert.assertTrue(versionHandler.handleNotification(event).hasErrors());
+            Assert.assertNotEquals(versionStamp, projectsService.getVersionStamp(TEST_GROUP_ID, TEST_ARTIFACT_ID, BRANCH_SNAPSHOT("master")).get());
+        }
+        finally
+        {
+            if (generationsHandler != null)
+            {
+                ProjectArtifactHandlerFactory.registerArtifactHandler(ArtifactType.FILE_GENERATIONS, generationsHandler);
+            }
+            else
+            {
+                ProjectArtifactHandlerFactory.unregisterArtifactHandler(ArtifactType.FILE_GENERATIONS);
+            }
+        }
+    }
+
+    @Test
+    public void unchangedArtifactFilesAreSkippedWithoutRehashing() throws Exception
+    {
+        ProjectArtifactsHandler entitiesHandler = mock(ProjectArtifactsHandler.class);
+        when(entitiesHandler.refreshProjectVersionArtifacts(anyString(), anyString(), anyString(), anyList())).thenReturn(new MetadataNotificationResponse());
+        ProjectArtifactHandlerFactory.registerArtifactHandler(ArtifactType.ENTITIES, entitiesHandler);
+
+        File jar = temporaryFolder.newFile("test-entities.jar");
+        Files.write(jar.toPath(), "version one".getBytes(StandardCharsets.UTF_8));
+        when(repositoryServices.findVersion(TEST_GROUP_ID, TEST_ARTIFACT_ID, BRANCH_SNAPSHOT("master"))).thenReturn(Optional.of(BRANCH_SNAPSHOT("master")));
+        when(repositoryServices.findFiles(any(ArtifactType.class), anyString(), anyString(), anyString())).thenReturn(Collections.emptyList());
+        when(repositoryServices.findFiles(ArtifactType.ENTITIES, TEST_GROUP_ID, TEST_ARTIFACT_ID, BRANCH_SNAPSHOT("master"))).thenReturn(Collections.singletonList(jar));
+        MetadataNotification event = new MetadataNotification("", TEST_GROUP_ID, TEST_ARTIFACT_ID, BRANCH_SNAPSHOT("master"), false, false, PARENT_EVENT_ID);
+
+        MetadataNotificationResponse response = versionHandler.handleNotification(event);
+        Assert.assertTrue(response.getMessages().stream().anyMatch(message -> message.startsWith("[1] files found [ENTITIES]")));
+        ArtifactFile stored = artifactsStore.find(jar.getPath()).get();
+        Assert.assertTrue(stored.hasSameAttributes(jar.length(), jar.lastModified()));
+
+        response = versionHandler.handleNotification(event);
+        Assert.assertTrue(response.getMessages().stream().anyMatch(message -> message.startsWith("No ENTITIES artifacts to process")));
+
+        //touched but same content: not reprocessed, new attributes recorded
+        Assert.assertTrue(jar.setLastModified(jar.lastModified() + 10000));
+        response = versionHandler.handleNotification(event);
+        Assert.assertTrue(response.getMessages().stream().anyMatch(message -> message.startsWith("No ENTITIES artifacts to process")));
+        Assert.assertEquals(stored.getCheckSum(), artifactsStore.find(jar.getPath()).get().getCheckSum());
+        Assert.assertTrue(artifactsStore.find(jar.getPath()).get().hasSameAttributes(jar.length(), jar.lastModified()));
+
+        Files.write(jar.toPath(), "version two".getBytes(StandardCharsets.UTF_8));
+        Assert.assertTrue(jar.setLastModified(jar.lastModified() + 20000));
+        response = versionHandler.handleNotification(event);
+        Assert.assertTrue(response.getMessages().stream().anyMatch(message -> message.startsWith("[1] files found [ENTITIES]")));
+        Assert.assertNotEquals(stored.getCheckSum(), artifactsStore.find(jar.getPath()).get().getCheckSum());
+    }
 }
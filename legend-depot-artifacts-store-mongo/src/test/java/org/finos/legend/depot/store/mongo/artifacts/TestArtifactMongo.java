@@ -22,6 +22,9 @@ import org.finos.legend.depot.store.mongo.artifacts.ArtifactsFilesMongo;
 import org.junit.Assert;
 import org.junit.Test;
 
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
 import java.util.Optional;
 
 public class TestArtifactMongo extends TestStoreMongo
@@ -67,4 +70,20 @@ public class TestArtifactMongo extends TestStoreMongo
 
     }
 
+    @Test
+    public void canFindArtifactsInformationByPaths()
+    {
+        ArtifactsFilesStore artifacts = new ArtifactsFilesMongo(this.mongoProvider);
+        artifacts.createOrUpdate(new ArtifactFile(FILE_PATH, "lala", 10L, 1000L));
+        artifacts.createOrUpdate(new ArtifactFile("path/to/other.jar", "lolo"));
+
+        List<ArtifactFile> found = artifacts.find(Arrays.asList(FILE_PATH, "path/to/missing.jar"));
+        Assert.assertEquals(1, found.size());
+        Assert.assertEquals(FILE_PATH, found.get(0).getPath());
+        Assert.assertTrue(found.get(0).hasSameAttributes(10L, 1000L));
+        Assert.assertFalse(found.get(0).hasSameAttributes(10L, 1001L));
+        Assert.assertEquals(2, artifacts.find(Arrays.asList(FILE_PATH, "path/to/other.jar")).size());
+        Assert.assertTrue(artifacts.find(Collections.emptyList()).isEmpty());
+    }
+
 }
@@ -0,0 +1,63 @@
+//  Copyright 2021 Goldman Sachs
+//
+//  Licensed under the Apache License, Version 2.0 (the "License");
+//  you may not use this file except in compliance with the License.
+//  You may obtain a copy of the License at
+//
+//       http://www.apache.org/licenses/LICENSE-2.0
+//
+//  Unless required by applicable law or agreed to in writing, software
+//  distributed under the License is distributed on an "AS IS" BASIS,
+//  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+//  See the License for the specific language governing permissions and
+//  limitations under the License.
+//
+
+package org.finos.legend.depot.domain.project;
+
+import org.eclipse.collections.impl.map.mutable.primitive.ObjectIntHashMap;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Interns project versions to dense int ids so graph work can use primitive collections and arrays.
+ * Ids are assigned in registration order starting at 0 and are never reused.
+ * Not thread safe.
+ */
+public class ProjectVersionRegistry
+{
+    public static final int NOT_FOUND = -1;
+
+    private final ObjectIntHashMap<ProjectVersion> ids = new ObjectIntHashMap<>();
+    private final List<ProjectVersion> versions = new ArrayList<>();
+
+    public int intern(ProjectVersion version)
+    {
+        int id = ids.getIfAbsent(version, NOT_FOUND);
+        if (id == NOT_FOUND)
+        {
+            //keep our own copy, callers may mutate theirs
+            ProjectVersion copy = new ProjectVersion(version.getGroupId(), version.getArtifactId(), version.getVersionId());
+            id = versions.size();
+            ids.put(copy, id);
+            versions.add(copy);
+        }
+        return id;
+    }
+
+    public int getId(ProjectVersion version)
+    {
+        return ids.getIfAbsent(version, NOT_FOUND);
+    }
+
+    public ProjectVersion get(int id)
+    {
+        return versions.get(id);
+    }
+
+    public int size()
+    {
+        return versions.size();
+    }
+}
@@ -0,0 +1,58 @@
+//  Copyright 2021 Goldman Sachs
+//
+//  Licensed under the Apache License, Version 2.0 (the "License");
+//  you may not use this file except in compliance with the License.
+//  You may obtain a copy of the License at
+//
+//       http://www.apache.org/licenses/LICENSE-2.0
+//
+//  Unless required by applicable law or agreed to in writing, software
+//  distributed under the License is distributed on an "AS IS" BASIS,
+//  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+//  See the License for the specific language governing permissions and
+//  limitations under the License.
+//
+
+package org.finos.legend.depot.domain.project;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import org.finos.legend.depot.store.model.projects.StoreProjectData;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@JsonIgnoreProperties(ignoreUnknown = true)
+public class ProjectsPage
+{
+    @JsonProperty
+    private List<StoreProjectData> projects = new ArrayList<>();
+    //absent on the last page
+    @JsonProperty
+    private String continuationToken;
+
+    public ProjectsPage()
+    {
+    }
+
+    public ProjectsPage(List<StoreProjectData> projects, String continuationToken)
+    {
+        this.projects = projects;
+        this.continuationToken = continuationToken;
+    }
+
+    public List<StoreProjectData> getProjects()
+    {
+        return projects;
+    }
+
+    public String getContinuationToken()
+    {
+        return continuationToken;
+    }
+
+    public boolean hasNext()
+    {
+        return continuationToken != null;
+    }
+}
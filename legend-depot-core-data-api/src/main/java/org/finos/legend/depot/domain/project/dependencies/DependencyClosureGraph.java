@@ -0,0 +1,174 @@
+//  Copyright 2023 Goldman Sachs
+//
+//  Licensed under the Apache License, Version 2.0 (the "License");
+//  you may not use this file except in compliance with the License.
+//  You may obtain a copy of the License at
+//
+//       http://www.apache.org/licenses/LICENSE-2.0
+//
+//  Unless required by applicable law or agreed to in writing, software
+//  distributed under the License is distributed on an "AS IS" BASIS,
+//  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+//  See the License for the specific language governing permissions and
+//  limitations under the License.
+//
+
+package org.finos.legend.depot.domain.project.dependencies;
+
+import org.eclipse.collections.impl.list.mutable.primitive.IntArrayList;
+import org.eclipse.collections.impl.set.mutable.primitive.IntHashSet;
+import org.finos.legend.depot.domain.project.ProjectVersion;
+import org.finos.legend.depot.domain.project.ProjectVersionRegistry;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.List;
+
+/**
+ * Transitive closure of the project versions dependency graph.
+ * Versions are interned to int ids and closures are kept as id arrays, calculated on demand and reused by
+ * every dependant. The graph is built once: versions can no longer be set after the first report is requested.
+ * Closure arrays are not sorted: they hold each direct dependency followed by its own closure, in
+ * declaration order, keeping the first occurrence of every version.
+ * Not thread safe.
+ */
+public class DependencyClosureGraph
+{
+    private static final int[] NO_DEPENDENCIES = new int[0];
+
+    private final ProjectVersionRegistry versions = new ProjectVersionRegistry();
+    private final List<int[]> dependencies = new ArrayList<>();
+    private final List<int[]> closures = new ArrayList<>();
+    private final BitSet stored = new BitSet();
+    private final BitSet excluded = new BitSet();
+    private final BitSet invalid = new BitSet();
+    private final BitSet calculated = new BitSet();
+    private final BitSet seen = new BitSet();
+
+    private int intern(ProjectVersion version)
+    {
+        int id = versions.intern(version);
+        if (id == dependencies.size())
+        {
+            dependencies.add(NO_DEPENDENCIES);
+            closures.add(NO_DEPENDENCIES);
+        }
+        return id;
+    }
+
+    public int size()
+    {
+        return stored.cardinality();
+    }
+
+    public void setVersion(ProjectVersion version, List<ProjectVersion> directDependencies, boolean isExcluded)
+    {
+        if (!calculated.isEmpty())
+        {
+            throw new IllegalStateException(String.format("Cannot set %s once dependency reports have been calculated", version.getGav()));
+        }
+        int id = intern(version);
+        int[] dependencyIds = new int[directDependencies.size()];
+        for (int i = 0; i < dependencyIds.length; i++)
+        {
+            dependencyIds[i] = intern(directDependencies.get(i));
+        }
+        dependencies.set(id, dependencyIds);
+        stored.set(id);
+        excluded.set(id, isExcluded);
+    }
+
+    public VersionDependencyReport getReport(ProjectVersion version)
+    {
+        int id = versions.getId(version);
+        if (id == ProjectVersionRegistry.NOT_FOUND || !stored.get(id))
+        {
+            return new VersionDependencyReport(new ArrayList<>(), false);
+        }
+        calculate(id);
+        if (invalid.get(id))
+        {
+            return new VersionDependencyReport(new ArrayList<>(), false);
+        }
+        int[] closure = closures.get(id);
+        List<ProjectVersion> transitiveDependencies = new ArrayList<>(closure.length);
+        for (int dependency : closure)
+        {
+            transitiveDependencies.add(versions.get(dependency));
+        }
+        return new VersionDependencyReport(transitiveDependencies, true);
+    }
+
+    private void calculate(int root)
+    {
+        if (calculated.get(root))
+        {
+            return;
+        }
+        //iterative post order walk so that deep graphs do not overflow the stack
+        IntArrayList stack = IntArrayList.newListWith(root);
+        IntArrayList positions = IntArrayList.newListWith(0);
+        IntHashSet visiting = IntHashSet.newSetWith(root);
+        IntHashSet cyclic = new IntHashSet();
+        while (!stack.isEmpty())
+        {
+            int top = stack.getLast();
+            int position = positions.getLast();
+            int[] topDependencies = dependencies.get(top);
+            if (position < topDependencies.length)
+            {
+                positions.set(positions.size() - 1, position + 1);
+                int dependency = topDependencies[position];
+                if (visiting.contains(dependency))
+                {
+                    cyclic.add(top);
+                }
+                else if (!calculated.get(dependency))
+                {
+                    stack.add(dependency);
+                    positions.add(0);
+                    visiting.add(dependency);
+                }
+            }
+            else
+            {
+                stack.removeAtIndex(stack.size() - 1);
+                positions.removeAtIndex(positions.size() - 1);
+                visiting.remove(top);
+                calculateClosure(top, cyclic.contains(top));
+            }
+        }
+    }
+
+    private void calculateClosure(int id, boolean isCyclic)
+    {
+        boolean isInvalid = isCyclic || !stored.get(id) || excluded.get(id);
+        IntArrayList closure = new IntArrayList();
+        for (int dependency : dependencies.get(id))
+        {
+            if (isInvalid || invalid.get(dependency) || !calculated.get(dependency))
+            {
+                isInvalid = true;
+                break;
+            }
+            add(closure, dependency);
+            for (int transitive : closures.get(dependency))
+            {
+                add(closure, transitive);
+            }
+        }
+        closure.forEach(seen::clear);
+        closures.set(id, isInvalid ? NO_DEPENDENCIES : closure.toArray());
+        invalid.set(id, isInvalid);
+        calculated.set(id);
+    }
+
+    private void add(IntArrayList closure, int dependency)
+    {
+        if (!seen.get(dependency))
+        {
+            seen.set(dependency);
+            closure.add(dependency);
+        }
+    }
+}
@@ -15,62 +15,80 @@
 
 package org.finos.legend.depot.domain.project.dependencies;
 
-import org.eclipse.collections.api.factory.Maps;
-import org.eclipse.collections.api.factory.Sets;
-import org.eclipse.collections.api.map.MutableMap;
+import org.eclipse.collections.api.set.primitive.IntSet;
+import org.eclipse.collections.impl.map.mutable.primitive.IntObjectHashMap;
+import org.eclipse.collections.impl.set.mutable.primitive.IntHashSet;
 import org.finos.legend.depot.domain.project.ProjectVersion;
+import org.finos.legend.depot.domain.project.ProjectVersionRegistry;
 
-import java.util.Set;
+import java.util.ArrayList;
+import java.util.List;
 
 public class ProjectDependencyGraph
 {
-    private final Set<ProjectVersion> nodes = Sets.mutable.empty();
-    private final Set<ProjectVersion> rootNodes = Sets.mutable.empty();
-    private final MutableMap<ProjectVersion, Set<ProjectVersion>> forwardEdges = Maps.mutable.empty();
-    private final MutableMap<ProjectVersion, Set<ProjectVersion>> backEdges =  Maps.mutable.empty();
+    private final ProjectVersionRegistry versions = new ProjectVersionRegistry();
+    private final IntHashSet nodes = new IntHashSet();
+    private final IntHashSet rootNodes = new IntHashSet();
+    private final IntObjectHashMap<IntHashSet> forwardEdges = new IntObjectHashMap<>();
+    private final IntObjectHashMap<IntHashSet> backEdges = new IntObjectHashMap<>();
 
     public ProjectDependencyGraph()
     {
 
     }
 
-    public MutableMap<ProjectVersion, Set<ProjectVersion>> getBackEdges()
+    public List<ProjectVersion> getBackEdges(ProjectVersion node)
     {
-        return backEdges;
+        return toVersions(backEdges.get(versions.getId(node)));
     }
 
-    public MutableMap<ProjectVersion, Set<ProjectVersion>> getForwardEdges()
+    public List<ProjectVersion> getForwardEdges(ProjectVersion node)
     {
-        return forwardEdges;
+        return toVersions(forwardEdges.get(versions.getId(node)));
     }
 
-    public Set<ProjectVersion> getNodes()
+    public List<ProjectVersion> getNodes()
     {
-        return nodes;
+        return toVersions(nodes);
     }
 
-    public Set<ProjectVersion> getRootNodes()
+    public List<ProjectVersion> getRootNodes()
     {
-        return rootNodes;
+        return toVersions(rootNodes);
     }
 
     public boolean hasNode(ProjectVersion node)
     {
-        return this.nodes.contains(node);
+        int id = versions.getId(node);
+        return id != ProjectVersionRegistry.NOT_FOUND && this.nodes.contains(id);
     }
 
     public void addNode(ProjectVersion node, ProjectVersion parent)
     {
-        this.nodes.add(node);
+        int id = versions.intern(node);
+        this.nodes.add(id);
         if (parent == null)
         {
-            this.rootNodes.add(node);
+            this.rootNodes.add(id);
         }
     }
 
     public void setEdges(ProjectVersion from, ProjectVersion to)
     {
-        this.forwardEdges.getIfAbsentPut(from, Sets.mutable.empty()).add(to);
-        this.backEdges.getIfAbsentPut(to, Sets.mutable.empty()).add(from);
+        int fromId = versions.intern(from);
+        int toId = versions.intern(to);
+        this.forwardEdges.getIfAbsentPut(fromId, IntHashSet::new).add(toId);
+        this.backEdges.getIfAbsentPut(toId, IntHashSet::new).add(fromId);
+    }
+
+    private List<ProjectVersion> toVersions(IntSet ids)
+    {
+        if (ids == null)
+        {
+            return new ArrayList<>();
+        }
+        List<ProjectVersion> result = new ArrayList<>(ids.size());
+        ids.forEach(id -> result.add(versions.get(id)));
+        return result;
     }
 }
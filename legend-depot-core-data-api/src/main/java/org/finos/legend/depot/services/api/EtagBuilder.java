@@ -16,6 +16,7 @@
 package org.finos.legend.depot.services.api;
 
 import org.finos.legend.depot.domain.version.VersionValidator;
+import org.finos.legend.depot.services.api.projects.ProjectsService;
 
 import java.util.ArrayList;
 import java.util.Arrays;
@@ -51,6 +52,21 @@ public final class EtagBuilder
         return this;
     }
 
+    //a version stamp changes whenever the content of the version it resolves to does, so snapshots and aliases can be tagged too
+    public EtagBuilder withVersionStamp(ProjectsService projects, String groupId, String artifactId, String versionId)
+    {
+        String versionStamp = projects.getVersionStamp(groupId, artifactId, versionId).orElse(null);
+        if (versionStamp == null)
+        {
+            this.constantParams = false;
+        }
+        else
+        {
+            params.addAll(Arrays.asList(groupId, artifactId, versionStamp));
+        }
+        return this;
+    }
+
     public EtagBuilder withProtocolVersion(String clientProtocolVersion)
     {
         if (clientProtocolVersion == null || clientProtocolVersion.equalsIgnoreCase(HEAD_PROTOCOL_VERSION))
@@ -18,19 +18,42 @@ package org.finos.legend.depot.services.api.projects;
 import org.finos.legend.depot.store.model.projects.StoreProjectVersionData;
 import org.finos.legend.depot.store.model.projects.StoreProjectData;
 import org.finos.legend.depot.domain.project.ProjectVersion;
+import org.finos.legend.depot.domain.project.ProjectsPage;
 import org.finos.legend.depot.domain.project.dependencies.ProjectDependencyReport;
 import org.finos.legend.depot.domain.project.dependencies.ProjectDependencyWithPlatformVersions;
+import org.finos.legend.depot.domain.version.VersionValidator;
 import org.finos.legend.sdlc.domain.model.version.VersionId;
 
 import java.util.Arrays;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.Set;
+import java.util.function.Consumer;
 
 public interface ProjectsService
 {
+    int PROJECTS_PAGE_SIZE = 500;
+    int MAX_PROJECTS_PAGE_SIZE = PROJECTS_PAGE_SIZE * 2;
+    String VERSION_STAMP_SEPARATOR = "@";
+
     List<StoreProjectData> getAllProjectCoordinates();
 
+    //continuationToken is the one returned with the previous page, null for the first page
+    ProjectsPage getProjectCoordinatesPage(String continuationToken, int pageSize);
+
+    default void forEachProjectCoordinatesPage(Consumer<List<StoreProjectData>> pageConsumer)
+    {
+        String continuationToken = null;
+        do
+        {
+            ProjectsPage page = getProjectCoordinatesPage(continuationToken, PROJECTS_PAGE_SIZE);
+            pageConsumer.accept(page.getProjects());
+            continuationToken = page.getContinuationToken();
+        }
+        while (continuationToken != null);
+    }
+
     List<StoreProjectVersionData> findByUpdatedDate(long updatedFrom, long updatedTo);
 
     default List<String> getVersions(String groupId, String artifactId)
@@ -51,10 +74,31 @@ public interface ProjectsService
 
     Optional<StoreProjectVersionData> find(String groupId, String artifactId, String versionId);
 
+    //version aliases are not resolved, versions not in the store are absent from the result
+    List<StoreProjectVersionData> findAll(Collection<ProjectVersion> projectVersions);
+
     String resolveAliasesAndCheckVersionExists(String groupId, String artifactId, String versionId);
 
+    //aliases are resolved to a version id using project coordinates read from the store (they are never cached),
+    //snapshots are also stamped with the last time they were refreshed
+    default Optional<String> getVersionStamp(String groupId, String artifactId, String versionId)
+    {
+        Optional<StoreProjectVersionData> projectVersion = find(groupId, artifactId, versionId);
+        if (!projectVersion.isPresent() || projectVersion.get().getVersionData().isExcluded())
+        {
+            return Optional.empty();
+        }
+        if (VersionValidator.isSnapshotVersion(projectVersion.get().getVersionId()))
+        {
+            return Optional.ofNullable(projectVersion.get().getUpdated()).map(updated -> projectVersion.get().getVersionId() + VERSION_STAMP_SEPARATOR + updated.getTime());
+        }
+        return Optional.of(projectVersion.get().getVersionId());
+    }
+
     Optional<StoreProjectData> findCoordinates(String groupId, String artifactId);
 
+    List<StoreProjectData> findCoordinates(Collection<ProjectVersion> projectVersions);
+
     default Set<ProjectVersion> getDependencies(String groupId, String artifactId, String versionId, boolean transitive)
     {
         return getDependencies(Arrays.asList(new ProjectVersion(groupId, artifactId, versionId)), transitive);
@@ -0,0 +1,80 @@
+//  Copyright 2021 Goldman Sachs
+//
+//  Licensed under the Apache License, Version 2.0 (the "License");
+//  you may not use this file except in compliance with the License.
+//  You may obtain a copy of the License at
+//
+//       http://www.apache.org/licenses/LICENSE-2.0
+//
+//  Unless required by applicable law or agreed to in writing, software
+//  distributed under the License is distributed on an "AS IS" BASIS,
+//  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+//  See the License for the specific language governing permissions and
+//  limitations under the License.
+//
+
+package org.finos.legend.depot.services.api.projects.configuration;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+/**
+ * Entries written by this instance are invalidated as soon as they are updated, changes made by other depot
+ * instances are only picked up once the entry expires, so reads can be up to expireAfterWriteSeconds stale.
+ */
+@JsonIgnoreProperties(ignoreUnknown = true)
+public class ProjectsCacheConfiguration
+{
+    private static final long DEFAULT_MAXIMUM_SIZE = 10000L;
+    private static final long FIVE_MINUTES = 5 * 60L;
+
+    @JsonProperty
+    boolean enabled = true;
+
+    @JsonProperty
+    long maximumSize = DEFAULT_MAXIMUM_SIZE;
+
+    @JsonProperty
+    long expireAfterWriteSeconds = FIVE_MINUTES;
+
+    public ProjectsCacheConfiguration()
+    {
+    }
+
+    public ProjectsCacheConfiguration(boolean enabled, long maximumSize, long expireAfterWriteSeconds)
+    {
+        this.enabled = enabled;
+        this.maximumSize = maximumSize;
+        this.expireAfterWriteSeconds = expireAfterWriteSeconds;
+    }
+
+    public boolean isEnabled()
+    {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled)
+    {
+        this.enabled = enabled;
+    }
+
+    public long getMaximumSize()
+    {
+        return maximumSize;
+    }
+
+    public void setMaximumSize(long maximumSize)
+    {
+        this.maximumSize = maximumSize;
+    }
+
+    public long getExpireAfterWriteSeconds()
+    {
+        return expireAfterWriteSeconds;
+    }
+
+    public void setExpireAfterWriteSeconds(long expireAfterWriteSeconds)
+    {
+        this.expireAfterWriteSeconds = expireAfterWriteSeconds;
+    }
+}
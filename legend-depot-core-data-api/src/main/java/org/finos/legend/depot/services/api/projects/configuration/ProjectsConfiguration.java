@@ -26,14 +26,28 @@ public class ProjectsConfiguration
     @JsonProperty
     private final String defaultBranch;
 
+    @JsonProperty
+    private final ProjectsCacheConfiguration cache;
+
+    public ProjectsConfiguration(String defaultBranch)
+    {
+        this(defaultBranch, null);
+    }
+
     @JsonCreator
-    public ProjectsConfiguration(@JsonProperty("defaultBranch") String defaultBranch)
+    public ProjectsConfiguration(@JsonProperty("defaultBranch") String defaultBranch, @JsonProperty("cache") ProjectsCacheConfiguration cache)
     {
         this.defaultBranch = defaultBranch;
+        this.cache = cache != null ? cache : new ProjectsCacheConfiguration();
     }
 
     public String getDefaultBranch()
     {
         return defaultBranch;
     }
+
+    public ProjectsCacheConfiguration getCache()
+    {
+        return cache;
+    }
 }
@@ -15,8 +15,10 @@
 
 package org.finos.legend.depot.store.api.projects;
 
+import org.finos.legend.depot.domain.CoordinateData;
 import org.finos.legend.depot.store.model.projects.StoreProjectData;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -24,8 +26,13 @@ public interface Projects
 {
     List<StoreProjectData> getAll();
 
+    //keyset page ordered by groupId and artifactId, starting after the given coordinates or from the first project when null
+    List<StoreProjectData> getAll(CoordinateData after, int pageSize);
+
     Optional<StoreProjectData> find(String groupId, String artifactId);
 
+    List<StoreProjectData> findAll(Collection<? extends CoordinateData> coordinates);
+
     @Deprecated
     List<StoreProjectData> findByProjectId(String projectId);
 }
@@ -15,8 +15,10 @@
 
 package org.finos.legend.depot.store.api.projects;
 
+import org.finos.legend.depot.domain.VersionedData;
 import org.finos.legend.depot.store.model.projects.StoreProjectVersionData;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -30,6 +32,12 @@ public interface ProjectsVersions
 
     Optional<StoreProjectVersionData> find(String groupId, String artifactId, String versionId);
 
+    List<StoreProjectVersionData> findAll(Collection<? extends VersionedData> projectVersions);
+
+    List<StoreProjectVersionData> findDependants(String groupId, String artifactId);
+
+    List<StoreProjectVersionData> findDependants(String groupId, String artifactId, String versionId);
+
     long getVersionCount(String groupId, String artifactId);
 
     List<StoreProjectVersionData> findVersion(Boolean excluded);
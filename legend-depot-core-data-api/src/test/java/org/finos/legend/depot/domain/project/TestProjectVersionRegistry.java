@@ -0,0 +1,50 @@
+//  Copyright 2023 Goldman Sachs
+//
+//  Licensed under the Apache License, Version 2.0 (the "License");
+//  you may not use this file except in compliance with the License.
+//  You may obtain a copy of the License at
+//
+//       http://www.apache.org/licenses/LICENSE-2.0
+//
+//  Unless required by applicable law or agreed to in writing, software
+//  distributed under the License is distributed on an "AS IS" BASIS,
+//  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+//  See the License for the specific language governing permissions and
+//  limitations under the License.
+//
+
+package org.finos.legend.depot.domain.project;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+public class TestProjectVersionRegistry
+{
+    @Test
+    public void canInternProjectVersions()
+    {
+        ProjectVersionRegistry registry = new ProjectVersionRegistry();
+        int first = registry.intern(new ProjectVersion("examples.metadata", "test", "1.0.0"));
+        int second = registry.intern(new ProjectVersion("examples.metadata", "test", "2.0.0"));
+
+        Assert.assertEquals(0, first);
+        Assert.assertEquals(1, second);
+        Assert.assertEquals(first, registry.intern(new ProjectVersion("examples.metadata", "test", "1.0.0")));
+        Assert.assertEquals(2, registry.size());
+        Assert.assertEquals(new ProjectVersion("examples.metadata", "test", "2.0.0"), registry.get(second));
+        Assert.assertEquals(ProjectVersionRegistry.NOT_FOUND, registry.getId(new ProjectVersion("examples.metadata", "test", "3.0.0")));
+    }
+
+    @Test
+    public void internedVersionsAreNotAffectedByCallers()
+    {
+        ProjectVersionRegistry registry = new ProjectVersionRegistry();
+        ProjectVersion version = new ProjectVersion("examples.metadata", "test", "1.0.0");
+        int id = registry.intern(version);
+        version.setVersionId("2.0.0");
+
+        Assert.assertEquals("1.0.0", registry.get(id).getVersionId());
+        Assert.assertEquals(id, registry.getId(new ProjectVersion("examples.metadata", "test", "1.0.0")));
+        Assert.assertEquals(ProjectVersionRegistry.NOT_FOUND, registry.getId(version));
+    }
+}
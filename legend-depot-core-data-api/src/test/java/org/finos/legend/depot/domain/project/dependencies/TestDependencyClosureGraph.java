@@ -0,0 +1,88 @@
+//  Copyright 2023 Goldman Sachs
+//
+//  Licensed under the Apache License, Version 2.0 (the "License");
+//  you may not use this file except in compliance with the License.
+//  You may obtain a copy of the License at
+//
+//       http://www.apache.org/licenses/LICENSE-2.0
+//
+//  Unless required by applicable law or agreed to in writing, software
+//  distributed under the License is distributed on an "AS IS" BASIS,
+//  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+//  See the License for the specific language governing permissions and
+//  limitations under the License.
+//
+
+package org.finos.legend.depot.domain.project.dependencies;
+
+import org.finos.legend.depot.domain.project.ProjectVersion;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+
+public class TestDependencyClosureGraph
+{
+    private static final String GROUP_ID = "examples.metadata";
+    private static final ProjectVersion TEST = new ProjectVersion(GROUP_ID, "test", "3.0.0");
+    private static final ProjectVersion TEST_DEPENDENCIES = new ProjectVersion(GROUP_ID, "test-dependencies", "2.0.0");
+    private static final ProjectVersion ART101 = new ProjectVersion(GROUP_ID, "art101", "1.0.0");
+    private static final ProjectVersion ART102 = new ProjectVersion(GROUP_ID, "art102", "1.0.0");
+    private static final ProjectVersion ART103 = new ProjectVersion(GROUP_ID, "art103", "1.0.0");
+
+    private final DependencyClosureGraph graph = new DependencyClosureGraph();
+
+    @Before
+    public void setUpGraph()
+    {
+        graph.setVersion(TEST, Collections.singletonList(TEST_DEPENDENCIES), false);
+        graph.setVersion(TEST_DEPENDENCIES, Arrays.asList(ART101, ART102), false);
+        graph.setVersion(ART101, Collections.emptyList(), false);
+        graph.setVersion(ART102, Collections.singletonList(ART103), false);
+        graph.setVersion(ART103, Collections.emptyList(), false);
+    }
+
+    @Test
+    public void canCalculateTransitiveDependencies()
+    {
+        Assert.assertEquals(5, graph.size());
+        VersionDependencyReport report = graph.getReport(TEST);
+        Assert.assertTrue(report.isValid());
+        Assert.assertEquals(Arrays.asList(TEST_DEPENDENCIES, ART101, ART102, ART103), report.getTransitiveDependencies());
+        Assert.assertEquals(Arrays.asList(ART101, ART102, ART103), graph.getReport(TEST_DEPENDENCIES).getTransitiveDependencies());
+        Assert.assertTrue(graph.getReport(ART101).isValid());
+        Assert.assertTrue(graph.getReport(ART101).getTransitiveDependencies().isEmpty());
+    }
+
+    @Test
+    public void excludedOrMissingDependenciesAreInvalid()
+    {
+        ProjectVersion art104 = new ProjectVersion(GROUP_ID, "art104", "1.0.0");
+        graph.setVersion(ART103, Collections.emptyList(), true);
+        graph.setVersion(art104, Collections.singletonList(new ProjectVersion(GROUP_ID, "missing", "1.0.0")), false);
+        Assert.assertFalse(graph.getReport(TEST).isValid());
+        Assert.assertFalse(graph.getReport(ART102).isValid());
+        Assert.assertFalse(graph.getReport(ART103).isValid());
+        Assert.assertTrue(graph.getReport(ART101).isValid());
+        Assert.assertFalse(graph.getReport(art104).isValid());
+        Assert.assertFalse(graph.getReport(new ProjectVersion(GROUP_ID, "unknown", "1.0.0")).isValid());
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void versionsCannotBeSetOnceReportsAreCalculated()
+    {
+        Assert.assertEquals(4, graph.getReport(TEST).getTransitiveDependencies().size());
+        graph.setVersion(ART101, Collections.singletonList(ART103), false);
+    }
+
+    @Test
+    public void cyclicDependenciesAreInvalid()
+    {
+        graph.setVersion(ART103, Collections.singletonList(TEST_DEPENDENCIES), false);
+        Assert.assertFalse(graph.getReport(TEST).isValid());
+        Assert.assertFalse(graph.getReport(ART103).isValid());
+        Assert.assertTrue(graph.getReport(ART101).isValid());
+    }
+}
@@ -61,6 +61,16 @@ public class ProjectsResource extends TracingResource
         return handleResponse(ResourceLoggingAndTracing.GET_ALL_PROJECTS, () -> projectApi.getAllProjectCoordinates());
     }
 
+    @GET
+    @Path("/project-configurations/page")
+    @ApiOperation(ResourceLoggingAndTracing.GET_PROJECTS_PAGE)
+    @Produces(MediaType.APPLICATION_JSON)
+    public Response getProjectsWithCoordinatesPage(@QueryParam("continuationToken") @ApiParam("token returned with the previous page, omit for the first page") String continuationToken,
+                                                   @QueryParam("pageSize") @ApiParam("maximum number of projects in the page") @DefaultValue("500") int pageSize)
+    {
+        return handleResponse(ResourceLoggingAndTracing.GET_PROJECTS_PAGE, () -> projectApi.getProjectCoordinatesPage(continuationToken, pageSize));
+    }
+
     @GET
     @Path("/project-configurations/{groupId}/{artifactId}")
     @ApiOperation(ResourceLoggingAndTracing.GET_PROJECT_CONFIG_BY_GA)
@@ -16,9 +16,12 @@
 package org.finos.legend.depot.services.dependencies;
 
 import org.eclipse.collections.api.block.function.Function2;
+import org.finos.legend.depot.core.services.executors.DepotExecutors;
 import org.finos.legend.depot.domain.project.ProjectVersion;
 import org.finos.legend.depot.services.api.dependencies.DependencyOverride;
+import org.finos.legend.depot.services.dependencies.ProjectDependencyGraphWalkerContext.DependencyProject;
 
+import java.util.ArrayList;
 import java.util.Set;
 import java.util.Collections;
 import java.util.List;
@@ -30,12 +33,13 @@ public class DependencyUtil implements DependencyOverride
 {
     public List<ProjectVersion> overrideWith(List<ProjectVersion> dependencies, List<ProjectVersion> overridingDependencies, Function2<List<ProjectVersion>, Boolean, Set<ProjectVersion>> executableFunction)
     {
-        Map<String, List<ProjectVersion>> dependenciesLocator = dependencies.stream().collect(Collectors.groupingBy(dep -> dep.getGroupId() + dep.getArtifactId()));
-        Set<ProjectVersion> overriddenDependencies = overridingDependencies.stream().map(dep -> dependenciesLocator.getOrDefault(dep.getGroupId() + dep.getArtifactId(), Collections.emptyList())).flatMap(Collection::stream).collect(Collectors.toSet());
+        Map<DependencyProject, List<ProjectVersion>> dependenciesLocator = dependencies.stream().collect(Collectors.groupingBy(dep -> new DependencyProject(dep.getGroupId(), dep.getArtifactId())));
+        Set<ProjectVersion> overriddenDependencies = overridingDependencies.stream().map(dep -> dependenciesLocator.getOrDefault(new DependencyProject(dep.getGroupId(), dep.getArtifactId()), Collections.emptyList())).flatMap(Collection::stream).collect(Collectors.toSet());
         overriddenDependencies.removeAll(overridingDependencies);
-        Set<ProjectVersion> deleteDependencies = overriddenDependencies.parallelStream().map(dep -> executableFunction.apply(Collections.singletonList(dep), true)).flatMap(Collection::stream).collect(Collectors.toSet());
-        dependencies.removeAll(deleteDependencies);
-        dependencies.removeAll(overriddenDependencies);
-        return dependencies;
+        Set<ProjectVersion> deleteDependencies = DepotExecutors.io().map(overriddenDependencies, dep -> executableFunction.apply(Collections.singletonList(dep), true)).stream().flatMap(Collection::stream).collect(Collectors.toSet());
+        List<ProjectVersion> result = new ArrayList<>(dependencies);
+        result.removeAll(deleteDependencies);
+        result.removeAll(overriddenDependencies);
+        return result;
     }
 }
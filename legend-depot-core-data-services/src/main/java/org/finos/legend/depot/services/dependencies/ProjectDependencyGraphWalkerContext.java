@@ -28,6 +28,7 @@ import org.finos.legend.depot.store.model.projects.StoreProjectVersionData;
 import java.util.Collection;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
 import java.util.Set;
 import java.util.stream.Collectors;
 
@@ -43,6 +44,27 @@ public class ProjectDependencyGraphWalkerContext
         {
             super(groupId, artifactId);
         }
+
+        @Override
+        public boolean equals(Object obj)
+        {
+            if (this == obj)
+            {
+                return true;
+            }
+            if (obj == null || getClass() != obj.getClass())
+            {
+                return false;
+            }
+            DependencyProject that = (DependencyProject) obj;
+            return Objects.equals(getGroupId(), that.getGroupId()) && Objects.equals(getArtifactId(), that.getArtifactId());
+        }
+
+        @Override
+        public int hashCode()
+        {
+            return Objects.hash(getGroupId(), getArtifactId());
+        }
     }
 
     public ProjectDependencyGraphWalkerContext()
@@ -21,7 +21,9 @@ import com.google.inject.Singleton;
 import com.google.inject.name.Names;
 import org.finos.legend.depot.services.api.dependencies.DependencyOverride;
 import org.finos.legend.depot.services.api.projects.ProjectsService;
+import org.finos.legend.depot.services.api.projects.configuration.ProjectsConfiguration;
 import org.finos.legend.depot.services.dependencies.DependencyUtil;
+import org.finos.legend.depot.services.projects.ProjectsCache;
 import org.finos.legend.depot.services.projects.ProjectsServiceImpl;
 
 import javax.inject.Named;
@@ -45,4 +47,11 @@ public class CoreDataServicesModule extends PrivateModule
         return new DependencyUtil();
     }
 
+    @Provides
+    @Singleton
+    public ProjectsCache initialiseProjectsCache(ProjectsConfiguration configuration)
+    {
+        return new ProjectsCache(configuration.getCache());
+    }
+
 }
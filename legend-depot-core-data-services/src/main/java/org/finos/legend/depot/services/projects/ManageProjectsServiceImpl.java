@@ -16,6 +16,7 @@
 package org.finos.legend.depot.services.projects;
 
 import org.finos.legend.depot.domain.project.ProjectSummary;
+import org.finos.legend.depot.domain.project.ProjectVersion;
 import org.finos.legend.depot.services.api.dependencies.DependencyOverride;
 import org.finos.legend.depot.store.model.projects.StoreProjectData;
 import org.finos.legend.depot.store.model.projects.StoreProjectVersionData;
@@ -29,7 +30,9 @@ import org.finos.legend.depot.services.api.notifications.queue.Queue;
 import javax.inject.Inject;
 import javax.inject.Named;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
 
 public class ManageProjectsServiceImpl extends ProjectsServiceImpl implements ManageProjectsService
@@ -39,9 +42,9 @@ public class ManageProjectsServiceImpl extends ProjectsServiceImpl implements Ma
     private final UpdateProjects projects;
 
     @Inject
-    public ManageProjectsServiceImpl(UpdateProjectsVersions projectsVersions, UpdateProjects projects, @Named("queryMetricsRegistry") QueryMetricsRegistry metricsRegistry, Queue queue, ProjectsConfiguration configuration, @Named("dependencyOverride") DependencyOverride dependencyUtil)
+    public ManageProjectsServiceImpl(UpdateProjectsVersions projectsVersions, UpdateProjects projects, @Named("queryMetricsRegistry") QueryMetricsRegistry metricsRegistry, Queue queue, ProjectsConfiguration configuration, @Named("dependencyOverride") DependencyOverride dependencyUtil, ProjectsCache projectsCache)
     {
-        super(projectsVersions,projects, metricsRegistry, queue, configuration, dependencyUtil);
+        super(projectsVersions,projects, metricsRegistry, queue, configuration, dependencyUtil, projectsCache);
         this.projects = projects;
         this.projectsVersions = projectsVersions;
     }
@@ -53,6 +56,19 @@ public class ManageProjectsServiceImpl extends ProjectsServiceImpl implements Ma
         this.projectsVersions = projectsVersions;
     }
 
+    //updates are read-modify-write so they must not share cached instances with readers
+    @Override
+    protected Optional<StoreProjectVersionData> findProjectVersion(String groupId, String artifactId, String versionId)
+    {
+        return projectsVersions.find(groupId, artifactId, versionId);
+    }
+
+    @Override
+    public List<StoreProjectVersionData> findAll(Collection<ProjectVersion> projectVersions)
+    {
+        return projectsVersions.findAll(projectVersions);
+    }
+
     @Override
     public List<StoreProjectVersionData> getAll()
     {
@@ -62,26 +78,34 @@ public class ManageProjectsServiceImpl extends ProjectsServiceImpl implements Ma
     @Override
     public StoreProjectVersionData createOrUpdate(StoreProjectVersionData projectData)
     {
-        return projectsVersions.createOrUpdate(projectData);
+        StoreProjectVersionData result = projectsVersions.createOrUpdate(projectData);
+        projectsCache.invalidate(projectData.getGroupId(), projectData.getArtifactId(), projectData.getVersionId());
+        return result;
     }
 
     @Override
     public StoreProjectData createOrUpdate(StoreProjectData projectData)
     {
-        return projects.createOrUpdate(projectData);
+        StoreProjectData result = projects.createOrUpdate(projectData);
+        projectsCache.invalidate(projectData.getGroupId(), projectData.getArtifactId());
+        return result;
     }
 
     @Override
     public long delete(String groupId, String artifactId)
     {
         projects.delete(groupId, artifactId);
-        return projectsVersions.delete(groupId, artifactId);
+        long deleted = projectsVersions.delete(groupId, artifactId);
+        projectsCache.invalidate(groupId, artifactId);
+        return deleted;
     }
 
     @Override
     public long delete(String groupId, String artifactId, String versionId)
     {
-        return projectsVersions.delete(groupId, artifactId, versionId);
+        long deleted = projectsVersions.delete(groupId, artifactId, versionId);
+        projectsCache.invalidate(groupId, artifactId, versionId);
+        return deleted;
     }
 
     @Override
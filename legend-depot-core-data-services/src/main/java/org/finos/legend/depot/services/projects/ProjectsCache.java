@@ -0,0 +1,185 @@
+//  Copyright 2021 Goldman Sachs
+//
+//  Licensed under the Apache License, Version 2.0 (the "License");
+//  you may not use this file except in compliance with the License.
+//  You may obtain a copy of the License at
+//
+//       http://www.apache.org/licenses/LICENSE-2.0
+//
+//  Unless required by applicable law or agreed to in writing, software
+//  distributed under the License is distributed on an "AS IS" BASIS,
+//  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+//  See the License for the specific language governing permissions and
+//  limitations under the License.
+//
+
+package org.finos.legend.depot.services.projects;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.RemovalNotification;
+import org.finos.legend.depot.core.services.metrics.PrometheusMetricsFactory;
+import org.finos.legend.depot.domain.project.ProjectVersion;
+import org.finos.legend.depot.domain.version.VersionValidator;
+import org.finos.legend.depot.services.api.projects.configuration.ProjectsCacheConfiguration;
+import org.finos.legend.depot.store.model.projects.StoreProjectVersionData;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+//only release versions are cached, snapshots change on every refresh and project coordinates, which carry the latest version
+//and default branch that aliases resolve to, are always read from the store
+//entries are only invalidated by writes on this instance: exclusion, eviction or deletion of a release version by another
+//depot instance is seen here once the entry expires, up to expireAfterWriteSeconds later
+//cached entries are shared with every caller and must not be modified, ManageProjectsServiceImpl reads from the stores
+public class ProjectsCache
+{
+    public static final String PROJECTS_CACHE_HIT = "projectsCache_hit";
+    public static final String PROJECTS_CACHE_MISS = "projectsCache_miss";
+    public static final String PROJECTS_CACHE_EVICTION = "projectsCache_eviction";
+
+    private static final String SEPARATOR = ":";
+
+    private final boolean enabled;
+    private final Cache<String, StoreProjectVersionData> versions;
+
+    public ProjectsCache(ProjectsCacheConfiguration configuration)
+    {
+        this.enabled = configuration != null && configuration.isEnabled();
+        this.versions = buildCache(configuration);
+        PrometheusMetricsFactory.getInstance().registerCounter(PROJECTS_CACHE_HIT, "projects cache hits");
+        PrometheusMetricsFactory.getInstance().registerCounter(PROJECTS_CACHE_MISS, "projects cache misses");
+        PrometheusMetricsFactory.getInstance().registerCounter(PROJECTS_CACHE_EVICTION, "projects cache evictions");
+    }
+
+    public static ProjectsCache disabled()
+    {
+        return new ProjectsCache(new ProjectsCacheConfiguration(false, 0, 0));
+    }
+
+    private static <V> Cache<String, V> buildCache(ProjectsCacheConfiguration configuration)
+    {
+        CacheBuilder<Object, Object> builder = CacheBuilder.newBuilder();
+        if (configuration != null && configuration.isEnabled())
+        {
+            builder.maximumSize(configuration.getMaximumSize()).expireAfterWrite(configuration.getExpireAfterWriteSeconds(), TimeUnit.SECONDS);
+        }
+        else
+        {
+            builder.maximumSize(0);
+        }
+        return builder.removalListener((RemovalNotification<Object, Object> notification) ->
+        {
+            if (notification.wasEvicted())
+            {
+                PrometheusMetricsFactory.getInstance().incrementCount(PROJECTS_CACHE_EVICTION);
+            }
+        }).build();
+    }
+
+    private static String key(String groupId, String artifactId)
+    {
+        return groupId + SEPARATOR + artifactId;
+    }
+
+    private static String key(String groupId, String artifactId, String versionId)
+    {
+        return key(groupId, artifactId) + SEPARATOR + versionId;
+    }
+
+    private static boolean isCacheableVersion(String versionId)
+    {
+        return versionId != null && !VersionValidator.isSnapshotVersion(versionId) && !VersionValidator.isVersionAlias(versionId);
+    }
+
+    private static <V> Optional<V> readThrough(Cache<String, V> cache, String key, Supplier<Optional<V>> loader)
+    {
+        V cached = cache.getIfPresent(key);
+        if (cached != null)
+        {
+            PrometheusMetricsFactory.getInstance().incrementCount(PROJECTS_CACHE_HIT);
+            return Optional.of(cached);
+        }
+        PrometheusMetricsFactory.getInstance().incrementCount(PROJECTS_CACHE_MISS);
+        Optional<V> loaded = loader.get();
+        loaded.ifPresent(value -> cache.put(key, value));
+        return loaded;
+    }
+
+    public Optional<StoreProjectVersionData> findVersion(String groupId, String artifactId, String versionId, Supplier<Optional<StoreProjectVersionData>> loader)
+    {
+        if (!enabled || !isCacheableVersion(versionId))
+        {
+            return loader.get();
+        }
+        return readThrough(versions, key(groupId, artifactId, versionId), loader);
+    }
+
+    public List<StoreProjectVersionData> findVersions(Collection<ProjectVersion> projectVersions, Function<List<ProjectVersion>, List<StoreProjectVersionData>> loader)
+    {
+        return readThrough(versions, projectVersions, projectVersion -> enabled && isCacheableVersion(projectVersion.getVersionId()), projectVersion -> key(projectVersion.getGroupId(), projectVersion.getArtifactId(), projectVersion.getVersionId()),
+                version -> key(version.getGroupId(), version.getArtifactId(), version.getVersionId()), loader);
+    }
+
+    //cached entries are served from memory, the rest are loaded with a single call to the loader
+    private <V> List<V> readThrough(Cache<String, V> cache, Collection<ProjectVersion> projectVersions, Predicate<ProjectVersion> cacheable, Function<ProjectVersion, String> requestKey,
+                                    Function<V, String> valueKey, Function<List<ProjectVersion>, List<V>> loader)
+    {
+        List<V> result = new ArrayList<>();
+        List<ProjectVersion> missing = new ArrayList<>();
+        projectVersions.forEach(projectVersion ->
+        {
+            V cached = cacheable.test(projectVersion) ? cache.getIfPresent(requestKey.apply(projectVersion)) : null;
+            if (cached != null)
+            {
+                PrometheusMetricsFactory.getInstance().incrementCount(PROJECTS_CACHE_HIT);
+                result.add(cached);
+            }
+            else
+            {
+                if (cacheable.test(projectVersion))
+                {
+                    PrometheusMetricsFactory.getInstance().incrementCount(PROJECTS_CACHE_MISS);
+                }
+                missing.add(projectVersion);
+            }
+        });
+        if (!missing.isEmpty())
+        {
+            Set<String> cacheableKeys = missing.stream().filter(cacheable).map(requestKey).collect(Collectors.toSet());
+            List<V> loaded = loader.apply(missing);
+            loaded.stream().filter(value -> cacheableKeys.contains(valueKey.apply(value))).forEach(value -> cache.put(valueKey.apply(value), value));
+            result.addAll(loaded);
+        }
+        return result;
+    }
+
+    public void invalidate(String groupId, String artifactId)
+    {
+        String versionsPrefix = key(groupId, artifactId) + SEPARATOR;
+        versions.asMap().keySet().removeIf(versionKey -> versionKey.startsWith(versionsPrefix));
+    }
+
+    public void invalidate(String groupId, String artifactId, String versionId)
+    {
+        versions.invalidate(key(groupId, artifactId, versionId));
+    }
+
+    public void invalidateAll()
+    {
+        versions.invalidateAll();
+    }
+
+    public long size()
+    {
+        return versions.size();
+    }
+}
@@ -16,9 +16,11 @@
 package org.finos.legend.depot.services.projects;
 
 import org.eclipse.collections.api.factory.Sets;
+import org.finos.legend.depot.domain.CoordinateData;
 import org.finos.legend.depot.domain.notifications.MetadataNotification;
 import org.finos.legend.depot.domain.notifications.Priority;
 import org.finos.legend.depot.domain.project.ProjectVersionData;
+import org.finos.legend.depot.domain.project.ProjectsPage;
 import org.finos.legend.depot.services.api.dependencies.DependencyOverride;
 import org.finos.legend.depot.store.model.projects.StoreProjectData;
 import org.finos.legend.depot.store.model.projects.StoreProjectVersionData;
@@ -42,13 +44,18 @@ import org.finos.legend.depot.services.api.notifications.queue.Queue;
 
 import javax.inject.Inject;
 import javax.inject.Named;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Collection;
+import java.util.Collections;
 import java.util.Comparator;
 import java.util.List;
 import java.util.Optional;
 import java.util.Set;
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Map;
-import java.util.concurrent.ConcurrentLinkedQueue;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
@@ -69,11 +76,15 @@ public class ProjectsServiceImpl implements ProjectsService
 
     private final DependencyOverride dependencyOverride;
 
+    protected final ProjectsCache projectsCache;
+
     private static final String EXCLUSION_FOUND_IN_STORE = "project version not found for %s-%s-%s, exclusion reason: %s";
     private static final String NOT_FOUND_IN_STORE = "project version not found for %s-%s-%s";
+    private static final String INVALID_CONTINUATION_TOKEN = "invalid continuation token %s";
+    private static final String TOKEN_SEPARATOR = ":";
 
     @Inject
-    public ProjectsServiceImpl(ProjectsVersions projectsVersions, Projects projects, @Named("queryMetricsRegistry") QueryMetricsRegistry metricsRegistry, Queue queue, ProjectsConfiguration configuration, @Named("dependencyOverride") DependencyOverride dependencyOverride)
+    public ProjectsServiceImpl(ProjectsVersions projectsVersions, Projects projects, @Named("queryMetricsRegistry") QueryMetricsRegistry metricsRegistry, Queue queue, ProjectsConfiguration configuration, @Named("dependencyOverride") DependencyOverride dependencyOverride, ProjectsCache projectsCache)
     {
         this.projectsVersions = projectsVersions;
         this.projects = projects;
@@ -81,6 +92,7 @@ public class ProjectsServiceImpl implements ProjectsService
         this.queue = queue;
         this.configuration = configuration;
         this.dependencyOverride = dependencyOverride;
+        this.projectsCache = projectsCache;
     }
 
     public ProjectsServiceImpl(UpdateProjectsVersions projectsVersions, UpdateProjects projects, QueryMetricsRegistry metricsRegistry, Queue queue, ProjectsConfiguration configuration)
@@ -91,6 +103,7 @@ public class ProjectsServiceImpl implements ProjectsService
         this.queue = queue;
         this.configuration = configuration;
         this.dependencyOverride = new DependencyUtil();
+        this.projectsCache = ProjectsCache.disabled();
     }
 
     @Override
@@ -99,6 +112,50 @@ public class ProjectsServiceImpl implements ProjectsService
         return projects.getAll();
     }
 
+    @Override
+    public ProjectsPage getProjectCoordinatesPage(String continuationToken, int pageSize)
+    {
+        if (pageSize <= 0)
+        {
+            throw new IllegalArgumentException("page size must be greater than 0");
+        }
+        pageSize = Math.min(pageSize, MAX_PROJECTS_PAGE_SIZE);
+        //one extra project tells us whether there is a next page without another round trip
+        List<StoreProjectData> page = projects.getAll(decodeContinuationToken(continuationToken), pageSize + 1);
+        if (page.size() <= pageSize)
+        {
+            return new ProjectsPage(page, null);
+        }
+        List<StoreProjectData> result = new ArrayList<>(page.subList(0, pageSize));
+        return new ProjectsPage(result, encodeContinuationToken(result.get(pageSize - 1)));
+    }
+
+    private static String encodeContinuationToken(CoordinateData last)
+    {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString((last.getGroupId() + TOKEN_SEPARATOR + last.getArtifactId()).getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static CoordinateData decodeContinuationToken(String continuationToken)
+    {
+        if (continuationToken == null || continuationToken.isEmpty())
+        {
+            return null;
+        }
+        try
+        {
+            String[] coordinates = new String(Base64.getUrlDecoder().decode(continuationToken), StandardCharsets.UTF_8).split(TOKEN_SEPARATOR, -1);
+            if (coordinates.length == 2)
+            {
+                return new ProjectCoordinates(coordinates[0], coordinates[1]);
+            }
+        }
+        catch (IllegalArgumentException e)
+        {
+            //not base64, reported below
+        }
+        throw new IllegalArgumentException(String.format(INVALID_CONTINUATION_TOKEN, continuationToken));
+    }
+
     @Override
     public List<String> getVersions(String groupId, String artifactId,boolean includeSnapshots)
     {
@@ -147,6 +204,23 @@ public class ProjectsServiceImpl implements ProjectsService
         return projects.find(groupId, artifactId);
     }
 
+    @Override
+    public List<StoreProjectData> findCoordinates(Collection<ProjectVersion> projectVersions)
+    {
+        return projects.findAll(projectVersions);
+    }
+
+    @Override
+    public List<StoreProjectVersionData> findAll(Collection<ProjectVersion> projectVersions)
+    {
+        return projectsCache.findVersions(projectVersions, projectsVersions::findAll);
+    }
+
+    protected Optional<StoreProjectVersionData> findProjectVersion(String groupId, String artifactId, String versionId)
+    {
+        return projectsCache.findVersion(groupId, artifactId, versionId, () -> projectsVersions.find(groupId, artifactId, versionId));
+    }
+
     @Override
     public Optional<StoreProjectVersionData> find(String groupId, String artifactId, String versionId)
     {
@@ -155,7 +229,7 @@ public class ProjectsServiceImpl implements ProjectsService
             Optional<StoreProjectData> projectData = this.findCoordinates(groupId, artifactId);
             if (projectData.isPresent() && projectData.get().getLatestVersion() != null)
             {
-                return projectsVersions.find(groupId, artifactId, projectData.get().getLatestVersion());
+                return this.findProjectVersion(groupId, artifactId, projectData.get().getLatestVersion());
             }
             return Optional.empty();
         }
@@ -164,14 +238,14 @@ public class ProjectsServiceImpl implements ProjectsService
             Optional<StoreProjectData> project = this.findCoordinates(groupId, artifactId);
             if (project.isPresent())
             {
-                return projectsVersions.find(groupId, artifactId, BRANCH_SNAPSHOT(defaultBranch(project.get())));
+                return this.findProjectVersion(groupId, artifactId, BRANCH_SNAPSHOT(defaultBranch(project.get())));
             }
             else
             {
                 return Optional.empty();
             }
         }
-        return projectsVersions.find(groupId, artifactId, versionId);
+        return this.findProjectVersion(groupId, artifactId, versionId);
     }
 
     private void restoreEvictedProjectVersion(String groupId, String artifactId, String versionId)
@@ -210,7 +284,7 @@ public class ProjectsServiceImpl implements ProjectsService
     @Override
     public void checkExists(String groupId, String artifactId) throws IllegalArgumentException
     {
-        if (!this.projects.find(groupId, artifactId).isPresent())
+        if (!this.findCoordinates(groupId, artifactId).isPresent())
         {
             throw new IllegalArgumentException(String.format("No project found for %s-%s",groupId,artifactId));
         }
@@ -244,23 +318,53 @@ public class ProjectsServiceImpl implements ProjectsService
 
     public void buildDependencyGraph(ProjectDependencyGraph graph, ProjectVersion parent, List<ProjectVersion> children, ProjectDependencyGraphWalkerContext context)
     {
-        children.forEach(projectVersion ->
+        //breadth first from each root in turn, so a root reachable from an earlier one is not reported as a root
+        children.forEach(root ->
         {
-            if (!graph.hasNode(projectVersion))
+            if (!graph.hasNode(root))
             {
-                graph.addNode(projectVersion, parent);
-                if (!context.getProjectVersionToDependencyMap().containsKey(projectVersion))
+                graph.addNode(root, parent);
+                List<ProjectVersion> frontier = Collections.singletonList(root);
+                while (!frontier.isEmpty())
                 {
-                    StoreProjectVersionData projectData =  context.getProjectDataPutIfAbsent(projectVersion.getGroupId(), projectVersion.getArtifactId(), projectVersion.getVersionId(), () -> getProject(projectVersion.getGroupId(), projectVersion.getArtifactId(), projectVersion.getVersionId()));
-                    context.getProjectVersionToDependencyMap().putIfAbsent(projectVersion, projectData.getVersionData().getDependencies());
+                    loadDependencies(frontier, context);
+                    List<ProjectVersion> nextFrontier = new ArrayList<>();
+                    frontier.forEach(projectVersion -> context.getProjectVersionToDependencyMap().get(projectVersion).forEach(child ->
+                    {
+                        graph.setEdges(projectVersion, child);
+                        if (!graph.hasNode(child))
+                        {
+                            graph.addNode(child, projectVersion);
+                            nextFrontier.add(child);
+                        }
+                    }));
+                    frontier = nextFrontier;
                 }
-                List<ProjectVersion> dependencies = context.getProjectVersionToDependencyMap().get(projectVersion);
-                dependencies.forEach(child -> graph.setEdges(projectVersion, child));
-                buildDependencyGraph(graph, projectVersion, dependencies, context);
             }
         });
     }
 
+    private void loadDependencies(List<ProjectVersion> projectVersions, ProjectDependencyGraphWalkerContext context)
+    {
+        List<ProjectVersion> notLoaded = projectVersions.stream().filter(projectVersion -> !context.getProjectVersionToDependencyMap().containsKey(projectVersion)).collect(Collectors.toList());
+        if (notLoaded.isEmpty())
+        {
+            return;
+        }
+        Map<ProjectVersion, StoreProjectVersionData> found = new HashMap<>();
+        this.findAll(notLoaded).forEach(versionData -> found.put(new ProjectVersion(versionData.getGroupId(), versionData.getArtifactId(), versionData.getVersionId()), versionData));
+        notLoaded.forEach(projectVersion ->
+        {
+            StoreProjectVersionData projectData = context.getProjectDataPutIfAbsent(projectVersion.getGroupId(), projectVersion.getArtifactId(), projectVersion.getVersionId(), () ->
+            {
+                StoreProjectVersionData versionData = found.get(projectVersion);
+                //aliases are resolved, and missing or excluded versions reported, by the single version lookup
+                return versionData == null || versionData.getVersionData().isExcluded() ? getProject(projectVersion.getGroupId(), projectVersion.getArtifactId(), projectVersion.getVersionId()) : versionData;
+            });
+            context.getProjectVersionToDependencyMap().putIfAbsent(projectVersion, projectData.getVersionData().getDependencies());
+        });
+    }
+
     public ProjectDependencyReport getProjectDependencyReport(List<ProjectVersion> projectDependencyVersions)
     {
         ProjectDependencyGraph graph = new ProjectDependencyGraph();
@@ -293,7 +397,13 @@ public class ProjectsServiceImpl implements ProjectsService
         ProjectDependencyReport report = new ProjectDependencyReport();
         ProjectDependencyReport.SerializedGraph graph = report.getGraph();
 
-        dependencyGraph.getNodes().forEach(projectVersion ->
+        List<ProjectVersion> nodes = dependencyGraph.getNodes();
+        Map<ProjectCoordinates, ProjectVersion> nodeProjects = new HashMap<>();
+        nodes.forEach(projectVersion -> nodeProjects.putIfAbsent(new ProjectCoordinates(projectVersion.getGroupId(), projectVersion.getArtifactId()), projectVersion));
+        Map<ProjectCoordinates, String> projectIds = new HashMap<>();
+        this.findCoordinates(nodeProjects.values()).forEach(project -> projectIds.put(new ProjectCoordinates(project.getGroupId(), project.getArtifactId()), project.getProjectId()));
+
+        nodes.forEach(projectVersion ->
         {
             // add node
             ProjectDependencyVersionNode versionNode = ProjectDependencyVersionNode.buildFromProjectVersion(projectVersion);
@@ -301,13 +411,12 @@ public class ProjectsServiceImpl implements ProjectsService
             StoreProjectVersionData projectData = graphWalkerContext.getProjectData(versionNode.getGroupId(), versionNode.getArtifactId(), versionNode.getVersionId());
             if (projectData != null)
             {
-                StoreProjectData projectCoordinates = this.projects.find(projectData.getGroupId(), projectData.getArtifactId()).get();
-                versionNode.setProjectId(projectCoordinates.getProjectId());
+                versionNode.setProjectId(projectIds.get(new ProjectCoordinates(projectData.getGroupId(), projectData.getArtifactId())));
             }
             // forward edges
-            dependencyGraph.getForwardEdges().getIfAbsentValue(projectVersion, Sets.mutable.empty()).forEach(forwardNode -> versionNode.getForwardEdges().add(forwardNode.getGav()));
+            dependencyGraph.getForwardEdges(projectVersion).forEach(forwardNode -> versionNode.getForwardEdges().add(forwardNode.getGav()));
             // back edges
-            dependencyGraph.getBackEdges().getIfAbsentValue(projectVersion, Sets.mutable.empty()).forEach(backEdge -> versionNode.getBackEdges().add(backEdge.getGav()));
+            dependencyGraph.getBackEdges(projectVersion).forEach(backEdge -> versionNode.getBackEdges().add(backEdge.getGav()));
         });
         // add root nodes
         dependencyGraph.getRootNodes().forEach(rootNode -> graph.getRootNodes().add(rootNode.getGav()));
@@ -328,31 +437,25 @@ public class ProjectsServiceImpl implements ProjectsService
     @Override
     public List<ProjectDependencyWithPlatformVersions> getDependantProjects(String groupId, String artifactId, String versionId, boolean latestOnly)
     {
-        ConcurrentLinkedQueue<ProjectDependencyWithPlatformVersions> result = new ConcurrentLinkedQueue<>();
+        List<ProjectDependencyWithPlatformVersions> result = new ArrayList<>();
         if (versionId.equalsIgnoreCase("ALL"))
         {
-            this.getAllProjectCoordinates().parallelStream().forEach(project ->
+            projectsVersions.findDependants(groupId, artifactId).forEach(projectData ->
             {
-                projectsVersions.find(project.getGroupId(), project.getArtifactId()).parallelStream().forEach(projectData ->
-                {
-                    Stream<ProjectVersion> dependencies = projectData.getVersionData().getDependencies().stream().filter(dep -> dep.getGroupId().equals(groupId) && dep.getArtifactId().equals(artifactId));
-                   dependencies.forEach(dep -> result.offer(new ProjectDependencyWithPlatformVersions(projectData.getGroupId(), projectData.getArtifactId(), projectData.getVersionId(), dep, projectData.getVersionData().getProperties())));
-                });
+                Stream<ProjectVersion> dependencies = projectData.getVersionData().getDependencies().stream().filter(dep -> dep.getGroupId().equals(groupId) && dep.getArtifactId().equals(artifactId));
+                dependencies.forEach(dep -> result.add(new ProjectDependencyWithPlatformVersions(projectData.getGroupId(), projectData.getArtifactId(), projectData.getVersionId(), dep, projectData.getVersionData().getProperties())));
             });
         }
         else
         {
             String version =  this.resolveAliasesAndCheckVersionExists(groupId, artifactId, versionId);
-            this.getAllProjectCoordinates().parallelStream().forEach(project ->
+            projectsVersions.findDependants(groupId, artifactId, version).forEach(projectData ->
             {
-                projectsVersions.find(project.getGroupId(), project.getArtifactId()).parallelStream().forEach(projectData ->
-                {
-                    Stream<ProjectVersion> dependencies = projectData.getVersionData().getDependencies().stream().filter(dep -> dep.getGroupId().equals(groupId) && dep.getArtifactId().equals(artifactId) && dep.getVersionId().equals(version));
-                    dependencies.forEach(dep -> result.offer(new ProjectDependencyWithPlatformVersions(projectData.getGroupId(), projectData.getArtifactId(), projectData.getVersionId(), dep, projectData.getVersionData().getProperties())));
-                });
+                Stream<ProjectVersion> dependencies = projectData.getVersionData().getDependencies().stream().filter(dep -> dep.getGroupId().equals(groupId) && dep.getArtifactId().equals(artifactId) && dep.getVersionId().equals(version));
+                dependencies.forEach(dep -> result.add(new ProjectDependencyWithPlatformVersions(projectData.getGroupId(), projectData.getArtifactId(), projectData.getVersionId(), dep, projectData.getVersionData().getProperties())));
             });
         }
-        return latestOnly ? filterProjectByLatest(result.stream().collect(Collectors.toList())) : result.stream().collect(Collectors.toList());
+        return latestOnly ? filterProjectByLatest(result) : result;
     }
 
     private List<ProjectDependencyWithPlatformVersions> filterProjectByLatest(List<ProjectDependencyWithPlatformVersions> projects)
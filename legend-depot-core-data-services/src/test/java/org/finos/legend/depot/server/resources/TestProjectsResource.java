@@ -15,16 +15,21 @@
 
 package org.finos.legend.depot.server.resources;
 
+import org.finos.legend.depot.domain.project.ProjectsPage;
 import org.finos.legend.depot.server.resources.projects.ProjectsResource;
 import org.finos.legend.depot.services.TestBaseServices;
 import org.finos.legend.depot.services.projects.ProjectsServiceImpl;
 import org.finos.legend.depot.services.api.metrics.query.QueryMetricsRegistry;
 import org.finos.legend.depot.services.api.projects.configuration.ProjectsConfiguration;
 import org.finos.legend.depot.services.api.notifications.queue.Queue;
+import org.finos.legend.depot.store.model.projects.StoreProjectData;
 import org.junit.Assert;
 import org.junit.Test;
 
+import java.util.ArrayList;
+import java.util.Comparator;
 import java.util.List;
+import java.util.stream.Collectors;
 
 import static org.mockito.Mockito.mock;
 
@@ -49,4 +54,51 @@ public class TestProjectsResource extends TestBaseServices
         Assert.assertNotNull(versionSet);
         Assert.assertEquals(2, versionSet.size());
     }
-}
\ No newline at end of file
+
+    @Test
+    public void canPageThroughProjects()
+    {
+        List<StoreProjectData> allProjects = projectsStore.getAll().stream()
+                .sorted(Comparator.comparing(StoreProjectData::getGroupId).thenComparing(StoreProjectData::getArtifactId))
+                .collect(Collectors.toList());
+        Assert.assertTrue(allProjects.size() > 1);
+
+        List<StoreProjectData> pagedProjects = new ArrayList<>();
+        String continuationToken = null;
+        int pages = 0;
+        do
+        {
+            ProjectsPage page = (ProjectsPage) projectsVersionsResource.getProjectsWithCoordinatesPage(continuationToken, 1).getEntity();
+            pagedProjects.addAll(page.getProjects());
+            continuationToken = page.getContinuationToken();
+            pages++;
+        }
+        while (continuationToken != null);
+        Assert.assertEquals(allProjects.size(), pages);
+        Assert.assertEquals(allProjects, pagedProjects);
+
+        ProjectsPage allInOnePage = (ProjectsPage) projectsVersionsResource.getProjectsWithCoordinatesPage(null, allProjects.size()).getEntity();
+        Assert.assertEquals(allProjects, allInOnePage.getProjects());
+        Assert.assertFalse(allInOnePage.hasNext());
+    }
+
+    @Test
+    public void pageSizeIsCapped()
+    {
+        ProjectsPage page = (ProjectsPage) projectsVersionsResource.getProjectsWithCoordinatesPage(null, Integer.MAX_VALUE).getEntity();
+        Assert.assertEquals(projectsStore.getAll().size(), page.getProjects().size());
+        Assert.assertFalse(page.hasNext());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void cannotPageWithNonPositivePageSize()
+    {
+        projectsVersionsResource.getProjectsWithCoordinatesPage(null, 0);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void cannotPageWithInvalidContinuationToken()
+    {
+        projectsVersionsResource.getProjectsWithCoordinatesPage("not a token", 10);
+    }
+}
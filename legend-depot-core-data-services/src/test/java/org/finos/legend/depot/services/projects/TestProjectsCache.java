@@ -0,0 +1,126 @@
+//  Copyright 2021 Goldman Sachs
+//
+//  Licensed under the Apache License, Version 2.0 (the "License");
+//  you may not use this file except in compliance with the License.
+//  You may obtain a copy of the License at
+//
+//       http://www.apache.org/licenses/LICENSE-2.0
+//
+//  Unless required by applicable law or agreed to in writing, software
+//  distributed under the License is distributed on an "AS IS" BASIS,
+//  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+//  See the License for the specific language governing permissions and
+//  limitations under the License.
+//
+
+package org.finos.legend.depot.services.projects;
+
+import org.finos.legend.depot.services.TestBaseServices;
+import org.finos.legend.depot.services.api.metrics.query.QueryMetricsRegistry;
+import org.finos.legend.depot.services.api.notifications.queue.Queue;
+import org.finos.legend.depot.services.api.projects.ManageProjectsService;
+import org.finos.legend.depot.services.api.projects.ProjectsService;
+import org.finos.legend.depot.services.api.projects.configuration.ProjectsCacheConfiguration;
+import org.finos.legend.depot.services.api.projects.configuration.ProjectsConfiguration;
+import org.finos.legend.depot.services.dependencies.DependencyUtil;
+import org.finos.legend.depot.store.model.projects.StoreProjectData;
+import org.finos.legend.depot.store.model.projects.StoreProjectVersionData;
+import org.finos.legend.depot.store.mongo.notifications.queue.NotificationsQueueMongo;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import static org.mockito.Mockito.mock;
+
+public class TestProjectsCache extends TestBaseServices
+{
+    private final QueryMetricsRegistry metrics = mock(QueryMetricsRegistry.class);
+    private final Queue queue = new NotificationsQueueMongo(mongoProvider);
+    private final ProjectsConfiguration configuration = new ProjectsConfiguration("master");
+    private final ProjectsCache cache = new ProjectsCache(new ProjectsCacheConfiguration(true, 100, 60));
+    private final ProjectsService projectsService = new ProjectsServiceImpl(projectsVersionsStore, projectsStore, metrics, queue, configuration, new DependencyUtil(), cache);
+    private final ManageProjectsService manageProjectsService = new ManageProjectsServiceImpl(projectsVersionsStore, projectsStore, metrics, queue, configuration, new DependencyUtil(), cache);
+
+    @Test
+    public void releaseVersionsAreCached()
+    {
+        AtomicInteger loads = new AtomicInteger();
+        Supplier<Optional<StoreProjectVersionData>> loader = () ->
+        {
+            loads.incrementAndGet();
+            return Optional.of(new StoreProjectVersionData("examples.metadata", "test", "2.3.1"));
+        };
+        cache.findVersion("examples.metadata", "test", "2.3.1", loader);
+        Assert.assertTrue(cache.findVersion("examples.metadata", "test", "2.3.1", loader).isPresent());
+        Assert.assertEquals(1, loads.get());
+    }
+
+    @Test
+    public void updatesDoNotShareCachedEntries()
+    {
+        StoreProjectVersionData cached = projectsService.find("examples.metadata", "test", "2.3.1").get();
+        Assert.assertSame(cached, projectsService.find("examples.metadata", "test", "2.3.1").get());
+
+        StoreProjectVersionData toUpdate = manageProjectsService.find("examples.metadata", "test", "2.3.1").get();
+        Assert.assertNotSame(cached, toUpdate);
+        toUpdate.getVersionData().setDeprecated(true);
+        Assert.assertFalse(projectsService.find("examples.metadata", "test", "2.3.1").get().getVersionData().isDeprecated());
+    }
+
+    @Test
+    public void projectCoordinatesAreNotCached()
+    {
+        StoreProjectData project = projectsService.findCoordinates("examples.metadata", "test").get();
+        Assert.assertNotEquals("9.9.9", projectsService.find("examples.metadata", "test", "latest").get().getVersionId());
+        //released by another depot instance, no local invalidation
+        projectsVersionsStore.createOrUpdate(new StoreProjectVersionData("examples.metadata", "test", "9.9.9"));
+        project.setLatestVersion("9.9.9");
+        projectsStore.createOrUpdate(project);
+        Assert.assertEquals("9.9.9", projectsService.findCoordinates("examples.metadata", "test").get().getLatestVersion());
+        Assert.assertEquals("9.9.9", projectsService.resolveAliasesAndCheckVersionExists("examples.metadata", "test", "latest"));
+    }
+
+    @Test
+    public void snapshotVersionsAreNotCached()
+    {
+        AtomicInteger loads = new AtomicInteger();
+        Supplier<Optional<StoreProjectVersionData>> loader = () ->
+        {
+            loads.incrementAndGet();
+            return Optional.of(new StoreProjectVersionData("examples.metadata", "test", "master-SNAPSHOT"));
+        };
+        cache.findVersion("examples.metadata", "test", "master-SNAPSHOT", loader);
+        cache.findVersion("examples.metadata", "test", "master-SNAPSHOT", loader);
+        Assert.assertEquals(2, loads.get());
+    }
+
+    @Test
+    public void missingVersionsAreNotCached()
+    {
+        Assert.assertFalse(projectsService.find("examples.metadata", "test", "9.9.9").isPresent());
+        projectsVersionsStore.createOrUpdate(new StoreProjectVersionData("examples.metadata", "test", "9.9.9"));
+        Assert.assertTrue(projectsService.find("examples.metadata", "test", "9.9.9").isPresent());
+    }
+
+    @Test
+    public void excludingVersionInvalidatesCache()
+    {
+        Assert.assertFalse(projectsService.find("examples.metadata", "test", "2.3.1").get().getVersionData().isExcluded());
+        manageProjectsService.excludeProjectVersion("examples.metadata", "test", "2.3.1", "test exclusion");
+        Assert.assertTrue(projectsService.find("examples.metadata", "test", "2.3.1").get().getVersionData().isExcluded());
+    }
+
+    @Test
+    public void deletingProjectInvalidatesCache()
+    {
+        Assert.assertTrue(projectsService.findCoordinates("examples.metadata", "test").isPresent());
+        Assert.assertTrue(projectsService.find("examples.metadata", "test", "2.3.1").isPresent());
+        manageProjectsService.delete("examples.metadata", "test");
+        Assert.assertFalse(projectsService.findCoordinates("examples.metadata", "test").isPresent());
+        Assert.assertFalse(projectsService.find("examples.metadata", "test", "2.3.1").isPresent());
+        Assert.assertEquals(0, cache.size());
+    }
+}
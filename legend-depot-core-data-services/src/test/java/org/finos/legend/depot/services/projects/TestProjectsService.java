@@ -587,4 +587,29 @@ public class TestProjectsService extends TestBaseServices
         Assert.assertEquals(Sets.mutable.of("examples.metadata:testd:2.0.0", "examples.metadata:testd:1.0.0"),dependencyReport.getConflicts().get(0).getVersions());
 
     }
+
+    @Test
+    public void canGenerateReportForDeepDependencyTree()
+    {
+        int depth = 2000;
+        projectsService.createOrUpdate(new StoreProjectData("PROD-DEEP", "examples.deep", "deep"));
+        for (int i = 0; i < depth; i++)
+        {
+            StoreProjectVersionData versionData = new StoreProjectVersionData("examples.deep", "deep", i + ".0.0");
+            if (i + 1 < depth)
+            {
+                versionData.getVersionData().setDependencies(Collections.singletonList(new ProjectVersion("examples.deep", "deep", (i + 1) + ".0.0")));
+            }
+            projectsService.createOrUpdate(versionData);
+        }
+
+        ProjectDependencyReport dependencyReport = projectsService.getProjectDependencyReport("examples.deep", "deep", "0.0.0");
+
+        Assert.assertEquals(depth, dependencyReport.getGraph().getNodes().size());
+        Assert.assertEquals(Collections.singleton("examples.deep:deep:0.0.0"), dependencyReport.getGraph().getRootNodes());
+        ProjectDependencyVersionNode last = dependencyReport.getGraph().getNodes().get("examples.deep:deep:" + (depth - 1) + ".0.0");
+        Assert.assertEquals("PROD-DEEP", last.getProjectId());
+        Assert.assertTrue(last.getForwardEdges().isEmpty());
+        Assert.assertEquals(Collections.singleton("examples.deep:deep:" + (depth - 2) + ".0.0"), last.getBackEdges());
+    }
 }
@@ -16,12 +16,16 @@
 package org.finos.legend.depot.store.mongo.admin;
 
 import com.mongodb.client.MongoDatabase;
+import org.finos.legend.depot.store.mongo.core.BaseMongo;
 import org.finos.legend.depot.store.mongo.admin.migrations.DependenciesMigration;
 import org.finos.legend.depot.store.mongo.admin.migrations.MongoMigrations;
 import org.finos.legend.depot.store.mongo.admin.migrations.ProjectToProjectVersionMigration;
+import org.finos.legend.depot.store.mongo.projects.ProjectsVersionsMongo;
 
 import javax.inject.Inject;
 import javax.inject.Named;
+import java.util.Collections;
+import java.util.List;
 
 @Deprecated
 public final class CoreDataMigrations extends MongoMigrations
@@ -61,5 +65,10 @@ public final class CoreDataMigrations extends MongoMigrations
     {
         new ProjectToProjectVersionMigration(mongoDatabase).addLatestVersionToProjectData();
     }
+
+    public List<String> addDependantsIndexToVersions()
+    {
+        return BaseMongo.createIndexesIfAbsent(mongoDatabase, ProjectsVersionsMongo.COLLECTION, Collections.singletonList(ProjectsVersionsMongo.buildDependantsIndex()));
+    }
 }
 
@@ -23,24 +23,17 @@ import com.mongodb.client.model.Filters;
 import com.mongodb.client.model.Updates;
 import org.bson.Document;
 import org.bson.conversions.Bson;
-import org.eclipse.collections.api.block.function.Function3;
-import org.eclipse.collections.api.map.ConcurrentMutableMap;
-import org.eclipse.collections.impl.map.mutable.ConcurrentHashMap;
 import org.finos.legend.depot.domain.project.ProjectVersion;
 import org.finos.legend.depot.store.model.projects.StoreProjectVersionData;
+import org.finos.legend.depot.domain.project.dependencies.DependencyClosureGraph;
 import org.finos.legend.depot.domain.project.dependencies.VersionDependencyReport;
 import org.finos.legend.depot.store.mongo.core.BaseMongo;
 import org.finos.legend.depot.store.mongo.projects.ProjectsVersionsMongo;
 import org.slf4j.Logger;
 
 import java.util.List;
-import java.util.Map;
 import java.util.ArrayList;
-import java.util.HashSet;
-import java.util.Set;
-import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.Consumer;
-import java.util.function.Function;
 import java.util.stream.Collectors;
 
 import static com.mongodb.client.model.Filters.and;
@@ -51,13 +44,8 @@ public final class DependenciesMigration
 {
     private static final Logger LOGGER = org.slf4j.LoggerFactory.getLogger(DependenciesMigration.class);
     private final MongoDatabase mongoDatabase;
-    private static final String NOT_FOUND_IN_STORE = "%s-%s-%s not found in store";
-    private static final String INVALID_DEPENDENCIES = "%s-%s-%s has invalid transitive dependencies";
-    private static final String EXCLUDED_DEPENDENCY = "%s-%s-%s is an excluded dependency";
     private static final String VERSIONS_COLLECTION = "versionsTemp";
 
-    private final ConcurrentMutableMap<ProjectVersion, VersionDependencyReport> transitiveDependenciesMap = new ConcurrentHashMap<>();
-
     public DependenciesMigration(MongoDatabase mongoDatabase)
     {
         this.mongoDatabase = mongoDatabase;
@@ -71,14 +59,15 @@ public final class DependenciesMigration
         MongoCollection<Document> tempVersionCollection = mongoDatabase.getCollection(VERSIONS_COLLECTION);
         List<StoreProjectVersionData> versionData = new ArrayList<>();
         versionsCollection.find().forEach((Consumer<Document>) document -> versionData.add(BaseMongo.convert(new ObjectMapper(), document, StoreProjectVersionData.class)));
+        //only versions whose transitive dependencies changed are written out to be applied
         List<StoreProjectVersionData> versionsToUpdate = calculateTransitiveDependenciesForAllVersions(versionData);
         try
         {
-            versionsToUpdate.forEach(pv ->
+            if (!versionsToUpdate.isEmpty())
             {
-                tempVersionCollection.insertOne(BaseMongo.buildDocument(pv));
-                LOGGER.info(String.format("%s-%s-%s insertion completed",pv.getGroupId(), pv.getArtifactId(), pv.getVersionId()));
-            });
+                tempVersionCollection.insertMany(versionsToUpdate.stream().map(BaseMongo::buildDocument).collect(Collectors.toList()));
+            }
+            LOGGER.info(String.format("%s versions insertion completed", versionsToUpdate.size()));
         }
         catch (Exception e)
         {
@@ -105,91 +94,36 @@ public final class DependenciesMigration
 
     private List<StoreProjectVersionData> calculateTransitiveDependenciesForAllVersions(List<StoreProjectVersionData> allProjectsVersions)
     {
-        AtomicInteger i = new AtomicInteger();
         List<StoreProjectVersionData> versionWithDependencies = allProjectsVersions.stream().filter(p -> !p.getVersionData().getDependencies().isEmpty() && !p.getVersionData().isExcluded()).collect(Collectors.toList());
         List<StoreProjectVersionData> versionWithoutDependencies = allProjectsVersions.stream().filter(p -> p.getVersionData().getDependencies().isEmpty() || p.getVersionData().isExcluded()).collect(Collectors.toList());
-        Map<String, StoreProjectVersionData> directDependenciesMap = allProjectsVersions.stream().filter(p -> !p.getVersionData().isExcluded()).collect(Collectors.toMap(p -> p.getGroupId() + p.getArtifactId() + p.getVersionId(), Function.identity()));
+        DependencyClosureGraph closureGraph = new DependencyClosureGraph();
+        allProjectsVersions.forEach(pv -> closureGraph.setVersion(new ProjectVersion(pv.getGroupId(), pv.getArtifactId(), pv.getVersionId()), pv.getVersionData().getDependencies(), pv.getVersionData().isExcluded()));
+        List<StoreProjectVersionData> changedVersions = new ArrayList<>();
         try
         {
-            LOGGER.info(String.format("Dependencies count for calculation: [%s]", versionWithDependencies.size()));
-
+            LOGGER.info(String.format("Dependencies count for calculation: [%s] out of [%s] versions", versionWithDependencies.size(), closureGraph.size()));
             versionWithDependencies.forEach(pv ->
             {
-                ProjectVersion projectVersion = new ProjectVersion(pv.getGroupId(), pv.getArtifactId(), pv.getVersionId());
-                LOGGER.info(String.format("Finding transitive dependencies for [%s-%s-%s]", pv.getGroupId(), pv.getArtifactId(), pv.getVersionId()));
-                VersionDependencyReport report = this.transitiveDependenciesMap.getIfAbsentPut(projectVersion, () -> calculateTransitiveDependencies(projectVersion, getDependenciesFromMap(directDependenciesMap)));
-                pv.setTransitiveDependenciesReport(report);
-                LOGGER.info(String.format("Completed finding transitive dependencies for [%s-%s-%s]", pv.getGroupId(), pv.getArtifactId(), pv.getVersionId()));
-                LOGGER.info(String.format("Dependencies calculation count completed: [%s]", i.incrementAndGet()));
-
+                VersionDependencyReport report = closureGraph.getReport(new ProjectVersion(pv.getGroupId(), pv.getArtifactId(), pv.getVersionId()));
+                if (!report.equals(pv.getTransitiveDependenciesReport()))
+                {
+                    pv.setTransitiveDependenciesReport(report);
+                    changedVersions.add(pv);
+                }
             });
+            LOGGER.info(String.format("Dependencies calculation count completed: [%s], changed: [%s]", versionWithDependencies.size(), changedVersions.size()));
         }
         catch (Exception e)
         {
             LOGGER.info(String.format("Error finding dependencies: %s", e.getMessage()));
             throw new IllegalStateException(String.format("Error finding transitive dependencies due to: %s", e.getMessage()));
         }
-        versionWithoutDependencies.stream().filter(pv -> pv.getVersionData().isExcluded()).forEach(pv -> pv.getTransitiveDependenciesReport().setValid(false));
-        List<StoreProjectVersionData> finalList = new ArrayList<>();
-        finalList.addAll(versionWithDependencies);
-        finalList.addAll(versionWithoutDependencies);
-        return finalList;
-    }
-
-    private Function3<String,String,String,StoreProjectVersionData> getDependenciesFromMap(Map<String, StoreProjectVersionData> dependenciesMap)
-    {
-        return (group, artifact, versionId) -> dependenciesMap.get(group + artifact + versionId);
-    }
-
-    private VersionDependencyReport calculateTransitiveDependencies(ProjectVersion projectVersion, Function3<String, String, String, StoreProjectVersionData> dependencyProvider)
-    {
-        Set<ProjectVersion> dependencies = new HashSet<>();
-        try
-        {
-            StoreProjectVersionData versionData = dependencyProvider.value(projectVersion.getGroupId(), projectVersion.getArtifactId(), projectVersion.getVersionId());
-            if (versionData != null)
-            {
-                if (versionData.getVersionData().isExcluded())
-                {
-                    LOGGER.error(String.format(EXCLUDED_DEPENDENCY, projectVersion.getGroupId(), projectVersion.getArtifactId(), projectVersion.getVersionId()));
-                    throw new IllegalStateException(String.format(INVALID_DEPENDENCIES, projectVersion.getGroupId(), projectVersion.getArtifactId(), projectVersion.getVersionId()));
-                }
-                List<ProjectVersion> artifactDependencies = versionData.getVersionData().getDependencies();
-                if (!artifactDependencies.isEmpty())
-                {
-                    artifactDependencies.forEach(dep ->
-                    {
-                        ProjectVersion pv = new ProjectVersion(dep.getGroupId(), dep.getArtifactId(), dep.getVersionId());
-                        VersionDependencyReport transitiveDependencies = this.transitiveDependenciesMap.getIfAbsentPut(pv, () -> calculateTransitiveDependencies(pv, dependencyProvider));
-                        if (transitiveDependencies.isValid())
-                        {
-                            dependencies.add(pv);
-                            dependencies.addAll(transitiveDependencies.getTransitiveDependencies());
-                        }
-                        else
-                        {
-                            LOGGER.error(String.format(INVALID_DEPENDENCIES, dep.getGroupId(), dep.getArtifactId(), dep.getVersionId()));
-                            throw new IllegalStateException(String.format(INVALID_DEPENDENCIES, dep.getGroupId(), dep.getArtifactId(), dep.getVersionId()));
-                        }
-                    });
-                }
-            }
-            else
-            {
-                LOGGER.error(String.format(NOT_FOUND_IN_STORE, projectVersion.getGroupId(), projectVersion.getArtifactId(), projectVersion.getVersionId()));
-                throw new IllegalStateException(String.format(NOT_FOUND_IN_STORE, projectVersion.getGroupId(), projectVersion.getArtifactId(), projectVersion.getVersionId()));
-            }
-        }
-        catch (IllegalStateException e)
-        {
-            return new VersionDependencyReport(new ArrayList<>(), false);
-        }
-        catch (Exception e)
+        versionWithoutDependencies.stream().filter(pv -> pv.getVersionData().isExcluded() && pv.getTransitiveDependenciesReport().isValid()).forEach(pv ->
         {
-            LOGGER.info(String.format("Error finding dependencies: %s", e.getMessage()));
-            throw new IllegalStateException(String.format("Error finding transitive dependencies with message: %s", e.getMessage()));
-        }
-        return new VersionDependencyReport(dependencies.stream().collect(Collectors.toList()), true);
+            pv.getTransitiveDependenciesReport().setValid(false);
+            changedVersions.add(pv);
+        });
+        return changedVersions;
     }
 
     private Bson getArtifactAndVersionFilter(String groupId, String artifactId, String versionId)
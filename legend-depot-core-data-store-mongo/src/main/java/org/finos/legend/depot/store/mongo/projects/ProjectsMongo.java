@@ -21,7 +21,10 @@ import com.mongodb.client.MongoCollection;
 import com.mongodb.client.MongoDatabase;
 import com.mongodb.client.model.Filters;
 import com.mongodb.client.model.IndexModel;
+import com.mongodb.client.model.Sorts;
+import org.bson.Document;
 import org.bson.conversions.Bson;
+import org.finos.legend.depot.domain.CoordinateData;
 import org.finos.legend.depot.domain.project.ProjectValidator;
 import org.finos.legend.depot.store.model.projects.StoreProjectData;
 import org.finos.legend.depot.store.StoreException;
@@ -32,8 +35,11 @@ import org.finos.legend.depot.store.mongo.core.BaseMongo;
 import javax.inject.Inject;
 import javax.inject.Named;
 import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Collectors;
 
 public class ProjectsMongo extends BaseMongo<StoreProjectData> implements Projects, UpdateProjects
 {
@@ -86,6 +92,15 @@ public class ProjectsMongo extends BaseMongo<StoreProjectData> implements Projec
         return getAllStoredEntities();
     }
 
+    @Override
+    public List<StoreProjectData> getAll(CoordinateData after, int pageSize)
+    {
+        //seeks on the groupId-artifactId index so every page costs the same regardless of how deep it is
+        Bson filter = after == null ? new Document() : Filters.or(Filters.gt(BaseMongo.GROUP_ID, after.getGroupId()),
+                Filters.and(Filters.eq(BaseMongo.GROUP_ID, after.getGroupId()), Filters.gt(BaseMongo.ARTIFACT_ID, after.getArtifactId())));
+        return find(filter, Sorts.ascending(BaseMongo.GROUP_ID, BaseMongo.ARTIFACT_ID), pageSize);
+    }
+
     @Override
     public List<StoreProjectData> findByProjectId(String projectId)
     {
@@ -98,6 +113,16 @@ public class ProjectsMongo extends BaseMongo<StoreProjectData> implements Projec
         return findOne(Filters.and(Filters.eq(BaseMongo.GROUP_ID, groupId), Filters.eq(BaseMongo.ARTIFACT_ID, artifactId)));
     }
 
+    @Override
+    public List<StoreProjectData> findAll(Collection<? extends CoordinateData> coordinates)
+    {
+        if (coordinates.isEmpty())
+        {
+            return Collections.emptyList();
+        }
+        return find(Filters.or(coordinates.stream().map(coordinate -> getArtifactFilter(coordinate.getGroupId(), coordinate.getArtifactId())).collect(Collectors.toList())));
+    }
+
     @Override
     public long delete(String groupId, String artifactId)
     {
@@ -23,6 +23,7 @@ import com.mongodb.client.model.Filters;
 import com.mongodb.client.model.IndexModel;
 import org.bson.conversions.Bson;
 import org.finos.legend.depot.domain.CoordinateValidator;
+import org.finos.legend.depot.domain.VersionedData;
 import org.finos.legend.depot.store.model.projects.StoreProjectVersionData;
 import org.finos.legend.depot.domain.version.VersionValidator;
 import org.finos.legend.depot.store.api.projects.ProjectsVersions;
@@ -32,8 +33,11 @@ import org.finos.legend.depot.store.mongo.core.BaseMongo;
 import javax.inject.Inject;
 import javax.inject.Named;
 import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Collectors;
 
 import static com.mongodb.client.model.Filters.and;
 import static com.mongodb.client.model.Filters.gte;
@@ -43,6 +47,8 @@ public class ProjectsVersionsMongo extends BaseMongo<StoreProjectVersionData> im
 {
     public static final String COLLECTION = "versions";
     private static final String VERSION_DATA_EXCLUDED = "versionData.excluded";
+    private static final String VERSION_DATA_DEPENDENCIES = "versionData.dependencies";
+    public static final String DEPENDANTS_INDEX = "dependencies-groupId-artifactId-versionId";
 
     @Inject
     public ProjectsVersionsMongo(@Named("mongoDatabase") MongoDatabase databaseProvider)
@@ -52,7 +58,13 @@ public class ProjectsVersionsMongo extends BaseMongo<StoreProjectVersionData> im
 
     public static List<IndexModel> buildIndexes()
     {
-        return Arrays.asList(BaseMongo.buildIndex("groupId-artifactId-versionId", true, BaseMongo.GROUP_ID, BaseMongo.ARTIFACT_ID, BaseMongo.VERSION_ID));
+        return Arrays.asList(BaseMongo.buildIndex("groupId-artifactId-versionId", true, BaseMongo.GROUP_ID, BaseMongo.ARTIFACT_ID, BaseMongo.VERSION_ID),
+                buildDependantsIndex());
+    }
+
+    public static IndexModel buildDependantsIndex()
+    {
+        return BaseMongo.buildIndex(DEPENDANTS_INDEX, VERSION_DATA_DEPENDENCIES + "." + BaseMongo.GROUP_ID, VERSION_DATA_DEPENDENCIES + "." + BaseMongo.ARTIFACT_ID, VERSION_DATA_DEPENDENCIES + "." + BaseMongo.VERSION_ID);
     }
 
     @Override
@@ -92,6 +104,28 @@ public class ProjectsVersionsMongo extends BaseMongo<StoreProjectVersionData> im
         return findOne(Filters.and(getArtifactAndVersionFilter(groupId, artifactId, versionId)));
     }
 
+    @Override
+    public List<StoreProjectVersionData> findAll(Collection<? extends VersionedData> projectVersions)
+    {
+        if (projectVersions.isEmpty())
+        {
+            return Collections.emptyList();
+        }
+        return find(Filters.or(projectVersions.stream().map(projectVersion -> getArtifactAndVersionFilter(projectVersion.getGroupId(), projectVersion.getArtifactId(), projectVersion.getVersionId())).collect(Collectors.toList())));
+    }
+
+    @Override
+    public List<StoreProjectVersionData> findDependants(String groupId, String artifactId)
+    {
+        return find(Filters.elemMatch(VERSION_DATA_DEPENDENCIES, getArtifactFilter(groupId, artifactId)));
+    }
+
+    @Override
+    public List<StoreProjectVersionData> findDependants(String groupId, String artifactId, String versionId)
+    {
+        return find(Filters.elemMatch(VERSION_DATA_DEPENDENCIES, getArtifactAndVersionFilter(groupId, artifactId, versionId)));
+    }
+
     @Override
     public List<StoreProjectVersionData> findVersion(Boolean excluded)
     {
@@ -125,4 +125,15 @@ public class CoreDataStoreMigrationsResource extends AuthorisedResource
         });
     }
 
+    @PUT
+    @Path("/migrations/addDependantsIndexToVersions")
+    @ApiOperation("Index versions by their dependencies to look up dependant projects")
+    public Response addDependantsIndexToVersions()
+    {
+        return handle("Index versions by their dependencies to look up dependant projects", () ->
+        {
+            validateUser();
+            return Response.ok(mongoMigrations.addDependantsIndexToVersions()).build();
+        });
+    }
 }
@@ -15,6 +15,7 @@
 
 package org.finos.legend.depot.store.mongo.projects;
 
+import org.finos.legend.depot.domain.project.ProjectVersion;
 import org.finos.legend.depot.store.model.projects.StoreProjectData;
 import org.finos.legend.depot.store.api.projects.Projects;
 import org.finos.legend.depot.store.mongo.CoreDataMongoStoreTests;
@@ -22,6 +23,8 @@ import org.junit.Assert;
 import org.junit.Before;
 import org.junit.Test;
 
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
 
@@ -52,6 +55,15 @@ public class TestQueryProjectApi extends CoreDataMongoStoreTests
 
     }
 
+    @Test
+    public void canFindByMavenCoordinatesInBatch()
+    {
+        List<StoreProjectData> found = projectsAPI.findAll(Arrays.asList(new ProjectVersion("examples.metadata", "test", "1.0.0"),
+                new ProjectVersion("examples.metadata", "test", "2.0.0"), new ProjectVersion("examples.metadata", "test-dependencies", "1.0.0"), new ProjectVersion("PROD-9691231123", "lalal", "1.0.0")));
+        Assert.assertEquals(2, found.size());
+        Assert.assertTrue(projectsAPI.findAll(Collections.emptyList()).isEmpty());
+    }
+
     @Test
     public void canFindByProjectId()
     {
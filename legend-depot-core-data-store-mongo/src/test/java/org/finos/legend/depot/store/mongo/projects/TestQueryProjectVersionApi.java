@@ -15,6 +15,7 @@
 
 package org.finos.legend.depot.store.mongo.projects;
 
+import org.finos.legend.depot.domain.project.ProjectVersion;
 import org.finos.legend.depot.store.model.projects.StoreProjectVersionData;
 import org.finos.legend.depot.store.api.projects.ProjectsVersions;
 import org.finos.legend.depot.store.mongo.CoreDataMongoStoreTests;
@@ -23,6 +24,8 @@ import org.junit.Before;
 import org.junit.Test;
 
 import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
 
@@ -73,6 +76,28 @@ public class TestQueryProjectVersionApi extends CoreDataMongoStoreTests
         Assert.assertFalse(projectConfig.isPresent());
     }
 
+    @Test
+    public void canFindProjectVersionsInBatch()
+    {
+        List<StoreProjectVersionData> found = projectsVersionsAPI.findAll(Arrays.asList(new ProjectVersion("examples.metadata", "test", "2.2.0"),
+                new ProjectVersion("examples.metadata", "test-dependencies", "1.0.0"), new ProjectVersion("examples.metadata", "test", "1.0.0")));
+        Assert.assertEquals(2, found.size());
+        Assert.assertTrue(found.stream().anyMatch(version -> version.getArtifactId().equals("test") && version.getVersionId().equals("2.2.0")));
+        Assert.assertTrue(found.stream().anyMatch(version -> version.getArtifactId().equals("test-dependencies") && version.getVersionId().equals("1.0.0")));
+        Assert.assertTrue(projectsVersionsAPI.findAll(Collections.emptyList()).isEmpty());
+    }
+
+    @Test
+    public void canFindDependantProjectVersions()
+    {
+        List<StoreProjectVersionData> dependants = projectsVersionsAPI.findDependants("examples.metadata", "test-dependencies");
+        Assert.assertEquals(2, dependants.size());
+        Assert.assertTrue(dependants.stream().allMatch(pv -> pv.getArtifactId().equals("test")));
+        Assert.assertEquals(2, projectsVersionsAPI.findDependants("examples.metadata", "test-dependencies", "1.0.0").size());
+        Assert.assertTrue(projectsVersionsAPI.findDependants("examples.metadata", "test-dependencies", "2.0.0").isEmpty());
+        Assert.assertTrue(projectsVersionsAPI.findDependants("examples.metadata", "test").isEmpty());
+    }
+
     @Test
     public void canFindProjectByMavenCoordinates()
     {
@@ -0,0 +1,58 @@
+//  Copyright 2023 Goldman Sachs
+//
+//  Licensed under the Apache License, Version 2.0 (the "License");
+//  you may not use this file except in compliance with the License.
+//  You may obtain a copy of the License at
+//
+//       http://www.apache.org/licenses/LICENSE-2.0
+//
+//  Unless required by applicable law or agreed to in writing, software
+//  distributed under the License is distributed on an "AS IS" BASIS,
+//  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+//  See the License for the specific language governing permissions and
+//  limitations under the License.
+//
+
+package org.finos.legend.depot.store.model;
+
+public class IncrementalUpdateResult
+{
+    private final long inserted;
+    private final long updated;
+    private final long deleted;
+    private final long unchanged;
+
+    public IncrementalUpdateResult(long inserted, long updated, long deleted, long unchanged)
+    {
+        this.inserted = inserted;
+        this.updated = updated;
+        this.deleted = deleted;
+        this.unchanged = unchanged;
+    }
+
+    public long getInserted()
+    {
+        return inserted;
+    }
+
+    public long getUpdated()
+    {
+        return updated;
+    }
+
+    public long getDeleted()
+    {
+        return deleted;
+    }
+
+    public long getUnchanged()
+    {
+        return unchanged;
+    }
+
+    @Override
+    public String toString()
+    {
+        return String.format("inserted [%s], updated [%s], deleted [%s], unchanged [%s]", inserted, updated, deleted, unchanged);
+    }
+}
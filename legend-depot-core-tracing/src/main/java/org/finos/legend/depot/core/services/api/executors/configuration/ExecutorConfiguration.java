@@ -0,0 +1,78 @@
+//  Copyright 2021 Goldman Sachs
+//
+//  Licensed under the Apache License, Version 2.0 (the "License");
+//  you may not use this file except in compliance with the License.
+//  You may obtain a copy of the License at
+//
+//       http://www.apache.org/licenses/LICENSE-2.0
+//
+//  Unless required by applicable law or agreed to in writing, software
+//  distributed under the License is distributed on an "AS IS" BASIS,
+//  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+//  See the License for the specific language governing permissions and
+//  limitations under the License.
+//
+
+package org.finos.legend.depot.core.services.api.executors.configuration;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+public class ExecutorConfiguration
+{
+    private static final int DEFAULT_QUEUE_SIZE = 10000;
+
+    @JsonProperty
+    private int threads;
+
+    @JsonProperty
+    private int queueSize = DEFAULT_QUEUE_SIZE;
+
+    @JsonProperty
+    private boolean virtualThreads = false;
+
+    public ExecutorConfiguration()
+    {
+    }
+
+    public ExecutorConfiguration(int threads)
+    {
+        this.threads = threads;
+    }
+
+    public ExecutorConfiguration(int threads, int queueSize, boolean virtualThreads)
+    {
+        this.threads = threads;
+        this.queueSize = queueSize;
+        this.virtualThreads = virtualThreads;
+    }
+
+    public int getThreads()
+    {
+        return threads;
+    }
+
+    public void setThreads(int threads)
+    {
+        this.threads = threads;
+    }
+
+    public int getQueueSize()
+    {
+        return queueSize;
+    }
+
+    public void setQueueSize(int queueSize)
+    {
+        this.queueSize = queueSize;
+    }
+
+    public boolean isVirtualThreads()
+    {
+        return virtualThreads;
+    }
+
+    public void setVirtualThreads(boolean virtualThreads)
+    {
+        this.virtualThreads = virtualThreads;
+    }
+}
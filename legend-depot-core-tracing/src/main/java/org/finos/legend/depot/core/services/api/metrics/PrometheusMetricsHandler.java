@@ -37,8 +37,12 @@ public interface PrometheusMetricsHandler
 
     void registerCounter(String counter, String helpMessage);
 
+    void registerCounter(String counter, String helpMessage, List<String> labelNames);
+
     void incrementCount(String counter);
 
+    void incrementCount(String counter, List<String> labelValues);
+
     void incrementErrorCount(String counter);
 
     void setGauge(String name, double value);
@@ -27,6 +27,11 @@ public class VoidPrometheusMetricsHandler implements PrometheusMetricsHandler
     {
     }
 
+    @Override
+    public void incrementCount(String counter, List<String> labelValues)
+    {
+    }
+
     @Override
     public void incrementErrorCount(String counter)
     {
@@ -37,6 +42,11 @@ public class VoidPrometheusMetricsHandler implements PrometheusMetricsHandler
     {
     }
 
+    @Override
+    public void registerCounter(String counter, String helpMessage, List<String> labelNames)
+    {
+    }
+
     @Override
     public void observe(String uriMetricName, long start, long end)
     {
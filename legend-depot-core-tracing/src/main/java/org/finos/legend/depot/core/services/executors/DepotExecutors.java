@@ -0,0 +1,101 @@
+//  Copyright 2021 Goldman Sachs
+//
+//  Licensed under the Apache License, Version 2.0 (the "License");
+//  you may not use this file except in compliance with the License.
+//  You may obtain a copy of the License at
+//
+//       http://www.apache.org/licenses/LICENSE-2.0
+//
+//  Unless required by applicable law or agreed to in writing, software
+//  distributed under the License is distributed on an "AS IS" BASIS,
+//  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+//  See the License for the specific language governing permissions and
+//  limitations under the License.
+//
+
+package org.finos.legend.depot.core.services.executors;
+
+import org.finos.legend.depot.core.services.api.executors.configuration.ExecutorConfiguration;
+import org.finos.legend.depot.core.services.api.executors.configuration.ExecutorsConfiguration;
+
+import javax.inject.Singleton;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Shared executors for depot fan-out work, use these instead of the common fork join pool.
+ * IO is meant for tasks that block on the store or the artifact repository, CPU for in memory transformations.
+ */
+@Singleton
+public final class DepotExecutors
+{
+    public static final String IO = "io";
+    public static final String CPU = "cpu";
+
+    private static final int DEFAULT_IO_THREADS = 16;
+
+    private static DepotExecutors INSTANCE;
+
+    private final ExecutorsConfiguration configuration;
+    private final ConcurrentMap<String, ManagedExecutor> executors = new ConcurrentHashMap<>();
+
+    private DepotExecutors(ExecutorsConfiguration configuration)
+    {
+        this.configuration = configuration != null ? configuration : new ExecutorsConfiguration();
+    }
+
+    public static synchronized DepotExecutors getInstance()
+    {
+        if (INSTANCE == null)
+        {
+            INSTANCE = new DepotExecutors(null);
+        }
+        return INSTANCE;
+    }
+
+    public static synchronized DepotExecutors configure(ExecutorsConfiguration configuration)
+    {
+        if (INSTANCE != null)
+        {
+            INSTANCE.shutdown();
+        }
+        INSTANCE = new DepotExecutors(configuration);
+        return INSTANCE;
+    }
+
+    public static ManagedExecutor io()
+    {
+        return getInstance().get(IO);
+    }
+
+    public static ManagedExecutor cpu()
+    {
+        return getInstance().get(CPU);
+    }
+
+    public ManagedExecutor get(String name)
+    {
+        return get(name, defaultConfiguration(name));
+    }
+
+    //configured executors take precedence over the defaults given by the caller
+    public ManagedExecutor get(String name, ExecutorConfiguration defaultConfiguration)
+    {
+        return executors.computeIfAbsent(name, executorName ->
+        {
+            ExecutorConfiguration executorConfiguration = configuration.getExecutorConfiguration(executorName);
+            return new ManagedExecutor(executorName, executorConfiguration != null ? executorConfiguration : defaultConfiguration);
+        });
+    }
+
+    private static ExecutorConfiguration defaultConfiguration(String name)
+    {
+        int processors = Runtime.getRuntime().availableProcessors();
+        return new ExecutorConfiguration(IO.equals(name) ? Math.max(DEFAULT_IO_THREADS, processors * 2) : processors);
+    }
+
+    public void shutdown()
+    {
+        executors.values().forEach(ManagedExecutor::shutdown);
+    }
+}
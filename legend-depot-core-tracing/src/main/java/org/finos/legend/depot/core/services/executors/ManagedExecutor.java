@@ -0,0 +1,295 @@
+//  Copyright 2021 Goldman Sachs
+//
+//  Licensed under the Apache License, Version 2.0 (the "License");
+//  you may not use this file except in compliance with the License.
+//  You may obtain a copy of the License at
+//
+//       http://www.apache.org/licenses/LICENSE-2.0
+//
+//  Unless required by applicable law or agreed to in writing, software
+//  distributed under the License is distributed on an "AS IS" BASIS,
+//  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+//  See the License for the specific language governing permissions and
+//  limitations under the License.
+//
+
+package org.finos.legend.depot.core.services.executors;
+
+import org.finos.legend.depot.core.services.api.executors.configuration.ExecutorConfiguration;
+import org.finos.legend.depot.core.services.api.metrics.PrometheusMetricsHandler;
+import org.finos.legend.depot.core.services.metrics.PrometheusMetricsFactory;
+import org.slf4j.Logger;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+/**
+ * Named, bounded executor for depot fan-out work.
+ * When the queue is full the submitting thread runs the task itself, and fan-out requested from a task that this executor is
+ * already (directly or through other managed executors) waiting on runs inline, so nested fan-out such as io -> cpu -> io
+ * can not deadlock the pools.
+ */
+public class ManagedExecutor implements Executor
+{
+    public static final String EXECUTOR_QUEUE_DEPTH = "executor_queue_depth";
+    public static final String EXECUTOR_ACTIVE_THREADS = "executor_active_threads";
+    public static final String EXECUTOR_REJECTIONS = "executor_rejections";
+
+    private static final Logger LOGGER = org.slf4j.LoggerFactory.getLogger(ManagedExecutor.class);
+    private static final String EXECUTOR_LABEL = "executor";
+    private static final int TASKS_PER_THREAD = 4;
+    private static final ThreadLocal<ManagedExecutor> CURRENT = new ThreadLocal<>();
+    // executors whose threads are blocked waiting on the task running on this thread
+    private static final ThreadLocal<Set<ManagedExecutor>> WAITING = ThreadLocal.withInitial(Collections::emptySet);
+
+    private final String name;
+    private final int threads;
+    private final ThreadPoolExecutor pool;
+    private final AtomicLong rejections = new AtomicLong();
+    private final List<String> labels;
+    private volatile PrometheusMetricsHandler registeredMetrics;
+
+    public ManagedExecutor(String name, ExecutorConfiguration configuration)
+    {
+        this.name = name;
+        this.threads = Math.max(1, configuration.getThreads());
+        this.labels = Collections.singletonList(name);
+        this.pool = new ThreadPoolExecutor(threads, threads, 60, TimeUnit.SECONDS, new ArrayBlockingQueue<>(Math.max(1, configuration.getQueueSize())), newThreadFactory(configuration.isVirtualThreads()), (task, executor) ->
+        {
+            rejections.incrementAndGet();
+            metrics().incrementCount(EXECUTOR_REJECTIONS, labels);
+            if (executor.isShutdown())
+            {
+                throw new RejectedExecutionException(String.format("executor %s is shut down", name));
+            }
+            task.run();
+        })
+        {
+            @Override
+            protected void beforeExecute(Thread thread, Runnable task)
+            {
+                publishMetrics();
+            }
+
+            @Override
+            protected void afterExecute(Runnable task, Throwable throwable)
+            {
+                publishMetrics();
+            }
+        };
+        this.pool.allowCoreThreadTimeOut(true);
+        metrics();
+    }
+
+    private ThreadFactory newThreadFactory(boolean virtualThreads)
+    {
+        ThreadFactory factory = virtualThreads ? newVirtualThreadFactory() : null;
+        AtomicInteger threadCount = new AtomicInteger();
+        return runnable ->
+        {
+            Runnable worker = () ->
+            {
+                CURRENT.set(this);
+                runnable.run();
+            };
+            if (factory != null)
+            {
+                return factory.newThread(worker);
+            }
+            Thread thread = new Thread(worker, name + "-executor_" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+
+    private ThreadFactory newVirtualThreadFactory()
+    {
+        try
+        {
+            Object builder = Thread.class.getMethod("ofVirtual").invoke(null);
+            return (ThreadFactory) Class.forName("java.lang.Thread$Builder").getMethod("factory").invoke(builder);
+        }
+        catch (ReflectiveOperationException e)
+        {
+            LOGGER.info("virtual threads not supported by this JVM, using platform threads for executor {}", name);
+            return null;
+        }
+    }
+
+    private PrometheusMetricsHandler metrics()
+    {
+        // executors can be created before monitoring is configured, so register again only when the handler changes
+        PrometheusMetricsHandler metrics = PrometheusMetricsFactory.getInstance();
+        if (metrics != registeredMetrics)
+        {
+            synchronized (this)
+            {
+                if (metrics != registeredMetrics)
+                {
+                    List<String> labelNames = Collections.singletonList(EXECUTOR_LABEL);
+                    metrics.registerGauge(EXECUTOR_QUEUE_DEPTH, "tasks waiting in depot executors", labelNames);
+                    metrics.registerGauge(EXECUTOR_ACTIVE_THREADS, "threads running tasks in depot executors", labelNames);
+                    metrics.registerCounter(EXECUTOR_REJECTIONS, "tasks run by the submitting thread because the executor queue was full", labelNames);
+                    registeredMetrics = metrics;
+                }
+            }
+        }
+        return metrics;
+    }
+
+    private void publishMetrics()
+    {
+        PrometheusMetricsHandler metrics = metrics();
+        metrics.setGauge(EXECUTOR_QUEUE_DEPTH, getQueueDepth(), labels);
+        metrics.setGauge(EXECUTOR_ACTIVE_THREADS, getActiveCount(), labels);
+    }
+
+    public String getName()
+    {
+        return name;
+    }
+
+    public int getQueueDepth()
+    {
+        return pool.getQueue().size();
+    }
+
+    public int getActiveCount()
+    {
+        return pool.getActiveCount();
+    }
+
+    public long getRejectedCount()
+    {
+        return rejections.get();
+    }
+
+    @Override
+    public void execute(Runnable task)
+    {
+        pool.execute(task);
+    }
+
+    public <T> CompletableFuture<T> supplyAsync(Supplier<T> supplier)
+    {
+        return CompletableFuture.supplyAsync(supplier, this);
+    }
+
+    private boolean runsInline(int size)
+    {
+        return size <= 1 || CURRENT.get() == this || WAITING.get().contains(this);
+    }
+
+    private Set<ManagedExecutor> waitingOnBatches()
+    {
+        Set<ManagedExecutor> waiting = new HashSet<>(WAITING.get());
+        if (CURRENT.get() != null)
+        {
+            waiting.add(CURRENT.get());
+        }
+        waiting.add(this);
+        return Collections.unmodifiableSet(waiting);
+    }
+
+    private static <R> R runWaitedOnBy(Set<ManagedExecutor> waiting, Supplier<R> task)
+    {
+        Set<ManagedExecutor> previous = WAITING.get();
+        WAITING.set(waiting);
+        try
+        {
+            return task.get();
+        }
+        finally
+        {
+            WAITING.set(previous);
+        }
+    }
+
+    public <T, R> List<R> map(Collection<T> items, Function<? super T, ? extends R> function)
+    {
+        if (runsInline(items.size()))
+        {
+            return items.stream().map(function).collect(Collectors.toList());
+        }
+        Set<ManagedExecutor> waiting = waitingOnBatches();
+        List<CompletableFuture<List<R>>> batches = partition(items).stream()
+                .map(batch -> supplyAsync(() -> runWaitedOnBy(waiting, () -> batch.stream().map(function).collect(Collectors.<R>toList()))))
+                .collect(Collectors.toList());
+        List<R> result = new ArrayList<>(items.size());
+        batches.forEach(batch -> result.addAll(join(batch)));
+        return result;
+    }
+
+    public <T> void forEach(Collection<T> items, Consumer<? super T> consumer)
+    {
+        map(items, item ->
+        {
+            consumer.accept(item);
+            return null;
+        });
+    }
+
+    private <T> List<List<T>> partition(Collection<T> items)
+    {
+        int batchSize = Math.max(1, (items.size() + threads * TASKS_PER_THREAD - 1) / (threads * TASKS_PER_THREAD));
+        List<List<T>> batches = new ArrayList<>();
+        List<T> batch = new ArrayList<>(batchSize);
+        for (T item : items)
+        {
+            batch.add(item);
+            if (batch.size() == batchSize)
+            {
+                batches.add(batch);
+                batch = new ArrayList<>(batchSize);
+            }
+        }
+        if (!batch.isEmpty())
+        {
+            batches.add(batch);
+        }
+        return batches;
+    }
+
+    private static <T> T join(CompletableFuture<T> future)
+    {
+        try
+        {
+            return future.join();
+        }
+        catch (CompletionException e)
+        {
+            if (e.getCause() instanceof RuntimeException)
+            {
+                throw (RuntimeException) e.getCause();
+            }
+            if (e.getCause() instanceof Error)
+            {
+                throw (Error) e.getCause();
+            }
+            throw e;
+        }
+    }
+
+    public void shutdown()
+    {
+        pool.shutdown();
+    }
+}
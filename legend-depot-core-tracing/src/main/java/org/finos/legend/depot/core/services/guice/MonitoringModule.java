@@ -18,6 +18,8 @@ package org.finos.legend.depot.core.services.guice;
 import com.google.inject.PrivateModule;
 import com.google.inject.Provides;
 import com.google.inject.Singleton;
+import org.finos.legend.depot.core.services.api.executors.configuration.ExecutorsConfiguration;
+import org.finos.legend.depot.core.services.executors.DepotExecutors;
 import org.finos.legend.depot.core.services.tracing.TracerFactory;
 import org.finos.legend.depot.core.services.api.metrics.PrometheusMetricsHandler;
 import org.finos.legend.depot.core.services.api.tracing.configuration.OpenTracingConfiguration;
@@ -32,6 +34,7 @@ public class MonitoringModule extends PrivateModule
     {
         expose(TracerFactory.class);
         expose(PrometheusMetricsHandler.class);
+        expose(DepotExecutors.class);
     }
 
     @Provides
@@ -48,4 +51,11 @@ public class MonitoringModule extends PrivateModule
     {
         return PrometheusMetricsFactory.configure(configuration);
     }
+
+    @Provides
+    @Singleton
+    public DepotExecutors initialiseExecutors(ExecutorsConfiguration configuration)
+    {
+        return DepotExecutors.configure(configuration);
+    }
 }
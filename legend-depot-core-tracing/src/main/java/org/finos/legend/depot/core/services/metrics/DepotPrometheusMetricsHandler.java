@@ -84,6 +84,16 @@ public class DepotPrometheusMetricsHandler implements  PrometheusMetricsHandler
         return Counter.build(key,getHelpMessage(key,helpMessage)).register();
     }
 
+    private Counter buildCounter(String key, String helpMessage, List<String> labelNames)
+    {
+        Counter.Builder builder = Counter.build(key,getHelpMessage(key,helpMessage));
+        if (!labelNames.isEmpty())
+        {
+            builder.labelNames(labelNames.toArray(new String[0]));
+        }
+        return builder.register();
+    }
+
     private  Summary buildSummary(String name, String helpMessage)
     {
         return Summary.build(getKeyName(name),getHelpMessage(name, helpMessage)).quantile(0.5D, 0.05D).quantile(0.9D, 0.01D).quantile(0.99D, 0.001D).register();
@@ -116,6 +126,16 @@ public class DepotPrometheusMetricsHandler implements  PrometheusMetricsHandler
         allCounters.getIfAbsentPutWithKey(getKeyName(counter),(key) -> buildCounter(getKeyName(counter),counter)).inc();
     }
 
+    @Override
+    public void incrementCount(String counter, List<String> labelValues)
+    {
+        if (this.allCounters.get(getKeyName(counter)) == null)
+        {
+            throw new UnsupportedOperationException("Please register the counter first if you need labels");
+        }
+        this.allCounters.get(getKeyName(counter)).labels(labelValues.toArray(new String[0])).inc();
+    }
+
     @Override
     public void incrementErrorCount(String counter)
     {
@@ -129,6 +149,12 @@ public class DepotPrometheusMetricsHandler implements  PrometheusMetricsHandler
         allErrorCounters.getIfAbsentPutWithKey(buildErrorCounterName(counterName),(key) -> buildCounter(buildErrorCounterName(counterName),helpMessage + ERRORS_HELP));
     }
 
+    @Override
+    public void registerCounter(String counterName, String helpMessage, List<String> labelNames)
+    {
+        allCounters.getIfAbsentPutWithKey(getKeyName(counterName),(key) -> buildCounter(getKeyName(counterName),helpMessage,labelNames));
+    }
+
     @Override
     public void registerSummary(String summaryName,String helpMessage)
     {
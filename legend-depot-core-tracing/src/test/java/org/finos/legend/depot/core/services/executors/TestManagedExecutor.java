@@ -0,0 +1,116 @@
+//  Copyright 2021 Goldman Sachs
+//
+//  Licensed under the Apache License, Version 2.0 (the "License");
+//  you may not use this file except in compliance with the License.
+//  You may obtain a copy of the License at
+//
+//       http://www.apache.org/licenses/LICENSE-2.0
+//
+//  Unless required by applicable law or agreed to in writing, software
+//  distributed under the License is distributed on an "AS IS" BASIS,
+//  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+//  See the License for the specific language governing permissions and
+//  limitations under the License.
+//
+
+package org.finos.legend.depot.core.services.executors;
+
+import org.finos.legend.depot.core.services.api.executors.configuration.ExecutorConfiguration;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+public class TestManagedExecutor
+{
+    private final ManagedExecutor executor = new ManagedExecutor("test", new ExecutorConfiguration(2, 1, false));
+
+    @After
+    public void shutdown()
+    {
+        executor.shutdown();
+    }
+
+    @Test
+    public void mapKeepsOrder()
+    {
+        List<Integer> items = IntStream.range(0, 1000).boxed().collect(Collectors.toList());
+        Assert.assertEquals(items.stream().map(i -> i * 2).collect(Collectors.toList()), executor.map(items, i -> i * 2));
+    }
+
+    @Test
+    public void nestedFanOutRunsInline()
+    {
+        List<Integer> items = IntStream.range(0, 20).boxed().collect(Collectors.toList());
+        List<Integer> sums = executor.map(items, i -> executor.map(items, j -> i * j).stream().mapToInt(Integer::intValue).sum());
+        Assert.assertEquals(20, sums.size());
+        Assert.assertEquals(Integer.valueOf(190 * 19), sums.get(19));
+    }
+
+    @Test(timeout = 10000)
+    public void nestedFanOutAcrossExecutorsRunsInline()
+    {
+        ManagedExecutor other = new ManagedExecutor("other", new ExecutorConfiguration(2, 1, false));
+        try
+        {
+            List<Integer> items = IntStream.range(0, 20).boxed().collect(Collectors.toList());
+            List<Integer> sums = executor.map(items, i -> other.map(items, j -> executor.map(items, k -> i * j * k).stream().mapToInt(Integer::intValue).sum()).stream().mapToInt(Integer::intValue).sum());
+            Assert.assertEquals(20, sums.size());
+            Assert.assertEquals(Integer.valueOf(19 * 190 * 190), sums.get(19));
+        }
+        finally
+        {
+            other.shutdown();
+        }
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void failuresArePropagated()
+    {
+        executor.forEach(Arrays.asList(1, 2, 3), i ->
+        {
+            if (i == 2)
+            {
+                throw new IllegalStateException("failed");
+            }
+        });
+    }
+
+    @Test
+    public void submitterRunsTasksWhenQueueIsFull() throws InterruptedException
+    {
+        CountDownLatch release = new CountDownLatch(1);
+        CountDownLatch started = new CountDownLatch(2);
+        for (int i = 0; i < 2; i++)
+        {
+            executor.execute(() ->
+            {
+                started.countDown();
+                try
+                {
+                    release.await();
+                }
+                catch (InterruptedException e)
+                {
+                    Thread.currentThread().interrupt();
+                }
+            });
+        }
+        started.await();
+        executor.execute(started::countDown);
+        Assert.assertEquals(1, executor.getQueueDepth());
+        Assert.assertEquals(2, executor.getActiveCount());
+
+        Thread caller = Thread.currentThread();
+        Thread[] ranOn = new Thread[1];
+        executor.execute(() -> ranOn[0] = Thread.currentThread());
+        Assert.assertEquals(caller, ranOn[0]);
+        Assert.assertEquals(1, executor.getRejectedCount());
+        release.countDown();
+    }
+}
@@ -24,6 +24,7 @@ import java.util.Arrays;
 import java.util.List;
 import java.util.Optional;
 import java.util.Set;
+import java.util.function.Consumer;
 
 
 public interface EntitiesService<T extends StoredEntity>
@@ -31,6 +32,10 @@ public interface EntitiesService<T extends StoredEntity>
 
     List<Entity> getEntities(String groupId, String artifactId, String versionId);
 
+    ProjectVersion resolveProjectVersion(String groupId, String artifactId, String versionId);
+
+    void forEachEntityData(ProjectVersion projectVersion, Consumer<String> entityDataConsumer);
+
     List<Entity> getEntitiesByClassifier(String groupId, String artifactId, String versionId, String classifier);
 
     Optional<Entity> getEntity(String groupId, String artifactId, String versionId, String entityPath);
@@ -41,6 +46,8 @@ public interface EntitiesService<T extends StoredEntity>
 
     List<ProjectVersionEntities> getDependenciesEntities(List<ProjectVersion> projectDependencies, boolean transitive, boolean includeOrigin);
 
+    List<ProjectVersion> getDependenciesVersions(List<ProjectVersion> projectDependencies, boolean transitive, boolean includeOrigin);
+
     List<ProjectVersionEntities> getDependenciesEntitiesByClassifier(List<ProjectVersion> projectDependencies, String classifier, boolean transitive, boolean includeOrigin);
 
     default List<ProjectVersionEntities> getDependenciesEntities(String groupId, String artifactId, String versionId, boolean transitive, boolean includeOrigin)
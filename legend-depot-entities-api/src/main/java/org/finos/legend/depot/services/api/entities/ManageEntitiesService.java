@@ -15,10 +15,12 @@
 
 package org.finos.legend.depot.services.api.entities;
 
+import org.finos.legend.depot.store.model.IncrementalUpdateResult;
 import org.finos.legend.depot.store.model.entities.StoredEntity;
 import org.finos.legend.sdlc.domain.model.entity.Entity;
 
 import java.util.List;
+import java.util.stream.Stream;
 
 public interface ManageEntitiesService<T extends StoredEntity> extends EntitiesService<T>
 {
@@ -31,4 +33,8 @@ public interface ManageEntitiesService<T extends StoredEntity> extends EntitiesS
 
     void createOrUpdate(String groupId, String artifactId, String versionId, List<Entity> entities);
 
+    IncrementalUpdateResult incrementalUpdate(String groupId, String artifactId, String versionId, Stream<Entity> entities);
+
+    long setLatestVersion(String groupId, String artifactId, String versionId);
+
 }
@@ -25,6 +25,7 @@ import java.util.Arrays;
 import java.util.List;
 import java.util.Optional;
 import java.util.Set;
+import java.util.function.Consumer;
 
 public interface Entities<T extends StoredEntity>
 {
@@ -32,6 +33,9 @@ public interface Entities<T extends StoredEntity>
 
     Optional<Entity> getEntity(String groupId, String artifactId, String versionId, String path);
 
+    void forEachEntityData(String groupId, String artifactId, String versionId, Consumer<String> entityDataConsumer);
+
+    //at most one entity per path, taken from the first of the dependencies, in iteration order, that has it
     List<Entity> getEntityFromDependencies(Set<ProjectVersion> dependencies, List<String> entityPaths);
 
     List<Entity> getEntitiesByPackage(String groupId, String artifactId, String versionId, String packageName, Set<String> classifierPaths, boolean includeSubPackages);
@@ -57,6 +61,12 @@ public interface Entities<T extends StoredEntity>
 
     List<DepotEntity> findLatestClassifierEntities(String classifier, String search, Integer limit);
 
+    //false while some entities of the classifier were stored before the latest version flag existed
+    boolean hasLatestVersionFlags(String classifier);
+
+    //released entities of the latest version of each project, only complete when hasLatestVersionFlags
+    List<DepotEntity> findLatestReleasedClassifierEntities(String classifier, String search, Integer limit);
+
     List<DepotEntity> findClassifierEntitiesByVersions(String classifier, List<ProjectVersion> projectVersions, String search, Integer limit);
 
     List<T> getStoredEntities(String groupId, String artifactId, String versionId);
@@ -16,20 +16,29 @@
 package org.finos.legend.depot.store.api.entities;
 
 import org.eclipse.collections.api.tuple.Pair;
+import org.finos.legend.depot.store.model.IncrementalUpdateResult;
 import org.finos.legend.depot.store.model.entities.StoredEntity;
 import org.finos.legend.sdlc.domain.model.entity.Entity;
 
 import java.util.List;
+import java.util.stream.Stream;
 
 public interface UpdateEntities<T extends StoredEntity> extends Entities<T>
 {
 
     List<T> createOrUpdate(String groupId, String artifactId, String versionId, List<Entity> entityDefinitions);
 
+    //not atomic: changed items are written in batches as the stream is read and removed ones are deleted at the end,
+    //a failure part way leaves the version partially updated, callers report it as an error so the refresh is retried and reconciles it
+    IncrementalUpdateResult incrementalUpdate(String groupId, String artifactId, String versionId, Stream<Entity> entityDefinitions);
+
     long delete(String groupId, String artifactId);
 
     long delete(String groupId, String artifactId, String versionId);
 
+    //flags the entities of versionId as the project latest version and clears the flag on every other version
+    long setLatestVersion(String groupId, String artifactId, String versionId);
+
     List<T> getStoredEntities(String groupId, String artifactId);
 
     List<Pair<String, String>> getStoredEntitiesCoordinates();
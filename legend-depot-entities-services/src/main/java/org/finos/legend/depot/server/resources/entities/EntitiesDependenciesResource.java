@@ -38,6 +38,7 @@ import javax.ws.rs.core.Context;
 import javax.ws.rs.core.MediaType;
 import javax.ws.rs.core.Request;
 import javax.ws.rs.core.Response;
+import java.util.Arrays;
 import java.util.List;
 
 import static org.finos.legend.depot.core.services.tracing.ResourceLoggingAndTracing.GET_VERSIONS_DEPENDENCY_ENTITIES;
@@ -68,8 +69,14 @@ public class EntitiesDependenciesResource extends TracingResource
                                                 @ApiParam("Whether to return transitive dependencies") boolean transitive,
                                                 @QueryParam("includeOrigin") @DefaultValue("false")
                                                 @ApiParam("Whether to return start of dependency tree") boolean includeOrigin,
+                                                @QueryParam("stream") @DefaultValue("false")
+                                                @ApiParam("Whether to stream stored entities straight to the response") boolean stream,
                                                 @Context Request request)
     {
+        if (stream)
+        {
+            return handle(GET_VERSION_DEPENDENCY_ENTITIES, () -> EntitiesStreamingOutput.projectVersionsEntities(this.entitiesService, this.entitiesService.getDependenciesVersions(Arrays.asList(new ProjectVersion(groupId, artifactId, versionId)), transitive, includeOrigin)), request, () -> EtagBuilder.create().withGAV(groupId, artifactId, versionId).build());
+        }
         return handle(GET_VERSION_DEPENDENCY_ENTITIES, () -> this.entitiesService.getDependenciesEntities(groupId, artifactId, versionId, transitive, includeOrigin), request, () -> EtagBuilder.create().withGAV(groupId, artifactId, versionId).build());
     }
 
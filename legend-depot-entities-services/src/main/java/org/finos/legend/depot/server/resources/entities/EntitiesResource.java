@@ -20,6 +20,7 @@ import io.swagger.annotations.ApiOperation;
 import io.swagger.annotations.ApiParam;
 import org.finos.legend.depot.domain.version.VersionValidator;
 import org.finos.legend.depot.services.api.entities.EntitiesService;
+import org.finos.legend.depot.services.api.projects.ProjectsService;
 import org.finos.legend.depot.core.services.tracing.resources.TracingResource;
 import org.finos.legend.depot.services.api.EtagBuilder;
 
@@ -45,11 +46,13 @@ import static org.finos.legend.depot.core.services.tracing.ResourceLoggingAndTra
 public class EntitiesResource extends TracingResource
 {
     private final EntitiesService entitiesService;
+    private final ProjectsService projectsService;
 
     @Inject
-    public EntitiesResource(EntitiesService entitiesService)
+    public EntitiesResource(EntitiesService entitiesService, ProjectsService projectsService)
     {
         this.entitiesService = entitiesService;
+        this.projectsService = projectsService;
     }
 
     @GET
@@ -59,9 +62,15 @@ public class EntitiesResource extends TracingResource
     public Response getEntities(@PathParam("groupId") String groupId,
                                 @PathParam("artifactId") String artifactId,
                                 @PathParam("versionId") @ApiParam(value = VersionValidator.VALID_VERSION_ID_TXT) String versionId,
+                                @QueryParam("stream") @DefaultValue("false")
+                                @ApiParam("Whether to stream stored entities straight to the response") boolean stream,
                                 @Context Request request)
     {
-        return handle(GET_VERSION_ENTITIES, () -> this.entitiesService.getEntities(groupId, artifactId, versionId), request, () -> EtagBuilder.create().withGAV(groupId, artifactId, versionId).build());
+        if (stream)
+        {
+            return handle(GET_VERSION_ENTITIES, () -> EntitiesStreamingOutput.entities(this.entitiesService, this.entitiesService.resolveProjectVersion(groupId, artifactId, versionId)), request, () -> EtagBuilder.create().withVersionStamp(projectsService, groupId, artifactId, versionId).build());
+        }
+        return handle(GET_VERSION_ENTITIES, () -> this.entitiesService.getEntities(groupId, artifactId, versionId), request, () -> EtagBuilder.create().withVersionStamp(projectsService, groupId, artifactId, versionId).build());
     }
 
     @GET
@@ -78,7 +87,7 @@ public class EntitiesResource extends TracingResource
         {
             Response.status(Response.Status.BAD_REQUEST).entity("Classifier is not valid").build();
         }
-        return handle(GET_VERSION_ENTITIES, () -> this.entitiesService.getEntitiesByClassifier(groupId, artifactId, versionId, classifier), request, () -> EtagBuilder.create().withGAV(groupId, artifactId, versionId).build());
+        return handle(GET_VERSION_ENTITIES, () -> this.entitiesService.getEntitiesByClassifier(groupId, artifactId, versionId, classifier), request, () -> EtagBuilder.create().withVersionStamp(projectsService, groupId, artifactId, versionId).build());
     }
     
     @GET
@@ -91,7 +100,7 @@ public class EntitiesResource extends TracingResource
                                       @PathParam("path") String entityPath,
                                       @Context Request request)
     {
-        return handle(GET_VERSION_ENTITY, GET_VERSION_ENTITY + entityPath, () -> this.entitiesService.getEntity(groupId, artifactId, versionId, entityPath), request, () -> EtagBuilder.create().withGAV(groupId, artifactId, versionId).build());
+        return handle(GET_VERSION_ENTITY, GET_VERSION_ENTITY + entityPath, () -> this.entitiesService.getEntity(groupId, artifactId, versionId, entityPath), request, () -> EtagBuilder.create().withVersionStamp(projectsService, groupId, artifactId, versionId).build());
     }
 
     @GET
@@ -110,6 +119,6 @@ public class EntitiesResource extends TracingResource
                                     @Context Request request
     )
     {
-        return handle(GET_VERSION_ENTITIES_BY_FILTER, GET_VERSION_ENTITIES_BY_FILTER + packageName, () -> entitiesService.getEntitiesByPackage(groupId, artifactId, versionId, packageName, classifierPaths, includeSubPackages), request, () -> EtagBuilder.create().withGAV(groupId, artifactId, versionId).build());
+        return handle(GET_VERSION_ENTITIES_BY_FILTER, GET_VERSION_ENTITIES_BY_FILTER + packageName, () -> entitiesService.getEntitiesByPackage(groupId, artifactId, versionId, packageName, classifierPaths, includeSubPackages), request, () -> EtagBuilder.create().withVersionStamp(projectsService, groupId, artifactId, versionId).build());
     }
 }
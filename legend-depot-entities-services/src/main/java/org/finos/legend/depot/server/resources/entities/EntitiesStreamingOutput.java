@@ -0,0 +1,98 @@
+//  Copyright 2021 Goldman Sachs
+//
+//  Licensed under the Apache License, Version 2.0 (the "License");
+//  you may not use this file except in compliance with the License.
+//  You may obtain a copy of the License at
+//
+//       http://www.apache.org/licenses/LICENSE-2.0
+//
+//  Unless required by applicable law or agreed to in writing, software
+//  distributed under the License is distributed on an "AS IS" BASIS,
+//  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+//  See the License for the specific language governing permissions and
+//  limitations under the License.
+//
+
+package org.finos.legend.depot.server.resources.entities;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import org.finos.legend.depot.domain.project.ProjectVersion;
+import org.finos.legend.depot.services.api.entities.EntitiesService;
+
+import javax.ws.rs.core.StreamingOutput;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.List;
+
+public final class EntitiesStreamingOutput
+{
+    private static final JsonFactory JSON_FACTORY = new JsonFactory();
+    private static final String GROUP_ID = "groupId";
+    private static final String ARTIFACT_ID = "artifactId";
+    private static final String VERSION_ID = "versionId";
+    private static final String VERSIONED_ENTITY = "versionedEntity";
+    private static final String ENTITIES = "entities";
+
+    private EntitiesStreamingOutput()
+    {
+    }
+
+    public static StreamingOutput entities(EntitiesService<?> entitiesService, ProjectVersion projectVersion)
+    {
+        return output ->
+        {
+            try (JsonGenerator generator = JSON_FACTORY.createGenerator(output))
+            {
+                writeEntities(generator, entitiesService, projectVersion);
+            }
+        };
+    }
+
+    public static StreamingOutput projectVersionsEntities(EntitiesService<?> entitiesService, List<ProjectVersion> projectVersions)
+    {
+        return output ->
+        {
+            try (JsonGenerator generator = JSON_FACTORY.createGenerator(output))
+            {
+                generator.writeStartArray();
+                for (ProjectVersion projectVersion : projectVersions)
+                {
+                    generator.writeStartObject();
+                    generator.writeStringField(GROUP_ID, projectVersion.getGroupId());
+                    generator.writeStringField(ARTIFACT_ID, projectVersion.getArtifactId());
+                    generator.writeStringField(VERSION_ID, projectVersion.getVersionId());
+                    generator.writeBooleanField(VERSIONED_ENTITY, false);
+                    generator.writeFieldName(ENTITIES);
+                    writeEntities(generator, entitiesService, projectVersion);
+                    generator.writeEndObject();
+                }
+                generator.writeEndArray();
+            }
+        };
+    }
+
+    private static void writeEntities(JsonGenerator generator, EntitiesService<?> entitiesService, ProjectVersion projectVersion) throws IOException
+    {
+        generator.writeStartArray();
+        try
+        {
+            entitiesService.forEachEntityData(projectVersion, data ->
+            {
+                try
+                {
+                    generator.writeRawValue(data);
+                }
+                catch (IOException e)
+                {
+                    throw new UncheckedIOException(e);
+                }
+            });
+        }
+        catch (UncheckedIOException e)
+        {
+            throw e.getCause();
+        }
+        generator.writeEndArray();
+    }
+}
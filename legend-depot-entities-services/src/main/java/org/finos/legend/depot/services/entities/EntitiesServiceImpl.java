@@ -15,9 +15,7 @@
 
 package org.finos.legend.depot.services.entities;
 
-import org.eclipse.collections.api.list.MutableList;
-import org.eclipse.collections.impl.list.mutable.FastList;
-import org.eclipse.collections.impl.parallel.ParallelIterate;
+import org.finos.legend.depot.core.services.executors.DepotExecutors;
 import org.finos.legend.depot.core.services.metrics.PrometheusMetricsFactory;
 import org.finos.legend.depot.domain.entity.ProjectVersionEntities;
 import org.finos.legend.depot.store.model.entities.StoredEntity;
@@ -30,10 +28,13 @@ import org.finos.legend.sdlc.domain.model.entity.Entity;
 import org.slf4j.Logger;
 
 import javax.inject.Inject;
+import java.util.Comparator;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Optional;
 import java.util.Set;
 import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
 import java.util.function.Supplier;
 import java.util.stream.Collectors;
 
@@ -61,6 +62,18 @@ public class EntitiesServiceImpl<T extends StoredEntity> implements EntitiesServ
         return entities.getAllEntities(groupId, artifactId, version);
     }
 
+    @Override
+    public ProjectVersion resolveProjectVersion(String groupId, String artifactId, String versionId)
+    {
+        return new ProjectVersion(groupId, artifactId, this.projects.resolveAliasesAndCheckVersionExists(groupId, artifactId, versionId));
+    }
+
+    @Override
+    public void forEachEntityData(ProjectVersion projectVersion, Consumer<String> entityDataConsumer)
+    {
+        entities.forEachEntityData(projectVersion.getGroupId(), projectVersion.getArtifactId(), projectVersion.getVersionId(), entityDataConsumer);
+    }
+
     @Override
     public List<Entity> getEntitiesByClassifier(String groupId, String artifactId, String versionId, String classifier)
     {
@@ -79,11 +92,15 @@ public class EntitiesServiceImpl<T extends StoredEntity> implements EntitiesServ
     public List<Entity> getEntityFromDependencies(String groupId, String artifactId, String versionId, List<String> entityPaths, boolean includeOrigin)
     {
         String version = this.projects.resolveAliasesAndCheckVersionExists(groupId, artifactId, versionId);
-        Set<ProjectVersion> projectVersions = projects.getDependencies(groupId, artifactId, version, true);
+        //a path found in several versions resolves to the origin first, then to the dependencies in coordinates order
+        Set<ProjectVersion> projectVersions = new LinkedHashSet<>();
         if (includeOrigin)
         {
             projectVersions.add(new ProjectVersion(groupId, artifactId, version));
         }
+        projects.getDependencies(groupId, artifactId, version, true).stream()
+                .sorted(Comparator.comparing(ProjectVersion::getGroupId).thenComparing(ProjectVersion::getArtifactId).thenComparing(ProjectVersion::getVersionId))
+                .forEach(projectVersions::add);
         return entities.getEntityFromDependencies(projectVersions, entityPaths);
     }
 
@@ -94,7 +111,7 @@ public class EntitiesServiceImpl<T extends StoredEntity> implements EntitiesServ
         return entities.getEntitiesByPackage(groupId, artifactId, version, packageName, classifierPaths, includeSubPackages);
     }
 
-    public List<ProjectVersionEntities> getDependenciesEntities(List<ProjectVersion> projectDependencies, String classifier, boolean transitive, boolean includeOrigin)
+    private Set<ProjectVersion> calculateDependencies(List<ProjectVersion> projectDependencies, boolean transitive, boolean includeOrigin)
     {
         Set<ProjectVersion> dependencies = (Set<ProjectVersion>) executeWithTrace(CALCULATE_PROJECT_DEPENDENCIES, () ->
         {
@@ -108,12 +125,25 @@ public class EntitiesServiceImpl<T extends StoredEntity> implements EntitiesServ
         TracerFactory.get().log(String.format("dependencies: [%s] ",dependencies.size()));
         PrometheusMetricsFactory.getInstance().observeHistogram(DEPENDENCIES_SIZE,dependencies.size());
         LOGGER.info("finished calculating [{}] dependencies",dependencies.size());
+        return dependencies;
+    }
+
+    @Override
+    public List<ProjectVersion> getDependenciesVersions(List<ProjectVersion> projectDependencies, boolean transitive, boolean includeOrigin)
+    {
+        return calculateDependencies(projectDependencies, transitive, includeOrigin).stream()
+                .map(dep -> resolveProjectVersion(dep.getGroupId(), dep.getArtifactId(), dep.getVersionId()))
+                .collect(Collectors.toList());
+    }
+
+    public List<ProjectVersionEntities> getDependenciesEntities(List<ProjectVersion> projectDependencies, String classifier, boolean transitive, boolean includeOrigin)
+    {
+        Set<ProjectVersion> dependencies = calculateDependencies(projectDependencies, transitive, includeOrigin);
 
         return  (List<ProjectVersionEntities>) executeWithTrace(RETRIEVE_DEPENDENCY_ENTITIES, () ->
         {
-            MutableList<ProjectVersionEntities> depEntities = FastList.newList();
             final AtomicInteger totalEntities = new AtomicInteger();
-            ParallelIterate.forEach(dependencies, dep ->
+            List<ProjectVersionEntities> depEntities = DepotExecutors.io().map(dependencies, dep ->
             {
                 String version = this.projects.resolveAliasesAndCheckVersionExists(dep.getGroupId(), dep.getArtifactId(), dep.getVersionId());
                 List<Entity> deps;
@@ -125,9 +155,9 @@ public class EntitiesServiceImpl<T extends StoredEntity> implements EntitiesServ
                 {
                     deps = (List<Entity>) entities.getAllEntities(dep.getGroupId(), dep.getArtifactId(), version).stream().collect(Collectors.toList());
                 }
-                depEntities.add(new ProjectVersionEntities(dep.getGroupId(), dep.getArtifactId(), version, deps));
                 totalEntities.addAndGet(deps.size());
                 TracerFactory.get().log(String.format("Total [%s-%s-%s]: [%s] entities",dep.getGroupId(), dep.getArtifactId(), dep.getVersionId(),deps.size()));
+                return new ProjectVersionEntities(dep.getGroupId(), dep.getArtifactId(), version, deps);
             });
             TracerFactory.get().log(String.format("Total [%s]: [%s] entities",depEntities.size(),totalEntities));
             return depEntities;
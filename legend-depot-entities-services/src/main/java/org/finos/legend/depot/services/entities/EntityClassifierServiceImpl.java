@@ -18,6 +18,7 @@ package org.finos.legend.depot.services.entities;
 import org.finos.legend.depot.domain.entity.DepotEntity;
 import org.finos.legend.depot.domain.entity.DepotEntityOverview;
 import org.finos.legend.depot.domain.project.ProjectVersion;
+import org.finos.legend.depot.domain.project.ProjectsPage;
 import org.finos.legend.depot.domain.version.Scope;
 import org.finos.legend.depot.services.api.entities.EntityClassifierService;
 import org.finos.legend.depot.services.api.projects.ProjectsService;
@@ -26,7 +27,6 @@ import org.finos.legend.depot.store.model.projects.StoreProjectData;
 
 import javax.inject.Inject;
 import java.util.ArrayList;
-import java.util.Collections;
 import java.util.List;
 import java.util.stream.Collectors;
 
@@ -43,19 +43,9 @@ public class EntityClassifierServiceImpl implements EntityClassifierService
         this.entities = versions;
     }
 
-    private List<ProjectVersion> getLatestProjectVersionByPage(int page, int pageSize, List<StoreProjectData> allProjects)
+    private List<ProjectVersion> getLatestProjectVersions(List<StoreProjectData> projectsPage)
     {
-        int beginIndex = page * pageSize - pageSize;
-        int lastIndex = page * pageSize - 1;
-        if (beginIndex >= allProjects.size() || beginIndex < 0)
-        {
-            return Collections.emptyList();
-        }
-        else if (lastIndex >= allProjects.size())
-        {
-            lastIndex = allProjects.size() - 1;
-        }
-        return allProjects.subList(beginIndex, lastIndex).stream()
+        return projectsPage.stream()
                 .filter(project -> project.getLatestVersion() != null)
                 .map(project -> new ProjectVersion(project.getGroupId(), project.getArtifactId(), project.getLatestVersion()))
                 .collect(Collectors.toList());
@@ -68,21 +58,24 @@ public class EntityClassifierServiceImpl implements EntityClassifierService
         {
             return this.findClassifierEntities(classifierPath, scope, search, limit);
         }
+        if (entities.hasLatestVersionFlags(classifierPath))
+        {
+            return entities.findLatestReleasedClassifierEntities(classifierPath, search, limit);
+        }
+        //some entities predate the latest version flag, so look the latest versions up project by project
         List<DepotEntity> result = new ArrayList<>();
-        int currentPage = 1;
-        List<StoreProjectData> allProjects = projects.getAllProjectCoordinates();
-        List<ProjectVersion> projectVersions = this.getLatestProjectVersionByPage(currentPage, PAGE_SIZE, allProjects);
-        while (!projectVersions.isEmpty())
+        String continuationToken = null;
+        do
         {
-            List<DepotEntity> entities = this.findClassifierEntitiesByVersions(classifierPath, projectVersions, search, limit);
-            result.addAll(entities);
-            if (limit != null && result.size() >= limit)
+            ProjectsPage page = projects.getProjectCoordinatesPage(continuationToken, PAGE_SIZE);
+            List<ProjectVersion> projectVersions = this.getLatestProjectVersions(page.getProjects());
+            if (!projectVersions.isEmpty())
             {
-                break;
+                result.addAll(this.findClassifierEntitiesByVersions(classifierPath, projectVersions, search, limit));
             }
-            currentPage++;
-            projectVersions = this.getLatestProjectVersionByPage(currentPage, PAGE_SIZE, allProjects);
+            continuationToken = page.getContinuationToken();
         }
+        while (continuationToken != null && (limit == null || result.size() < limit));
         if (limit != null)
         {
             result = result.stream().limit(limit).collect(Collectors.toList());
@@ -18,11 +18,13 @@ package org.finos.legend.depot.services.entities;
 import org.finos.legend.depot.services.api.entities.ManageEntitiesService;
 import org.finos.legend.depot.services.api.projects.ProjectsService;
 import org.finos.legend.depot.store.api.entities.UpdateEntities;
+import org.finos.legend.depot.store.model.IncrementalUpdateResult;
 import org.finos.legend.depot.store.model.entities.StoredEntity;
 import org.finos.legend.sdlc.domain.model.entity.Entity;
 
 import javax.inject.Inject;
 import java.util.List;
+import java.util.stream.Stream;
 
 public class ManageEntitiesServiceImpl<T extends StoredEntity> extends EntitiesServiceImpl<T> implements ManageEntitiesService<T>
 {
@@ -63,4 +65,16 @@ public class ManageEntitiesServiceImpl<T extends StoredEntity> extends EntitiesS
         entities.createOrUpdate(groupId, artifactId, versionId, entityList);
     }
 
+    @Override
+    public IncrementalUpdateResult incrementalUpdate(String groupId, String artifactId, String versionId, Stream<Entity> entityList)
+    {
+        return entities.incrementalUpdate(groupId, artifactId, versionId, entityList);
+    }
+
+    @Override
+    public long setLatestVersion(String groupId, String artifactId, String versionId)
+    {
+        return entities.setLatestVersion(groupId, artifactId, versionId);
+    }
+
 }
@@ -15,21 +15,29 @@
 
 package org.finos.legend.depot.server.resources;
 
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import org.finos.legend.depot.domain.project.ProjectVersion;
 import org.finos.legend.depot.services.api.metrics.query.QueryMetricsService;
 import org.finos.legend.depot.services.metrics.query.InMemoryQueryMetricsRegistry;
 import org.finos.legend.depot.services.metrics.query.QueryMetricsServiceImpl;
 import org.finos.legend.depot.store.model.projects.StoreProjectData;
 import org.finos.legend.depot.store.model.projects.StoreProjectVersionData;
+import org.finos.legend.depot.server.resources.entities.EntitiesDependenciesResource;
 import org.finos.legend.depot.server.resources.entities.EntitiesResource;
 import org.finos.legend.depot.services.TestBaseServices;
 import org.finos.legend.depot.services.api.entities.EntitiesService;
+import org.finos.legend.depot.services.api.projects.ProjectsService;
 import org.finos.legend.depot.services.entities.EntitiesServiceImpl;
 import org.finos.legend.depot.services.projects.ProjectsServiceImpl;
+import org.finos.legend.depot.services.projects.ProjectsCache;
+import org.finos.legend.depot.services.dependencies.DependencyUtil;
+import org.finos.legend.depot.services.api.projects.configuration.ProjectsCacheConfiguration;
 import org.finos.legend.depot.services.api.projects.configuration.ProjectsConfiguration;
 import org.finos.legend.depot.store.api.entities.UpdateEntities;
 import org.finos.legend.depot.store.api.projects.UpdateProjectsVersions;
 import org.finos.legend.depot.store.api.projects.UpdateProjects;
+import org.finos.legend.depot.store.model.entities.EntityDefinition;
 import org.finos.legend.depot.services.api.metrics.query.QueryMetricsRegistry;
 import org.finos.legend.depot.store.mongo.entities.EntitiesMongo;
 import org.finos.legend.depot.store.mongo.entities.test.EntitiesMongoTestUtils;
@@ -41,10 +49,17 @@ import org.junit.Assert;
 import org.junit.Before;
 import org.junit.Test;
 
+import javax.ws.rs.core.EntityTag;
+import javax.ws.rs.core.Request;
 import javax.ws.rs.core.Response;
+import javax.ws.rs.core.StreamingOutput;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.Collections;
+import java.util.Date;
 import java.util.concurrent.TimeUnit;
 
 import static org.finos.legend.depot.domain.version.VersionValidator.BRANCH_SNAPSHOT;
@@ -60,8 +75,9 @@ public class TestEntitiesResource extends TestBaseServices
     private final Queue queue = mock(Queue.class);
     private UpdateEntities entitiesStore = new EntitiesMongo(mongoProvider);
     private  EntitiesMongoTestUtils entityUtils = new EntitiesMongoTestUtils(mongoProvider);
-    private final EntitiesService entitiesService = new EntitiesServiceImpl(entitiesStore,new ProjectsServiceImpl(projectsVersions, projects, metricsRegistry, queue, new ProjectsConfiguration("master")));
-    private EntitiesResource entitiesResource = new EntitiesResource(entitiesService);
+    private final ProjectsService projectsService = new ProjectsServiceImpl(projectsVersions, projects, metricsRegistry, queue, new ProjectsConfiguration("master"));
+    private final EntitiesService entitiesService = new EntitiesServiceImpl(entitiesStore, projectsService);
+    private EntitiesResource entitiesResource = new EntitiesResource(entitiesService, projectsService);
     private QueryMetricsMongo metricsStore = new QueryMetricsMongo(mongoProvider);
     private QueryMetricsService metricsHandler = new QueryMetricsServiceImpl(metricsStore);
 
@@ -88,12 +104,91 @@ public class TestEntitiesResource extends TestBaseServices
     @Test
     public void canGetEntitiesForProjectAndVersion()
     {
-        Response response = entitiesResource.getEntities("examples.metadata", "test", "2.3.0", null);
+        Response response = entitiesResource.getEntities("examples.metadata", "test", "2.3.0", false, null);
         List<Entity> entityList = (List<Entity>) response.getEntity();
         Assert.assertNotNull(entityList);
         Assert.assertEquals(7, entityList.size());
     }
 
+    @Test
+    public void canStreamEntitiesForProjectAndVersion() throws IOException
+    {
+        Response response = entitiesResource.getEntities("examples.metadata", "test", "2.3.0", true, null);
+        List<EntityDefinition> entityList = new ObjectMapper().readValue(writeStreamingOutput(response), new TypeReference<List<EntityDefinition>>() {});
+        Assert.assertEquals(7, entityList.size());
+        Assert.assertEquals(((List<Entity>) entitiesResource.getEntities("examples.metadata", "test", "2.3.0", false, null).getEntity()).size(), entityList.size());
+    }
+
+    @Test
+    public void canStreamEntitiesFromDependencies() throws IOException
+    {
+        StoreProjectVersionData versionData = new StoreProjectVersionData("examples.metadata", "test-master", "2.3.0");
+        versionData.getVersionData().setDependencies(Collections.singletonList(new ProjectVersion("examples.metadata","test", "2.3.0")));
+        when(projects.find("examples.metadata","test-master")).thenReturn(Optional.of(new StoreProjectData("mock02","examples.metadata","test-master")));
+        when(projectsVersions.find("examples.metadata","test-master", "2.3.0")).thenReturn(Optional.of(versionData));
+
+        Response response = new EntitiesDependenciesResource(entitiesService).getEntitiesFromDependencies("examples.metadata", "test-master", "2.3.0", true, false, true, null);
+        List<Map<String, Object>> dependencies = new ObjectMapper().readValue(writeStreamingOutput(response), new TypeReference<List<Map<String, Object>>>() {});
+        Assert.assertEquals(1, dependencies.size());
+        Assert.assertEquals("test", dependencies.get(0).get("artifactId"));
+        Assert.assertEquals("2.3.0", dependencies.get(0).get("versionId"));
+        Assert.assertEquals(7, ((List) dependencies.get(0).get("entities")).size());
+    }
+
+    @Test
+    public void canTagSnapshotAndAliasVersionsWithVersionStamp()
+    {
+        String snapshotVersion = BRANCH_SNAPSHOT("master");
+        StoreProjectVersionData snapshot = new StoreProjectVersionData("examples.metadata", "test", snapshotVersion);
+        snapshot.setUpdated(new Date(1000));
+        when(projectsVersions.find("examples.metadata", "test", snapshotVersion)).thenReturn(Optional.of(snapshot));
+
+        Response response = entitiesResource.getEntities("examples.metadata", "test", snapshotVersion, false, null);
+        Assert.assertEquals(new EntityTag("examples.metadatatest" + snapshotVersion + "@1000"), response.getEntityTag());
+        Assert.assertEquals(response.getEntityTag(), entitiesResource.getEntities("examples.metadata", "test", "head", false, null).getEntityTag());
+        Assert.assertEquals(new EntityTag("examples.metadatatest2.3.0"), entitiesResource.getEntities("examples.metadata", "test", "2.3.0", false, null).getEntityTag());
+
+        Request request = mock(Request.class);
+        when(request.evaluatePreconditions(response.getEntityTag())).thenReturn(Response.notModified());
+        Assert.assertEquals(Response.Status.NOT_MODIFIED.getStatusCode(), entitiesResource.getEntities("examples.metadata", "test", "head", false, request).getStatus());
+
+        snapshot.setUpdated(new Date(2000));
+        Response refreshed = entitiesResource.getEntities("examples.metadata", "test", "head", false, request);
+        Assert.assertEquals(Response.Status.OK.getStatusCode(), refreshed.getStatus());
+        Assert.assertEquals(new EntityTag("examples.metadatatest" + snapshotVersion + "@2000"), refreshed.getEntityTag());
+    }
+
+    @Test
+    public void aliasVersionStampFollowsLatestVersionWithCachingEnabled()
+    {
+        ProjectsService cachedProjects = new ProjectsServiceImpl(projectsVersions, projects, metricsRegistry, queue, new ProjectsConfiguration("master"), new DependencyUtil(), new ProjectsCache(new ProjectsCacheConfiguration(true, 100, 60)));
+        EntitiesResource resource = new EntitiesResource(new EntitiesServiceImpl(entitiesStore, cachedProjects), cachedProjects);
+        StoreProjectData project = new StoreProjectData("mock", "examples.metadata", "test");
+        project.setLatestVersion("2.3.0");
+        when(projects.find("examples.metadata", "test")).thenReturn(Optional.of(project));
+
+        Response response = resource.getEntities("examples.metadata", "test", "latest", false, null);
+        Assert.assertEquals(new EntityTag("examples.metadatatest2.3.0"), response.getEntityTag());
+
+        Request request = mock(Request.class);
+        when(request.evaluatePreconditions(response.getEntityTag())).thenReturn(Response.notModified());
+        Assert.assertEquals(Response.Status.NOT_MODIFIED.getStatusCode(), resource.getEntities("examples.metadata", "test", "latest", false, request).getStatus());
+
+        project.setLatestVersion("2.3.1");
+        when(projectsVersions.find("examples.metadata", "test", "2.3.1")).thenReturn(Optional.of(new StoreProjectVersionData("examples.metadata", "test", "2.3.1")));
+        Response refreshed = resource.getEntities("examples.metadata", "test", "latest", false, request);
+        Assert.assertEquals(Response.Status.OK.getStatusCode(), refreshed.getStatus());
+        Assert.assertEquals(new EntityTag("examples.metadatatest2.3.1"), refreshed.getEntityTag());
+    }
+
+    private byte[] writeStreamingOutput(Response response) throws IOException
+    {
+        Assert.assertEquals(Response.Status.OK.getStatusCode(), response.getStatus());
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        ((StreamingOutput) response.getEntity()).write(output);
+        return output.toByteArray();
+    }
+
     @Test
     public void canGetEntityByPathForProjectAndVersion()
     {
@@ -130,7 +225,7 @@ public class TestEntitiesResource extends TestBaseServices
         Assert.assertNotNull(metricsStore.get("examples.metadata", "test", "2.3.0").get(0).getLastQueryTime());
         TimeUnit.SECONDS.sleep(30);
 
-        Response responseTwo = entitiesResource.getEntities("example.services.test", "test", "1.0.1", null);
+        Response responseTwo = entitiesResource.getEntities("example.services.test", "test", "1.0.1", false, null);
         Assert.assertEquals(Response.Status.OK.getStatusCode(), responseTwo.getStatus());
         metricsHandler.persist(metricsRegistry);
 
@@ -289,4 +289,21 @@ public class TestEntitiesService extends TestBaseServices
 
         Assert.assertThrows("project version not found for examples.metadata-test-3.0.1", IllegalArgumentException.class, () -> entitiesService.getEntityFromDependencies("examples.metadata", "test", "3.0.1", Lists.fixedSize.of("covid::JHUCovid19"), false));
     }
+
+    @Test
+    public void entityFoundInSeveralDependenciesResolvesDeterministically()
+    {
+        String path = "examples::metadata::Shared";
+        entitiesStore.createOrUpdate("examples.metadata", "test-dependencies", "1.0.0", Collections.singletonList(new EntityDefinition(path, "meta::pure::metamodel::type::Class", Collections.singletonMap("package", "examples::metadata"))));
+        entitiesStore.createOrUpdate("example.services.test", "test", "2.0.1", Collections.singletonList(new EntityDefinition(path, "meta::pure::metamodel::type::Enumeration", Collections.singletonMap("package", "examples::metadata"))));
+        entitiesStore.createOrUpdate("examples.metadata", "test", "2.3.1", Collections.singletonList(new EntityDefinition(path, "meta::pure::metamodel::relationship::Association", Collections.singletonMap("package", "examples::metadata"))));
+
+        List<Entity> entity = entitiesService.getEntityFromDependencies("examples.metadata", "test", "2.3.1", Lists.fixedSize.of(path), false);
+        Assert.assertEquals(1, entity.size());
+        Assert.assertEquals("meta::pure::metamodel::type::Enumeration", entity.get(0).getClassifierPath());
+
+        entity = entitiesService.getEntityFromDependencies("examples.metadata", "test", "2.3.1", Lists.fixedSize.of(path), true);
+        Assert.assertEquals(1, entity.size());
+        Assert.assertEquals("meta::pure::metamodel::relationship::Association", entity.get(0).getClassifierPath());
+    }
 }
@@ -22,10 +22,14 @@ import com.mongodb.client.MongoDatabase;
 import com.mongodb.client.model.Aggregates;
 import com.mongodb.client.model.Filters;
 import com.mongodb.client.model.Projections;
+import com.mongodb.client.model.UpdateOneModel;
 import com.mongodb.client.model.Updates;
+import com.mongodb.client.model.WriteModel;
 import org.bson.Document;
 import org.bson.conversions.Bson;
+import org.finos.legend.depot.core.services.executors.DepotExecutors;
 import org.finos.legend.depot.domain.project.ProjectVersion;
+import org.finos.legend.depot.store.mongo.entities.AbstractEntitiesMongo;
 import org.finos.legend.depot.store.mongo.entities.EntitiesMongo;
 import org.slf4j.Logger;
 
@@ -36,7 +40,9 @@ import java.util.Arrays;
 import java.util.ArrayList;
 import java.util.StringTokenizer;
 import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.function.Consumer;
+import java.util.function.Function;
 
 import static com.mongodb.client.model.Aggregates.group;
 import static com.mongodb.client.model.Filters.and;
@@ -44,6 +50,7 @@ import static com.mongodb.client.model.Filters.eq;
 import static org.finos.legend.depot.store.mongo.core.BaseMongo.ARTIFACT_ID;
 import static org.finos.legend.depot.store.mongo.core.BaseMongo.GROUP_ID;
 import static org.finos.legend.depot.store.mongo.core.BaseMongo.VERSION_ID;
+import static org.finos.legend.depot.domain.version.VersionValidator.BRANCH_SNAPSHOT;
 
 @Deprecated
 public final class EntitiesMigration
@@ -57,6 +64,9 @@ public final class EntitiesMigration
     static final String ENTITY_ATTRIBUTES = "entityAttributes";
     static final String CLASSIFIER_PATH = "classifierPath";
     static final String PATH = "path";
+    static final String PROJECTS_COLLECTION = "project-configurations";
+    static final String LATEST_VERSION = "latestVersion";
+    private static final int UPDATE_BATCH_SIZE = 1000;
     private final MongoDatabase mongoDatabase;
     private static final Logger LOGGER = org.slf4j.LoggerFactory.getLogger(EntitiesMigration.class);
 
@@ -77,7 +87,7 @@ public final class EntitiesMigration
     {
         MongoCollection<Document> entitiesCollection = mongoDatabase.getCollection(EntitiesMongo.COLLECTION);
         AtomicInteger i = new AtomicInteger();
-        getAllStoredEntitiesCoordinates().parallelStream().forEach(pv ->
+        DepotExecutors.io().forEach(getAllStoredEntitiesCoordinates(), pv ->
         {
             entitiesCollection.find(and(and(eq(GROUP_ID, pv.getGroupId()), eq(ARTIFACT_ID, pv.getArtifactId())), eq(VERSION_ID, pv.getVersionId())))
                 .forEach((Consumer<Document>) document ->
@@ -113,6 +123,59 @@ public final class EntitiesMigration
         LOGGER.info(String.format("Entities update completed", i.get()));
     }
 
+    public long addPathSearchKeys(String collectionName)
+    {
+        long updated = addEntityAttributeDerivedField(collectionName, AbstractEntitiesMongo.PATH_SEARCH_KEYS, PATH, AbstractEntitiesMongo::buildPathSearchKeys);
+        LOGGER.info(String.format("%s: path search keys added to %s entities", collectionName, updated));
+        return updated;
+    }
+
+    public long addAncestorPackages(String collectionName)
+    {
+        long updated = addEntityAttributeDerivedField(collectionName, AbstractEntitiesMongo.ANCESTOR_PACKAGES, PACKAGE, AbstractEntitiesMongo::buildAncestorPackages);
+        LOGGER.info(String.format("%s: ancestor packages added to %s entities", collectionName, updated));
+        return updated;
+    }
+
+    private long addEntityAttributeDerivedField(String collectionName, String field, String attribute, Function<String, List<String>> derivation)
+    {
+        MongoCollection<Document> collection = mongoDatabase.getCollection(collectionName);
+        List<WriteModel<Document>> updates = new ArrayList<>();
+        AtomicLong updated = new AtomicLong();
+        collection.find(Filters.exists(field, false)).projection(Projections.include(ENTITY_ATTRIBUTES + "." + attribute))
+                .forEach((Consumer<Document>) document ->
+                {
+                    String value = document.getEmbedded(Arrays.asList(ENTITY_ATTRIBUTES, attribute), String.class);
+                    if (value != null)
+                    {
+                        updates.add(new UpdateOneModel<>(eq("_id", document.getObjectId("_id")), Updates.set(field, derivation.apply(value))));
+                    }
+                    if (updates.size() >= UPDATE_BATCH_SIZE)
+                    {
+                        updated.addAndGet(collection.bulkWrite(updates).getModifiedCount());
+                        updates.clear();
+                    }
+                });
+        if (!updates.isEmpty())
+        {
+            updated.addAndGet(collection.bulkWrite(updates).getModifiedCount());
+        }
+        return updated.get();
+    }
+
+    public long addVersionFlags(AbstractEntitiesMongo<?> entities, String collectionName)
+    {
+        MongoCollection<Document> collection = mongoDatabase.getCollection(collectionName);
+        AtomicLong updated = new AtomicLong();
+        updated.addAndGet(collection.updateMany(and(Filters.exists(AbstractEntitiesMongo.IS_SNAPSHOT, false), Filters.regex(VERSION_ID, BRANCH_SNAPSHOT(""))), Updates.set(AbstractEntitiesMongo.IS_SNAPSHOT, true)).getModifiedCount());
+        updated.addAndGet(collection.updateMany(Filters.exists(AbstractEntitiesMongo.IS_SNAPSHOT, false), Updates.set(AbstractEntitiesMongo.IS_SNAPSHOT, false)).getModifiedCount());
+        mongoDatabase.getCollection(PROJECTS_COLLECTION).find(Filters.ne(LATEST_VERSION, null)).projection(Projections.include(GROUP_ID, ARTIFACT_ID, LATEST_VERSION))
+                .forEach((Consumer<Document>) document -> updated.addAndGet(entities.setLatestVersion(document.getString(GROUP_ID), document.getString(ARTIFACT_ID), document.getString(LATEST_VERSION))));
+        updated.addAndGet(collection.updateMany(Filters.exists(AbstractEntitiesMongo.IS_LATEST, false), Updates.set(AbstractEntitiesMongo.IS_LATEST, false)).getModifiedCount());
+        LOGGER.info(String.format("%s: version flags updated on %s entities", collectionName, updated.get()));
+        return updated.get();
+    }
+
     private List<ProjectVersion> getAllStoredEntitiesCoordinates()
     {
         List<ProjectVersion> result = new ArrayList<>();
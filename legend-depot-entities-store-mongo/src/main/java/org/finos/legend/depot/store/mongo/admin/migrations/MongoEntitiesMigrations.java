@@ -17,6 +17,8 @@ package org.finos.legend.depot.store.mongo.admin.migrations;
 
 import com.mongodb.client.MongoDatabase;
 import com.mongodb.client.result.DeleteResult;
+import org.finos.legend.depot.store.mongo.entities.EntitiesMongo;
+import org.finos.legend.depot.store.mongo.versionedEntities.VersionedEntitiesMongo;
 
 import javax.inject.Inject;
 import javax.inject.Named;
@@ -42,4 +44,22 @@ public class MongoEntitiesMigrations extends MongoMigrations
     {
         new EntitiesMigration(mongoDatabase).entitiesToStoredEntityDataMigration();
     }
+
+    public long addEntityPathSearchKeys()
+    {
+        EntitiesMigration migration = new EntitiesMigration(mongoDatabase);
+        return migration.addPathSearchKeys(EntitiesMongo.COLLECTION) + migration.addPathSearchKeys(VersionedEntitiesMongo.COLLECTION);
+    }
+
+    public long addEntityAncestorPackages()
+    {
+        EntitiesMigration migration = new EntitiesMigration(mongoDatabase);
+        return migration.addAncestorPackages(EntitiesMongo.COLLECTION) + migration.addAncestorPackages(VersionedEntitiesMongo.COLLECTION);
+    }
+
+    public long addEntityVersionFlags()
+    {
+        EntitiesMigration migration = new EntitiesMigration(mongoDatabase);
+        return migration.addVersionFlags(new EntitiesMongo<>(mongoDatabase), EntitiesMongo.COLLECTION) + migration.addVersionFlags(new VersionedEntitiesMongo(mongoDatabase), VersionedEntitiesMongo.COLLECTION);
+    }
 }
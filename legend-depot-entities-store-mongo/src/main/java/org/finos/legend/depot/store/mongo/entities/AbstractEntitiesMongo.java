@@ -30,7 +30,9 @@ import org.bson.conversions.Bson;
 import org.eclipse.collections.api.tuple.Pair;
 import org.eclipse.collections.impl.tuple.Tuples;
 import org.eclipse.collections.impl.utility.ListIterate;
+import org.finos.legend.depot.core.services.executors.DepotExecutors;
 import org.finos.legend.depot.domain.project.ProjectVersion;
+import org.finos.legend.depot.domain.version.VersionValidator;
 import org.finos.legend.depot.store.model.entities.StoredEntity;
 import org.finos.legend.depot.store.mongo.core.BaseMongo;
 import org.finos.legend.sdlc.domain.model.entity.Entity;
@@ -38,7 +40,9 @@ import org.finos.legend.sdlc.domain.model.entity.Entity;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.HashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Locale;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
@@ -48,15 +52,19 @@ import java.util.regex.Pattern;
 import java.util.stream.Collectors;
 
 import static com.mongodb.client.model.Aggregates.group;
+import static com.mongodb.client.model.Filters.all;
 import static com.mongodb.client.model.Filters.and;
 import static com.mongodb.client.model.Filters.eq;
+import static com.mongodb.client.model.Filters.exists;
 import static com.mongodb.client.model.Filters.in;
+import static com.mongodb.client.model.Filters.ne;
 import static com.mongodb.client.model.Filters.not;
 import static com.mongodb.client.model.Filters.or;
 import static com.mongodb.client.model.Filters.regex;
 import static com.mongodb.client.model.Updates.combine;
 import static com.mongodb.client.model.Updates.currentDate;
 import static com.mongodb.client.model.Updates.set;
+import static com.mongodb.client.model.Updates.setOnInsert;
 import static org.finos.legend.depot.domain.version.VersionValidator.BRANCH_SNAPSHOT;
 
 public abstract class AbstractEntitiesMongo<T extends StoredEntity> extends BaseMongo<T>
@@ -76,7 +84,12 @@ public abstract class AbstractEntitiesMongo<T extends StoredEntity> extends Base
     protected static final String VERSIONED_ENTITY_TYPE_STRING_DATA = "versionedEntityStringData";
     protected static final ObjectMapper objectMapper = new ObjectMapper().configure(SerializationFeature.WRITE_NULL_MAP_VALUES, true);
     static final String RE_STRING_START = "^";
-    static final String RE_STAR = "*";
+    static final String PACKAGE_SEPARATOR = "::";
+    public static final String PATH_SEARCH_KEYS = "pathSearchKeys";
+    public static final String IS_LATEST = "isLatest";
+    public static final String IS_SNAPSHOT = "isSnapshot";
+    public static final String ANCESTOR_PACKAGES = "ancestorPackages";
+    private static final int PATH_SEARCH_KEY_LENGTH = 3;
 
     protected AbstractEntitiesMongo(MongoDatabase mongoDatabase, Class documentClass)
     {
@@ -98,6 +111,17 @@ public abstract class AbstractEntitiesMongo<T extends StoredEntity> extends Base
         return getArtifactFilter(groupId, artifactId);
     }
 
+    //entities stored before the version flags were introduced fall back to matching the version id
+    protected Bson getReleasedFilter()
+    {
+        return or(eq(IS_SNAPSHOT, false), and(exists(IS_SNAPSHOT, false), not(Filters.regex(BaseMongo.VERSION_ID, BRANCH_SNAPSHOT("")))));
+    }
+
+    protected Bson getSnapshotFilter()
+    {
+        return or(eq(IS_SNAPSHOT, true), and(exists(IS_SNAPSHOT, false), Filters.regex(BaseMongo.VERSION_ID, BRANCH_SNAPSHOT(""))));
+    }
+
     protected abstract Bson getKeyFilter(T data);
 
     protected abstract void validateNewData(T data);
@@ -110,26 +134,37 @@ public abstract class AbstractEntitiesMongo<T extends StoredEntity> extends Base
         return findOne(filterByKey).map(this::resolvedToEntityDefinition);
     }
 
-    private List<Entity> getEntities(String groupId, String artifactId, String versionId, List<String> entityPaths)
-    {
-        List<Bson> filters = new ArrayList<>();
-        filters.add(or(ListIterate.collect(entityPaths, path -> getEntityPathFilter(groupId, artifactId, versionId, path))));
-        return find(and(filters)).stream().map(this::resolvedToEntityDefinition).collect(Collectors.toList());
-    }
-
     public List<Entity> getEntityFromDependencies(Set<ProjectVersion> dependencies, List<String> entityPaths)
     {
-        List<Entity> entity = new ArrayList<>();
-        for (ProjectVersion dep : dependencies)
+        if (dependencies.isEmpty() || entityPaths.isEmpty())
+        {
+            return new ArrayList<>();
+        }
+        //one query for the whole closure, a path found in several dependencies resolves to the first one in the given order
+        Map<ProjectVersion, Integer> dependencyOrder = new HashMap<>();
+        dependencies.forEach(dependency -> dependencyOrder.putIfAbsent(dependency, dependencyOrder.size()));
+        Bson dependenciesFilter = or(dependencies.stream().map(dependency -> getArtifactAndVersionVersionedFilter(dependency.getGroupId(), dependency.getArtifactId(), dependency.getVersionId())).collect(Collectors.toList()));
+        Map<String, Pair<Integer, T>> entitiesByPath = new HashMap<>();
+        for (T storedEntity : find(and(in(ENTITY_PATH, new LinkedHashSet<>(entityPaths)), dependenciesFilter)))
+        {
+            String path = (String) storedEntity.getEntityAttributes().get(PATH);
+            int order = dependencyOrder.getOrDefault(new ProjectVersion(storedEntity.getGroupId(), storedEntity.getArtifactId(), storedEntity.getVersionId()), dependencyOrder.size());
+            Pair<Integer, T> current = entitiesByPath.get(path);
+            if (current == null || order < current.getOne())
+            {
+                entitiesByPath.put(path, Tuples.pair(order, storedEntity));
+            }
+        }
+        List<Entity> result = new ArrayList<>();
+        for (String path : new LinkedHashSet<>(entityPaths))
         {
-            List<Entity> depEntity = this.getEntities(dep.getGroupId(), dep.getArtifactId(), dep.getVersionId(), entityPaths);
-            entity.addAll(depEntity);
-            if (depEntity.size() == entityPaths.size())
+            Pair<Integer, T> found = entitiesByPath.get(path);
+            if (found != null)
             {
-                break;
+                result.add(resolvedToEntityDefinition(found.getTwo()));
             }
         }
-        return entity;
+        return result;
     }
 
     public List<T> getStoredEntities(String groupId, String artifactId)
@@ -144,7 +179,22 @@ public abstract class AbstractEntitiesMongo<T extends StoredEntity> extends Base
 
     public List<Entity> getAllEntities(String groupId, String artifactId, String versionId)
     {
-        return find(getArtifactAndVersionVersionedFilter(groupId, artifactId, versionId)).parallelStream().map(this::resolvedToEntityDefinition).collect(Collectors.toList());
+        return DepotExecutors.cpu().map(find(getArtifactAndVersionVersionedFilter(groupId, artifactId, versionId)), this::resolvedToEntityDefinition);
+    }
+
+    public void forEachEntityData(String groupId, String artifactId, String versionId, Consumer<String> entityDataConsumer)
+    {
+        executeFind(getArtifactAndVersionVersionedFilter(groupId, artifactId, versionId)).forEach((Consumer<Document>) doc -> entityDataConsumer.accept(resolvedToEntityData(doc)));
+    }
+
+    protected String resolvedToEntityData(Document document)
+    {
+        Object data = document.get(ENTITY_DATA);
+        if (data instanceof String)
+        {
+            return (String) data;
+        }
+        return serializeEntity(resolvedToEntityDefinition(convert(document)));
     }
 
     public List<Entity> getEntitiesByPackage(String groupId, String artifactId, String versionId, String packageName, Set<String> classifierPaths, boolean includeSubPackages)
@@ -152,7 +202,7 @@ public abstract class AbstractEntitiesMongo<T extends StoredEntity> extends Base
         Bson filter = getArtifactAndVersionVersionedFilter(groupId, artifactId, versionId);
         if (packageName != null && !packageName.trim().isEmpty() && includeSubPackages)
         {
-            filter = and(filter, regex(ENTITY_PACKAGE, RE_STRING_START + packageName + RE_STAR));
+            filter = and(filter, getSubPackagesFilter(packageName));
         }
         else if (packageName != null && !packageName.trim().isEmpty())
         {
@@ -164,19 +214,17 @@ public abstract class AbstractEntitiesMongo<T extends StoredEntity> extends Base
             filter = and(filter, in(ENTITY_CLASSIFIER_PATH, classifierPaths));
         }
 
-        return find(filter).parallelStream()
-                .map(this::resolvedToEntityDefinition)
-                .collect(Collectors.toList());
+        return DepotExecutors.cpu().map(find(filter), this::resolvedToEntityDefinition);
     }
 
     public FindIterable findReleasedEntitiesByClassifier(String classifier)
     {
-        return executeFind(and(eq(ENTITY_CLASSIFIER_PATH, classifier), not(Filters.regex(BaseMongo.VERSION_ID, BRANCH_SNAPSHOT("")))));
+        return executeFind(and(eq(ENTITY_CLASSIFIER_PATH, classifier), getReleasedFilter()));
     }
 
     public FindIterable findLatestEntitiesByClassifier(String classifier)
     {
-        return executeFind(and(eq(ENTITY_CLASSIFIER_PATH, classifier), Filters.regex(BaseMongo.VERSION_ID, BRANCH_SNAPSHOT(""))));
+        return executeFind(and(eq(ENTITY_CLASSIFIER_PATH, classifier), getSnapshotFilter()));
     }
 
     public FindIterable findEntitiesByClassifierAndVersions(String classifier, List<ProjectVersion> projectVersions)
@@ -194,10 +242,10 @@ public abstract class AbstractEntitiesMongo<T extends StoredEntity> extends Base
     {
         List<Bson> filters = new ArrayList<>();
         filters.add(eq(ENTITY_CLASSIFIER_PATH, classifier));
-        filters.add(Filters.not(Filters.regex(BaseMongo.VERSION_ID, BRANCH_SNAPSHOT(""))));
+        filters.add(getReleasedFilter());
         if (search != null)
         {
-            filters.add(Filters.regex(ENTITY_PATH, Pattern.quote(search), "i"));
+            filters.add(getEntityPathSearchFilter(search));
         }
         return executeFind(and(filters));
     }
@@ -206,10 +254,10 @@ public abstract class AbstractEntitiesMongo<T extends StoredEntity> extends Base
     {
         List<Bson> filters = new ArrayList<>();
         filters.add(eq(ENTITY_CLASSIFIER_PATH, classifier));
-        filters.add(Filters.regex(BaseMongo.VERSION_ID, BRANCH_SNAPSHOT("")));
+        filters.add(getSnapshotFilter());
         if (search != null)
         {
-            filters.add(Filters.regex(ENTITY_PATH, Pattern.quote(search), "i"));
+            filters.add(getEntityPathSearchFilter(search));
         }
         return executeFind(and(filters));
     }
@@ -224,15 +272,94 @@ public abstract class AbstractEntitiesMongo<T extends StoredEntity> extends Base
         }
         else
         {
-            filters.add(Filters.not(Filters.regex(BaseMongo.VERSION_ID, BRANCH_SNAPSHOT(""))));
+            filters.add(getReleasedFilter());
         }
         if (search != null)
         {
-            filters.add(Filters.regex(ENTITY_PATH, Pattern.quote(search), "i"));
+            filters.add(getEntityPathSearchFilter(search));
+        }
+        return executeFind(and(filters));
+    }
+
+    public FindIterable findLatestReleasedEntitiesByClassifier(String classifier, String search)
+    {
+        List<Bson> filters = new ArrayList<>();
+        filters.add(eq(ENTITY_CLASSIFIER_PATH, classifier));
+        filters.add(eq(IS_LATEST, true));
+        if (search != null)
+        {
+            filters.add(getEntityPathSearchFilter(search));
         }
         return executeFind(and(filters));
     }
 
+    public FindIterable findEntitiesWithoutLatestVersionFlag(String classifier)
+    {
+        return getCollection().find(and(eq(ENTITY_CLASSIFIER_PATH, classifier), exists(IS_LATEST, false))).projection(Projections.include(ENTITY_CLASSIFIER_PATH)).limit(1);
+    }
+
+    public long setLatestVersion(String groupId, String artifactId, String versionId)
+    {
+        long previous = getCollection().updateMany(and(getArtifactVersionedFilter(groupId, artifactId), eq(IS_LATEST, true), ne(BaseMongo.VERSION_ID, versionId)), set(IS_LATEST, false)).getModifiedCount();
+        long latest = getCollection().updateMany(and(getArtifactAndVersionVersionedFilter(groupId, artifactId, versionId), ne(IS_LATEST, true)), set(IS_LATEST, true)).getModifiedCount();
+        return previous + latest;
+    }
+
+    /**
+     * Distinct lower cased trigrams of the path. Any path containing a search term contains all the trigrams of the term,
+     * so matching them on an indexed array narrows a case insensitive substring search down to a handful of candidates.
+     */
+    public static List<String> buildPathSearchKeys(String path)
+    {
+        String lowerCasePath = path.toLowerCase(Locale.ROOT);
+        Set<String> keys = new LinkedHashSet<>();
+        for (int i = 0; i + PATH_SEARCH_KEY_LENGTH <= lowerCasePath.length(); i++)
+        {
+            keys.add(lowerCasePath.substring(i, i + PATH_SEARCH_KEY_LENGTH));
+        }
+        return new ArrayList<>(keys);
+    }
+
+    protected Bson getEntityPathSearchFilter(String search)
+    {
+        Bson pathFilter = Filters.regex(ENTITY_PATH, Pattern.quote(search), "i");
+        List<String> searchKeys = buildPathSearchKeys(search);
+        if (searchKeys.isEmpty())
+        {
+            return pathFilter;
+        }
+        //entities stored before search keys were introduced have none and are only matched by the path expression
+        return and(or(all(PATH_SEARCH_KEYS, searchKeys), exists(PATH_SEARCH_KEYS, false)), pathFilter);
+    }
+
+    /**
+     * Every package enclosing the package, outermost first, followed by the package itself,
+     * so that sub package queries become exact matches on an indexed array.
+     */
+    public static List<String> buildAncestorPackages(String packageName)
+    {
+        List<String> ancestors = new ArrayList<>();
+        if (packageName == null || packageName.isEmpty())
+        {
+            return ancestors;
+        }
+        int separator = packageName.indexOf(PACKAGE_SEPARATOR);
+        while (separator != -1)
+        {
+            ancestors.add(packageName.substring(0, separator));
+            separator = packageName.indexOf(PACKAGE_SEPARATOR, separator + PACKAGE_SEPARATOR.length());
+        }
+        ancestors.add(packageName);
+        return ancestors;
+    }
+
+    protected Bson getSubPackagesFilter(String packageName)
+    {
+        //entities stored before ancestor packages were introduced are matched on the package itself or a package nested in it
+        Bson packageFilter = or(eq(ENTITY_PACKAGE, packageName), regex(ENTITY_PACKAGE, RE_STRING_START + Pattern.quote(packageName + PACKAGE_SEPARATOR)));
+        return or(eq(ANCESTOR_PACKAGES, packageName), and(exists(ANCESTOR_PACKAGES, false), packageFilter));
+    }
+
     public long delete(String groupId, String artifactId, String versionId)
     {
         return delete(getArtifactAndVersionVersionedFilter(groupId, artifactId, versionId));
@@ -276,14 +403,19 @@ public abstract class AbstractEntitiesMongo<T extends StoredEntity> extends Base
         }
     }
 
-    protected Map<String, ?> buildEntityAttributes(Entity entity)
+    private static String getPackageName(Entity entity)
+    {
+        return entity.getContent() != null ? entity.getContent().get(PACKAGE).toString() : null;
+    }
+
+    protected Map<String, ?> buildEntityAttributes(Entity entity, String packageName)
     {
         Map<String, String> entityAttributes = new HashMap<>();
         entityAttributes.put(PATH, entity.getPath());
         entityAttributes.put(CLASSIFIER_PATH, entity.getClassifierPath());
-        if (entity.getContent() != null)
+        if (packageName != null)
         {
-            entityAttributes.put(PACKAGE, entity.getContent().get(PACKAGE).toString());
+            entityAttributes.put(PACKAGE, packageName);
         }
         return entityAttributes;
     }
@@ -291,13 +423,24 @@ public abstract class AbstractEntitiesMongo<T extends StoredEntity> extends Base
 
     protected Bson combineDocument(T storedEntity, Entity entity, String entityType)
     {
+        return combineDocument(storedEntity, entity, serializeEntity(entity), entityType);
+    }
+
+    protected Bson combineDocument(T storedEntity, Entity entity, String entityData, String entityType)
+    {
+        String packageName = getPackageName(entity);
         return combine(
                 set(BaseMongo.GROUP_ID, storedEntity.getGroupId()),
                 set(BaseMongo.ARTIFACT_ID, storedEntity.getArtifactId()),
                 set(BaseMongo.VERSION_ID, storedEntity.getVersionId()),
-                set(ENTITY_ATTRIBUTES, buildEntityAttributes(entity)),
+                set(ENTITY_ATTRIBUTES, buildEntityAttributes(entity, packageName)),
+                set(PATH_SEARCH_KEYS, buildPathSearchKeys(entity.getPath())),
+                set(ANCESTOR_PACKAGES, buildAncestorPackages(packageName)),
+                set(IS_SNAPSHOT, VersionValidator.isSnapshotVersion(storedEntity.getVersionId())),
+                setOnInsert(IS_LATEST, false),
                 set(ENTITY_TYPE, entityType),
-                set(ENTITY_DATA, serializeEntity(entity)),
+                set(ENTITY_DATA, entityData),
+                set(BaseMongo.CONTENT_HASH, contentHash(entityData)),
                 currentDate(BaseMongo.UPDATED));
     }
 }
@@ -20,9 +20,12 @@ import com.mongodb.client.FindIterable;
 import com.mongodb.client.MongoCollection;
 import com.mongodb.client.MongoDatabase;
 import com.mongodb.client.model.IndexModel;
+import com.mongodb.client.model.UpdateOneModel;
 import com.mongodb.client.model.UpdateOptions;
+import com.mongodb.client.model.WriteModel;
 import org.bson.Document;
 import org.bson.conversions.Bson;
+import org.finos.legend.depot.core.services.executors.DepotExecutors;
 import org.finos.legend.depot.domain.CoordinateValidator;
 import org.finos.legend.depot.store.model.entities.EntityDefinition;
 import org.finos.legend.depot.domain.entity.EntityValidationErrors;
@@ -35,6 +38,7 @@ import org.finos.legend.depot.domain.project.ProjectVersion;
 import org.finos.legend.depot.domain.version.VersionValidator;
 import org.finos.legend.depot.store.api.entities.Entities;
 import org.finos.legend.depot.store.api.entities.UpdateEntities;
+import org.finos.legend.depot.store.model.IncrementalUpdateResult;
 import org.finos.legend.depot.store.mongo.core.BaseMongo;
 import org.finos.legend.sdlc.domain.model.entity.Entity;
 import org.finos.legend.sdlc.tools.entity.EntityPaths;
@@ -45,11 +49,14 @@ import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.function.Consumer;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 import static com.mongodb.client.model.Filters.and;
 import static com.mongodb.client.model.Filters.eq;
+import static com.mongodb.client.model.Filters.in;
 
 public class EntitiesMongo<T extends StoredEntity> extends AbstractEntitiesMongo<T> implements Entities<T>, UpdateEntities<T>
 {
@@ -72,8 +79,12 @@ public class EntitiesMongo<T extends StoredEntity> extends AbstractEntitiesMongo
     {
         return Arrays.asList(BaseMongo.buildIndex("groupId-artifactId-versionId", BaseMongo.GROUP_ID, BaseMongo.ARTIFACT_ID, BaseMongo.VERSION_ID),
                 BaseMongo.buildIndex("groupId-artifactId-versionId-entityAttributes-path", true, BaseMongo.GROUP_ID, BaseMongo.ARTIFACT_ID, BaseMongo.VERSION_ID, ENTITY_PATH),
+                BaseMongo.buildIndex("groupId-artifactId-versionId-ancestorPackages", BaseMongo.GROUP_ID, BaseMongo.ARTIFACT_ID, BaseMongo.VERSION_ID, ANCESTOR_PACKAGES),
                 BaseMongo.buildIndex("groupId-artifactId-versionId-entityAttributes-package", BaseMongo.GROUP_ID, BaseMongo.ARTIFACT_ID, BaseMongo.VERSION_ID, ENTITY_PACKAGE),
-                BaseMongo.buildIndex("entityAttributes-classifier", ENTITY_CLASSIFIER_PATH)
+                BaseMongo.buildIndex("entityAttributes-classifier", ENTITY_CLASSIFIER_PATH),
+                BaseMongo.buildIndex("entityAttributes-classifier-pathSearchKeys", ENTITY_CLASSIFIER_PATH, PATH_SEARCH_KEYS),
+                BaseMongo.buildIndex("entityAttributes-classifier-isLatest", ENTITY_CLASSIFIER_PATH, IS_LATEST),
+                BaseMongo.buildIndex("entityAttributes-classifier-isSnapshot", ENTITY_CLASSIFIER_PATH, IS_SNAPSHOT)
         );
     }
 
@@ -119,14 +130,60 @@ public class EntitiesMongo<T extends StoredEntity> extends AbstractEntitiesMongo
     @Override
     public List<T> createOrUpdate(String groupId, String artifactId, String versionId, List<Entity> entityDefinitions)
     {
-        List<StoredEntity> versionedEntities = new ArrayList<>();
-        entityDefinitions.parallelStream().forEach(item ->
+        List<T> versionedEntities = entityDefinitions.stream().map(item -> newStoredEntity(groupId, artifactId, versionId)).collect(Collectors.toList());
+        bulkWrite(DepotExecutors.cpu().map(entityDefinitions, item -> buildEntityUpsert(groupId, artifactId, versionId, item, serializeEntity(item))));
+        return versionedEntities;
+    }
+
+    protected T newStoredEntity(String groupId, String artifactId, String versionId)
+    {
+        return (T) new StoredEntityStringData(groupId, artifactId, versionId);
+    }
+
+    protected String getStoredEntityType()
+    {
+        return ENTITY_TYPE_STRING_DATA;
+    }
+
+    private WriteModel<Document> buildEntityUpsert(String groupId, String artifactId, String versionId, Entity entity, String entityData)
+    {
+        return new UpdateOneModel<>(getEntityPathFilter(groupId, artifactId, versionId, entity.getPath()), combineDocument(newStoredEntity(groupId, artifactId, versionId), entity, entityData, getStoredEntityType()), INSERT_IF_ABSENT);
+    }
+
+    @Override
+    public IncrementalUpdateResult incrementalUpdate(String groupId, String artifactId, String versionId, Stream<Entity> entityDefinitions)
+    {
+        Map<String, String> storedHashes = findContentHashes(getArtifactAndVersionVersionedFilter(groupId, artifactId, versionId), ENTITY_PATH);
+        List<WriteModel<Document>> upserts = new ArrayList<>();
+        AtomicLong total = new AtomicLong();
+        AtomicLong inserted = new AtomicLong();
+        AtomicLong updated = new AtomicLong();
+        //forEach pushes entities through one at a time, pulling through an iterator would buffer each artifact file in full
+        entityDefinitions.forEach(entity ->
         {
-            StoredEntity storedEntity = new StoredEntityStringData(groupId, artifactId, versionId);
-            getCollection().updateOne(getEntityPathFilter(groupId, artifactId, versionId, item.getPath()), combineDocument((T) storedEntity, item, ENTITY_TYPE_STRING_DATA), INSERT_IF_ABSENT);
-            versionedEntities.add(storedEntity);
+            total.incrementAndGet();
+            String entityData = serializeEntity(entity);
+            boolean stored = storedHashes.containsKey(entity.getPath());
+            String storedHash = storedHashes.remove(entity.getPath());
+            if (!stored)
+            {
+                inserted.incrementAndGet();
+                upserts.add(buildEntityUpsert(groupId, artifactId, versionId, entity, entityData));
+            }
+            else if (!contentHash(entityData).equals(storedHash))
+            {
+                updated.incrementAndGet();
+                upserts.add(buildEntityUpsert(groupId, artifactId, versionId, entity, entityData));
+            }
+            if (upserts.size() >= getBulkWriteBatchSize())
+            {
+                bulkWrite(upserts);
+                upserts.clear();
+            }
         });
-        return (List<T>) versionedEntities;
+        bulkWrite(upserts);
+        long deleted = storedHashes.isEmpty() ? 0 : delete(and(getArtifactAndVersionVersionedFilter(groupId, artifactId, versionId), in(ENTITY_PATH, storedHashes.keySet())));
+        return new IncrementalUpdateResult(inserted.get(), updated.get(), deleted, total.get() - inserted.get() - updated.get());
     }
 
     public List<T> createOrUpdate(List<T> versionedEntities)
@@ -196,6 +253,24 @@ public class EntitiesMongo<T extends StoredEntity> extends AbstractEntitiesMongo
         return curateDepotEntity(findIterable);
     }
 
+    @Override
+    public boolean hasLatestVersionFlags(String classifier)
+    {
+        return super.findEntitiesWithoutLatestVersionFlag(classifier).first() == null;
+    }
+
+    @Override
+    public List<DepotEntity> findLatestReleasedClassifierEntities(String classifier, String search, Integer limit)
+    {
+        FindIterable findIterable = super.findLatestReleasedEntitiesByClassifier(classifier, search);
+
+        if (limit != null)
+        {
+            return curateDepotEntity(findIterable.limit(limit));
+        }
+        return curateDepotEntity(findIterable);
+    }
+
     @Override
     public List<DepotEntity> findClassifierEntitiesByVersions(String classifier, List<ProjectVersion> projectVersions, String search, Integer limit)
     {
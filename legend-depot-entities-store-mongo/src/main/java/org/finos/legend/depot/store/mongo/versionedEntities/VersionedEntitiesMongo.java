@@ -31,7 +31,6 @@ import org.finos.legend.sdlc.domain.model.entity.Entity;
 
 import javax.inject.Inject;
 import javax.inject.Named;
-import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
 
@@ -49,8 +48,12 @@ public class VersionedEntitiesMongo extends EntitiesMongo<StoredVersionedEntity>
     {
         return Arrays.asList(buildIndex("groupId-artifactId-versionId", GROUP_ID, ARTIFACT_ID, VERSION_ID),
                 buildIndex("groupId-artifactId-versionId-entityPath", true, GROUP_ID, ARTIFACT_ID, VERSION_ID, ENTITY_PATH),
+                buildIndex("groupId-artifactId-versionId-ancestorPackages", GROUP_ID, ARTIFACT_ID, VERSION_ID, ANCESTOR_PACKAGES),
                 buildIndex("groupId-artifactId-versionId-package", GROUP_ID, ARTIFACT_ID, VERSION_ID, ENTITY_PACKAGE),
-                buildIndex("entity-classifier", ENTITY_CLASSIFIER_PATH)
+                buildIndex("entity-classifier", ENTITY_CLASSIFIER_PATH),
+                buildIndex("entity-classifier-pathSearchKeys", ENTITY_CLASSIFIER_PATH, PATH_SEARCH_KEYS),
+                buildIndex("entity-classifier-isLatest", ENTITY_CLASSIFIER_PATH, IS_LATEST),
+                buildIndex("entity-classifier-isSnapshot", ENTITY_CLASSIFIER_PATH, IS_SNAPSHOT)
         );
     }
 
@@ -61,16 +64,15 @@ public class VersionedEntitiesMongo extends EntitiesMongo<StoredVersionedEntity>
     }
 
     @Override
-    public List<StoredVersionedEntity> createOrUpdate(String groupId, String artifactId, String versionId, List<Entity> entityDefinitions)
+    protected StoredVersionedEntity newStoredEntity(String groupId, String artifactId, String versionId)
     {
-        List<StoredVersionedEntity> versionedEntities = new ArrayList<>();
-        entityDefinitions.parallelStream().forEach(item ->
-        {
-            StoredVersionedEntity storedEntity = new StoredVersionedEntityStringData(groupId, artifactId, versionId);
-            getCollection().updateOne(getEntityPathFilter(groupId, artifactId, versionId, item.getPath()), combineDocument(storedEntity, item, VERSIONED_ENTITY_TYPE_STRING_DATA), INSERT_IF_ABSENT);
-            versionedEntities.add(storedEntity);
-        });
-        return versionedEntities;
+        return new StoredVersionedEntityStringData(groupId, artifactId, versionId);
+    }
+
+    @Override
+    protected String getStoredEntityType()
+    {
+        return VERSIONED_ENTITY_TYPE_STRING_DATA;
     }
 
     @Override
@@ -84,4 +84,40 @@ public class EntitiesMigrationResource extends AuthorisedResource
             return Response.ok().build();
         });
     }
+
+    @PUT
+    @Path("/migrations/addEntityPathSearchKeys")
+    @ApiOperation("Add path search keys to entities stored before they were introduced")
+    public Response addEntityPathSearchKeys()
+    {
+        return handle("Add path search keys to entities", () ->
+        {
+            validateUser();
+            return Response.ok().entity(mongoMigrations.addEntityPathSearchKeys()).build();
+        });
+    }
+
+    @PUT
+    @Path("/migrations/addEntityVersionFlags")
+    @ApiOperation("Add latest and snapshot version flags to entities stored before they were introduced")
+    public Response addEntityVersionFlags()
+    {
+        return handle("Add version flags to entities", () ->
+        {
+            validateUser();
+            return Response.ok().entity(mongoMigrations.addEntityVersionFlags()).build();
+        });
+    }
+
+    @PUT
+    @Path("/migrations/addEntityAncestorPackages")
+    @ApiOperation("Add ancestor packages to entities stored before they were introduced")
+    public Response addEntityAncestorPackages()
+    {
+        return handle("Add ancestor packages to entities", () ->
+        {
+            validateUser();
+            return Response.ok().entity(mongoMigrations.addEntityAncestorPackages()).build();
+        });
+    }
 }
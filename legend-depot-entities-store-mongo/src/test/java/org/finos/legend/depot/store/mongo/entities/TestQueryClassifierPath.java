@@ -18,12 +18,20 @@ package org.finos.legend.depot.store.mongo.entities;
 import org.eclipse.collections.api.factory.Lists;
 import org.finos.legend.depot.domain.project.ProjectVersion;
 import org.finos.legend.depot.store.mongo.TestStoreMongo;
+import org.finos.legend.depot.store.mongo.admin.migrations.MongoEntitiesMigrations;
 import org.finos.legend.depot.store.mongo.entities.test.EntitiesMongoTestUtils;
+import org.finos.legend.sdlc.domain.model.entity.Entity;
 import org.junit.Assert;
 import org.junit.Before;
 import org.junit.Test;
 
 import java.net.URL;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
 
 public class TestQueryClassifierPath extends TestStoreMongo
 {
@@ -68,4 +76,56 @@ public class TestQueryClassifierPath extends TestStoreMongo
         Assert.assertEquals(1, mongo.findClassifierEntitiesByVersions(CPATH, Lists.fixedSize.of(new ProjectVersion("examples.metadata", "test2", "2.3.0")), "TestProfileTwo", null).size());
         Assert.assertEquals(2, mongo.findClassifierEntitiesByVersions(CPATH, Lists.fixedSize.of(new ProjectVersion("examples.metadata", "test", "2.3.0"), new ProjectVersion("examples.metadata", "test2", "2.3.0")), "TestProfileTwo", null).size());
     }
+
+    @Test
+    public void canQueryLatestReleasedEntitiesByClassifier()
+    {
+        String CPATH = "meta::pure::metamodel::extension::Profile";
+        Assert.assertTrue(mongo.findLatestReleasedClassifierEntities(CPATH, null, null).isEmpty());
+        Assert.assertFalse(mongo.hasLatestVersionFlags(CPATH));
+
+        Assert.assertTrue(mongo.setLatestVersion("examples.metadata", "test", "2.2.0") > 0);
+        Assert.assertEquals(3, mongo.findLatestReleasedClassifierEntities(CPATH, null, null).size());
+        Assert.assertEquals(1, mongo.findLatestReleasedClassifierEntities(CPATH, "TestProfileTwo", 2).size());
+
+        mongo.setLatestVersion("examples.metadata", "test", "2.3.0");
+        Assert.assertEquals(1, mongo.findLatestReleasedClassifierEntities(CPATH, null, null).size());
+        Assert.assertEquals(0, mongo.setLatestVersion("examples.metadata", "test", "2.3.0"));
+
+        new MongoEntitiesMigrations(mongoProvider).addEntityVersionFlags();
+        Assert.assertTrue(mongo.hasLatestVersionFlags(CPATH));
+        Assert.assertEquals(6, mongo.findReleasedClassifierEntities(CPATH).size());
+        Assert.assertEquals(3, mongo.findLatestClassifierEntities(CPATH).size());
+    }
+
+    @Test
+    public void canGetEntitiesFromDependenciesWithUniquePaths()
+    {
+        Set<ProjectVersion> dependencies = new LinkedHashSet<>(Arrays.asList(new ProjectVersion("examples.metadata", "test2", "2.3.0"), new ProjectVersion("examples.metadata", "test", "2.2.0")));
+        List<Entity> entities = mongo.getEntityFromDependencies(dependencies, Arrays.asList("examples::metadata::test::subpackage::TestProfileThree", "examples::metadata::test::TestProfile", "unknown::Entity", "examples::metadata::test::subpackage::TestProfileTwo"));
+        Assert.assertEquals(Arrays.asList("examples::metadata::test::subpackage::TestProfileThree", "examples::metadata::test::TestProfile", "examples::metadata::test::subpackage::TestProfileTwo"), entities.stream().map(Entity::getPath).collect(Collectors.toList()));
+
+        Assert.assertTrue(mongo.getEntityFromDependencies(Collections.emptySet(), Arrays.asList("examples::metadata::test::TestProfile")).isEmpty());
+        Assert.assertTrue(mongo.getEntityFromDependencies(dependencies, Collections.emptyList()).isEmpty());
+    }
+
+    @Test
+    public void canSearchEntitiesByPathWithSearchKeys()
+    {
+        Assert.assertEquals(Arrays.asList("a::", "::b", ":bc", "bca"), AbstractEntitiesMongo.buildPathSearchKeys("A::bCa"));
+        Assert.assertTrue(AbstractEntitiesMongo.buildPathSearchKeys("ab").isEmpty());
+
+        String CPATH = "meta::pure::metamodel::extension::Profile";
+        Assert.assertEquals(3, mongo.findReleasedClassifierEntities(CPATH, "testprofiletwo", null).size());
+        Assert.assertTrue(new MongoEntitiesMigrations(mongoProvider).addEntityPathSearchKeys() > 0);
+        Assert.assertEquals(0, new MongoEntitiesMigrations(mongoProvider).addEntityPathSearchKeys());
+
+        Assert.assertEquals(3, mongo.findReleasedClassifierEntities(CPATH, "TestProfileTwo", null).size());
+        Assert.assertEquals(3, mongo.findReleasedClassifierEntities(CPATH, "testprofiletwo", null).size());
+        Assert.assertEquals(6, mongo.findReleasedClassifierEntities(CPATH, "PROFILE", null).size());
+        Assert.assertEquals(6, mongo.findReleasedClassifierEntities(CPATH, "Pr", null).size());
+        Assert.assertEquals(0, mongo.findReleasedClassifierEntities(CPATH, "TestProfileFour", null).size());
+        Assert.assertEquals(1, mongo.findLatestClassifierEntities(CPATH, "testProfileTwo", 2).size());
+        Assert.assertEquals(2, mongo.findClassifierEntitiesByVersions(CPATH, Lists.fixedSize.of(new ProjectVersion("examples.metadata", "test", "2.3.0"), new ProjectVersion("examples.metadata", "test2", "2.3.0")), "TESTPROFILETWO", null).size());
+    }
 }
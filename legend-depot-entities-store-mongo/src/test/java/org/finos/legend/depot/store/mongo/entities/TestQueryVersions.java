@@ -17,6 +17,7 @@ package org.finos.legend.depot.store.mongo.entities;
 
 import org.finos.legend.depot.store.model.entities.StoredEntity;
 import org.finos.legend.depot.store.mongo.TestStoreMongo;
+import org.finos.legend.depot.store.mongo.admin.migrations.MongoEntitiesMigrations;
 import org.finos.legend.depot.store.mongo.entities.test.EntitiesMongoTestUtils;
 import org.finos.legend.sdlc.domain.model.entity.Entity;
 import org.junit.Assert;
@@ -24,6 +25,7 @@ import org.junit.Before;
 import org.junit.Test;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
@@ -105,6 +107,24 @@ public class TestQueryVersions extends TestStoreMongo
         }
     }
 
+    @Test
+    public void canQueryEntityMetadataBySubPackageWithAncestorPackages()
+    {
+        Assert.assertEquals(Arrays.asList("examples", "examples::metadata", "examples::metadata::test"), AbstractEntitiesMongo.buildAncestorPackages("examples::metadata::test"));
+        Assert.assertTrue(AbstractEntitiesMongo.buildAncestorPackages(null).isEmpty());
+
+        Assert.assertEquals(3, versionsMongo.getEntitiesByPackage("examples.metadata", "test", "2.2.0", "examples::metadata", null, true).size());
+        Assert.assertEquals(1, versionsMongo.getEntitiesByPackage("examples.metadata", "test", "2.2.0", "examples::metadata::test::subpackage", null, true).size());
+        Assert.assertTrue(versionsMongo.getEntitiesByPackage("examples.metadata", "test", "2.2.0", "examples::metadata::tes", null, true).isEmpty());
+
+        Assert.assertTrue(new MongoEntitiesMigrations(mongoProvider).addEntityAncestorPackages() > 0);
+        Assert.assertEquals(0, new MongoEntitiesMigrations(mongoProvider).addEntityAncestorPackages());
+
+        Assert.assertEquals(3, versionsMongo.getEntitiesByPackage("examples.metadata", "test", "2.2.0", "examples::metadata", null, true).size());
+        Assert.assertEquals(1, versionsMongo.getEntitiesByPackage("examples.metadata", "test", "2.2.0", "examples::metadata::test::subpackage", null, true).size());
+        Assert.assertTrue(versionsMongo.getEntitiesByPackage("examples.metadata", "test", "2.2.0", "examples::metadata::tes", null, true).isEmpty());
+    }
+
     @Test
     public void canQueryEntityMetadataByClassifierPath()
     {
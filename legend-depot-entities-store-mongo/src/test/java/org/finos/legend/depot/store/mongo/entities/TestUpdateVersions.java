@@ -17,9 +17,12 @@ package org.finos.legend.depot.store.mongo.entities;
 
 import com.mongodb.client.MongoCollection;
 import org.bson.Document;
+import org.finos.legend.depot.store.model.IncrementalUpdateResult;
+import org.finos.legend.depot.store.model.entities.EntityDefinition;
 import org.finos.legend.depot.store.model.entities.StoredEntity;
 import org.finos.legend.depot.store.model.entities.StoredEntityData;
 import org.finos.legend.depot.store.mongo.TestStoreMongo;
+import org.finos.legend.depot.store.mongo.core.MongoBulkWriteConfiguration;
 import org.finos.legend.depot.store.mongo.entities.test.EntitiesMongoTestUtils;
 import org.finos.legend.sdlc.domain.model.entity.Entity;
 import org.junit.Assert;
@@ -28,9 +31,12 @@ import org.junit.Test;
 
 import java.net.URL;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 import static org.finos.legend.depot.store.mongo.entities.AbstractEntitiesMongo.CLASSIFIER_PATH;
 import static org.finos.legend.depot.store.mongo.entities.AbstractEntitiesMongo.PATH;
@@ -171,4 +177,64 @@ public class TestUpdateVersions extends TestStoreMongo
        Assert.assertEquals("stuff",found.get().getContent().get("new"));
     }
 
+    @Test
+    public void canStoreEntityDefinitionsInBatches()
+    {
+        entitiesMongo.setBulkWriteConfiguration(new MongoBulkWriteConfiguration(2, true));
+        List<Entity> definitions = entityUtils.readEntitiesFile(ENTITIES_FILE).stream().map(entity -> ((StoredEntityData) entity).getEntity()).collect(Collectors.toList());
+        Assert.assertEquals(3, definitions.size());
+
+        List result = entitiesMongo.createOrUpdate("examples.metadata", "test", "2.3.0", definitions);
+        Assert.assertEquals(3, result.size());
+        Assert.assertEquals(3, entitiesMongo.getAllEntities("examples.metadata", "test", "2.3.0").size());
+
+        entitiesMongo.createOrUpdate("examples.metadata", "test", "2.3.0", definitions);
+        Assert.assertEquals(3, entitiesMongo.getAllEntities("examples.metadata", "test", "2.3.0").size());
+    }
+
+    @Test
+    public void canUpdateOnlyChangedEntities()
+    {
+        Entity classA = new EntityDefinition("examples::metadata::ClassA", "meta::pure::metamodel::type::Class", Collections.singletonMap("package", "examples::metadata"));
+        Entity classB = new EntityDefinition("examples::metadata::ClassB", "meta::pure::metamodel::type::Class", Collections.singletonMap("package", "examples::metadata"));
+        Entity classC = new EntityDefinition("examples::metadata::ClassC", "meta::pure::metamodel::type::Class", Collections.singletonMap("package", "examples::metadata"));
+        Entity changedB = new EntityDefinition("examples::metadata::ClassB", "meta::pure::metamodel::type::Enumeration", Collections.singletonMap("package", "examples::metadata"));
+
+        IncrementalUpdateResult first = entitiesMongo.incrementalUpdate("examples.metadata", "test", "master-SNAPSHOT", Stream.of(classA, classB));
+        Assert.assertEquals(2, first.getInserted());
+
+        IncrementalUpdateResult second = entitiesMongo.incrementalUpdate("examples.metadata", "test", "master-SNAPSHOT", Stream.of(changedB, classC));
+        Assert.assertEquals(1, second.getInserted());
+        Assert.assertEquals(1, second.getUpdated());
+        Assert.assertEquals(1, second.getDeleted());
+        Assert.assertEquals(0, second.getUnchanged());
+
+        IncrementalUpdateResult third = entitiesMongo.incrementalUpdate("examples.metadata", "test", "master-SNAPSHOT", Stream.of(changedB, classC));
+        Assert.assertEquals(0, third.getInserted() + third.getUpdated() + third.getDeleted());
+        Assert.assertEquals(2, third.getUnchanged());
+
+        List<Entity> stored = entitiesMongo.getAllEntities("examples.metadata", "test", "master-SNAPSHOT");
+        Assert.assertEquals(Arrays.asList("examples::metadata::ClassB", "examples::metadata::ClassC"), stored.stream().map(Entity::getPath).sorted().collect(Collectors.toList()));
+        Assert.assertEquals("meta::pure::metamodel::type::Enumeration", ((Entity) entitiesMongo.getEntity("examples.metadata", "test", "master-SNAPSHOT", "examples::metadata::ClassB").get()).getClassifierPath());
+    }
+
+    @Test
+    public void entitiesAreWrittenAsTheyAreStreamed()
+    {
+        entitiesMongo.setBulkWriteConfiguration(new MongoBulkWriteConfiguration(1, true));
+        Entity classA = new EntityDefinition("examples::metadata::ClassA", "meta::pure::metamodel::type::Class", Collections.singletonMap("package", "examples::metadata"));
+        Entity classB = new EntityDefinition("examples::metadata::ClassB", "meta::pure::metamodel::type::Class", Collections.singletonMap("package", "examples::metadata"));
+        Stream<Entity> failingFile = Stream.<Entity>generate(() ->
+        {
+            throw new IllegalStateException("corrupted jar");
+        }).limit(1);
+
+        Assert.assertThrows(IllegalStateException.class, () -> entitiesMongo.incrementalUpdate("examples.metadata", "test", "master-SNAPSHOT", Stream.of(Stream.of(classA), failingFile).flatMap(file -> file)));
+        //batches written before the failure are kept until the refresh is retried
+        Assert.assertEquals(1, entitiesMongo.getAllEntities("examples.metadata", "test", "master-SNAPSHOT").size());
+
+        IncrementalUpdateResult retry = entitiesMongo.incrementalUpdate("examples.metadata", "test", "master-SNAPSHOT", Stream.of(Stream.of(classA), Stream.of(classB)).flatMap(file -> file));
+        Assert.assertEquals(1, retry.getInserted());
+        Assert.assertEquals(1, retry.getUnchanged());
+    }
 }
@@ -15,9 +15,11 @@
 
 package org.finos.legend.depot.services.api.generations;
 
+import org.finos.legend.depot.store.model.IncrementalUpdateResult;
 import org.finos.legend.depot.store.model.generations.StoredFileGeneration;
 
 import java.util.List;
+import java.util.stream.Stream;
 
 public interface ManageFileGenerationsService extends FileGenerationsService
 {
@@ -26,6 +28,8 @@ public interface ManageFileGenerationsService extends FileGenerationsService
 
     void createOrUpdate(List<StoredFileGeneration> storedFileGeneration);
 
+    IncrementalUpdateResult incrementalUpdate(String groupId, String artifactId, String versionId, Stream<StoredFileGeneration> storedFileGeneration);
+
     List<StoredFileGeneration> getAll();
 
 }
@@ -19,11 +19,11 @@ import org.finos.legend.depot.domain.generation.DepotGeneration;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import java.io.BufferedReader;
 import java.io.File;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.InputStreamReader;
+import java.io.Reader;
 import java.nio.charset.StandardCharsets;
 import java.nio.file.FileSystem;
 import java.nio.file.FileSystems;
@@ -35,7 +35,6 @@ import java.nio.file.attribute.BasicFileAttributes;
 import java.util.Collections;
 import java.util.List;
 import java.util.Objects;
-import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
 public class FileGenerationLoader implements AutoCloseable
@@ -43,6 +42,9 @@ public class FileGenerationLoader implements AutoCloseable
 
     public static final String META_INF = "/META-INF/";
     private static final Logger LOGGER = LoggerFactory.getLogger(FileGenerationLoader.class);
+    private static final String LINE_SEPARATOR = System.lineSeparator();
+    private static final int BUFFER_SIZE = 8192;
+    private static final int MAX_INITIAL_CAPACITY = 16 * 1024 * 1024;
     private final List<GenerationFileSearch> searchList;
 
     private FileGenerationLoader(List<GenerationFileSearch> searchList)
@@ -64,15 +66,10 @@ public class FileGenerationLoader implements AutoCloseable
 
     private static DepotGeneration readGeneration(Path path)
     {
-        try (InputStream stream = Files.newInputStream(path))
+        try (InputStream stream = Files.newInputStream(path);
+             Reader reader = new InputStreamReader(stream, StandardCharsets.UTF_8))
         {
-            DepotGeneration generation;
-            try (InputStreamReader reader = new InputStreamReader(stream, StandardCharsets.UTF_8))
-            {
-                String content = new BufferedReader(reader).lines().collect(Collectors.joining(System.lineSeparator()));
-                generation = new DepotGeneration(path.toString(), content);
-            }
-            return generation;
+            return new DepotGeneration(path.toString(), readContent(reader, Files.size(path)));
         }
         catch (IOException var6)
         {
@@ -81,6 +78,50 @@ public class FileGenerationLoader implements AutoCloseable
         }
     }
 
+    // single pass over the file with line terminators normalised to the platform separator and the trailing one dropped,
+    // equivalent to joining BufferedReader.lines() without materialising every line
+    private static String readContent(Reader reader, long size) throws IOException
+    {
+        StringBuilder content = new StringBuilder((int) Math.min(size, MAX_INITIAL_CAPACITY));
+        char[] buffer = new char[BUFFER_SIZE];
+        boolean afterCarriageReturn = false;
+        boolean endsWithLineTerminator = false;
+        int read;
+        while ((read = reader.read(buffer)) != -1)
+        {
+            for (int i = 0; i < read; i++)
+            {
+                char c = buffer[i];
+                if (c == '\r')
+                {
+                    content.append(LINE_SEPARATOR);
+                    afterCarriageReturn = true;
+                    endsWithLineTerminator = true;
+                }
+                else if (c == '\n')
+                {
+                    if (!afterCarriageReturn)
+                    {
+                        content.append(LINE_SEPARATOR);
+                    }
+                    afterCarriageReturn = false;
+                    endsWithLineTerminator = true;
+                }
+                else
+                {
+                    content.append(c);
+                    afterCarriageReturn = false;
+                    endsWithLineTerminator = false;
+                }
+            }
+        }
+        if (endsWithLineTerminator)
+        {
+            content.setLength(content.length() - LINE_SEPARATOR.length());
+        }
+        return content.toString();
+    }
+
     private static boolean isPossiblyGenerationFile(Path path)
     {
         return path != null && !path.startsWith(META_INF)
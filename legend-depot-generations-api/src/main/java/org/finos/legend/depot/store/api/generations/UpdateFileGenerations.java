@@ -15,9 +15,11 @@
 
 package org.finos.legend.depot.store.api.generations;
 
+import org.finos.legend.depot.store.model.IncrementalUpdateResult;
 import org.finos.legend.depot.store.model.generations.StoredFileGeneration;
 
 import java.util.List;
+import java.util.stream.Stream;
 
 
 public interface UpdateFileGenerations extends FileGenerations
@@ -25,6 +27,12 @@ public interface UpdateFileGenerations extends FileGenerations
 
     List<StoredFileGeneration> createOrUpdate(List<StoredFileGeneration> generation);
 
+    long createOrUpdateAll(List<StoredFileGeneration> generation);
+
     long delete(String groupId, String artifactId, String versionId);
 
+    //not atomic: changed items are written in batches as the stream is read and removed ones are deleted at the end,
+    //a failure part way leaves the version partially updated, callers report it as an error so the refresh is retried and reconciles it
+    IncrementalUpdateResult incrementalUpdate(String groupId, String artifactId, String versionId, Stream<StoredFileGeneration> generations);
+
 }
@@ -20,6 +20,7 @@ import io.swagger.annotations.ApiOperation;
 import io.swagger.annotations.ApiParam;
 import org.finos.legend.depot.domain.version.VersionValidator;
 import org.finos.legend.depot.services.api.generations.FileGenerationsService;
+import org.finos.legend.depot.services.api.projects.ProjectsService;
 import org.finos.legend.depot.core.services.tracing.resources.TracingResource;
 import org.finos.legend.depot.services.api.EtagBuilder;
 import org.finos.legend.depot.core.services.tracing.ResourceLoggingAndTracing;
@@ -46,11 +47,13 @@ public class FileGenerationsResource extends TracingResource
 {
 
     private final FileGenerationsService generationsService;
+    private final ProjectsService projectsService;
 
     @Inject
-    public FileGenerationsResource(FileGenerationsService generationsService)
+    public FileGenerationsResource(FileGenerationsService generationsService, ProjectsService projectsService)
     {
         this.generationsService = generationsService;
+        this.projectsService = projectsService;
     }
 
     @GET
@@ -62,7 +65,7 @@ public class FileGenerationsResource extends TracingResource
                                                    @PathParam("versionId") @ApiParam(value = VersionValidator.VALID_VERSION_ID_TXT) String versionId,
                                                    @Context Request request)
     {
-        return handle(GET_VERSION_FILE_GENERATION, () -> this.generationsService.getFileGenerations(groupId, artifactId, versionId), request, () -> EtagBuilder.create().withGAV(groupId, artifactId, versionId).build());
+        return handle(GET_VERSION_FILE_GENERATION, () -> this.generationsService.getFileGenerations(groupId, artifactId, versionId), request, () -> EtagBuilder.create().withVersionStamp(projectsService, groupId, artifactId, versionId).build());
     }
 
     @GET
@@ -75,7 +78,7 @@ public class FileGenerationsResource extends TracingResource
                                                                 @PathParam("elementPath") String elementPath,
                                                                 @Context Request request)
     {
-        return handle(GET_VERSION_FILE_GENERATION_BY_ELEMENT_PATH, () -> this.generationsService.getFileGenerationsByElementPath(groupId, artifactId, versionId, elementPath), request, () -> EtagBuilder.create().withGAV(groupId, artifactId, versionId).build());
+        return handle(GET_VERSION_FILE_GENERATION_BY_ELEMENT_PATH, () -> this.generationsService.getFileGenerationsByElementPath(groupId, artifactId, versionId, elementPath), request, () -> EtagBuilder.create().withVersionStamp(projectsService, groupId, artifactId, versionId).build());
     }
 
     @GET
@@ -86,7 +89,7 @@ public class FileGenerationsResource extends TracingResource
                                                              @PathParam("artifactId") String artifactId,
                                                              @PathParam("versionId") @ApiParam(value = VersionValidator.VALID_VERSION_ID_TXT) String versionId, @PathParam("filePath") String filePath, @Context Request request)
     {
-        return handle(GET_VERSION_FILE_GENERATION_BY_FILEPATH, () -> this.generationsService.getFileGenerationsByFilePath(groupId, artifactId, versionId, filePath), request, () -> EtagBuilder.create().withGAV(groupId, artifactId, versionId).build());
+        return handle(GET_VERSION_FILE_GENERATION_BY_FILEPATH, () -> this.generationsService.getFileGenerationsByFilePath(groupId, artifactId, versionId, filePath), request, () -> EtagBuilder.create().withVersionStamp(projectsService, groupId, artifactId, versionId).build());
     }
 
     @GET
@@ -97,7 +100,7 @@ public class FileGenerationsResource extends TracingResource
                                                            @PathParam("artifactId") String artifactId,
                                                            @PathParam("versionId") @ApiParam(value = VersionValidator.VALID_VERSION_ID_TXT) String versionId, @PathParam("filePath") String filePath, @Context Request request)
     {
-        return handle(GET_VERSION_FILE_GENERATION_CONTENT, () -> this.generationsService.getFileGenerationContentByFilePath(groupId, artifactId, versionId, filePath), request, () -> EtagBuilder.create().withGAV(groupId, artifactId, versionId).build());
+        return handle(GET_VERSION_FILE_GENERATION_CONTENT, () -> this.generationsService.getFileGenerationContentByFilePath(groupId, artifactId, versionId, filePath), request, () -> EtagBuilder.create().withVersionStamp(projectsService, groupId, artifactId, versionId).build());
     }
 
     @GET
@@ -106,7 +109,7 @@ public class FileGenerationsResource extends TracingResource
     @Produces(MediaType.APPLICATION_JSON)
     public Response getFileGenerations(@PathParam("groupId") String groupId, @PathParam("artifactId") String artifactId, @PathParam("versionId") @ApiParam("a valid version string: x.y.z, master-SNAPSHOT") String versionId, @PathParam("type") String type, @Context Request request)
     {
-        return handle(ResourceLoggingAndTracing.GET_VERSION_FILE_GENERATION_BY_TYPE, () -> this.generationsService.findByType(groupId, artifactId, versionId, type), request, () -> EtagBuilder.create().withGAV(groupId, artifactId, versionId).build());
+        return handle(ResourceLoggingAndTracing.GET_VERSION_FILE_GENERATION_BY_TYPE, () -> this.generationsService.findByType(groupId, artifactId, versionId, type), request, () -> EtagBuilder.create().withVersionStamp(projectsService, groupId, artifactId, versionId).build());
     }
 
 }
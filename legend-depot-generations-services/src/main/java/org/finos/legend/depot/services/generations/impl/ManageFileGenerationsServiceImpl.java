@@ -17,11 +17,13 @@ package org.finos.legend.depot.services.generations.impl;
 
 import org.finos.legend.depot.services.api.projects.ProjectsService;
 import org.finos.legend.depot.services.api.generations.ManageFileGenerationsService;
+import org.finos.legend.depot.store.model.IncrementalUpdateResult;
 import org.finos.legend.depot.store.model.generations.StoredFileGeneration;
 import org.finos.legend.depot.store.api.generations.UpdateFileGenerations;
 
 import javax.inject.Inject;
 import java.util.List;
+import java.util.stream.Stream;
 
 public class ManageFileGenerationsServiceImpl extends  FileGenerationsServiceImpl implements ManageFileGenerationsService
 {
@@ -45,7 +47,13 @@ public class ManageFileGenerationsServiceImpl extends  FileGenerationsServiceImp
     @Override
     public void createOrUpdate(List<StoredFileGeneration> storedFileGeneration)
     {
-       fileGenerations.createOrUpdate(storedFileGeneration);
+       fileGenerations.createOrUpdateAll(storedFileGeneration);
+    }
+
+    @Override
+    public IncrementalUpdateResult incrementalUpdate(String groupId, String artifactId, String versionId, Stream<StoredFileGeneration> storedFileGeneration)
+    {
+        return fileGenerations.incrementalUpdate(groupId, artifactId, versionId, storedFileGeneration);
     }
 
     @Override
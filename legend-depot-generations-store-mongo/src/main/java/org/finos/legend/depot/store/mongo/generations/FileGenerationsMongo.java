@@ -18,7 +18,11 @@ package org.finos.legend.depot.store.mongo.generations;
 import com.mongodb.client.MongoCollection;
 import com.mongodb.client.MongoDatabase;
 import com.mongodb.client.model.IndexModel;
+import com.mongodb.client.model.ReplaceOneModel;
+import com.mongodb.client.model.WriteModel;
+import org.bson.Document;
 import org.bson.conversions.Bson;
+import org.finos.legend.depot.store.model.IncrementalUpdateResult;
 import org.finos.legend.depot.store.model.generations.StoredFileGeneration;
 import org.finos.legend.depot.store.api.generations.FileGenerations;
 import org.finos.legend.depot.store.api.generations.UpdateFileGenerations;
@@ -26,12 +30,17 @@ import org.finos.legend.depot.store.mongo.core.BaseMongo;
 
 import javax.inject.Inject;
 import javax.inject.Named;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
 
 import static com.mongodb.client.model.Filters.and;
 import static com.mongodb.client.model.Filters.eq;
+import static com.mongodb.client.model.Filters.in;
 
 public class FileGenerationsMongo extends BaseMongo<StoredFileGeneration> implements FileGenerations, UpdateFileGenerations
 {
@@ -110,5 +119,46 @@ public class FileGenerationsMongo extends BaseMongo<StoredFileGeneration> implem
         return delete(getArtifactAndVersionFilter(groupId, artifactId, versionId));
     }
 
+    @Override
+    public IncrementalUpdateResult incrementalUpdate(String groupId, String artifactId, String versionId, Stream<StoredFileGeneration> generations)
+    {
+        Map<String, String> storedHashes = findContentHashes(getArtifactAndVersionFilter(groupId, artifactId, versionId), FILE_PATH);
+        List<WriteModel<Document>> upserts = new ArrayList<>();
+        AtomicLong total = new AtomicLong();
+        AtomicLong inserted = new AtomicLong();
+        AtomicLong updated = new AtomicLong();
+        //forEach pushes generations through one at a time, pulling through an iterator would buffer each artifact file in full
+        generations.forEach(generation ->
+        {
+            total.incrementAndGet();
+            validateNewData(generation);
+            Document document = buildDocument(generation);
+            String hash = contentHash(document.toJson());
+            boolean stored = storedHashes.containsKey(generation.getFile().getPath());
+            String storedHash = storedHashes.remove(generation.getFile().getPath());
+            if (!stored || !hash.equals(storedHash))
+            {
+                if (stored)
+                {
+                    updated.incrementAndGet();
+                }
+                else
+                {
+                    inserted.incrementAndGet();
+                }
+                document.put(CONTENT_HASH, hash);
+                upserts.add(new ReplaceOneModel<>(getKeyFilter(generation), handleCreateUpdateDates(document), REPLACE_OPTIONS));
+            }
+            if (upserts.size() >= getBulkWriteBatchSize())
+            {
+                bulkWrite(upserts);
+                upserts.clear();
+            }
+        });
+        bulkWrite(upserts);
+        long deleted = storedHashes.isEmpty() ? 0 : delete(and(getArtifactAndVersionFilter(groupId, artifactId, versionId), in(FILE_PATH, storedHashes.keySet())));
+        return new IncrementalUpdateResult(inserted.get(), updated.get(), deleted, total.get() - inserted.get() - updated.get());
+    }
+
 }
 
@@ -15,13 +15,17 @@
 
 package org.finos.legend.depot.store.mongo.generations;
 
+import org.finos.legend.depot.domain.generation.DepotGeneration;
+import org.finos.legend.depot.store.model.IncrementalUpdateResult;
 import org.finos.legend.depot.store.model.generations.StoredFileGeneration;
 import org.finos.legend.depot.store.api.generations.UpdateFileGenerations;
 import org.junit.Assert;
 import org.junit.Before;
 import org.junit.Test;
 
+import java.util.Arrays;
 import java.util.List;
+import java.util.stream.Stream;
 
 import static org.finos.legend.depot.domain.version.VersionValidator.BRANCH_SNAPSHOT;
 
@@ -87,4 +91,49 @@ public class TestFileGenerationsStore extends TestGenerationsStoreMongo
         Assert.assertFalse(generations.findByFilePath(TEST_GROUP_ID, TEST_ARTIFACT_ID, BRANCH_SNAPSHOT("master"), "com/finos/sdgashdf").isPresent());
     }
 
+    @Test
+    public void canUpdateOnlyChangedGenerations()
+    {
+        String versionId = BRANCH_SNAPSHOT("master");
+        StoredFileGeneration avro = new StoredFileGeneration(TEST_GROUP_ID, TEST_ARTIFACT_ID, versionId, "com::avrogen", "avro", new DepotGeneration("/examples/metadata/test/ClientBasic.avro", "avro"));
+        StoredFileGeneration json = new StoredFileGeneration(TEST_GROUP_ID, TEST_ARTIFACT_ID, versionId, "com::jsonGen", "json", new DepotGeneration("/examples/metadata/test/ClientBasic.json", "json"));
+        StoredFileGeneration java = new StoredFileGeneration(TEST_GROUP_ID, TEST_ARTIFACT_ID, versionId, "com::javaGen", "java", new DepotGeneration("/examples/metadata/test/ClientBasic.java", "java"));
+
+        IncrementalUpdateResult first = generations.incrementalUpdate(TEST_GROUP_ID, TEST_ARTIFACT_ID, versionId, Stream.of(avro, json));
+        Assert.assertEquals(2, first.getInserted());
+        Assert.assertEquals(0, first.getUnchanged());
+
+        StoredFileGeneration changedJson = new StoredFileGeneration(TEST_GROUP_ID, TEST_ARTIFACT_ID, versionId, "com::jsonGen", "json", new DepotGeneration("/examples/metadata/test/ClientBasic.json", "json-v2"));
+        IncrementalUpdateResult second = generations.incrementalUpdate(TEST_GROUP_ID, TEST_ARTIFACT_ID, versionId, Stream.of(changedJson, java));
+        Assert.assertEquals(1, second.getInserted());
+        Assert.assertEquals(1, second.getUpdated());
+        Assert.assertEquals(1, second.getDeleted());
+        Assert.assertEquals(0, second.getUnchanged());
+
+        IncrementalUpdateResult third = generations.incrementalUpdate(TEST_GROUP_ID, TEST_ARTIFACT_ID, versionId, Stream.of(changedJson, java));
+        Assert.assertEquals(0, third.getInserted() + third.getUpdated() + third.getDeleted());
+        Assert.assertEquals(2, third.getUnchanged());
+
+        Assert.assertEquals(2, generations.find(TEST_GROUP_ID, TEST_ARTIFACT_ID, versionId).size());
+        Assert.assertEquals("json-v2", generations.findByFilePath(TEST_GROUP_ID, TEST_ARTIFACT_ID, versionId, "/examples/metadata/test/ClientBasic.json").get().getFile().getContent());
+        Assert.assertFalse(generations.findByFilePath(TEST_GROUP_ID, TEST_ARTIFACT_ID, versionId, "/examples/metadata/test/ClientBasic.avro").isPresent());
+        Assert.assertEquals(11, generations.find(TEST_GROUP_ID, TEST_ARTIFACT_ID, "2.3.3").size());
+    }
+
+    @Test
+    public void createOrUpdateReadsBackStoredGenerations()
+    {
+        String versionId = BRANCH_SNAPSHOT("master");
+        StoredFileGeneration avro = new StoredFileGeneration(TEST_GROUP_ID, TEST_ARTIFACT_ID, versionId, "com::avrogen", "avro", new DepotGeneration("/examples/metadata/test/ClientBasic.avro", "avro"));
+        StoredFileGeneration json = new StoredFileGeneration(TEST_GROUP_ID, TEST_ARTIFACT_ID, versionId, "com::jsonGen", "json", new DepotGeneration("/examples/metadata/test/ClientBasic.json", "json"));
+
+        List<StoredFileGeneration> stored = generations.createOrUpdate(Arrays.asList(avro, json));
+        Assert.assertEquals(2, stored.size());
+        Assert.assertNotSame(avro, stored.get(0));
+        Assert.assertEquals("avro", stored.get(0).getFile().getContent());
+
+        StoredFileGeneration java = new StoredFileGeneration(TEST_GROUP_ID, TEST_ARTIFACT_ID, versionId, "com::javaGen", "java", new DepotGeneration("/examples/metadata/test/ClientBasic.java", "java"));
+        Assert.assertEquals(1, generations.createOrUpdateAll(Arrays.asList(java)));
+        Assert.assertEquals(3, generations.find(TEST_GROUP_ID, TEST_ARTIFACT_ID, versionId).size());
+    }
 }
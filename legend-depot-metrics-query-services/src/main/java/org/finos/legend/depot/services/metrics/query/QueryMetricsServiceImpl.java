@@ -16,6 +16,7 @@
 package org.finos.legend.depot.services.metrics.query;
 
 import com.google.inject.name.Named;
+import org.finos.legend.depot.core.services.executors.DepotExecutors;
 import org.finos.legend.depot.domain.version.VersionValidator;
 import org.finos.legend.depot.services.api.metrics.query.QueryMetricsRegistry;
 import org.finos.legend.depot.services.api.metrics.query.QueryMetricsService;
@@ -59,9 +60,7 @@ public class QueryMetricsServiceImpl implements QueryMetricsService
 
     public List<VersionQueryMetric> getSummaryByProjectVersion()
     {
-        return metricsStore.getAllStoredEntitiesCoordinates().parallelStream()
-                .map(pv -> getSummary(pv.getGroupId(), pv.getArtifactId(), pv.getVersionId()).get())
-                .collect(Collectors.toList());
+        return DepotExecutors.io().map(metricsStore.getAllStoredEntitiesCoordinates(), pv -> getSummary(pv.getGroupId(), pv.getArtifactId(), pv.getVersionId()).get());
 
     }
 
@@ -72,12 +71,12 @@ public class QueryMetricsServiceImpl implements QueryMetricsService
 
     public List<VersionQueryMetric> findReleasedVersionMetricsBefore(Date date)
     {
-        return metricsStore.findMetricsBefore(date).parallelStream().filter(metric -> !VersionValidator.isSnapshotVersion(metric.getVersionId())).collect(Collectors.toList());
+        return metricsStore.findMetricsBefore(date).stream().filter(metric -> !VersionValidator.isSnapshotVersion(metric.getVersionId())).collect(Collectors.toList());
     }
 
     public List<VersionQueryMetric> findSnapshotVersionMetricsBefore(Date date)
     {
-        return metricsStore.findMetricsBefore(date).parallelStream().filter(metric -> VersionValidator.isSnapshotVersion(metric.getVersionId())).collect(Collectors.toList());
+        return metricsStore.findMetricsBefore(date).stream().filter(metric -> VersionValidator.isSnapshotVersion(metric.getVersionId())).collect(Collectors.toList());
     }
 
 
@@ -96,7 +95,7 @@ public class QueryMetricsServiceImpl implements QueryMetricsService
     public void consolidateMetrics()
     {
         LOGGER.info("Started consolidating metrics for all project versions");
-        metricsStore.getAllStoredEntitiesCoordinates().parallelStream().forEach(pv ->
+        DepotExecutors.io().forEach(metricsStore.getAllStoredEntitiesCoordinates(), pv ->
         {
             try
             {
@@ -17,6 +17,7 @@ package org.finos.legend.depot.services.api.notifications.queue;
 
 import org.finos.legend.depot.domain.notifications.MetadataNotification;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -29,11 +30,21 @@ public interface Queue
 
     Optional<MetadataNotification> getFirstInQueue();
 
+    Optional<MetadataNotification> lease(long leaseDurationInMilliseconds, Collection<MetadataNotification> excluded);
+
+    boolean renewLease(MetadataNotification event, long leaseDurationInMilliseconds);
+
+    boolean ack(MetadataNotification event);
+
+    boolean nack(MetadataNotification event, long retryDelayInMilliseconds);
+
     Optional<MetadataNotification> get(String eventId);
 
     String push(MetadataNotification metadataEvent);
 
     long size();
 
+    boolean waitForEvents(long timeoutInMilliseconds);
+
     long deleteAll();
 }
@@ -24,6 +24,7 @@ public class QueueManagerConfiguration
     private static final long TWENTY_SECONDS = 20 * 1000L;
     private static final long ONE_MINUTE = 60 * 1000L;
     private static final long DEFAULT_NUMBER_OF_QUEUE_WORKERS = 1;
+    private static final long THIRTY_MINUTES = 30 * 60 * 1000L;
 
     @JsonProperty
     long queueInterval = TWENTY_SECONDS;
@@ -34,6 +35,24 @@ public class QueueManagerConfiguration
     @JsonProperty
     long numberOfQueueWorkers = DEFAULT_NUMBER_OF_QUEUE_WORKERS;
 
+    @JsonProperty
+    boolean eventDriven = false;
+
+    @JsonProperty
+    long maxWaitForEvents = TWENTY_SECONDS;
+
+    @JsonProperty
+    long leaseDuration = THIRTY_MINUTES;
+
+    @JsonProperty
+    boolean virtualThreads = true;
+
+    @JsonProperty
+    long retryBackOff = TWENTY_SECONDS;
+
+    @JsonProperty
+    long maxRetryBackOff = THIRTY_MINUTES;
+
     public long getQueueInterval()
     {
         return queueInterval;
@@ -63,4 +82,64 @@ public class QueueManagerConfiguration
     {
         this.numberOfQueueWorkers = numberOfQueueWorkers;
     }
+
+    public boolean isEventDriven()
+    {
+        return eventDriven;
+    }
+
+    public void setEventDriven(boolean eventDriven)
+    {
+        this.eventDriven = eventDriven;
+    }
+
+    public long getMaxWaitForEvents()
+    {
+        return maxWaitForEvents;
+    }
+
+    public void setMaxWaitForEvents(long maxWaitForEvents)
+    {
+        this.maxWaitForEvents = maxWaitForEvents;
+    }
+
+    public long getLeaseDuration()
+    {
+        return leaseDuration;
+    }
+
+    public void setLeaseDuration(long leaseDuration)
+    {
+        this.leaseDuration = leaseDuration;
+    }
+
+    public boolean isVirtualThreads()
+    {
+        return virtualThreads;
+    }
+
+    public void setVirtualThreads(boolean virtualThreads)
+    {
+        this.virtualThreads = virtualThreads;
+    }
+
+    public long getRetryBackOff()
+    {
+        return retryBackOff;
+    }
+
+    public void setRetryBackOff(long retryBackOff)
+    {
+        this.retryBackOff = retryBackOff;
+    }
+
+    public long getMaxRetryBackOff()
+    {
+        return maxRetryBackOff;
+    }
+
+    public void setMaxRetryBackOff(long maxRetryBackOff)
+    {
+        this.maxRetryBackOff = maxRetryBackOff;
+    }
 }
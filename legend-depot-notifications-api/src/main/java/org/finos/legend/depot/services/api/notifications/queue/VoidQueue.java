@@ -17,6 +17,7 @@ package org.finos.legend.depot.services.api.notifications.queue;
 
 import org.finos.legend.depot.domain.notifications.MetadataNotification;
 
+import java.util.Collection;
 import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
@@ -46,6 +47,30 @@ public class VoidQueue implements Queue
         return Optional.empty();
     }
 
+    @Override
+    public Optional<MetadataNotification> lease(long leaseDurationInMilliseconds, Collection<MetadataNotification> excluded)
+    {
+        return Optional.empty();
+    }
+
+    @Override
+    public boolean renewLease(MetadataNotification event, long leaseDurationInMilliseconds)
+    {
+        return false;
+    }
+
+    @Override
+    public boolean ack(MetadataNotification event)
+    {
+        return false;
+    }
+
+    @Override
+    public boolean nack(MetadataNotification event, long retryDelayInMilliseconds)
+    {
+        return false;
+    }
+
     @Override
     public Optional<MetadataNotification> get(String eventId)
     {
@@ -64,6 +89,20 @@ public class VoidQueue implements Queue
         return 0;
     }
 
+    @Override
+    public boolean waitForEvents(long timeoutInMilliseconds)
+    {
+        try
+        {
+            Thread.sleep(timeoutInMilliseconds);
+        }
+        catch (InterruptedException e)
+        {
+            Thread.currentThread().interrupt();
+        }
+        return false;
+    }
+
     @Override
     public long deleteAll()
     {
@@ -17,35 +17,67 @@ package org.finos.legend.depot.store.mongo.notifications.queue;
 
 import com.fasterxml.jackson.annotation.JsonInclude;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.mongodb.MongoException;
+import com.mongodb.client.MongoChangeStreamCursor;
 import com.mongodb.client.MongoCollection;
 import com.mongodb.client.MongoDatabase;
+import com.mongodb.client.model.Aggregates;
 import com.mongodb.client.model.Filters;
+import com.mongodb.client.model.CountOptions;
 import com.mongodb.client.model.FindOneAndDeleteOptions;
+import com.mongodb.client.model.FindOneAndUpdateOptions;
 import com.mongodb.client.model.IndexModel;
+import com.mongodb.client.model.ReturnDocument;
 import com.mongodb.client.model.Sorts;
+import com.mongodb.client.model.Updates;
+import com.mongodb.client.model.changestream.ChangeStreamDocument;
 import com.mongodb.client.result.DeleteResult;
 import org.bson.Document;
 import org.bson.conversions.Bson;
 import org.bson.types.ObjectId;
+import org.finos.legend.depot.core.services.metrics.PrometheusMetricsFactory;
 import org.finos.legend.depot.domain.notifications.MetadataNotification;
+import org.finos.legend.depot.domain.notifications.Priority;
 import org.finos.legend.depot.services.api.notifications.queue.Queue;
 import org.finos.legend.depot.store.mongo.core.BaseMongo;
 
 import javax.inject.Inject;
 import javax.inject.Named;
+import java.lang.management.ManagementFactory;
+import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Date;
 import java.util.List;
 import java.util.Optional;
-
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
 import java.util.function.Consumer;
 
+import static org.finos.legend.depot.domain.DatesHandler.toTime;
+
 
 public class NotificationsQueueMongo extends BaseMongo<MetadataNotification> implements Queue
 {
 
     public static final String COLLECTION = "notifications-queue";
     private static final String EVENT_PRIORITY = "eventPriority";
+    private static final String OPERATION_TYPE = "operationType";
+    private static final String LEASE_EXPIRY = "leaseExpiry";
+    private static final String LEASE_OWNER = "leaseOwner";
+    private static final String NOT_BEFORE = "notBefore";
+    private static final String FULL_UPDATE = "fullUpdate";
+    private static final String TRANSITIVE = "transitive";
+    private static final String PRIORITY = "priority";
+    public static final String QUEUE_COALESCED = "queue_coalesced";
+    public static final String QUEUE_ACK_MISSED = "queue_ack_missed";
+    private static final List<Bson> QUEUE_CHANGES = Collections.singletonList(Aggregates.match(Filters.in(OPERATION_TYPE, "insert", "replace", "update")));
+    private static final long MIN_POLL_INTERVAL = 100L;
+
+    private final String owner = ManagementFactory.getRuntimeMXBean().getName() + "-" + UUID.randomUUID();
+    private volatile boolean changeStreamsSupported = true;
 
     @Inject
     public NotificationsQueueMongo(@Named("mongoDatabase") MongoDatabase databaseProvider)
@@ -56,7 +88,8 @@ public class NotificationsQueueMongo extends BaseMongo<MetadataNotification> imp
 
     public static List<IndexModel> buildIndexes()
     {
-        return Arrays.asList(BaseMongo.buildIndex("eventPriority-created", "eventPriority","created"));
+        return Arrays.asList(BaseMongo.buildIndex("eventPriority-created", "eventPriority","created"),
+                BaseMongo.buildIndex("groupId-artifactId-versionId", GROUP_ID, ARTIFACT_ID, VERSION_ID));
     }
 
     @Override
@@ -68,7 +101,8 @@ public class NotificationsQueueMongo extends BaseMongo<MetadataNotification> imp
     @Override
     protected Bson getKeyFilter(MetadataNotification event)
     {
-        return NotificationKeyFilter.getFilter(event);
+        //a version being processed or waiting for a retry is not updated in place, new requests for it are queued separately
+        return event.getEventId() != null ? NotificationKeyFilter.getFilter(event) : Filters.and(NotificationKeyFilter.getFilter(event), isAvailable(new Date()));
     }
 
     @Override
@@ -80,11 +114,171 @@ public class NotificationsQueueMongo extends BaseMongo<MetadataNotification> imp
     @Override
     public long size()
     {
-        return getCollection().countDocuments();
+        return getCollection().estimatedDocumentCount();
+    }
+
+    @Override
+    public boolean waitForEvents(long timeoutInMilliseconds)
+    {
+        if (changeStreamsSupported)
+        {
+            try
+            {
+                return watchForEvents(timeoutInMilliseconds);
+            }
+            catch (MongoException e)
+            {
+                LOGGER.warn("change streams not available for {}, falling back to polling: {}", COLLECTION, e.getMessage());
+                changeStreamsSupported = false;
+            }
+        }
+        return pollForEvents(timeoutInMilliseconds);
+    }
+
+    private boolean watchForEvents(long timeoutInMilliseconds)
+    {
+        long deadline = System.currentTimeMillis() + timeoutInMilliseconds;
+        //cursor is opened before checking the queue so that events pushed in between are not missed
+        try (MongoChangeStreamCursor<ChangeStreamDocument<Document>> cursor = ((MongoCollection<Document>)getCollection()).watch(QUEUE_CHANGES)
+                .maxAwaitTime(timeoutInMilliseconds, TimeUnit.MILLISECONDS).cursor())
+        {
+            if (hasAvailableEvents())
+            {
+                return true;
+            }
+            while (System.currentTimeMillis() < deadline)
+            {
+                if (cursor.tryNext() != null)
+                {
+                    return true;
+                }
+            }
+            return false;
+        }
+    }
+
+    private boolean pollForEvents(long timeoutInMilliseconds)
+    {
+        long deadline = System.currentTimeMillis() + timeoutInMilliseconds;
+        long interval = MIN_POLL_INTERVAL;
+        while (!hasAvailableEvents())
+        {
+            long remaining = deadline - System.currentTimeMillis();
+            if (remaining <= 0)
+            {
+                return false;
+            }
+            try
+            {
+                Thread.sleep(Math.min(interval, remaining));
+            }
+            catch (InterruptedException e)
+            {
+                Thread.currentThread().interrupt();
+                return false;
+            }
+            interval = Math.min(interval * 2, timeoutInMilliseconds);
+        }
+        return true;
+    }
+
+    private boolean hasAvailableEvents()
+    {
+        return getCollection().countDocuments(isAvailable(new Date()), new CountOptions().limit(1)) > 0;
+    }
+
+    private static Bson isNotLeased(Date now)
+    {
+        return Filters.or(Filters.exists(LEASE_EXPIRY, false), Filters.lte(LEASE_EXPIRY, now));
+    }
+
+    private static Bson isAvailable(Date now)
+    {
+        return Filters.and(isNotLeased(now), Filters.or(Filters.exists(NOT_BEFORE, false), Filters.lte(NOT_BEFORE, now)));
+    }
+
+    private Bson isLeasedByMe(MetadataNotification event)
+    {
+        return Filters.and(Filters.eq(BaseMongo.ID_FIELD, new ObjectId(event.getId())), Filters.eq(LEASE_OWNER, owner));
+    }
+
+    private static Bson sameVersion(MetadataNotification event)
+    {
+        return Filters.and(Filters.eq(GROUP_ID, event.getGroupId()), Filters.eq(ARTIFACT_ID, event.getArtifactId()), Filters.eq(VERSION_ID, event.getVersionId()));
+    }
+
+    @Override
+    public Optional<MetadataNotification> lease(long leaseDurationInMilliseconds, Collection<MetadataNotification> excluded)
+    {
+        List<Bson> excludedVersions = new ArrayList<>();
+        excluded.forEach(event -> excludedVersions.add(sameVersion(event)));
+        while (true)
+        {
+            Date now = new Date();
+            Bson filter = excludedVersions.isEmpty() ? isAvailable(now) : Filters.and(isAvailable(now), Filters.nor(excludedVersions));
+            Document leased = (Document)getCollection().findOneAndUpdate(filter,
+                    Updates.combine(Updates.set(LEASE_OWNER, owner), Updates.set(LEASE_EXPIRY, new Date(now.getTime() + leaseDurationInMilliseconds))),
+                    new FindOneAndUpdateOptions().sort(Sorts.ascending(EVENT_PRIORITY, BaseMongo.CREATED)).returnDocument(ReturnDocument.AFTER));
+            if (leased == null)
+            {
+                return Optional.empty();
+            }
+            MetadataNotification event = convert(leased, MetadataNotification.class);
+            //another node may be processing an earlier event for the same version, leave this one for later
+            if (getCollection().countDocuments(Filters.and(sameVersion(event), Filters.gt(LEASE_EXPIRY, now), Filters.ne(BaseMongo.ID_FIELD, leased.getObjectId(BaseMongo.ID_FIELD)))) == 0)
+            {
+                return Optional.of(event);
+            }
+            getCollection().updateOne(isLeasedByMe(event), Updates.combine(Updates.unset(LEASE_OWNER), Updates.unset(LEASE_EXPIRY)));
+            excludedVersions.add(sameVersion(event));
+        }
+    }
+
+    @Override
+    public boolean renewLease(MetadataNotification event, long leaseDurationInMilliseconds)
+    {
+        return event.getId() != null && getCollection().updateOne(isLeasedByMe(event), Updates.set(LEASE_EXPIRY, new Date(System.currentTimeMillis() + leaseDurationInMilliseconds))).getMatchedCount() > 0;
+    }
+
+    @Override
+    public boolean ack(MetadataNotification event)
+    {
+        if (event.getId() == null)
+        {
+            return false;
+        }
+        if (getCollection().deleteOne(isLeasedByMe(event)).getDeletedCount() == 0)
+        {
+            //lease expired and the event was re-leased (or already removed): it will be handled again
+            PrometheusMetricsFactory.getInstance().incrementCount(QUEUE_ACK_MISSED);
+            LOGGER.warn("ack for eventId:[{}] matched no event leased by {}, it may be re-delivered", event.getEventId(), owner);
+            return false;
+        }
+        return true;
+    }
+
+    @Override
+    public boolean nack(MetadataNotification event, long retryDelayInMilliseconds)
+    {
+        if (event.getId() == null)
+        {
+            return false;
+        }
+        Document document = handleCreateUpdateDates(buildDocument(event));
+        document.put(NOT_BEFORE, new Date(System.currentTimeMillis() + retryDelayInMilliseconds));
+        return getCollection().replaceOne(isLeasedByMe(event), document).getModifiedCount() > 0;
     }
 
     public String push(MetadataNotification event)
     {
+        if (event.getEventId() == null)
+        {
+            Optional<String> pendingEventId = coalesce(event);
+            if (pendingEventId.isPresent())
+            {
+                return pendingEventId.get();
+            }
+        }
         MetadataNotification result = createOrUpdate(event);
         if (result.getEventId() == null)
         {
@@ -94,6 +288,43 @@ public class NotificationsQueueMongo extends BaseMongo<MetadataNotification> imp
     }
 
 
+    private Optional<String> coalesce(MetadataNotification event)
+    {
+        Date now = new Date();
+        //events waiting for a retry keep their back off and attempt count, a new request is not folded into them
+        Document pending = (Document)getCollection().find(Filters.and(sameVersion(event), isAvailable(now))).sort(Sorts.ascending(EVENT_PRIORITY, BaseMongo.CREATED)).first();
+        if (pending == null)
+        {
+            return Optional.empty();
+        }
+        ObjectId pendingId = pending.getObjectId(BaseMongo.ID_FIELD);
+        MetadataNotification pendingEvent = convert(pending, MetadataNotification.class);
+        Priority priority = highest(pendingEvent.getEventPriority(), event.getEventPriority());
+        Bson merged = Updates.combine(
+                Updates.set(FULL_UPDATE, pendingEvent.isFullUpdate() || event.isFullUpdate()),
+                Updates.set(TRANSITIVE, pendingEvent.isTransitive() || event.isTransitive()),
+                Updates.set(EVENT_PRIORITY, priority != null ? priority.name() : null),
+                Updates.set(PRIORITY, priority != null ? priority.name() : null),
+                Updates.set(BaseMongo.UPDATED, toTime(LocalDateTime.now())));
+        //if it got leased in the meantime the new request is queued on its own
+        if (getCollection().updateOne(Filters.and(Filters.eq(BaseMongo.ID_FIELD, pendingId), isAvailable(now)), merged).getMatchedCount() == 0)
+        {
+            return Optional.empty();
+        }
+        PrometheusMetricsFactory.getInstance().incrementCount(QUEUE_COALESCED);
+        LOGGER.info("coalesced notification for [{}-{}-{}] into pending eventId:[{}]", event.getGroupId(), event.getArtifactId(), event.getVersionId(), pendingEvent.getEventId());
+        return Optional.ofNullable(pendingEvent.getEventId());
+    }
+
+    private static Priority highest(Priority priority, Priority other)
+    {
+        if (priority == null || other == null)
+        {
+            return priority != null ? priority : other;
+        }
+        return priority.compareTo(other) <= 0 ? priority : other;
+    }
+
     public List<MetadataNotification> pullAll()
     {
         List<MetadataNotification> nextEvents = new ArrayList<>();
@@ -111,7 +342,7 @@ public class NotificationsQueueMongo extends BaseMongo<MetadataNotification> imp
     @Override
     public Optional<MetadataNotification> getFirstInQueue()
     {
-        Document first = (Document)getCollection().findOneAndDelete(Filters.exists(BaseMongo.ID_FIELD),new FindOneAndDeleteOptions().sort(Sorts.ascending(EVENT_PRIORITY, BaseMongo.CREATED)));
+        Document first = (Document)getCollection().findOneAndDelete(isAvailable(new Date()),new FindOneAndDeleteOptions().sort(Sorts.ascending(EVENT_PRIORITY, BaseMongo.CREATED)));
         if (first != null)
         {
             return Optional.of(convert(first, MetadataNotification.class));
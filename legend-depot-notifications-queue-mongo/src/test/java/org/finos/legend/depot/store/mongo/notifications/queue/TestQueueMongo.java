@@ -24,6 +24,7 @@ import org.finos.legend.depot.store.mongo.TestStoreMongo;
 import org.junit.Assert;
 import org.junit.Test;
 
+import java.util.Collections;
 import java.util.Date;
 import java.util.List;
 import java.util.Optional;
@@ -195,4 +196,172 @@ public class TestQueueMongo extends TestStoreMongo
 
     }
 
-}
\ No newline at end of file
+    @Test
+    public void canWaitForEventsInQueue() throws InterruptedException
+    {
+        Assert.assertFalse(queue.waitForEvents(300));
+
+        Thread producer = new Thread(() ->
+        {
+            try
+            {
+                Thread.sleep(200);
+            }
+            catch (InterruptedException e)
+            {
+                Thread.currentThread().interrupt();
+            }
+            queue.push(new MetadataNotification(TESTPROJECT, TEST, TEST, VERSION));
+        });
+        producer.start();
+        Assert.assertTrue(queue.waitForEvents(5000));
+        producer.join();
+        Assert.assertEquals(1, queue.size());
+        Assert.assertTrue(queue.waitForEvents(5000));
+    }
+
+    @Test
+    public void canLeaseAndAckEvents()
+    {
+        queue.push(new MetadataNotification(TESTPROJECT, TEST, TEST, VERSION));
+        queue.push(new MetadataNotification(TESTPROJECT_1, TEST, "test1", VERSION));
+
+        Optional<MetadataNotification> first = queue.lease(60000, Collections.emptyList());
+        Assert.assertTrue(first.isPresent());
+        Assert.assertEquals(TEST, first.get().getArtifactId());
+        Optional<MetadataNotification> second = queue.lease(60000, Collections.emptyList());
+        Assert.assertTrue(second.isPresent());
+        Assert.assertEquals("test1", second.get().getArtifactId());
+        Assert.assertFalse(queue.lease(60000, Collections.emptyList()).isPresent());
+        Assert.assertEquals(2, queue.size());
+
+        queue.ack(first.get());
+        queue.ack(second.get());
+        Assert.assertEquals(0, queue.size());
+    }
+
+    @Test
+    public void expiredLeasesAreRedelivered()
+    {
+        queue.push(new MetadataNotification(TESTPROJECT, TEST, TEST, VERSION));
+        Optional<MetadataNotification> leased = queue.lease(0, Collections.emptyList());
+        Assert.assertTrue(leased.isPresent());
+        Optional<MetadataNotification> redelivered = queue.lease(60000, Collections.emptyList());
+        Assert.assertTrue(redelivered.isPresent());
+        Assert.assertEquals(leased.get().getId(), redelivered.get().getId());
+    }
+
+    @Test
+    public void renewedLeasesAreNotRedelivered()
+    {
+        queue.push(new MetadataNotification(TESTPROJECT, TEST, TEST, VERSION));
+        MetadataNotification leased = queue.lease(0, Collections.emptyList()).get();
+        Assert.assertTrue(queue.renewLease(leased, 60000));
+        Assert.assertFalse(queue.lease(60000, Collections.emptyList()).isPresent());
+        Assert.assertFalse(new NotificationsQueueMongo(mongoProvider).renewLease(leased, 60000));
+        Assert.assertTrue(queue.ack(leased));
+        Assert.assertFalse(queue.ack(leased));
+    }
+
+    @Test
+    public void versionsInFlightAreNotLeasedTwice()
+    {
+        MetadataNotification event = new MetadataNotification(TESTPROJECT, TEST, TEST, VERSION);
+        queue.push(event);
+        Assert.assertFalse(queue.lease(60000, Collections.singletonList(event)).isPresent());
+
+        Optional<MetadataNotification> leased = queue.lease(60000, Collections.emptyList());
+        Assert.assertTrue(leased.isPresent());
+        queue.push(new MetadataNotification(TESTPROJECT, TEST, TEST, VERSION));
+        Assert.assertEquals(2, queue.getAll().size());
+        Assert.assertFalse(queue.lease(60000, Collections.emptyList()).isPresent());
+
+        queue.ack(leased.get());
+        Optional<MetadataNotification> next = queue.lease(60000, Collections.emptyList());
+        Assert.assertTrue(next.isPresent());
+        Assert.assertNotEquals(leased.get().getId(), next.get().getId());
+    }
+
+    @Test
+    public void nackedEventsAreRedeliveredAfterRetryDelay()
+    {
+        queue.push(new MetadataNotification(TESTPROJECT, TEST, TEST, VERSION));
+        MetadataNotification leased = queue.lease(60000, Collections.emptyList()).get();
+        leased.increaseAttempts();
+        Assert.assertTrue(queue.nack(leased, 60000));
+        Assert.assertFalse(queue.lease(60000, Collections.emptyList()).isPresent());
+        Assert.assertFalse(queue.waitForEvents(200));
+        Assert.assertEquals(1, queue.getAll().get(0).getAttempt());
+
+        queue.deleteAll();
+        queue.push(new MetadataNotification(TESTPROJECT, TEST, TEST, VERSION));
+        leased = queue.lease(60000, Collections.emptyList()).get();
+        Assert.assertTrue(queue.nack(leased.increaseAttempts(), 0));
+        Optional<MetadataNotification> retry = queue.lease(60000, Collections.emptyList());
+        Assert.assertTrue(retry.isPresent());
+        Assert.assertEquals(leased.getId(), retry.get().getId());
+        Assert.assertEquals(1, retry.get().getAttempt());
+    }
+
+    @Test
+    public void onlyLeaseOwnerCanAckOrNack()
+    {
+        Queue otherNode = new NotificationsQueueMongo(mongoProvider);
+        queue.push(new MetadataNotification(TESTPROJECT, TEST, TEST, VERSION));
+        MetadataNotification leased = queue.lease(60000, Collections.emptyList()).get();
+
+        Assert.assertFalse(otherNode.ack(leased));
+        Assert.assertFalse(otherNode.nack(leased, 0));
+        Assert.assertEquals(1, queue.size());
+        Assert.assertFalse(otherNode.lease(60000, Collections.emptyList()).isPresent());
+
+        Assert.assertTrue(queue.ack(leased));
+        Assert.assertEquals(0, queue.size());
+    }
+
+    @Test
+    public void pendingEventsAbsorbNewRequestsForSameVersion()
+    {
+        String eventId = queue.push(new MetadataNotification(TESTPROJECT, TEST, TEST, VERSION, false, true, null, Priority.LOW));
+        Assert.assertEquals(eventId, queue.push(new MetadataNotification(TESTPROJECT, TEST, TEST, VERSION, true, false, null, Priority.HIGH)));
+        Assert.assertEquals(eventId, queue.push(new MetadataNotification(TESTPROJECT, TEST, TEST, VERSION, false, false, null, Priority.LOW)));
+        queue.push(new MetadataNotification(TESTPROJECT, TEST, TEST, "1.0.1", false, false, null, Priority.LOW));
+
+        List<MetadataNotification> inQueue = queue.getAll();
+        Assert.assertEquals(2, inQueue.size());
+        MetadataNotification coalesced = queue.get(eventId).get();
+        Assert.assertTrue(coalesced.isFullUpdate());
+        Assert.assertTrue(coalesced.isTransitive());
+        Assert.assertEquals(Priority.HIGH, coalesced.getEventPriority());
+        Assert.assertEquals(VERSION, queue.lease(60000, Collections.emptyList()).get().getVersionId());
+    }
+
+    @Test
+    public void leasedEventsDoNotAbsorbNewRequests()
+    {
+        String eventId = queue.push(new MetadataNotification(TESTPROJECT, TEST, TEST, VERSION, false, false, null, Priority.LOW));
+        Assert.assertTrue(queue.lease(60000, Collections.emptyList()).isPresent());
+        String newEventId = queue.push(new MetadataNotification(TESTPROJECT, TEST, TEST, VERSION, true, false, null, Priority.LOW));
+        Assert.assertNotEquals(eventId, newEventId);
+        Assert.assertFalse(queue.get(eventId).get().isFullUpdate());
+        Assert.assertTrue(queue.get(newEventId).get().isFullUpdate());
+        Assert.assertEquals(newEventId, queue.push(new MetadataNotification(TESTPROJECT, TEST, TEST, VERSION, false, true, null, Priority.LOW)));
+        Assert.assertEquals(2, queue.size());
+    }
+
+    @Test
+    public void eventsWaitingForRetryDoNotAbsorbNewRequests()
+    {
+        String eventId = queue.push(new MetadataNotification(TESTPROJECT, TEST, TEST, VERSION, false, false, null, Priority.LOW));
+        MetadataNotification leased = queue.lease(60000, Collections.emptyList()).get();
+        Assert.assertTrue(queue.nack(leased.increaseAttempts(), 60000));
+
+        String newEventId = queue.push(new MetadataNotification(TESTPROJECT, TEST, TEST, VERSION, true, false, null, Priority.HIGH));
+        Assert.assertNotEquals(eventId, newEventId);
+        Assert.assertEquals(2, queue.size());
+        Assert.assertEquals(1, queue.get(eventId).get().getAttempt());
+        Assert.assertFalse(queue.get(eventId).get().isFullUpdate());
+        Assert.assertEquals(newEventId, queue.lease(60000, Collections.emptyList()).get().getEventId());
+    }
+
+}
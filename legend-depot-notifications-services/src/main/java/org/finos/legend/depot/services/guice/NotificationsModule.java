@@ -32,6 +32,10 @@ import static org.finos.legend.depot.services.notifications.NotificationsQueueMa
 import static org.finos.legend.depot.services.notifications.NotificationsQueueManager.NOTIFICATIONS_COUNTER_HELP;
 import static org.finos.legend.depot.services.notifications.NotificationsQueueManager.NOTIFICATION_COMPLETE;
 import static org.finos.legend.depot.services.notifications.NotificationsQueueManager.NOTIFICATION_COMPLETE_HELP;
+import static org.finos.legend.depot.services.notifications.NotificationsQueueManager.QUEUE_IN_FLIGHT;
+import static org.finos.legend.depot.services.notifications.NotificationsQueueManager.QUEUE_IN_FLIGHT_HELP;
+import static org.finos.legend.depot.services.notifications.NotificationsQueueManager.QUEUE_THROUGHPUT;
+import static org.finos.legend.depot.services.notifications.NotificationsQueueManager.QUEUE_THROUGHPUT_HELP;
 import static org.finos.legend.depot.services.notifications.NotificationsQueueManager.QUEUE_WAITING;
 import static org.finos.legend.depot.services.notifications.NotificationsQueueManager.QUEUE_WAITING_HELP;
 
@@ -59,6 +63,8 @@ public class NotificationsModule extends PrivateModule
             PrometheusMetricsHandler metricsHandler = configuration.getMetricsHandler();
             metricsHandler.registerCounter(NOTIFICATIONS_COUNTER, NOTIFICATIONS_COUNTER_HELP);
             metricsHandler.registerGauge(QUEUE_WAITING, QUEUE_WAITING_HELP);
+            metricsHandler.registerGauge(QUEUE_IN_FLIGHT, QUEUE_IN_FLIGHT_HELP);
+            metricsHandler.registerGauge(QUEUE_THROUGHPUT, QUEUE_THROUGHPUT_HELP);
             metricsHandler.registerHistogram(NOTIFICATION_COMPLETE, NOTIFICATION_COMPLETE_HELP, Arrays.asList("eventPriority"));
         }
         return true;
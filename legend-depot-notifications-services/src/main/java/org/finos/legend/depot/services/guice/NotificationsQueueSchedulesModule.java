@@ -44,6 +44,11 @@ public class NotificationsQueueSchedulesModule extends PrivateModule
         {
             throw new IllegalArgumentException("Number of queue workers must be a positive number >1 ");
         }
+        if (config.isEventDriven())
+        {
+            notificationsManager.startConsumers(config);
+            return true;
+        }
         for (long worker = 1;numberOfWorkers >= worker;worker++)
         {
             schedulesFactory.register(QUEUE_OBSERVER + "_" + worker, config.getQueueDelay(), config.getQueueInterval(), notificationsManager::handle);
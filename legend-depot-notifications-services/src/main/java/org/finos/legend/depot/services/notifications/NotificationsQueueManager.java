@@ -21,14 +21,29 @@ import org.finos.legend.depot.domain.notifications.Priority;
 import org.finos.legend.depot.services.api.notifications.NotificationHandler;
 import org.finos.legend.depot.store.api.notifications.Notifications;
 import org.finos.legend.depot.services.api.notifications.queue.Queue;
+import org.finos.legend.depot.services.api.notifications.queue.QueueManagerConfiguration;
 import org.finos.legend.depot.core.services.tracing.ResourceLoggingAndTracing;
 import org.finos.legend.depot.core.services.tracing.TracerFactory;
 import org.finos.legend.depot.core.services.metrics.PrometheusMetricsFactory;
 import org.slf4j.Logger;
 
 import javax.inject.Inject;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
 
 public class NotificationsQueueManager
 {
@@ -40,33 +55,299 @@ public class NotificationsQueueManager
     public static final String DELIMITER = ",";
     public static final String NOTIFICATION_COMPLETE = "notification_complete";
     public static final String NOTIFICATION_COMPLETE_HELP = " time to precess notification";
+    public static final String QUEUE_IN_FLIGHT = "queue_in_flight";
+    public static final String QUEUE_IN_FLIGHT_HELP = "notifications being processed by queue workers";
+    public static final String QUEUE_THROUGHPUT = "queue_throughput";
+    public static final String QUEUE_THROUGHPUT_HELP = "notifications processed per minute by queue workers";
+    private static final long THROUGHPUT_WINDOW = 60000L;
+    private static final long MIN_BACK_OFF = 100L;
+    private static final long MAX_BACK_OFF = 2000L;
+    private static final String GAV_SEPARATOR = ":";
 
     private final Notifications notifications;
     private final Queue queue;
     private final NotificationHandler eventHandler;
+    private final QueueManagerConfiguration configuration;
+    private final Map<String, MetadataNotification> inFlight = new ConcurrentHashMap<>();
+    private final AtomicLong handledInWindow = new AtomicLong();
+    private final Object completions = new Object();
+    private final ScheduledExecutorService leaseHeartbeat = Executors.newSingleThreadScheduledExecutor(runnable ->
+    {
+        Thread thread = new Thread(runnable, "queue-lease-heartbeat");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private volatile boolean consuming = false;
+    private long throughputWindowStart = System.currentTimeMillis();
+    private Semaphore workerSlots;
+    private ExecutorService workers;
+    private Thread dispatcher;
 
     @Inject
-    public NotificationsQueueManager(Notifications notifications, Queue queue, NotificationHandler eventHandler)
+    public NotificationsQueueManager(Notifications notifications, Queue queue, NotificationHandler eventHandler, QueueManagerConfiguration configuration)
     {
         this.notifications = notifications;
         this.queue = queue;
         this.eventHandler = eventHandler;
+        this.configuration = configuration;
+    }
+
+    public NotificationsQueueManager(Notifications notifications, Queue queue, NotificationHandler eventHandler)
+    {
+        this(notifications, queue, eventHandler, new QueueManagerConfiguration());
     }
 
 
     public int handle()
+    {
+        updateWaitingInQueue();
+        return TracerFactory.get().executeWithTrace(ResourceLoggingAndTracing.HANDLE_EVENTS_IN_QUEUE, () -> handleEvents(queue.lease(configuration.getLeaseDuration(), Collections.emptyList())));
+    }
+
+    private void updateWaitingInQueue()
     {
         long waitingInQueue = queue.size();
         PrometheusMetricsFactory.getInstance().setGauge(QUEUE_WAITING,waitingInQueue);
         LOGGER.info("waiting in queue {}",waitingInQueue);
-        return TracerFactory.get().executeWithTrace(ResourceLoggingAndTracing.HANDLE_EVENTS_IN_QUEUE, () -> handleEvents(queue.getFirstInQueue()));
+    }
+
+    public int drain()
+    {
+        int handled = 0;
+        while (TracerFactory.get().executeWithTrace(ResourceLoggingAndTracing.HANDLE_EVENTS_IN_QUEUE, () -> handleEvents(queue.lease(configuration.getLeaseDuration(), Collections.emptyList()))) > 0)
+        {
+            handled++;
+        }
+        return handled;
+    }
+
+    void dispatch(QueueManagerConfiguration configuration) throws InterruptedException
+    {
+        boolean signalled = false;
+        int misses = 0;
+        while (consuming)
+        {
+            workerSlots.acquire();
+            Optional<MetadataNotification> leased;
+            try
+            {
+                leased = queue.lease(configuration.getLeaseDuration(), new ArrayList<>(inFlight.values()));
+            }
+            catch (Exception e)
+            {
+                workerSlots.release();
+                LOGGER.error("error leasing queue events {}", e.getMessage());
+                Thread.sleep(configuration.getMaxWaitForEvents());
+                continue;
+            }
+
+            if (leased.isPresent())
+            {
+                signalled = false;
+                misses = 0;
+                submit(leased.get(), configuration.getLeaseDuration());
+            }
+            else
+            {
+                workerSlots.release();
+                if (!signalled && inFlight.isEmpty())
+                {
+                    updateWaitingInQueue();
+                    signalled = queue.waitForEvents(configuration.getMaxWaitForEvents());
+                }
+                else
+                {
+                    //events are pending for versions in flight (here or in other nodes): back off until a worker completes
+                    long backOff = Math.min(Math.min(MIN_BACK_OFF << Math.min(misses++, 4), MAX_BACK_OFF), configuration.getMaxWaitForEvents());
+                    synchronized (completions)
+                    {
+                        completions.wait(backOff);
+                    }
+                    signalled = false;
+                }
+            }
+        }
+    }
+
+    private void submit(MetadataNotification event, long leaseDuration)
+    {
+        String key = versionKey(event);
+        inFlight.put(key, event);
+        PrometheusMetricsFactory.getInstance().setGauge(QUEUE_IN_FLIGHT, inFlight.size());
+        try
+        {
+            workers.execute(() ->
+            {
+                try
+                {
+                    TracerFactory.get().executeWithTrace(ResourceLoggingAndTracing.HANDLE_EVENTS_IN_QUEUE, () ->
+                    {
+                        if (withLeaseHeartbeat(event, leaseDuration, () -> handleEvent(event)))
+                        {
+                            queue.ack(event);
+                        }
+                        return 1;
+                    });
+                }
+                catch (Exception e)
+                {
+                    LOGGER.error("error handling eventId:[{}], lease will expire and event will be re-delivered: {}", event.getEventId(), e.getMessage());
+                }
+                finally
+                {
+                    complete(key);
+                }
+            });
+        }
+        catch (RejectedExecutionException e)
+        {
+            LOGGER.warn("workers shutting down, eventId:[{}] will be re-delivered when lease expires", event.getEventId());
+            complete(key);
+        }
+    }
+
+    private void complete(String key)
+    {
+        inFlight.remove(key);
+        handledInWindow.incrementAndGet();
+        updateThroughput();
+        workerSlots.release();
+        PrometheusMetricsFactory.getInstance().setGauge(QUEUE_IN_FLIGHT, inFlight.size());
+        synchronized (completions)
+        {
+            completions.notifyAll();
+        }
+    }
+
+    private synchronized void updateThroughput()
+    {
+        long now = System.currentTimeMillis();
+        long elapsed = now - throughputWindowStart;
+        if (elapsed >= THROUGHPUT_WINDOW)
+        {
+            throughputWindowStart = now;
+            PrometheusMetricsFactory.getInstance().setGauge(QUEUE_THROUGHPUT, handledInWindow.getAndSet(0) * (double)THROUGHPUT_WINDOW / elapsed);
+            updateWaitingInQueue();
+        }
+    }
+
+    //keeps the lease alive while the event is handled, so long running refreshes are not re-delivered to another worker
+    private <T> T withLeaseHeartbeat(MetadataNotification event, long leaseDuration, Supplier<T> handler)
+    {
+        if (event.getId() == null)
+        {
+            return handler.get();
+        }
+        long interval = Math.max(leaseDuration / 3, 1);
+        ScheduledFuture<?> heartbeat = leaseHeartbeat.scheduleAtFixedRate(() -> renewLease(event, leaseDuration), interval, interval, TimeUnit.MILLISECONDS);
+        try
+        {
+            return handler.get();
+        }
+        finally
+        {
+            heartbeat.cancel(false);
+        }
+    }
+
+    private void renewLease(MetadataNotification event, long leaseDuration)
+    {
+        try
+        {
+            if (!queue.renewLease(event, leaseDuration))
+            {
+                LOGGER.warn("could not renew lease for eventId:[{}], it may be re-delivered", event.getEventId());
+            }
+        }
+        catch (Exception e)
+        {
+            LOGGER.warn("error renewing lease for eventId:[{}]: {}", event.getEventId(), e.getMessage());
+        }
+    }
+
+    private static String versionKey(MetadataNotification event)
+    {
+        return event.getGroupId() + GAV_SEPARATOR + event.getArtifactId() + GAV_SEPARATOR + event.getVersionId();
+    }
+
+    int inFlight()
+    {
+        return inFlight.size();
+    }
+
+    public synchronized void startConsumers(QueueManagerConfiguration configuration)
+    {
+        if (consuming)
+        {
+            return;
+        }
+        long numberOfWorkers = configuration.getNumberOfQueueWorkers();
+        consuming = true;
+        workerSlots = new Semaphore((int)numberOfWorkers);
+        workers = newWorkersExecutor(numberOfWorkers, configuration.isVirtualThreads());
+        throughputWindowStart = System.currentTimeMillis();
+        dispatcher = new Thread(() ->
+        {
+            try
+            {
+                Thread.sleep(configuration.getQueueDelay());
+                dispatch(configuration);
+            }
+            catch (InterruptedException e)
+            {
+                Thread.currentThread().interrupt();
+            }
+        }, "queue-dispatcher");
+        dispatcher.setDaemon(true);
+        dispatcher.start();
+        LOGGER.info("started event driven queue dispatcher with {} workers", numberOfWorkers);
+    }
+
+    public synchronized void stopConsumers()
+    {
+        consuming = false;
+        if (dispatcher != null)
+        {
+            dispatcher.interrupt();
+            dispatcher = null;
+        }
+        if (workers != null)
+        {
+            //in flight events keep their lease and complete, anything not acknowledged is re-delivered when the lease expires
+            workers.shutdown();
+        }
+    }
+
+    private static ExecutorService newWorkersExecutor(long numberOfWorkers, boolean virtualThreads)
+    {
+        if (virtualThreads)
+        {
+            try
+            {
+                return (ExecutorService)Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+            }
+            catch (ReflectiveOperationException e)
+            {
+                LOGGER.info("virtual threads not supported by this JVM, using platform threads for queue workers");
+            }
+        }
+        AtomicInteger workerCount = new AtomicInteger();
+        return Executors.newFixedThreadPool((int)numberOfWorkers, runnable ->
+        {
+            Thread thread = new Thread(runnable, "queue-worker_" + workerCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
     }
 
     private int handleEvents(Optional<MetadataNotification> foundEvent)
     {
         if (foundEvent.isPresent())
         {
-            handleEvent(foundEvent.get());
+            if (withLeaseHeartbeat(foundEvent.get(), configuration.getLeaseDuration(), () -> handleEvent(foundEvent.get())))
+            {
+                queue.ack(foundEvent.get());
+            }
             LOGGER.info("Finished processing events");
             return 1;
         }
@@ -74,7 +355,7 @@ public class NotificationsQueueManager
     }
 
 
-    void handleEvent(MetadataNotification event)
+    boolean handleEvent(MetadataNotification event)
     {
         PrometheusMetricsFactory.getInstance().incrementCount(NOTIFICATIONS_COUNTER);
         List<String> validationErrors = eventHandler.validate(event);
@@ -85,9 +366,10 @@ public class NotificationsQueueManager
             LOGGER.error(message);
             notifications.createOrUpdate(event.addError(message).complete());
             PrometheusMetricsFactory.getInstance().incrementErrorCount(NOTIFICATIONS_COUNTER);
-            return;
+            return true;
         }
 
+        boolean completed = true;
         MetadataNotificationResponse response = new MetadataNotificationResponse();
         try
         {
@@ -119,11 +401,21 @@ public class NotificationsQueueManager
                 }
                 else
                 {
-                    String message = String.format("eventId:[%s],parentEventId:[%s],gav:[%s-%s-%s], attempt [%s] completed with errors [%s] will retry",
-                            event.getEventId(), event.getParentEventId(), event.getGroupId(), event.getArtifactId(), event.getVersionId(), event.getAttempt(), String.join(DELIMITER, response.getErrors()));
+                    long retryDelay = retryDelay(event);
+                    String message = String.format("eventId:[%s],parentEventId:[%s],gav:[%s-%s-%s], attempt [%s] completed with errors [%s] will retry in [%s] ms",
+                            event.getEventId(), event.getParentEventId(), event.getGroupId(), event.getArtifactId(), event.getVersionId(), event.getAttempt(), String.join(DELIMITER, response.getErrors()), retryDelay);
                     response.addError(message);
                     LOGGER.error(message);
-                    queue.push(event.combineResponse(response).setFullUpdate(true));
+                    event.combineResponse(response).setFullUpdate(true);
+                    if (event.getId() == null)
+                    {
+                        queue.push(event);
+                    }
+                    else
+                    {
+                        queue.nack(event, retryDelay);
+                    }
+                    completed = false;
                 }
             }
             else
@@ -133,10 +425,17 @@ public class NotificationsQueueManager
                 LOGGER.info("eventId:[{}],parentEventId:[{}],gav: [{}-{}-{}] ,attempt [{}] completed successfully", event.getEventId(), event.getParentEventId(), event.getGroupId(), event.getArtifactId(), event.getVersionId(), event.getAttempt());
             }
         }
+        return completed;
     }
 
 
 
+    private long retryDelay(MetadataNotification event)
+    {
+        long retryDelay = configuration.getRetryBackOff() << Math.min(Math.max(event.getAttempt() - 1, 0), 20);
+        return Math.min(retryDelay, configuration.getMaxRetryBackOff());
+    }
+
     public String notify(String projectId, String groupId, String artifactId, String versionId)
     {
         PrometheusMetricsFactory.getInstance().incrementCount(NOTIFICATIONS_COUNTER);
@@ -163,13 +462,7 @@ public class NotificationsQueueManager
 
     public void handleAll()
     {
-        Optional<MetadataNotification> event = queue.getFirstInQueue();
-        do
-        {
-            handleEvents(event);
-            event = queue.getFirstInQueue();
-        }
-        while (event.isPresent());
+        drain();
     }
 
 }
@@ -20,6 +20,7 @@ import org.finos.legend.depot.domain.notifications.MetadataNotification;
 import org.finos.legend.depot.domain.notifications.MetadataNotificationStatus;
 import org.finos.legend.depot.services.api.notifications.NotificationHandler;
 import org.finos.legend.depot.services.api.notifications.NotificationsService;
+import org.finos.legend.depot.services.api.notifications.queue.QueueManagerConfiguration;
 import org.finos.legend.depot.store.model.projects.StoreProjectData;
 import org.finos.legend.depot.store.api.entities.UpdateEntities;
 import org.finos.legend.depot.store.api.projects.UpdateProjects;
@@ -34,7 +35,12 @@ import org.junit.Before;
 import org.junit.Test;
 
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import static org.finos.legend.depot.domain.DatesHandler.toDate;
 import static org.mockito.Mockito.mock;
@@ -52,7 +58,7 @@ public class TestNotificationQueueManager extends TestStoreMongo
     private final NotificationsQueueMongo queue = new NotificationsQueueMongo(mongoProvider);
     private final NotificationHandler notificationEventHandler = mock(NotificationHandler.class);
     private final NotificationsService notificationsService = new NotificationsServiceImpl(notifications);
-    private final NotificationsQueueManager eventsManager = new NotificationsQueueManager(notifications, queue, notificationEventHandler);
+    private final NotificationsQueueManager eventsManager = new NotificationsQueueManager(notifications, queue, notificationEventHandler, retryImmediately());
 
     @Before
     public void setUpData()
@@ -195,4 +201,160 @@ public class TestNotificationQueueManager extends TestStoreMongo
         Assert.assertEquals(2,notification.getResponses().size());
     }
 
+    @Test
+    public void canDrainQueue()
+    {
+        queue.push(new MetadataNotification(TEST_PROJECT_ID, TEST_GROUP_ID, "test", VERSION_ID));
+        queue.push(new MetadataNotification(TEST_PROJECT_ID, TEST_GROUP_ID, "test", "10.0.0"));
+        Assert.assertEquals(2, eventsManager.drain());
+        Assert.assertTrue(queue.getAll().isEmpty());
+        Assert.assertEquals(2, notifications.getAll().size());
+        Assert.assertEquals(0, eventsManager.drain());
+    }
+
+    @Test
+    public void eventDrivenConsumerHandlesNewEvents() throws InterruptedException
+    {
+        eventsManager.startConsumers(consumerConfiguration(1));
+        try
+        {
+            MetadataNotification event = new MetadataNotification(TEST_PROJECT_ID, TEST_GROUP_ID, "test", VERSION_ID);
+            queue.push(event);
+            long deadline = System.currentTimeMillis() + 10000;
+            while (notifications.getAll().isEmpty() && System.currentTimeMillis() < deadline)
+            {
+                Thread.sleep(50);
+            }
+            checkEventResult(event);
+        }
+        finally
+        {
+            eventsManager.stopConsumers();
+        }
+    }
+
+    @Test
+    public void leaseIsRenewedWhileEventIsHandled()
+    {
+        QueueManagerConfiguration configuration = retryImmediately();
+        configuration.setLeaseDuration(300);
+        NotificationsQueueManager manager = new NotificationsQueueManager(notifications, queue, notificationEventHandler, configuration);
+        NotificationsQueueMongo otherNode = new NotificationsQueueMongo(mongoProvider);
+        MetadataNotification event = new MetadataNotification(TEST_PROJECT_ID, TEST_GROUP_ID, "test", "3.0.0");
+        AtomicBoolean redelivered = new AtomicBoolean();
+        when(notificationEventHandler.handleNotification(event)).thenAnswer(invocation ->
+        {
+            Thread.sleep(1000);
+            redelivered.set(otherNode.lease(300, Collections.emptyList()).isPresent());
+            return new MetadataNotificationResponse();
+        });
+        queue.push(event);
+
+        Assert.assertEquals(1, manager.handle());
+        Assert.assertFalse(redelivered.get());
+        Assert.assertTrue(queue.getAll().isEmpty());
+    }
+
+    private static QueueManagerConfiguration retryImmediately()
+    {
+        QueueManagerConfiguration configuration = new QueueManagerConfiguration();
+        configuration.setRetryBackOff(0);
+        return configuration;
+    }
+
+    private static QueueManagerConfiguration consumerConfiguration(long workers)
+    {
+        QueueManagerConfiguration configuration = new QueueManagerConfiguration();
+        configuration.setEventDriven(true);
+        configuration.setNumberOfQueueWorkers(workers);
+        configuration.setQueueDelay(0);
+        configuration.setMaxWaitForEvents(200);
+        return configuration;
+    }
+
+    @Test
+    public void workersProcessEventsConcurrentlyButNeverTheSameVersion() throws InterruptedException
+    {
+        AtomicInteger running = new AtomicInteger();
+        AtomicInteger maxRunning = new AtomicInteger();
+        Map<String, Integer> runningVersions = new ConcurrentHashMap<>();
+        AtomicInteger sameVersionOverlaps = new AtomicInteger();
+        NotificationHandler slowHandler = new NotificationHandler()
+        {
+            @Override
+            public MetadataNotificationResponse handleNotification(MetadataNotification event)
+            {
+                String version = event.getGroupId() + event.getArtifactId() + event.getVersionId();
+                if (runningVersions.merge(version, 1, Integer::sum) > 1)
+                {
+                    sameVersionOverlaps.incrementAndGet();
+                }
+                maxRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+                try
+                {
+                    Thread.sleep(200);
+                }
+                catch (InterruptedException e)
+                {
+                    Thread.currentThread().interrupt();
+                }
+                running.decrementAndGet();
+                runningVersions.merge(version, -1, Integer::sum);
+                return new MetadataNotificationResponse();
+            }
+
+            @Override
+            public List<String> validate(MetadataNotification event)
+            {
+                return Collections.emptyList();
+            }
+        };
+
+        for (int i = 0; i < 6; i++)
+        {
+            queue.push(new MetadataNotification(TEST_PROJECT_ID, TEST_GROUP_ID, "test", "1.0." + i));
+        }
+        MetadataNotification inProgress = new MetadataNotification(TEST_PROJECT_ID, TEST_GROUP_ID, "test", "1.0.0");
+        Assert.assertTrue(queue.lease(60000, Collections.emptyList()).isPresent());
+        queue.push(inProgress);
+
+        NotificationsQueueManager concurrentManager = new NotificationsQueueManager(notifications, queue, slowHandler);
+        concurrentManager.startConsumers(consumerConfiguration(3));
+        try
+        {
+            long deadline = System.currentTimeMillis() + 10000;
+            while (notifications.getAll().size() < 5 && System.currentTimeMillis() < deadline)
+            {
+                Thread.sleep(50);
+            }
+        }
+        finally
+        {
+            concurrentManager.stopConsumers();
+        }
+        Assert.assertEquals(5, notifications.getAll().size());
+        Assert.assertEquals(0, sameVersionOverlaps.get());
+        Assert.assertTrue(maxRunning.get() > 1);
+        Assert.assertTrue(maxRunning.get() <= 3);
+        //1.0.0 is leased by another worker, the new request for it waits until that lease is released
+        Assert.assertEquals(2, queue.getAll().size());
+    }
+
+    @Test
+    public void retriesAreDelayedWithBackOff()
+    {
+        NotificationsQueueManager manager = new NotificationsQueueManager(notifications, queue, notificationEventHandler);
+        MetadataNotification event = new MetadataNotification(TEST_PROJECT_ID, TEST_GROUP_ID, "test", "2.3.1");
+        queue.push(event);
+        MetadataNotification mockEnt = queue.getAllStoredEntities().get(0).increaseAttempts();
+        when(notificationEventHandler.handleNotification(mockEnt)).thenReturn(new MetadataNotificationResponse().addError("i have failed, need to retry"));
+
+        Assert.assertEquals(1, manager.handle());
+        Assert.assertEquals(1, queue.getAll().size());
+        Assert.assertEquals(MetadataNotificationStatus.FAILED, queue.getAll().get(0).getStatus());
+        Assert.assertTrue(queue.getAll().get(0).isFullUpdate());
+        Assert.assertEquals(0, manager.handle());
+        Assert.assertTrue(notifications.getAll().isEmpty());
+    }
+
 }
@@ -20,6 +20,7 @@ import io.swagger.annotations.ApiOperation;
 import io.swagger.annotations.ApiParam;
 import org.finos.legend.depot.domain.project.ProjectVersion;
 import org.finos.legend.depot.domain.version.VersionValidator;
+import org.finos.legend.depot.services.api.projects.ProjectsService;
 import org.finos.legend.depot.services.api.pure.model.context.PureModelContextService;
 import org.finos.legend.depot.core.services.tracing.resources.TracingResource;
 import org.finos.legend.depot.services.api.EtagBuilder;
@@ -47,12 +48,29 @@ import static org.finos.legend.depot.core.services.tracing.ResourceLoggingAndTra
 public class PureModelContextResource extends TracingResource
 {
     private final PureModelContextService service;
+    private final ProjectsService projectsService;
 
 
     @Inject
-    public PureModelContextResource(PureModelContextService service)
+    public PureModelContextResource(PureModelContextService service, ProjectsService projectsService)
     {
         this.service = service;
+        this.projectsService = projectsService;
+    }
+
+    private String buildEtag(String groupId, String artifactId, String versionId, String clientVersion, boolean transitive)
+    {
+        EtagBuilder etagBuilder = EtagBuilder.create();
+        if (transitive)
+        {
+            //dependencies are refreshed independently of the version itself so only immutable versions are tagged
+            etagBuilder.withGAV(groupId, artifactId, versionId);
+        }
+        else
+        {
+            etagBuilder.withVersionStamp(projectsService, groupId, artifactId, versionId);
+        }
+        return etagBuilder.withProtocolVersion(clientVersion).build();
     }
 
     @GET
@@ -68,7 +86,7 @@ public class PureModelContextResource extends TracingResource
                                                         @ApiParam("Whether to include entities from dependencies") boolean transitive,
                                                         @Context Request request)
     {
-        return handle(GET_VERSION_ENTITIES_AS_PMCD, () -> service.getPureModelContextData(groupId, artifactId, versionId, clientVersion, transitive), request, () -> EtagBuilder.create().withGAV(groupId, artifactId, versionId).withProtocolVersion(clientVersion).build());
+        return handle(GET_VERSION_ENTITIES_AS_PMCD, () -> service.getPureModelContextData(groupId, artifactId, versionId, clientVersion, transitive), request, () -> buildEtag(groupId, artifactId, versionId, clientVersion, transitive));
     }
 
     @POST
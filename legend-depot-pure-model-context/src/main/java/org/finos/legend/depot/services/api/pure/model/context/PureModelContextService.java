@@ -25,4 +25,6 @@ public interface PureModelContextService
     PureModelContextData getPureModelContextData(String groupId, String artifactId, String versionId, String clientVersion, boolean transitive);
 
     PureModelContextData getPureModelContextData(List<ProjectVersion> projectDependencies, String clientVersion, boolean transitive);
+
+    int refreshCache(long updatedFrom, long updatedTo);
 }
@@ -0,0 +1,132 @@
+//  Copyright 2022 Goldman Sachs
+//
+//  Licensed under the Apache License, Version 2.0 (the "License");
+//  you may not use this file except in compliance with the License.
+//  You may obtain a copy of the License at
+//
+//       http://www.apache.org/licenses/LICENSE-2.0
+//
+//  Unless required by applicable law or agreed to in writing, software
+//  distributed under the License is distributed on an "AS IS" BASIS,
+//  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+//  See the License for the specific language governing permissions and
+//  limitations under the License.
+//
+
+package org.finos.legend.depot.services.api.pure.model.context.configuration;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+@JsonIgnoreProperties(ignoreUnknown = true)
+public class PureModelContextCacheConfiguration
+{
+    private static final long DEFAULT_MAXIMUM_SIZE = 200L;
+    private static final long ONE_HOUR = 60 * 60L;
+    private static final long DEFAULT_SERIALIZED_MAXIMUM_BYTES = 512L * 1024 * 1024;
+    private static final long FIVE_MINUTES = 5 * 60L;
+
+    @JsonProperty
+    boolean enabled = true;
+
+    @JsonProperty
+    long maximumSize = DEFAULT_MAXIMUM_SIZE;
+
+    @JsonProperty
+    long expireAfterWriteSeconds = ONE_HOUR;
+
+    @JsonProperty
+    boolean serializedTierEnabled = false;
+
+    @JsonProperty
+    long serializedMaximumBytes = DEFAULT_SERIALIZED_MAXIMUM_BYTES;
+
+    @JsonProperty
+    long refreshIntervalSeconds = FIVE_MINUTES;
+
+    @JsonProperty
+    boolean warmUp = false;
+
+    public PureModelContextCacheConfiguration()
+    {
+    }
+
+    public PureModelContextCacheConfiguration(boolean enabled, long maximumSize, long expireAfterWriteSeconds, boolean serializedTierEnabled, long serializedMaximumBytes)
+    {
+        this.enabled = enabled;
+        this.maximumSize = maximumSize;
+        this.expireAfterWriteSeconds = expireAfterWriteSeconds;
+        this.serializedTierEnabled = serializedTierEnabled;
+        this.serializedMaximumBytes = serializedMaximumBytes;
+    }
+
+    public boolean isEnabled()
+    {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled)
+    {
+        this.enabled = enabled;
+    }
+
+    public long getMaximumSize()
+    {
+        return maximumSize;
+    }
+
+    public void setMaximumSize(long maximumSize)
+    {
+        this.maximumSize = maximumSize;
+    }
+
+    public long getExpireAfterWriteSeconds()
+    {
+        return expireAfterWriteSeconds;
+    }
+
+    public void setExpireAfterWriteSeconds(long expireAfterWriteSeconds)
+    {
+        this.expireAfterWriteSeconds = expireAfterWriteSeconds;
+    }
+
+    public boolean isSerializedTierEnabled()
+    {
+        return serializedTierEnabled;
+    }
+
+    public void setSerializedTierEnabled(boolean serializedTierEnabled)
+    {
+        this.serializedTierEnabled = serializedTierEnabled;
+    }
+
+    public long getSerializedMaximumBytes()
+    {
+        return serializedMaximumBytes;
+    }
+
+    public void setSerializedMaximumBytes(long serializedMaximumBytes)
+    {
+        this.serializedMaximumBytes = serializedMaximumBytes;
+    }
+
+    public long getRefreshIntervalSeconds()
+    {
+        return refreshIntervalSeconds;
+    }
+
+    public void setRefreshIntervalSeconds(long refreshIntervalSeconds)
+    {
+        this.refreshIntervalSeconds = refreshIntervalSeconds;
+    }
+
+    public boolean isWarmUp()
+    {
+        return warmUp;
+    }
+
+    public void setWarmUp(boolean warmUp)
+    {
+        this.warmUp = warmUp;
+    }
+}
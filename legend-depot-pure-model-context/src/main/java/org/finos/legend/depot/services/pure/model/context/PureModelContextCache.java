@@ -0,0 +1,213 @@
+//  Copyright 2022 Goldman Sachs
+//
+//  Licensed under the Apache License, Version 2.0 (the "License");
+//  you may not use this file except in compliance with the License.
+//  You may obtain a copy of the License at
+//
+//       http://www.apache.org/licenses/LICENSE-2.0
+//
+//  Unless required by applicable law or agreed to in writing, software
+//  distributed under the License is distributed on an "AS IS" BASIS,
+//  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+//  See the License for the specific language governing permissions and
+//  limitations under the License.
+//
+
+package org.finos.legend.depot.services.pure.model.context;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.RemovalCause;
+import com.google.common.cache.RemovalNotification;
+import org.finos.legend.depot.core.services.metrics.PrometheusMetricsFactory;
+import org.finos.legend.depot.domain.version.VersionValidator;
+import org.finos.legend.depot.services.api.pure.model.context.configuration.PureModelContextCacheConfiguration;
+import org.finos.legend.engine.protocol.pure.v1.model.context.PureModelContextData;
+import org.finos.legend.engine.shared.core.ObjectMapperFactory;
+import org.slf4j.Logger;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+//only release versions are cached, their entities and dependencies do not change once loaded
+//entries pushed out of the memory tier are kept gzipped in the serialized tier when it is enabled
+public class PureModelContextCache
+{
+    public static final String PMCD_CACHE_HIT = "pmcdCache_hit";
+    public static final String PMCD_CACHE_BUILD_DURATION = "pmcdCache_build_duration";
+
+    private static final Logger LOGGER = org.slf4j.LoggerFactory.getLogger(PureModelContextCache.class);
+    private static final ObjectMapper objectMapper = ObjectMapperFactory.getNewStandardObjectMapperWithPureProtocolExtensionSupports();
+    private static final String SEPARATOR = ":";
+
+    private final boolean enabled;
+    private final boolean warmUp;
+    private final Cache<String, PureModelContextData> memoryTier;
+    private final Cache<String, byte[]> serializedTier;
+
+    public PureModelContextCache(PureModelContextCacheConfiguration configuration)
+    {
+        this.enabled = configuration != null && configuration.isEnabled();
+        this.warmUp = enabled && configuration.isWarmUp();
+        this.serializedTier = enabled && configuration.isSerializedTierEnabled() ? CacheBuilder.newBuilder()
+                .maximumWeight(configuration.getSerializedMaximumBytes())
+                .weigher((String key, byte[] value) -> value.length)
+                .expireAfterWrite(configuration.getExpireAfterWriteSeconds(), TimeUnit.SECONDS)
+                .build() : null;
+        this.memoryTier = enabled ? CacheBuilder.newBuilder()
+                .maximumSize(configuration.getMaximumSize())
+                .expireAfterWrite(configuration.getExpireAfterWriteSeconds(), TimeUnit.SECONDS)
+                .removalListener(this::demote)
+                .build() : null;
+        PrometheusMetricsFactory.getInstance().registerHistogram(PMCD_CACHE_HIT, "pmcd cache hit (1) or miss (0) per lookup");
+        PrometheusMetricsFactory.getInstance().registerHistogram(PMCD_CACHE_BUILD_DURATION, "pmcd build time on cache miss");
+    }
+
+    public static PureModelContextCache disabled()
+    {
+        return new PureModelContextCache(new PureModelContextCacheConfiguration(false, 0, 0, false, 0));
+    }
+
+    private static String key(String groupId, String artifactId, String versionId)
+    {
+        return groupId + SEPARATOR + artifactId + SEPARATOR + versionId + SEPARATOR;
+    }
+
+    private static String key(String groupId, String artifactId, String versionId, String clientVersion, boolean transitive)
+    {
+        return key(groupId, artifactId, versionId) + clientVersion + SEPARATOR + transitive;
+    }
+
+    private static boolean isCacheableVersion(String versionId)
+    {
+        return versionId != null && !VersionValidator.isSnapshotVersion(versionId) && !VersionValidator.isVersionAlias(versionId);
+    }
+
+    public PureModelContextData get(String groupId, String artifactId, String versionId, String clientVersion, boolean transitive, Supplier<PureModelContextData> builder)
+    {
+        if (!enabled || !isCacheableVersion(versionId))
+        {
+            return builder.get();
+        }
+        String key = key(groupId, artifactId, versionId, clientVersion, transitive);
+        PureModelContextData cached = findCached(key);
+        PrometheusMetricsFactory.getInstance().observeHistogram(PMCD_CACHE_HIT, cached != null ? 1 : 0);
+        if (cached != null)
+        {
+            return cached;
+        }
+        long start = System.currentTimeMillis();
+        PureModelContextData built = builder.get();
+        PrometheusMetricsFactory.getInstance().observeHistogram(PMCD_CACHE_BUILD_DURATION, start, System.currentTimeMillis());
+        memoryTier.put(key, built);
+        return built;
+    }
+
+    private PureModelContextData findCached(String key)
+    {
+        PureModelContextData cached = memoryTier.getIfPresent(key);
+        if (cached == null && serializedTier != null)
+        {
+            byte[] serialized = serializedTier.getIfPresent(key);
+            if (serialized != null)
+            {
+                cached = deserialize(key, serialized);
+                if (cached != null)
+                {
+                    serializedTier.invalidate(key);
+                    memoryTier.put(key, cached);
+                }
+            }
+        }
+        return cached;
+    }
+
+    private void demote(RemovalNotification<String, PureModelContextData> notification)
+    {
+        if (serializedTier != null && notification.getCause() == RemovalCause.SIZE)
+        {
+            byte[] serialized = serialize(notification.getKey(), notification.getValue());
+            if (serialized != null)
+            {
+                serializedTier.put(notification.getKey(), serialized);
+            }
+        }
+    }
+
+    private static byte[] serialize(String key, PureModelContextData data)
+    {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (OutputStream output = new GZIPOutputStream(bytes))
+        {
+            objectMapper.writeValue(output, data);
+        }
+        catch (IOException e)
+        {
+            LOGGER.warn("could not serialize pmcd {}: {}", key, e.getMessage());
+            return null;
+        }
+        return bytes.toByteArray();
+    }
+
+    private static PureModelContextData deserialize(String key, byte[] serialized)
+    {
+        try (InputStream input = new GZIPInputStream(new ByteArrayInputStream(serialized)))
+        {
+            return objectMapper.readValue(input, PureModelContextData.class);
+        }
+        catch (IOException e)
+        {
+            LOGGER.warn("could not deserialize pmcd {}: {}", key, e.getMessage());
+            return null;
+        }
+    }
+
+    public boolean isEnabled()
+    {
+        return enabled;
+    }
+
+    public boolean isWarmUp()
+    {
+        return warmUp;
+    }
+
+    public boolean isCached(String groupId, String artifactId, String versionId, String clientVersion, boolean transitive)
+    {
+        String key = key(groupId, artifactId, versionId, clientVersion, transitive);
+        return enabled && (memoryTier.getIfPresent(key) != null || (serializedTier != null && serializedTier.getIfPresent(key) != null));
+    }
+
+    public void invalidate(String groupId, String artifactId, String versionId)
+    {
+        if (enabled)
+        {
+            String prefix = key(groupId, artifactId, versionId);
+            memoryTier.asMap().keySet().removeIf(key -> key.startsWith(prefix));
+            if (serializedTier != null)
+            {
+                serializedTier.asMap().keySet().removeIf(key -> key.startsWith(prefix));
+            }
+        }
+    }
+
+    public void invalidateAll()
+    {
+        if (enabled)
+        {
+            memoryTier.invalidateAll();
+            if (serializedTier != null)
+            {
+                serializedTier.invalidateAll();
+            }
+        }
+    }
+}
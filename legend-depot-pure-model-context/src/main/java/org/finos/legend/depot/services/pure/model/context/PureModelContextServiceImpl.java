@@ -18,36 +18,54 @@ package org.finos.legend.depot.services.pure.model.context;
 import org.finos.legend.depot.core.services.tracing.TracerFactory;
 import org.finos.legend.depot.domain.entity.ProjectVersionEntities;
 import org.finos.legend.depot.domain.project.ProjectVersion;
+import org.finos.legend.depot.domain.version.VersionValidator;
 import org.finos.legend.depot.services.api.entities.EntitiesService;
 import org.finos.legend.depot.services.api.projects.ProjectsService;
 import org.finos.legend.depot.services.api.pure.model.context.PureModelContextService;
+import org.finos.legend.depot.store.api.projects.ProjectsVersions;
+import org.finos.legend.depot.store.model.projects.StoreProjectVersionData;
 import org.finos.legend.engine.protocol.pure.PureClientVersions;
 import org.finos.legend.engine.protocol.pure.v1.model.context.AlloySDLC;
 import org.finos.legend.engine.protocol.pure.v1.model.context.PureModelContextData;
 import org.finos.legend.sdlc.domain.model.entity.Entity;
 import org.finos.legend.sdlc.protocol.pure.v1.PureModelContextDataBuilder;
+import org.slf4j.Logger;
 
 import javax.inject.Inject;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Objects;
+import java.util.Set;
 import java.util.stream.Stream;
 
 import static org.finos.legend.engine.protocol.pure.v1.model.context.PureModelContextData.newBuilder;
 
 public class PureModelContextServiceImpl implements PureModelContextService
 {
+    private static final Logger LOGGER = org.slf4j.LoggerFactory.getLogger(PureModelContextServiceImpl.class);
     private static final String PURE = "pure";
     private static final String CALCULATE_COMBINED_PMCD = "calculate combined PMCD";
     private static final String GA_SEPARATOR = ":";
     private static final TracerFactory tracer = TracerFactory.get();
     private final EntitiesService entitiesService;
     private final ProjectsService projectsService;
+    private final ProjectsVersions projectsVersions;
+    private final PureModelContextCache pureModelContextCache;
 
     @Inject
-    public PureModelContextServiceImpl(EntitiesService entitiesService, ProjectsService projectsService)
+    public PureModelContextServiceImpl(EntitiesService entitiesService, ProjectsService projectsService, ProjectsVersions projectsVersions, PureModelContextCache pureModelContextCache)
     {
         this.entitiesService = entitiesService;
         this.projectsService = projectsService;
+        this.projectsVersions = projectsVersions;
+        this.pureModelContextCache = pureModelContextCache;
+    }
+
+    public PureModelContextServiceImpl(EntitiesService entitiesService, ProjectsService projectsService)
+    {
+        this(entitiesService, projectsService, null, PureModelContextCache.disabled());
     }
 
     @Override
@@ -55,7 +73,68 @@ public class PureModelContextServiceImpl implements PureModelContextService
     {
         String resolvedClientVersion = resolveAndValidateClientVersion(clientVersion);
         String version = this.projectsService.resolveAliasesAndCheckVersionExists(groupId, artifactId, versionId);
+        return pureModelContextCache.get(groupId, artifactId, version, resolvedClientVersion, transitive, () -> buildPureModelContextData(groupId, artifactId, version, resolvedClientVersion, transitive));
+    }
+
+    @Override
+    public int refreshCache(long updatedFrom, long updatedTo)
+    {
+        if (!pureModelContextCache.isEnabled())
+        {
+            return 0;
+        }
+        int warmed = 0;
+        for (StoreProjectVersionData versionData : this.projectsService.findByUpdatedDate(updatedFrom, updatedTo))
+        {
+            if (VersionValidator.isSnapshotVersion(versionData.getVersionId()))
+            {
+                continue;
+            }
+            try
+            {
+                invalidateWithDependants(versionData.getGroupId(), versionData.getArtifactId(), versionData.getVersionId());
+            }
+            catch (Exception e)
+            {
+                LOGGER.warn("could not invalidate pmcd for {}-{}-{}: {}", versionData.getGroupId(), versionData.getArtifactId(), versionData.getVersionId(), e.getMessage());
+                continue;
+            }
+            if (pureModelContextCache.isWarmUp() && !versionData.isEvicted() && !versionData.getVersionData().isExcluded())
+            {
+                try
+                {
+                    getPureModelContextData(versionData.getGroupId(), versionData.getArtifactId(), versionData.getVersionId(), null, true);
+                    warmed++;
+                }
+                catch (Exception e)
+                {
+                    LOGGER.warn("could not warm pmcd for {}-{}-{}: {}", versionData.getGroupId(), versionData.getArtifactId(), versionData.getVersionId(), e.getMessage());
+                }
+            }
+        }
+        return warmed;
+    }
+
+    private void invalidateWithDependants(String groupId, String artifactId, String versionId)
+    {
+        Set<ProjectVersion> visited = new HashSet<>();
+        Deque<ProjectVersion> toInvalidate = new ArrayDeque<>();
+        toInvalidate.add(new ProjectVersion(groupId, artifactId, versionId));
+        while (!toInvalidate.isEmpty())
+        {
+            ProjectVersion projectVersion = toInvalidate.poll();
+            if (visited.add(projectVersion))
+            {
+                pureModelContextCache.invalidate(projectVersion.getGroupId(), projectVersion.getArtifactId(), projectVersion.getVersionId());
+                // read straight from the store: excluded or evicted dependants must still be invalidated, and a refresh is not a query
+                this.projectsVersions.findDependants(projectVersion.getGroupId(), projectVersion.getArtifactId(), projectVersion.getVersionId())
+                        .forEach(dependant -> toInvalidate.add(new ProjectVersion(dependant.getGroupId(), dependant.getArtifactId(), dependant.getVersionId())));
+            }
+        }
+    }
 
+    private PureModelContextData buildPureModelContextData(String groupId, String artifactId, String version, String resolvedClientVersion, boolean transitive)
+    {
         List<Entity> entities = this.entitiesService.getEntities(groupId, artifactId, version);
 
         PureModelContextData pureModelContextData = buildPureModelContextData(entities.stream(), groupId, artifactId, version, resolvedClientVersion);
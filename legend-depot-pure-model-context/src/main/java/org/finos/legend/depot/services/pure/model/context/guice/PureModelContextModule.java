@@ -16,6 +16,10 @@
 package org.finos.legend.depot.services.pure.model.context.guice;
 
 import com.google.inject.PrivateModule;
+import com.google.inject.Provides;
+import com.google.inject.Singleton;
+import org.finos.legend.depot.services.api.pure.model.context.configuration.PureModelContextCacheConfiguration;
+import org.finos.legend.depot.services.pure.model.context.PureModelContextCache;
 import org.finos.legend.depot.services.pure.model.context.PureModelContextServiceImpl;
 import org.finos.legend.depot.services.api.pure.model.context.PureModelContextService;
 
@@ -27,4 +31,11 @@ public class PureModelContextModule extends PrivateModule
         bind(PureModelContextService.class).to(PureModelContextServiceImpl.class);
         expose(PureModelContextService.class);
     }
+
+    @Provides
+    @Singleton
+    PureModelContextCache initialisePureModelContextCache(PureModelContextCacheConfiguration configuration)
+    {
+        return new PureModelContextCache(configuration);
+    }
 }
@@ -0,0 +1,54 @@
+//  Copyright 2022 Goldman Sachs
+//
+//  Licensed under the Apache License, Version 2.0 (the "License");
+//  you may not use this file except in compliance with the License.
+//  You may obtain a copy of the License at
+//
+//       http://www.apache.org/licenses/LICENSE-2.0
+//
+//  Unless required by applicable law or agreed to in writing, software
+//  distributed under the License is distributed on an "AS IS" BASIS,
+//  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+//  See the License for the specific language governing permissions and
+//  limitations under the License.
+//
+
+package org.finos.legend.depot.services.pure.model.context.guice;
+
+import com.google.inject.PrivateModule;
+import com.google.inject.Provides;
+import com.google.inject.Singleton;
+import com.google.inject.name.Named;
+import org.finos.legend.depot.services.api.pure.model.context.PureModelContextService;
+import org.finos.legend.depot.services.api.pure.model.context.configuration.PureModelContextCacheConfiguration;
+import org.finos.legend.depot.services.api.schedules.SchedulesFactory;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+public class PureModelContextSchedulesModule extends PrivateModule
+{
+    private static final String REFRESH_PMCD_CACHE_SCHEDULE = "refresh-pmcd-cache";
+
+    @Override
+    protected void configure()
+    {
+    }
+
+    @Provides
+    @Singleton
+    @Named("refresh-pmcd-cache-schedule")
+    boolean scheduleCacheRefresh(SchedulesFactory schedulesFactory, PureModelContextCacheConfiguration configuration, PureModelContextService pureModelContextService)
+    {
+        if (configuration.isEnabled() && configuration.getRefreshIntervalSeconds() > 0)
+        {
+            long interval = configuration.getRefreshIntervalSeconds() * 1000;
+            AtomicLong lastRefresh = new AtomicLong(System.currentTimeMillis());
+            schedulesFactory.register(REFRESH_PMCD_CACHE_SCHEDULE, SchedulesFactory.MINUTE, interval, () ->
+            {
+                long now = System.currentTimeMillis();
+                return pureModelContextService.refreshCache(lastRefresh.getAndSet(now), now);
+            });
+        }
+        return true;
+    }
+}
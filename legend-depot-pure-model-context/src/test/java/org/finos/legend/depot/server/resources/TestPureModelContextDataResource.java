@@ -54,7 +54,7 @@ public class TestPureModelContextDataResource extends TestBaseServices
     private final Entities entitiesStore = new EntitiesMongo(mongoProvider);
     private final EntitiesService entitiesService = new EntitiesServiceImpl(entitiesStore, projectsService);
 
-    private final PureModelContextResource resource = new PureModelContextResource(new PureModelContextServiceImpl(entitiesService,projectsService));
+    private final PureModelContextResource resource = new PureModelContextResource(new PureModelContextServiceImpl(entitiesService,projectsService), projectsService);
 
     @Before
     public void setUpData()
@@ -0,0 +1,98 @@
+//  Copyright 2021 Goldman Sachs
+//
+//  Licensed under the Apache License, Version 2.0 (the "License");
+//  you may not use this file except in compliance with the License.
+//  You may obtain a copy of the License at
+//
+//       http://www.apache.org/licenses/LICENSE-2.0
+//
+//  Unless required by applicable law or agreed to in writing, software
+//  distributed under the License is distributed on an "AS IS" BASIS,
+//  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+//  See the License for the specific language governing permissions and
+//  limitations under the License.
+//
+
+package org.finos.legend.depot.services.pure.model.context;
+
+import org.finos.legend.depot.services.api.pure.model.context.configuration.PureModelContextCacheConfiguration;
+import org.finos.legend.engine.protocol.pure.v1.model.context.PureModelContextData;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import static org.finos.legend.depot.domain.version.VersionValidator.BRANCH_SNAPSHOT;
+
+public class TestPureModelContextCache
+{
+    private static final String CLIENT_VERSION = "vX_X_X";
+
+    private final AtomicInteger builds = new AtomicInteger();
+    private final Supplier<PureModelContextData> builder = () ->
+    {
+        builds.incrementAndGet();
+        return PureModelContextData.newBuilder().build();
+    };
+
+    @Test
+    public void releaseVersionsAreBuiltOnce()
+    {
+        PureModelContextCache cache = new PureModelContextCache(new PureModelContextCacheConfiguration());
+        PureModelContextData first = cache.get("examples.metadata", "test", "2.3.0", CLIENT_VERSION, true, builder);
+        PureModelContextData second = cache.get("examples.metadata", "test", "2.3.0", CLIENT_VERSION, true, builder);
+        Assert.assertSame(first, second);
+        Assert.assertEquals(1, builds.get());
+
+        cache.get("examples.metadata", "test", "2.3.0", CLIENT_VERSION, false, builder);
+        cache.get("examples.metadata", "test", "2.3.0", "v1_20_0", true, builder);
+        Assert.assertEquals(3, builds.get());
+    }
+
+    @Test
+    public void snapshotVersionsAreNotCached()
+    {
+        PureModelContextCache cache = new PureModelContextCache(new PureModelContextCacheConfiguration());
+        cache.get("examples.metadata", "test", BRANCH_SNAPSHOT("master"), CLIENT_VERSION, true, builder);
+        cache.get("examples.metadata", "test", BRANCH_SNAPSHOT("master"), CLIENT_VERSION, true, builder);
+        Assert.assertEquals(2, builds.get());
+        Assert.assertFalse(cache.isCached("examples.metadata", "test", BRANCH_SNAPSHOT("master"), CLIENT_VERSION, true));
+    }
+
+    @Test
+    public void invalidationRemovesAllEntriesForVersion()
+    {
+        PureModelContextCache cache = new PureModelContextCache(new PureModelContextCacheConfiguration());
+        cache.get("examples.metadata", "test", "2.3.0", CLIENT_VERSION, true, builder);
+        cache.get("examples.metadata", "test", "2.3.0", CLIENT_VERSION, false, builder);
+        cache.get("examples.metadata", "test", "2.3.1", CLIENT_VERSION, true, builder);
+
+        cache.invalidate("examples.metadata", "test", "2.3.0");
+        Assert.assertFalse(cache.isCached("examples.metadata", "test", "2.3.0", CLIENT_VERSION, true));
+        Assert.assertFalse(cache.isCached("examples.metadata", "test", "2.3.0", CLIENT_VERSION, false));
+        Assert.assertTrue(cache.isCached("examples.metadata", "test", "2.3.1", CLIENT_VERSION, true));
+    }
+
+    @Test
+    public void evictedEntriesAreKeptInSerializedTier()
+    {
+        PureModelContextCache cache = new PureModelContextCache(new PureModelContextCacheConfiguration(true, 1, 60, true, 1024 * 1024));
+        cache.get("examples.metadata", "test", "2.3.0", CLIENT_VERSION, true, builder);
+        cache.get("examples.metadata", "test", "2.3.1", CLIENT_VERSION, true, builder);
+        Assert.assertEquals(2, builds.get());
+
+        Assert.assertTrue(cache.isCached("examples.metadata", "test", "2.3.0", CLIENT_VERSION, true));
+        Assert.assertNotNull(cache.get("examples.metadata", "test", "2.3.0", CLIENT_VERSION, true, builder));
+        Assert.assertEquals(2, builds.get());
+    }
+
+    @Test
+    public void disabledCacheAlwaysBuilds()
+    {
+        PureModelContextCache cache = PureModelContextCache.disabled();
+        cache.get("examples.metadata", "test", "2.3.0", CLIENT_VERSION, true, builder);
+        cache.get("examples.metadata", "test", "2.3.0", CLIENT_VERSION, true, builder);
+        Assert.assertEquals(2, builds.get());
+    }
+}
@@ -48,6 +48,7 @@ import org.junit.Test;
 import org.mockito.Mockito;
 
 import java.net.URL;
+import java.util.Arrays;
 import java.util.List;
 
 import static org.finos.legend.depot.domain.version.VersionValidator.BRANCH_SNAPSHOT;
@@ -214,4 +215,25 @@ public class TestPureModelContextService extends TestBaseServices
     {
         Assert.assertThrows(IllegalArgumentException.class, () -> getPureModelContextDataAsString("examples.metadata","test", "lastest", "dummy_version", false));
     }
+
+    @Test
+    public void refreshInvalidatesDependantsOfExcludedVersions()
+    {
+        ProjectsService refreshedProjects = Mockito.spy(projectsService);
+        PureModelContextService cachedService = new PureModelContextServiceImpl(new EntitiesServiceImpl(entitiesStore, refreshedProjects), refreshedProjects, projectsVersionsStore, new PureModelContextCache(new PureModelContextCacheConfiguration()));
+        PureModelContextData cached = cachedService.getPureModelContextData("examples.metadata", "test", "2.3.1", CLIENT_VERSION, true);
+        Assert.assertSame(cached, cachedService.getPureModelContextData("examples.metadata", "test", "2.3.1", CLIENT_VERSION, true));
+
+        StoreProjectVersionData dependency = projectsVersionsStore.find("examples.metadata", "test-dependencies", "1.0.0").get();
+        dependency.getVersionData().setExcluded(true);
+        projectsVersionsStore.createOrUpdate(dependency);
+        Mockito.doReturn(Arrays.asList(dependency)).when(refreshedProjects).findByUpdatedDate(Mockito.anyLong(), Mockito.anyLong());
+
+        Assert.assertEquals(0, cachedService.refreshCache(0, System.currentTimeMillis()));
+        Mockito.verify(refreshedProjects, Mockito.never()).getDependantProjects(Mockito.anyString(), Mockito.anyString(), Mockito.anyString());
+
+        dependency.getVersionData().setExcluded(false);
+        projectsVersionsStore.createOrUpdate(dependency);
+        Assert.assertNotSame(cached, cachedService.getPureModelContextData("examples.metadata", "test", "2.3.1", CLIENT_VERSION, true));
+    }
 }
@@ -28,6 +28,7 @@ import org.finos.legend.depot.server.resources.guice.PureModelContextResourcesMo
 import org.finos.legend.depot.services.guice.EntitiesServicesModule;
 import org.finos.legend.depot.services.guice.VersionedEntitiesServicesModule;
 import org.finos.legend.depot.services.pure.model.context.guice.PureModelContextModule;
+import org.finos.legend.depot.services.pure.model.context.guice.PureModelContextSchedulesModule;
 import org.finos.legend.depot.services.guice.CoreDataServicesModule;
 import org.finos.legend.depot.services.guice.SchedulesModule;
 import org.finos.legend.depot.services.guice.GenerationsServicesModule;
@@ -82,6 +83,7 @@ public class LegendDepotServer extends BaseServer<DepotServerConfiguration>
 
                 new PureModelContextResourcesModule(),
                 new PureModelContextModule(),
+                new PureModelContextSchedulesModule(),
 
                 new SchedulesModule(),
                 new SchedulesStoreMongoModule(),
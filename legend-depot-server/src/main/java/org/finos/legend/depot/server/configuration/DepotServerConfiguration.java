@@ -16,9 +16,23 @@
 package org.finos.legend.depot.server.configuration;
 
 import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.annotation.JsonProperty;
 import org.finos.legend.depot.core.server.ServerConfiguration;
+import org.finos.legend.depot.services.api.pure.model.context.configuration.PureModelContextCacheConfiguration;
 
 @JsonIgnoreProperties(ignoreUnknown = true)
 public class DepotServerConfiguration extends ServerConfiguration
 {
+    @JsonProperty("pureModelContextCache")
+    private PureModelContextCacheConfiguration pureModelContextCacheConfiguration;
+
+    public PureModelContextCacheConfiguration getPureModelContextCacheConfiguration()
+    {
+        return pureModelContextCacheConfiguration;
+    }
+
+    public void setPureModelContextCacheConfiguration(PureModelContextCacheConfiguration pureModelContextCacheConfiguration)
+    {
+        this.pureModelContextCacheConfiguration = pureModelContextCacheConfiguration;
+    }
 }
@@ -15,9 +15,22 @@
 
 package org.finos.legend.depot.server.guice;
 
+import com.google.inject.Binder;
 import org.finos.legend.depot.core.server.guice.BaseServerModule;
 import org.finos.legend.depot.server.configuration.DepotServerConfiguration;
+import org.finos.legend.depot.services.api.pure.model.context.configuration.PureModelContextCacheConfiguration;
 
 public class DepotServerModule extends BaseServerModule<DepotServerConfiguration>
 {
+    @Override
+    public void configure(Binder binder)
+    {
+        super.configure(binder);
+        binder.bind(PureModelContextCacheConfiguration.class).toProvider(this::getPureModelContextCacheConfiguration);
+    }
+
+    private PureModelContextCacheConfiguration getPureModelContextCacheConfiguration()
+    {
+        return getConfiguration().getPureModelContextCacheConfiguration() != null ? getConfiguration().getPureModelContextCacheConfiguration() : new PureModelContextCacheConfiguration();
+    }
 }
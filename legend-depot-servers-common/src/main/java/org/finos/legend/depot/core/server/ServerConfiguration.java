@@ -23,6 +23,7 @@ import io.federecio.dropwizard.swagger.SwaggerBundleConfiguration;
 import org.finos.legend.depot.services.api.projects.configuration.ProjectsConfiguration;
 import org.finos.legend.depot.core.services.api.tracing.configuration.OpenTracingConfiguration;
 import org.finos.legend.depot.core.services.api.metrics.configuration.PrometheusConfiguration;
+import org.finos.legend.depot.core.services.api.executors.configuration.ExecutorsConfiguration;
 import org.finos.legend.depot.store.StorageConfiguration;
 import org.finos.legend.server.pac4j.LegendPac4jConfiguration;
 
@@ -70,6 +71,9 @@ public class ServerConfiguration extends Configuration
     @JsonProperty("prometheus")
     private PrometheusConfiguration prometheusConfiguration;
 
+    @JsonProperty("executors")
+    private ExecutorsConfiguration executorsConfiguration;
+
     @JsonProperty("urlPattern")
     private String urlPattern;
 
@@ -138,6 +142,16 @@ public class ServerConfiguration extends Configuration
         this.prometheusConfiguration = prometheusConfiguration;
     }
 
+    public ExecutorsConfiguration getExecutorsConfiguration()
+    {
+        return executorsConfiguration;
+    }
+
+    public void setExecutorsConfiguration(ExecutorsConfiguration executorsConfiguration)
+    {
+        this.executorsConfiguration = executorsConfiguration;
+    }
+
     public String getUrlPattern()
     {
         return this.urlPattern;
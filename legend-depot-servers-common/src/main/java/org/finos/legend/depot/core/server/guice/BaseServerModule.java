@@ -26,6 +26,7 @@ import org.finos.legend.depot.services.api.projects.configuration.ProjectsConfig
 import org.finos.legend.depot.store.StorageConfiguration;
 import org.finos.legend.depot.core.services.api.tracing.configuration.OpenTracingConfiguration;
 import org.finos.legend.depot.core.services.api.metrics.configuration.PrometheusConfiguration;
+import org.finos.legend.depot.core.services.api.executors.configuration.ExecutorsConfiguration;
 
 import javax.inject.Named;
 import javax.servlet.http.HttpServletRequest;
@@ -42,6 +43,7 @@ public abstract class BaseServerModule<T extends ServerConfiguration> extends Dr
         binder.bind(new TypeLiteral<List<StorageConfiguration>>() {}).toInstance(this.getStorageConfig());
         binder.bind(OpenTracingConfiguration.class).toProvider(this::getTracingConfig);
         binder.bind(PrometheusConfiguration.class).toProvider(this::getPrometheusConfig);
+        binder.bind(ExecutorsConfiguration.class).toProvider(this::getExecutorsConfig);
     }
 
     @RequestScoped
@@ -86,4 +88,9 @@ public abstract class BaseServerModule<T extends ServerConfiguration> extends Dr
         return getConfiguration().getPrometheusConfiguration() != null ? getConfiguration().getPrometheusConfiguration() : new PrometheusConfiguration();
     }
 
+    private ExecutorsConfiguration getExecutorsConfig()
+    {
+        return getConfiguration().getExecutorsConfiguration() != null ? getConfiguration().getExecutorsConfiguration() : new ExecutorsConfiguration();
+    }
+
 }
@@ -17,27 +17,40 @@ package org.finos.legend.depot.store.mongo.core;
 
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.google.inject.Inject;
+import com.mongodb.bulk.BulkWriteResult;
 import com.mongodb.client.FindIterable;
 import com.mongodb.client.MongoCollection;
 import com.mongodb.client.MongoDatabase;
+import com.mongodb.client.model.BulkWriteOptions;
 import com.mongodb.client.model.FindOneAndReplaceOptions;
 import com.mongodb.client.model.IndexModel;
 import com.mongodb.client.model.IndexOptions;
 import com.mongodb.client.model.Indexes;
+import com.mongodb.client.model.Projections;
+import com.mongodb.client.model.ReplaceOneModel;
+import com.mongodb.client.model.ReplaceOptions;
 import com.mongodb.client.model.ReturnDocument;
+import com.mongodb.client.model.WriteModel;
 import com.mongodb.client.result.DeleteResult;
 import org.bson.Document;
 import org.bson.conversions.Bson;
 import org.bson.types.ObjectId;
+import org.finos.legend.depot.core.services.metrics.PrometheusMetricsFactory;
 import org.finos.legend.depot.store.model.HasIdentifier;
 import org.finos.legend.depot.store.StoreException;
 import org.slf4j.Logger;
 
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.function.Consumer;
@@ -58,11 +71,17 @@ public abstract class BaseMongo<T extends HasIdentifier>
     private static final String INDEX_NAME = "name";
     public static final String ID_FIELD = "_id";
     public static final String ID = "id";
+    public static final String CONTENT_HASH = "contentHash";
+    private static final String SHA_256 = "SHA-256";
     public static final FindOneAndReplaceOptions FIND_ONE_AND_REPLACE_OPTIONS = new FindOneAndReplaceOptions().upsert(true).returnDocument(ReturnDocument.AFTER);
+    public static final ReplaceOptions REPLACE_OPTIONS = new ReplaceOptions().upsert(true);
+    public static final String BULK_WRITE_DURATION = "mongo_bulkWrite_duration";
+    public static final String BULK_WRITE_DOCUMENTS = "mongo_bulkWrite_documents";
     protected static final Logger LOGGER = org.slf4j.LoggerFactory.getLogger(BaseMongo.class);
     private final ObjectMapper objectMapper;
     private final MongoDatabase mongoDatabase;
     private final Class<T> documentClass;
+    private MongoBulkWriteConfiguration bulkWriteConfiguration = new MongoBulkWriteConfiguration();
 
     public BaseMongo(MongoDatabase mongoDatabase,Class<T> documentClass,ObjectMapper objectMapper)
     {
@@ -93,6 +112,12 @@ public abstract class BaseMongo<T extends HasIdentifier>
         }
     }
 
+    @Inject(optional = true)
+    public void setBulkWriteConfiguration(MongoBulkWriteConfiguration bulkWriteConfiguration)
+    {
+        this.bulkWriteConfiguration = bulkWriteConfiguration;
+    }
+
     public MongoDatabase getDatabase()
     {
         return mongoDatabase;
@@ -160,13 +185,56 @@ public abstract class BaseMongo<T extends HasIdentifier>
         return newItems;
     }
 
+    /**
+     * Replaces or inserts all items through batched bulk writes.
+     * Unlike createOrUpdate, stored documents are not read back, so callers needing ids or dates should use that instead.
+     *
+     * @return number of documents inserted or modified
+     */
+    public long createOrUpdateAll(List<T> items)
+    {
+        List<WriteModel<Document>> upserts = new ArrayList<>();
+        items.forEach(data ->
+        {
+            validateNewData(data);
+            upserts.add(new ReplaceOneModel<>(getKeyFilter(data), handleCreateUpdateDates(buildDocument(data)), REPLACE_OPTIONS));
+        });
+        return bulkWrite(upserts);
+    }
+
+    protected int getBulkWriteBatchSize()
+    {
+        return Math.max(bulkWriteConfiguration.getBatchSize(), 1);
+    }
+
+    protected long bulkWrite(List<WriteModel<Document>> operations)
+    {
+        int batchSize = getBulkWriteBatchSize();
+        BulkWriteOptions options = new BulkWriteOptions().ordered(bulkWriteConfiguration.isOrdered());
+        String collectionName = getCollection().getNamespace().getCollectionName();
+        long modified = 0;
+        for (int i = 0; i < operations.size(); i += batchSize)
+        {
+            List<WriteModel<Document>> batch = operations.subList(i, Math.min(i + batchSize, operations.size()));
+            long start = System.currentTimeMillis();
+            BulkWriteResult result = getCollection().bulkWrite(batch, options);
+            long end = System.currentTimeMillis();
+            PrometheusMetricsFactory.getInstance().observeHistogram(BULK_WRITE_DURATION, start, end);
+            PrometheusMetricsFactory.getInstance().observeHistogram(BULK_WRITE_DOCUMENTS, batch.size());
+            LOGGER.debug("bulk write {}: {} documents in {} ms (inserted {}, upserted {}, modified {})", collectionName, batch.size(), end - start,
+                    result.getInsertedCount(), result.getUpserts().size(), result.getModifiedCount());
+            modified += result.getInsertedCount() + result.getUpserts().size() + result.getModifiedCount();
+        }
+        return modified;
+    }
+
     public void insert(T data)
     {
         validateNewData(data);
         getCollection().insertOne(handleCreateUpdateDates(buildDocument(data)));
     }
 
-    private Document handleCreateUpdateDates(Document document)
+    protected Document handleCreateUpdateDates(Document document)
     {
         document.putIfAbsent(CREATED, toTime(LocalDateTime.now()));
         document.put(UPDATED,toTime(LocalDateTime.now()));
@@ -180,6 +248,10 @@ public abstract class BaseMongo<T extends HasIdentifier>
         return result;
     }
 
+    /**
+     * Skipping is linear in the page number, page on an indexed key with {@link #find(Bson, Bson, int)} instead.
+     */
+    @Deprecated
     public List<T> getStoredEntitiesByPage(int page, int pageSize)
     {
         List<T> result = new ArrayList<>();
@@ -187,6 +259,11 @@ public abstract class BaseMongo<T extends HasIdentifier>
         return result;
     }
 
+    protected T convert(Document document)
+    {
+        return convert(document, documentClass);
+    }
+
     public <T> T convert(Document document, Class<T> clazz)
     {
       return convert(this.objectMapper,document,clazz);
@@ -248,6 +325,11 @@ public abstract class BaseMongo<T extends HasIdentifier>
         return convert(getCollection().find(filter));
     }
 
+    protected List<T> find(Bson filter, Bson sort, int limit)
+    {
+        return convert(getCollection().find(filter).sort(sort).limit(limit));
+    }
+
     protected Optional<T> findOne(Bson filter)
     {
         List<T> result = convert(getCollection().find(filter));
@@ -268,6 +350,33 @@ public abstract class BaseMongo<T extends HasIdentifier>
         return getCollection().countDocuments(condition);
     }
 
+    protected static String contentHash(String content)
+    {
+        try
+        {
+            byte[] digest = MessageDigest.getInstance(SHA_256).digest(content.getBytes(StandardCharsets.UTF_8));
+            StringBuilder hash = new StringBuilder(digest.length * 2);
+            for (byte b : digest)
+            {
+                hash.append(Character.forDigit((b >> 4) & 0xF, 16)).append(Character.forDigit(b & 0xF, 16));
+            }
+            return hash.toString();
+        }
+        catch (NoSuchAlgorithmException e)
+        {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    protected Map<String, String> findContentHashes(Bson filter, String keyField)
+    {
+        Map<String, String> hashes = new HashMap<>();
+        List<String> keyPath = Arrays.asList(keyField.split("\\."));
+        getCollection().find(filter).projection(Projections.include(keyField, CONTENT_HASH))
+                .forEach((Consumer<Document>) doc -> hashes.put(doc.getEmbedded(keyPath, String.class), doc.getString(CONTENT_HASH)));
+        return hashes;
+    }
+
     protected long delete(Bson key)
     {
         DeleteResult deleteResult = getCollection().deleteMany(key);
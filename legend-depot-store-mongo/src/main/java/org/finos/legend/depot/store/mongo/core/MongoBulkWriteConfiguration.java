@@ -0,0 +1,61 @@
+//  Copyright 2021 Goldman Sachs
+//
+//  Licensed under the Apache License, Version 2.0 (the "License");
+//  you may not use this file except in compliance with the License.
+//  You may obtain a copy of the License at
+//
+//       http://www.apache.org/licenses/LICENSE-2.0
+//
+//  Unless required by applicable law or agreed to in writing, software
+//  distributed under the License is distributed on an "AS IS" BASIS,
+//  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+//  See the License for the specific language governing permissions and
+//  limitations under the License.
+//
+
+package org.finos.legend.depot.store.mongo.core;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+@JsonIgnoreProperties(ignoreUnknown = true)
+public class MongoBulkWriteConfiguration
+{
+    private static final int DEFAULT_BATCH_SIZE = 1000;
+
+    @JsonProperty
+    int batchSize = DEFAULT_BATCH_SIZE;
+
+    @JsonProperty
+    boolean ordered = false;
+
+    public MongoBulkWriteConfiguration()
+    {
+    }
+
+    public MongoBulkWriteConfiguration(int batchSize, boolean ordered)
+    {
+        this.batchSize = batchSize;
+        this.ordered = ordered;
+    }
+
+    public int getBatchSize()
+    {
+        return batchSize;
+    }
+
+    public void setBatchSize(int batchSize)
+    {
+        this.batchSize = batchSize;
+    }
+
+    public boolean isOrdered()
+    {
+        return ordered;
+    }
+
+    public void setOrdered(boolean ordered)
+    {
+        this.ordered = ordered;
+    }
+}
@@ -37,6 +37,7 @@ public class MongoClientModule extends PrivateModule
         expose(ConnectionFactory.class);
         expose(MongoDatabase.class).annotatedWith(Names.named("mongoDatabase"));
         expose(MongoClient.class);
+        expose(MongoBulkWriteConfiguration.class);
     }
 
     @Provides
@@ -54,6 +55,13 @@ public class MongoClientModule extends PrivateModule
         }
     }
 
+    @Provides
+    @Singleton
+    MongoBulkWriteConfiguration getBulkWriteConfiguration(MongoConfiguration mongoConfiguration)
+    {
+        return mongoConfiguration.getBulkWrite();
+    }
+
     @Provides
     @Singleton
     ConnectionFactory getConnectionFactory(@Named("applicationName") String applicationName, MongoConfiguration mongoConfiguration, OpenTracingConfiguration openTracingConfiguration, TracerFactory tracerFactory)
@@ -35,6 +35,9 @@ public class MongoConfiguration extends StorageConfiguration
     @JsonProperty
     public boolean tracing;
 
+    @JsonProperty
+    public MongoBulkWriteConfiguration bulkWrite;
+
     @JsonCreator
     public MongoConfiguration(@JsonProperty("database") String database, @JsonProperty("url") String url,@JsonProperty("tracing") boolean tracing)
     {
@@ -58,4 +61,9 @@ public class MongoConfiguration extends StorageConfiguration
     {
         return tracing;
     }
+
+    public MongoBulkWriteConfiguration getBulkWrite()
+    {
+        return bulkWrite != null ? bulkWrite : new MongoBulkWriteConfiguration();
+    }
 }